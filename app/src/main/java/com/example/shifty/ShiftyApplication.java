@@ -5,6 +5,8 @@ import android.util.Log;
 
 import androidx.lifecycle.MutableLiveData;
 
+import com.example.shifty.model.ScheduleRepository;
+import com.example.shifty.model.repository.firebase.FirebaseRepositories;
 import com.google.firebase.FirebaseApp;
 
 /**
@@ -38,14 +40,19 @@ public class ShiftyApplication extends Application {
      * Called when the application is starting, before any activity, service,
      * or receiver objects have been created.
      * <p>
-     * Initializes Firebase for use throughout the app.
+     * Initializes Firebase for use throughout the app, installs the Firebase-backed repositories
+     * used by the model classes, and points the schedule repository at the app's files directory
+     * for journaling pending edits.
      * </p>
      *
      * @see FirebaseApp#initializeApp(android.content.Context)
+     * @see FirebaseRepositories#install()
      */
     @Override
     public void onCreate() {
         super.onCreate();
         FirebaseApp.initializeApp(this);
+        FirebaseRepositories.install();
+        ScheduleRepository.setJournalDirectory(getFilesDir());
     }
 }
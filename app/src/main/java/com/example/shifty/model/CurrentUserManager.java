@@ -2,6 +2,8 @@ package com.example.shifty.model;
 
 import androidx.lifecycle.MutableLiveData;
 
+import com.example.shifty.model.repository.Repositories;
+
 /**
  * Singleton manager for handling the current signed-in user and employee data across the application.
  * <p>
@@ -73,18 +75,39 @@ public class CurrentUserManager {
 
     /**
      * Sets the currently signed-in user.
-     * If the user is an employee, also loads the corresponding {@link Employee} object.
+     * If the user is an employee, also loads the corresponding {@link Employee} object from the
+     * user's team. If the previous user belonged to another team, that team's cached roster and
+     * system needs are released.
      *
      * @param user The {@link User} object to sign in as the current user.
      */
     public void signIn(User user) {
+        String previousTeamId = getTeamId();
         this.currentUser = user;
+        if (!previousTeamId.equals(getTeamId())) {
+            EmployeeManager.release(previousTeamId);
+            ScheduleRepository.release(previousTeamId);
+        }
+        if (currentEmployee != null) {
+            currentEmployee.unload();
+            currentEmployee = null;
+        }
         if (currentUser.role == Role.EMPLOYEE) {
-            currentEmployee = new Employee(user.getUid());
+            currentEmployee = new Employee(user.getUid(), Repositories.getEmployeeRepository(getTeamId()));
             currentEmployee.loadEmp();
         }
     }
 
+    /**
+     * Returns the team of the current user, which scopes the roster and system needs the app loads.
+     *
+     * @return the signed-in user's team ID, or {@link Repositories#DEFAULT_TEAM_ID} if nobody is signed in
+     * @see User#getTeamId()
+     */
+    public String getTeamId() {
+        return currentUser != null ? currentUser.getTeamId() : Repositories.DEFAULT_TEAM_ID;
+    }
+
     /**
      * Returns the current signed-in user.
      *
@@ -2,26 +2,19 @@ package com.example.shifty.model;
 
 import android.util.Log;
 
-import androidx.annotation.NonNull;
+import com.example.shifty.model.repository.DocumentRepository;
+import com.example.shifty.model.repository.Repositories;
 
-import com.google.android.gms.tasks.OnCompleteListener;
-import com.google.android.gms.tasks.Task;
-import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.FieldValue;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.DocumentReference;
-
-import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 /**
- * Database abstraction layer for Firestore, providing simplified CRUD operations
- * for collections and documents, as well as field and element counting.
+ * Database abstraction layer for document collections (Firestore in the app), providing
+ * simplified CRUD operations for collections and documents, as well as field and element counting.
  * <p>
  * All methods are asynchronous, with completion notified via callbacks or {@link CompletableFuture}.
- * This class should be used to manage Firestore reads, writes, updates, and deletes from
- * within the Shifty application.
+ * Operations go through the installed {@link DocumentRepository}, so they can run against an
+ * in-memory store in tests.
  * </p>
  *
  * <p>
@@ -29,6 +22,7 @@ import java.util.concurrent.CompletableFuture;
  * </p>
  *
  * @author Eitan Navon
+ * @see DocumentRepository
  */
 public class Database {
 
@@ -38,15 +32,15 @@ public class Database {
     private static final String TAG = "Database";
 
     /**
-     * Reference to the application's Firestore database.
+     * Repository holding the documents.
      */
-    private FirebaseFirestore db;
+    private final DocumentRepository db;
 
     /**
-     * Creates a new Database instance with a reference to Firestore.
+     * Creates a new Database instance over the installed {@link DocumentRepository}.
      */
     public Database() {
-        db = FirebaseFirestore.getInstance();
+        db = Repositories.getDocumentRepository();
     }
 
     /**
@@ -69,21 +63,16 @@ public class Database {
      * @param callback        The callback invoked on successful document fetch, with document data as a {@code Map}.
      */
     public void get(String COLLECTION_NAME, String DOC_NAME, Callback callback) {
-        DocumentReference docRef = db.collection(COLLECTION_NAME).document(DOC_NAME);
-        docRef.get().addOnCompleteListener(new OnCompleteListener<DocumentSnapshot>() {
-            @Override
-            public void onComplete(@NonNull Task<DocumentSnapshot> task) {
-                if (task.isSuccessful()) {
-                    DocumentSnapshot document = task.getResult();
-                    if (document.exists()) {
-                        callback.onCallback(document.getData());
-                        Log.d(TAG, "DocumentSnapshot loaded successfully ");
-                    } else {
-                        // No document exists; nothing is returned
-                    }
+        db.getDocument(COLLECTION_NAME, DOC_NAME).whenComplete((data, error) -> {
+            if (error == null) {
+                if (data != null) {
+                    callback.onCallback(data);
+                    Log.d(TAG, "DocumentSnapshot loaded successfully ");
                 } else {
-                    Log.d(TAG, "get failed with ", task.getException());
+                    // No document exists; nothing is returned
                 }
+            } else {
+                Log.d(TAG, "get failed with ", error);
             }
         });
     }
@@ -97,22 +86,17 @@ public class Database {
      * @param errorCallback   The callback invoked on failure (with {@code null} as parameter).
      */
     public void get(String COLLECTION_NAME, String DOC_NAME, Callback callback, Callback errorCallback) {
-        DocumentReference docRef = db.collection(COLLECTION_NAME).document(DOC_NAME);
-        docRef.get().addOnCompleteListener(new OnCompleteListener<DocumentSnapshot>() {
-            @Override
-            public void onComplete(@NonNull Task<DocumentSnapshot> task) {
-                if (task.isSuccessful()) {
-                    DocumentSnapshot document = task.getResult();
-                    if (document.exists()) {
-                        callback.onCallback(document.getData());
-                        Log.d(TAG, "DocumentSnapshot loaded successfully ");
-                    } else {
-                        // Document does not exist; nothing returned
-                    }
+        db.getDocument(COLLECTION_NAME, DOC_NAME).whenComplete((data, error) -> {
+            if (error == null) {
+                if (data != null) {
+                    callback.onCallback(data);
+                    Log.d(TAG, "DocumentSnapshot loaded successfully ");
                 } else {
-                    errorCallback.onCallback(null);
-                    Log.d(TAG, "get failed with ", task.getException());
+                    // Document does not exist; nothing returned
                 }
+            } else {
+                errorCallback.onCallback(null);
+                Log.d(TAG, "get failed with ", error);
             }
         });
     }
@@ -126,12 +110,9 @@ public class Database {
      * @param callback       The callback invoked with the field's value (or {@code null} if not found).
      */
     public void getField(String collectionName, String documentName, String fieldName, FieldCallback callback) {
-        DocumentReference docRef = db.collection(collectionName).document(documentName);
-        docRef.get().addOnCompleteListener(task -> {
-            if (task.isSuccessful()) {
-                DocumentSnapshot document = task.getResult();
-                if (document.exists()) {
-                    Map<String, Object> data = document.getData();
+        db.getDocument(collectionName, documentName).whenComplete((data, error) -> {
+            if (error == null) {
+                if (data != null) {
                     Object fieldValue = data.get(fieldName);
                     callback.onCallback(fieldValue);
                     Log.d(TAG, "Field loaded successfully: " + fieldValue);
@@ -139,7 +120,7 @@ public class Database {
                     Log.d(TAG, "No such document");
                 }
             } else {
-                Log.d(TAG, "get failed with ", task.getException());
+                Log.d(TAG, "get failed with ", error);
             }
         });
     }
@@ -152,17 +133,17 @@ public class Database {
      * @param data            The data to save as a map of field names to values.
      */
     public void saveData(String COLLECTION_NAME, String DOC_NAME, Map<String, Object> data) {
-        db.collection(COLLECTION_NAME).document(DOC_NAME).set(data).addOnCompleteListener(task -> {
-            if (task.isSuccessful()) {
+        db.setDocument(COLLECTION_NAME, DOC_NAME, data).whenComplete((ignored, error) -> {
+            if (error == null) {
                 Log.d(TAG, "DocumentSnapshot added with ID: " + DOC_NAME);
             } else {
-                Log.d(TAG, "get failed with ", task.getException());
+                Log.d(TAG, "get failed with ", error);
             }
         });
     }
 
     /**
-     * Returns the number of elements (documents) in a Firestore collection, asynchronously.
+     * Returns the number of elements (documents) in a collection, asynchronously.
      *
      * @param collectionName The collection to count.
      * @return A {@link CompletableFuture} that completes with the number of documents in the collection.
@@ -170,12 +151,12 @@ public class Database {
     public CompletableFuture<Integer> getCountOfElements(String collectionName) {
         CompletableFuture<Integer> count = new CompletableFuture<>();
 
-        db.collection(collectionName).get().addOnCompleteListener(task -> {
-            if (task.isSuccessful()) {
-                count.complete(task.getResult().size());
-                Log.d(TAG, "Count of elements in collection: " + count);
+        db.countDocuments(collectionName).whenComplete((result, error) -> {
+            if (error == null) {
+                count.complete(result);
+                Log.d(TAG, "Count of elements in collection: " + result);
             } else {
-                Log.d(TAG, "get failed with ", task.getException());
+                Log.d(TAG, "get failed with ", error);
             }
         });
 
@@ -187,16 +168,10 @@ public class Database {
      *
      * @param collctionName The collection name.
      * @param documentName  The document's name (ID).
-     * @return {@code true} if the document existed and deletion was requested; {@code false} otherwise.
+     * @return A {@link CompletableFuture} completing with {@code true} if the document existed and was deleted.
      */
-    public boolean delete(final String collctionName, final String documentName) {
-        DocumentReference doc = db.collection(collctionName).document(documentName);
-        if (doc.get().isSuccessful()) {
-            doc.delete();
-            return true;
-        } else {
-            return false;
-        }
+    public CompletableFuture<Boolean> delete(final String collctionName, final String documentName) {
+        return db.deleteDocument(collctionName, documentName);
     }
 
     /**
@@ -205,16 +180,10 @@ public class Database {
      * @param collctionName The collection name.
      * @param documentName  The document name (ID).
      * @param fieldName     The field to delete from the document.
-     * @return {@code true} if the field was requested for deletion; {@code false} otherwise.
+     * @return A {@link CompletableFuture} completing with {@code true} if the document existed and the field was deleted.
      */
-    public boolean deleteField(final String collctionName, final String documentName, final String fieldName) {
-        DocumentReference doc = db.collection(collctionName).document(documentName);
-        if (doc.get().isSuccessful()) {
-            doc.update(fieldName, FieldValue.delete());
-            return true;
-        } else {
-            return false;
-        }
+    public CompletableFuture<Boolean> deleteField(final String collctionName, final String documentName, final String fieldName) {
+        return db.deleteField(collctionName, documentName, fieldName);
     }
 
     /**
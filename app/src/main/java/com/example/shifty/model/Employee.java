@@ -4,20 +4,23 @@ import android.util.Log;
 import androidx.lifecycle.MutableLiveData;
 import com.example.shifty.model.SchedulingAlgorithm.Constraint;
 import com.example.shifty.model.SchedulingAlgorithm.Shift;
+import com.example.shifty.model.SchedulingAlgorithm.ShiftTimeline;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Collections;
 import com.example.shifty.model.SchedulingAlgorithm.TimeUtil;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
+import com.example.shifty.model.repository.EmployeeRepository;
+import com.example.shifty.model.repository.Registration;
+import com.example.shifty.model.repository.Repositories;
+import com.example.shifty.model.repository.ValueListener;
 
 /**
  * Represents an employee in the Shifty system, including their constraints, assigned shifts, and
- * synchronization with Firebase Realtime Database.
+ * synchronization with the employees repository (Firebase Realtime Database in the app).
  * <p>
  * Employees can have availability constraints (forbidden times), assigned shifts,
  * and are tracked by a unique UID. Employee data is loaded, saved, and synchronized
@@ -30,13 +33,13 @@ import com.google.firebase.database.ValueEventListener;
  *     <li>Maintain the employee's identity and name.</li>
  *     <li>Store and manage constraints (e.g., unavailable times).</li>
  *     <li>Store and manage assigned {@link Shift}s.</li>
- *     <li>Handle saving and loading data from Firebase Realtime Database.</li>
+ *     <li>Handle saving and loading data through the employees repository.</li>
  *     <li>Notify UI of changes using LiveData for MVVM architecture.</li>
  * </ul>
  *
  * <h3>Synchronization:</h3>
  * <ul>
- *     <li>Reads and writes are performed via Firebase DatabaseReference.</li>
+ *     <li>Reads and writes are performed via an {@link EmployeeRepository}.</li>
  *     <li>Uses listeners to keep constraints and shifts in sync with the cloud.</li>
  *     <li>LiveData fields (<code>needRefresh</code>, <code>isDeleted</code>) enable real-time UI update when the employee's data changes.</li>
  * </ul>
@@ -51,20 +54,54 @@ public class Employee implements Comparable {
     /** List of time constraints (unavailable times) for the employee. */
     ArrayList<Constraint> constraints;
 
-    /** List of assigned shifts for the employee. */
-    ArrayList<Shift> shifts;
+    /**
+     * Availability per day of the week derived from {@link #constraints}: bit {@code h} of
+     * {@code availabilityMasks[day]} is set when the employee is available at hour {@code h}.
+     * Rebuilt and replaced as a whole whenever the constraints change (never mutated after
+     * publication), so other threads can read it without locking.
+     */
+    private volatile int[] availabilityMasks = allAvailable();
+
+    /** Called after {@link #availabilityMasks} is replaced; set by {@link EmployeeManager}. */
+    private Runnable onAvailabilityChanged;
+
+    /**
+     * Assigned shifts for the employee, ordered by date and start hour.
+     * Also indexes assigned hours per date, so per-day lookups do not scan the shift history.
+     * Guarded by {@code this}: schedules are applied on the solver's thread while the UI reads
+     * the shifts and repository callbacks replace them.
+     */
+    ShiftTimeline shifts;
+
+    /** Number of days covered by {@link #availabilityMasks}. */
+    private static final int DAYS_IN_WEEK = 7;
 
     /** Maximum number of constraints allowed for each employee. */
     private static final int MAX_CONSTRAINTS = 2;
 
-    /** Name of the employees collection in Firebase. */
-    private static final String COLLECTION_NAME = "employees";
     /** Name of the constraints collection (under an employee node). */
     private static final String CONSTRAINTS_COLLECTION_NAME = "constraints";
     /** Name of the shifts collection (under an employee node). */
     private static final String SHIFTS_COLLECTION_NAME = "shifts";
-    /** Firebase Realtime Database URL for the app. */
-    private static final String SERVER_URL = "https://shifty-1c786-default-rtdb.europe-west1.firebasedatabase.app";
+    /** Name of the archived shifts collection (under an employee node); not loaded with the employee. */
+    private static final String SHIFTS_ARCHIVE_COLLECTION_NAME = "shiftsArchive";
+    /** Repository used for loading and saving; {@code null} to use the current user's team's. */
+    private final EmployeeRepository repository;
+
+    /** Listener on this employee's node, while loaded. */
+    private Registration registration;
+
+    /** Whether {@link #name} changed since the last save. */
+    boolean nameDirty = false;
+
+    /** Whether {@link #constraints} changed since the last save. */
+    boolean constraintsDirty = false;
+
+    /**
+     * Whether the whole shifts node must be rewritten on the next save, e.g. because it
+     * was loaded in the legacy list format rather than keyed by {@link ShiftTimeline#idOf(Shift)}.
+     */
+    boolean shiftsNeedRewrite = false;
 
     /** LiveData indicating that this employee's data needs to be refreshed in the UI. */
     MutableLiveData<Boolean> needRefresh = new MutableLiveData<>(false);
@@ -81,9 +118,21 @@ public class Employee implements Comparable {
      * @param uid The unique identifier for the employee.
      */
     public Employee(String uid) {
+        this(uid, (EmployeeRepository) null);
+    }
+
+    /**
+     * Constructs an employee with a unique UID that is loaded from and saved to the given
+     * repository, typically that of the employee's team.
+     * Initializes empty lists for constraints and shifts.
+     * @param uid The unique identifier for the employee.
+     * @param repository The repository, or {@code null} to use that of the current user's team.
+     */
+    public Employee(String uid, EmployeeRepository repository) {
         this.uid = uid;
+        this.repository = repository;
         constraints = new ArrayList<>();
-        shifts = new ArrayList<>();
+        shifts = new ShiftTimeline();
     }
 
     /**
@@ -95,8 +144,9 @@ public class Employee implements Comparable {
     public Employee(String uid, String name) {
         this.uid = uid;
         this.name = name;
+        this.repository = null;
         constraints = new ArrayList<>();
-        shifts = new ArrayList<>();
+        shifts = new ShiftTimeline();
     }
 
     /**
@@ -129,20 +179,61 @@ public class Employee implements Comparable {
 
     /**
      * Checks if the employee is available at the specified day and hour.
+     * Reads the published availability masks, so it is safe to call from any thread.
      *
      * @param day The day of the week (0=Sunday, 6=Saturday).
      * @param hour The hour of the day (0-23).
      * @return {@code true} if available, {@code false} if constrained/unavailable.
      */
     public boolean isAvailable(int day, int hour) {
-        for (Constraint c : constraints) {
-            if (c.getDay() == day) {
-                if (c.getStartHour() <= hour && c.getEndHour() >= hour) {
-                    return false;
-                }
+        if (day < 0 || day >= DAYS_IN_WEEK || hour < 0 || hour >= Integer.SIZE) return true;
+        return (availabilityMasks[day] & (1 << hour)) != 0;
+    }
+
+    /**
+     * Returns the published availability masks: bit {@code h} of element {@code day} is set when
+     * the employee is available at hour {@code h}. The array must not be modified.
+     *
+     * @return the availability mask per day of the week
+     */
+    public int[] getAvailabilityMasks() {
+        return availabilityMasks;
+    }
+
+    /**
+     * Sets the callback run whenever the availability masks are republished.
+     *
+     * @param onAvailabilityChanged the callback, or {@code null}
+     */
+    void setOnAvailabilityChanged(Runnable onAvailabilityChanged) {
+        this.onAvailabilityChanged = onAvailabilityChanged;
+    }
+
+    /**
+     * Rebuilds the availability masks from the current constraints and publishes them.
+     */
+    private void publishAvailability() {
+        int[] masks = allAvailable();
+        for (Constraint c : new ArrayList<>(constraints)) {
+            if (c.getDay() < 0 || c.getDay() >= DAYS_IN_WEEK) continue;
+            for (int hour = Math.max(0, c.getStartHour()); hour <= Math.min(Integer.SIZE - 1, c.getEndHour()); hour++) {
+                masks[c.getDay()] &= ~(1 << hour);
             }
         }
-        return true;
+        availabilityMasks = masks;
+        Runnable callback = onAvailabilityChanged;
+        if (callback != null) callback.run();
+    }
+
+    /**
+     * Returns masks marking every hour of every day as available.
+     *
+     * @return a new mask array
+     */
+    private static int[] allAvailable() {
+        int[] masks = new int[DAYS_IN_WEEK];
+        Arrays.fill(masks, -1);
+        return masks;
     }
 
     /**
@@ -157,32 +248,22 @@ public class Employee implements Comparable {
         constraintDate.plusDays(day);
         Constraint c = new Constraint(day, startHour, endHour, constraintDate.toEpochDay());
         constraints.add(c);
+        constraintsDirty = true;
+        publishAvailability();
     }
 
     /**
      * Adds a new shift to this employee for a specified day and hour range.
-     * If the shift is consecutive to an existing shift, merges them for a continuous block.
+     * If the shift is consecutive to an existing shift on the same date, merges them for a
+     * continuous block. O(log n) in the number of stored shifts.
      *
      * @param day The day of the week (0=Sunday, 6=Saturday).
      * @param startHour The starting hour (0-23).
      * @param endHour The ending hour (0-23).
      */
-    public void addShift(int day, int startHour, int endHour) {
+    public synchronized void addShift(int day, int startHour, int endHour) {
         Shift newShift = new Shift(day, startHour, endHour, TimeUtil.nextWeekDay(day).toEpochDay());
-        boolean isDisjointShift = true;
-        for (Shift s : shifts) {
-            if (s.isConsectuive(newShift)) {
-                s.setEndHour(newShift.getEndHour());
-                isDisjointShift = false;
-            }
-            if (newShift.isConsectuive(s)) {
-                s.setStartHour(newShift.getStartHour());
-                isDisjointShift = false;
-            }
-        }
-        if (isDisjointShift) {
-            shifts.add(newShift);
-        }
+        shifts.add(newShift);
     }
 
     /**
@@ -191,13 +272,51 @@ public class Employee implements Comparable {
      * @param date The date to check.
      * @return {@code true} if the employee has a shift on this date; {@code false} otherwise.
      */
-    public boolean haveShift(LocalDate date) {
-        for (Shift s : shifts) {
-            if (s.getDate() == date.toEpochDay()) {
-                return true;
+    public synchronized boolean haveShift(LocalDate date) {
+        return shifts.hasShiftOn(date.toEpochDay());
+    }
+
+    /**
+     * Returns the number of hours the employee is assigned on a given date.
+     *
+     * @param date The date to check.
+     * @return The total shift hours on this date, or 0 if there is no shift.
+     */
+    public synchronized int getShiftHours(LocalDate date) {
+        return shifts.hoursOn(date.toEpochDay());
+    }
+
+    /**
+     * Returns the employee's shifts between two dates (both inclusive).
+     *
+     * @param from The first date.
+     * @param to The last date.
+     * @return The shifts in the range, ordered by date and start hour.
+     */
+    public synchronized List<Shift> getShiftsBetween(LocalDate from, LocalDate to) {
+        return shifts.between(from, to);
+    }
+
+    /**
+     * Moves shifts older than the given number of weeks (counted from the start of the
+     * current week) out of the active shift list and into the archive node in the database,
+     * which is not downloaded when the employee is loaded.
+     *
+     * @param weeks The number of past weeks to keep active.
+     * @return The archived shifts.
+     */
+    public synchronized List<Shift> archiveShifts(int weeks) {
+        LocalDate cutoff = TimeUtil.sundayForDate(LocalDate.now()).minusWeeks(weeks);
+        List<Shift> archived = shifts.archiveBefore(cutoff);
+        if (!archived.isEmpty()) {
+            // Move the shifts in one atomic update: removal from the active node plus archive copy
+            Map<String, Object> changes = collectChanges();
+            for (Shift shift : archived) {
+                changes.put(uid + "/" + SHIFTS_ARCHIVE_COLLECTION_NAME + "/" + ShiftTimeline.idOf(shift), shift.toMap());
             }
+            writeChanges(changes);
         }
-        return false;
+        return archived;
     }
 
     /**
@@ -209,77 +328,125 @@ public class Employee implements Comparable {
      */
     private void clearConstraints(int day, int hour) {
         constraints.clear();
+        publishAvailability();
     }
 
-    // ==================== Firebase Database Synchronization ====================
+    // ==================== Database Synchronization ====================
 
     /**
-     * Loads this employee's data from Firebase Realtime Database, including
-     * name, constraints, and shifts. Updates observers via LiveData when loaded.
+     * Returns the repository this employee is loaded from and saved to.
+     *
+     * @return the repository given on construction, or that of the current user's team
      */
-    public void loadEmp() {
-        FirebaseDatabase fb = FirebaseDatabase.getInstance(SERVER_URL);
-        DatabaseReference empRef = fb.getReference(COLLECTION_NAME).child(String.valueOf(uid));
+    private EmployeeRepository repository() {
+        return repository != null ? repository
+                : Repositories.getEmployeeRepository(CurrentUserManager.getInstance().getTeamId());
+    }
 
-        empRef.addValueEventListener(new ValueEventListener() {
+    /**
+     * Loads this employee's data from the database, including name, constraints, and shifts,
+     * and keeps listening for changes. Updates observers via LiveData when loaded.
+     * Does nothing if the employee is already being listened to.
+     */
+    public void loadEmp() {
+        if (registration != null) return;
+        registration = repository().listenEmployee(uid, new ValueListener<Map<String, Object>>() {
             @Override
-            public void onDataChange(DataSnapshot dataSnapshot) {
-                if (dataSnapshot.exists()) {
+            public void onValue(Map<String, Object> value) {
+                if (value != null) {
                     // Assuming constraints and shifts are stored in the database
-                    name = (String) dataSnapshot.child("name").getValue();
-                    loadConstraint(dataSnapshot);
-                    loadShifts(dataSnapshot);
+                    Object storedName = value.get("name");
+                    name = storedName instanceof String ? (String) storedName : null;
+                    nameDirty = false;
+                    loadConstraint(value);
+                    loadShifts(value);
                     // Notify observers that data has been loaded
                     needRefresh.postValue(true);
                     Log.d("Employee", "Employee data loaded successfully.");
                 } else {
                     name = CurrentUserManager.getInstance().getUser().getUsername();
+                    markAllDirty();
                     save();
                 }
             }
 
             @Override
-            public void onCancelled(DatabaseError error) {
-                Log.w("Employee", "Failed to load employee data.", error.toException());
+            public void onError(Exception error) {
+                Log.w("Employee", "Failed to load employee data.", error);
             }
         });
     }
 
     /**
-     * Loads the constraints list from the provided DataSnapshot.
+     * Stops listening for changes to this employee's data, e.g. when it is removed from the roster.
+     */
+    public void unload() {
+        if (registration != null) {
+            registration.remove();
+            registration = null;
+        }
+    }
+
+    /**
+     * Returns a child node of a stored value as a map.
      *
-     * @param ds DataSnapshot containing constraint data.
+     * @param node the parent node
+     * @param key  the child key
+     * @return the child's children, or an empty map if it is missing or a leaf
      */
-    private void loadConstraint(DataSnapshot ds) {
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> childNode(Map<String, Object> node, String key) {
+        Object child = node.get(key);
+        return child instanceof Map ? (Map<String, Object>) child : Collections.emptyMap();
+    }
+
+    /**
+     * Loads the constraints list from the employee's stored node.
+     *
+     * @param node the employee's node
+     */
+    @SuppressWarnings("unchecked")
+    private void loadConstraint(Map<String, Object> node) {
         try {
-            DataSnapshot constraintDataSnapshot = ds.child(CONSTRAINTS_COLLECTION_NAME);
             this.constraints = new ArrayList<>();
-            for (DataSnapshot constraintSnapshot : constraintDataSnapshot.getChildren()) {
-                Constraint constraint = constraintSnapshot.getValue(Constraint.class);
-                if (constraint != null) {
-                    constraints.add(constraint);
+            for (Object value : childNode(node, CONSTRAINTS_COLLECTION_NAME).values()) {
+                if (value instanceof Map) {
+                    constraints.add(new Constraint((Map<String, Object>) value));
                 }
             }
+            constraintsDirty = false;
+            publishAvailability();
         } catch (Exception e) {
             Log.e("Employee", "Failed to load constraints.", e);
         }
     }
 
     /**
-     * Loads the shifts list from the provided DataSnapshot.
+     * Loads the shifts from the employee's stored node into a new {@link ShiftTimeline}.
+     * If the stored shifts are not keyed by {@link ShiftTimeline#idOf(Shift)} (legacy list
+     * format) or had to be merged, the next save rewrites the whole shifts node once.
      *
-     * @param ds DataSnapshot containing shift data.
+     * @param node the employee's node
      */
-    private void loadShifts(DataSnapshot ds) {
+    @SuppressWarnings("unchecked")
+    private void loadShifts(Map<String, Object> node) {
         try {
-            DataSnapshot shiftsDataSnapshot = ds.child(SHIFTS_COLLECTION_NAME);
-            this.shifts = new ArrayList<>();
-            for (DataSnapshot shiftSnapshot : shiftsDataSnapshot.getChildren()) {
-                Shift shift = shiftSnapshot.getValue(Shift.class);
-                if (shift != null) {
-                    shifts.add(shift);
+            Map<String, Object> storedShifts = childNode(node, SHIFTS_COLLECTION_NAME);
+            ShiftTimeline loaded = new ShiftTimeline();
+            boolean keyedById = true;
+            for (Map.Entry<String, Object> entry : storedShifts.entrySet()) {
+                if (entry.getValue() instanceof Map) {
+                    Shift shift = new Shift((Map<String, Object>) entry.getValue());
+                    keyedById &= ShiftTimeline.idOf(shift).equals(entry.getKey());
+                    loaded.add(shift);
                 }
             }
+            boolean rewrite = !keyedById || loaded.size() != storedShifts.size();
+            loaded.clearChanges();
+            synchronized (this) {
+                shiftsNeedRewrite = rewrite;
+                this.shifts = loaded;
+            }
         } catch (Exception e) {
             Log.e("Employee", "Failed to load shifts.", e);
         }
@@ -308,22 +475,89 @@ public class Employee implements Comparable {
     // ==================== Database Save/Update ====================
 
     /**
-     * Saves the current employee's name, constraints, and shifts to Firebase Realtime Database.
+     * Saves the employee's changed name, constraints, and shifts to the database.
+     * <p>
+     * Only what changed since the last save is sent, in a single
+     * {@link EmployeeRepository#updateEmployees(Map)} call: the name and constraints when they
+     * were edited, and individual shifts (keyed by {@link ShiftTimeline#idOf(Shift)}) that were
+     * added, merged or removed. Does nothing if there are no changes.
+     * </p>
      */
     public void save() {
-        FirebaseDatabase fb = FirebaseDatabase.getInstance(SERVER_URL);
-        DatabaseReference empRef = fb.getReference(COLLECTION_NAME).child(String.valueOf(uid));
-        empRef.child("name").setValue(name);
-        empRef.child(CONSTRAINTS_COLLECTION_NAME).setValue(constraints);
-        // empRef.child(SPECIAL_PROPERTIES_COLLECTION_NAME).setValue(specialProperties);
-        empRef.child(SHIFTS_COLLECTION_NAME).setValue(shifts);
-        Log.d("Employee", "Employee data saved successfully.");
+        writeChanges(collectChanges());
+    }
+
+    /**
+     * Collects this employee's pending changes as multi-location update paths relative to the
+     * employees collection (e.g. {@code "<uid>/shifts/<shiftId>"}) and resets the dirty state.
+     * A {@code null} value deletes the path.
+     *
+     * @return the changed paths and their new values; empty if nothing changed
+     */
+    synchronized Map<String, Object> collectChanges() {
+        Map<String, Object> changes = new HashMap<>();
+        String base = uid + "/";
+        if (nameDirty) {
+            changes.put(base + "name", name);
+        }
+        if (constraintsDirty) {
+            List<Map<String, Object>> values = new ArrayList<>();
+            for (Constraint constraint : constraints) {
+                values.add(constraint.toMap());
+            }
+            changes.put(base + CONSTRAINTS_COLLECTION_NAME, values);
+        }
+        if (shiftsNeedRewrite) {
+            Map<String, Object> values = new HashMap<>();
+            for (Shift shift : shifts.toList()) {
+                values.put(ShiftTimeline.idOf(shift), shift.toMap());
+            }
+            changes.put(base + SHIFTS_COLLECTION_NAME, values);
+            shifts.takeChanges();
+        } else {
+            for (Map.Entry<String, Shift> change : shifts.takeChanges().entrySet()) {
+                Shift shift = change.getValue();
+                changes.put(base + SHIFTS_COLLECTION_NAME + "/" + change.getKey(),
+                        shift == null ? null : shift.toMap());
+            }
+        }
+        nameDirty = false;
+        constraintsDirty = false;
+        shiftsNeedRewrite = false;
+        return changes;
+    }
+
+    /**
+     * Marks all of the employee's data as changed, so the next save writes it in full.
+     */
+    synchronized void markAllDirty() {
+        nameDirty = true;
+        constraintsDirty = true;
+        shiftsNeedRewrite = true;
+    }
+
+    /**
+     * Sends collected changes to the database in one update. On failure the employee is marked
+     * fully dirty so the next save rewrites it.
+     *
+     * @param changes the paths to write, relative to the employees collection
+     */
+    private void writeChanges(Map<String, Object> changes) {
+        if (changes.isEmpty()) return;
+        repository().updateEmployees(changes).whenComplete((ignored, error) -> {
+            if (error == null) {
+                Log.d("Employee", "Employee data saved successfully.");
+            } else {
+                Log.w("Employee", "Failed to save employee data.", error);
+                markAllDirty();
+            }
+        });
     }
 
     // ==================== Constraint/Shift Utility ====================
 
     /**
-     * Deletes the constraint at the given index from the constraints list and saves changes to Firebase.
+     * Deletes the constraint at the given index from the constraints list and saves changes to the database.
      *
      * @param index The index of the constraint to remove.
      * @throws IndexOutOfBoundsException If the index is invalid.
@@ -333,6 +567,8 @@ public class Employee implements Comparable {
             throw new IndexOutOfBoundsException("Invalid index");
         }
         constraints.remove(index);
+        constraintsDirty = true;
+        publishAvailability();
         save();
     }
 
@@ -370,6 +606,7 @@ public class Employee implements Comparable {
      */
     public void setName(String name) {
         this.name = name;
+        this.nameDirty = true;
     }
 
     /**
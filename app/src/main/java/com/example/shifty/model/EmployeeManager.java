@@ -4,22 +4,39 @@ import android.util.Log;
 
 import androidx.lifecycle.MutableLiveData;
 
-import com.google.firebase.database.ChildEventListener;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
+import com.example.shifty.model.repository.ChildListener;
+import com.example.shifty.model.repository.EmployeeRepository;
+import com.example.shifty.model.repository.Registration;
+import com.example.shifty.model.repository.Repositories;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Singleton class to manage employee data within the application. Handles
  * initialization, retrieval, saving, and real-time monitoring of employees
- * stored in a Firebase Realtime Database.
+ * stored in the database, through an {@link EmployeeRepository}.
+ *
+ * <p>
+ * Repository callbacks update a {@link ConcurrentHashMap} and then publish a fresh immutable
+ * list of employees, so readers on the UI and solver threads never block and can iterate
+ * {@link #getEmployees()} without copying it.
+ * </p>
+ *
+ * <p>
+ * Employees are partitioned by team, and a manager only loads and monitors one team's
+ * employees, so download size and solve time follow the size of the team rather than of the
+ * company. The app uses one manager per team, returned by {@link #getInstance(String)};
+ * {@link #getInstance()} returns the current user's team's. Load tests may create further
+ * managers over their own repository with {@link #EmployeeManager(EmployeeRepository)} and
+ * release them with {@link #close()}.
+ * </p>
  *
  * <p>See also: {@link Employee}
  *
@@ -28,147 +45,252 @@ import java.util.concurrent.CompletableFuture;
 public class EmployeeManager {
 
     /**
-     * Firebase Realtime Database URL.
+     * Maximum number of paths sent in one multi-location update. Keeps a single write far
+     * below the Realtime Database per-write size limit; larger publishes are split into
+     * chunks on employee boundaries, so each employee is still written atomically.
      */
-    private static final String SERVER_URL = "https://shifty-1c786-default-rtdb.europe-west1.firebasedatabase.app";
+    private static final int MAX_PATHS_PER_UPDATE = 5000;
 
     /**
-     * The single instance of {@link EmployeeManager}.
+     * The manager of each team loaded so far, keyed by team ID.
      */
-    private static EmployeeManager instance;
+    private static final Map<String, EmployeeManager> instances = new HashMap<>();
 
     /**
      * In-memory cache for employee data, keyed by UID.
      */
-    private static final HashMap<String, Employee> employeeMap = new HashMap<>();
+    private final ConcurrentHashMap<String, Employee> employeeMap = new ConcurrentHashMap<>();
+
+    /**
+     * Repository the employees are loaded from and saved to.
+     */
+    private final EmployeeRepository repository;
+
+    /**
+     * Listener on the employees node.
+     */
+    private final Registration monitorRegistration;
+
+    /**
+     * Immutable list of the employees in {@link #employeeMap}, replaced as a whole after every
+     * change to the map.
+     */
+    private volatile List<Employee> employeesView = Collections.emptyList();
 
     /**
-     * Indicates if all employees have been loaded and initialized.
+     * Whether the initial load has been published. Until then employees reported by the child
+     * listener are only added to {@link #employeeMap}, and the initial load publishes them all
+     * at once. Guarded by {@code this}.
      */
-    private boolean initialized = false;
+    private boolean loaded;
 
     /**
-     * LiveData indicating the need for UI refresh on employee changes.
+     * Completes once the initial list of employees has been loaded.
+     */
+    private final CompletableFuture<Void> initialized = new CompletableFuture<>();
+
+    /**
+     * Incremented whenever an employee is added or removed or an employee's availability changes.
+     * Used by {@link RosterSnapshot#capture()} to detect a roster that changed while it was read.
+     */
+    private final AtomicLong rosterVersion = new AtomicLong();
+
+    /**
+     * LiveData indicating the need for UI refresh on employee changes, posted whenever the
+     * {@link #rosterVersion} increases.
      */
     private MutableLiveData<Boolean> needRefresh = new MutableLiveData<>();
 
     /**
-     * Gets the singleton instance of {@link EmployeeManager}.
+     * Gets the {@link EmployeeManager} of the current user's team.
      *
-     * @return the single {@link EmployeeManager} instance
+     * @return the manager of the current team
+     * @see CurrentUserManager#getTeamId()
      */
     public static EmployeeManager getInstance() {
-        if (instance == null) instance = new EmployeeManager();
-        return instance;
+        return getInstance(CurrentUserManager.getInstance().getTeamId());
     }
 
     /**
-     * Private constructor to enforce singleton pattern.
-     * Initializes employee data and starts monitoring Firebase for changes.
+     * Gets the {@link EmployeeManager} of a team, creating it and starting to load the team's
+     * employees on first use.
+     *
+     * @param teamId the team ID
+     * @return the manager of that team
      */
-    private EmployeeManager() {
+    public static synchronized EmployeeManager getInstance(String teamId) {
+        EmployeeManager manager = instances.get(teamId);
+        if (manager == null) {
+            manager = new EmployeeManager(Repositories.getEmployeeRepository(teamId));
+            instances.put(teamId, manager);
+        }
+        return manager;
+    }
+
+    /**
+     * Closes and forgets the manager of a team, e.g. when the user switches to another team,
+     * so the team's employees are no longer kept in memory or listened to.
+     *
+     * @param teamId the team ID
+     */
+    public static synchronized void release(String teamId) {
+        EmployeeManager manager = instances.remove(teamId);
+        if (manager != null) manager.close();
+    }
+
+    /**
+     * Creates a manager over the given repository, loads the employee data and starts
+     * monitoring the repository for changes. The app uses {@link #getInstance(String)}; separate
+     * managers are meant for load tests.
+     *
+     * @param repository the repository to load employees from and save them to
+     */
+    public EmployeeManager(EmployeeRepository repository) {
+        this.repository = repository;
         initializeEmployee();
-        monitorUIDs();
+        monitorRegistration = monitorUIDs();
     }
 
     /**
-     * Initializes employee data by loading all employee UIDs from Firebase,
+     * Initializes employee data by loading all employee UIDs from the repository,
      * instantiating {@link Employee} objects, and loading their data.
-     * The process is asynchronous.
+     * The process is asynchronous. The list of employees is published once, after all of
+     * them were added, rather than once per employee.
      */
     private void initializeEmployee() {
-        CompletableFuture<List<String>> future = getAllEmployeeUIDs();
+        CompletableFuture<List<String>> future = repository.fetchEmployeeIds();
         future.thenAccept(uids -> {
             for (String uid : uids) {
-                Employee employee = new Employee(uid);
-                employee.loadEmp();
-                employeeMap.put(uid, employee);
-                initialized = true;
+                addEmployee(uid);
             }
+            publishLoaded();
+            initialized.complete(null);
         }).exceptionally(e -> {
             System.err.println("Error fetching UIDs: " + e.getMessage());
+            publishLoaded(); // Still show the employees the child listener reported
+            initialized.completeExceptionally(e);
             return null;
         });
     }
 
     /**
-     * Retrieves all employee UIDs from Firebase asynchronously.
+     * Adds the employee with the given UID unless it is already loaded (the initial load and
+     * the child listener both report existing employees). Once the initial load has been
+     * published, the new list is published too.
      *
-     * @return a {@link CompletableFuture} containing a list of employee UIDs
+     * @param uid the unique ID of the employee
      */
-    private CompletableFuture<List<String>> getAllEmployeeUIDs() {
-        FirebaseDatabase database = FirebaseDatabase.getInstance(SERVER_URL);
-        DatabaseReference employeesRef = database.getReference("employees");
-        CompletableFuture<List<String>> toReturn = new CompletableFuture<>();
-        employeesRef.addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(DataSnapshot dataSnapshot) {
-                List<String> uids = new ArrayList<>();
-                for (DataSnapshot childSnapshot : dataSnapshot.getChildren()) {
-                    String uid = childSnapshot.getKey();
-                    if (uid != null) {
-                        uids.add(uid);
-                    }
-                }
-                toReturn.complete(uids);
+    private void addEmployee(String uid) {
+        if (uid == null || employeeMap.containsKey(uid)) return;
+        Employee employee = new Employee(uid, repository);
+        if (employeeMap.putIfAbsent(uid, employee) == null) {
+            employee.setOnAvailabilityChanged(this::rosterChanged);
+            employee.loadEmp();
+            synchronized (this) {
+                if (loaded) publishEmployees();
             }
+        }
+    }
 
-            @Override
-            public void onCancelled(DatabaseError databaseError) {
-                System.err.println("Error fetching UIDs: " + databaseError.getMessage());
-                // Optionally, completeExceptionally can be used for error propagation:
-                // toReturn.completeExceptionally(databaseError.toException());
-            }
-        });
-        return toReturn;
+    /**
+     * Marks the initial load as published and publishes every employee added so far.
+     */
+    private synchronized void publishLoaded() {
+        loaded = true;
+        publishEmployees();
     }
 
     /**
-     * Monitors Firebase for any changes (additions/removals/updates) to employees,
-     * and keeps the internal map updated accordingly.
+     * Publishes a new immutable list of the employees in {@link #employeeMap} and bumps the roster
+     * version. Synchronized so concurrent writers cannot publish an older list over a newer one.
      */
-    private void monitorUIDs() {
-        FirebaseDatabase database = FirebaseDatabase.getInstance();
-        DatabaseReference employeesRef = database.getReference("employees");
+    private synchronized void publishEmployees() {
+        employeesView = Collections.unmodifiableList(new ArrayList<>(employeeMap.values()));
+        rosterChanged();
+    }
 
-        employeesRef.addChildEventListener(new ChildEventListener() {
-            @Override
-            public void onChildAdded(DataSnapshot dataSnapshot, String previousChildName) {
-                String newUID = dataSnapshot.getKey();
-                Employee newEmployee = new Employee(newUID);
-                newEmployee.loadEmp();
-                employeeMap.put(newUID, newEmployee);
-            }
+    /**
+     * Bumps the roster version and tells observers of {@link #getNeedRefresh()} to redraw.
+     */
+    private void rosterChanged() {
+        rosterVersion.incrementAndGet();
+        needRefresh.postValue(true);
+    }
 
+    /**
+     * Monitors the repository for any changes (additions/removals/updates) to employees,
+     * and keeps the internal map updated accordingly.
+     *
+     * @return the registration of the listener
+     */
+    private Registration monitorUIDs() {
+        return repository.listenEmployees(new ChildListener() {
             @Override
-            public void onChildChanged(DataSnapshot dataSnapshot, String previousChildName) {
-                // Optionally handle employee updates here
+            public void onChildAdded(String key, Map<String, Object> value) {
+                addEmployee(key);
             }
 
             @Override
-            public void onChildRemoved(DataSnapshot dataSnapshot) {
-                employeeMap.remove(dataSnapshot.getKey());
+            public void onChildChanged(String key, Map<String, Object> value) {
+                // Each employee listens to its own node
             }
 
             @Override
-            public void onChildMoved(DataSnapshot dataSnapshot, String previousChildName) {
-                // Optionally handle moves here
+            public void onChildRemoved(String key) {
+                Employee removed = employeeMap.remove(key);
+                if (removed != null) {
+                    removed.unload();
+                    publishEmployees();
+                }
             }
 
             @Override
-            public void onCancelled(DatabaseError databaseError) {
-                System.err.println("Error monitoring UIDs: " + databaseError.getMessage());
+            public void onError(Exception error) {
+                System.err.println("Error monitoring UIDs: " + error.getMessage());
             }
         });
     }
 
     /**
-     * Gets a list of all loaded employees.
+     * Detaches this manager's listeners and those of its employees. Used by {@link #release(String)}
+     * and by load tests to release managers created with {@link #EmployeeManager(EmployeeRepository)}.
+     */
+    public void close() {
+        monitorRegistration.remove();
+        for (Employee employee : employeeMap.values()) {
+            employee.unload();
+        }
+    }
+
+    /**
+     * Gets a list of all loaded employees. The list is an immutable view published on the
+     * last roster change; it is safe to iterate from any thread and is not copied per call.
      *
-     * @return a {@link List} of {@link Employee} objects.
+     * @return an unmodifiable {@link List} of {@link Employee} objects.
      */
     public List<Employee> getEmployees() {
-        return new ArrayList<>(employeeMap.values());
+        return employeesView;
+    }
+
+    /**
+     * Returns the roster version, which increases whenever an employee is added or removed
+     * or an employee's availability changes.
+     *
+     * @return the current roster version
+     */
+    public long getRosterVersion() {
+        return rosterVersion.get();
+    }
+
+    /**
+     * Returns the {@link MutableLiveData} object used to notify observers of roster changes,
+     * posted whenever the {@link #getRosterVersion() roster version} increases.
+     *
+     * @return the live data object for refresh notifications
+     * @see MutableLiveData
+     */
+    public MutableLiveData<Boolean> getNeedRefresh() {
+        return needRefresh;
     }
 
     /**
@@ -200,29 +322,78 @@ public class EmployeeManager {
     /**
      * Checks if the employee data has been initialized.
      *
-     * @return {@code true} if employees are initialized, {@code false} otherwise
+     * @return {@code true} if the initial employee list loaded successfully, {@code false} otherwise
      */
     public boolean isInitialized() {
-        return initialized;
+        return initialized.isDone() && !initialized.isCompletedExceptionally();
     }
 
     /**
-     * Sets the initialization state of the employee data.
+     * Returns a future that completes once the initial employee list has been loaded,
+     * or completes exceptionally if it could not be fetched.
      *
-     * @param initialized {@code true} if initialized, {@code false} otherwise
+     * @return the initialization future
      */
-    public void setInitialized(boolean initialized) {
-        this.initialized = initialized;
+    public CompletableFuture<Void> whenInitialized() {
+        return initialized;
     }
 
     /**
-     * Saves all employees to the database by calling {@link Employee#save()} on each employee.
+     * Saves the pending changes of all employees to the database as one multi-location
+     * atomic update, so other clients never observe a partially published schedule.
+     * <p>
+     * If the changes exceed {@link #MAX_PATHS_PER_UPDATE} paths, they are split into several
+     * updates on employee boundaries. Employees whose update fails are marked fully dirty so
+     * the next save rewrites them.
+     * </p>
      *
-     * @see Employee#save()
+     * @return a {@link CompletableFuture} that completes with {@code true} once every update
+     *         succeeded, or {@code false} if any of them failed
+     * @see Employee#collectChanges()
      */
-    public void saveAllEmployees() {
-        for (Employee employee : employeeMap.values()) {
-            employee.save();
+    public CompletableFuture<Boolean> saveAllEmployees() {
+        List<Map<String, Object>> chunks = new ArrayList<>();
+        List<List<Employee>> chunkEmployees = new ArrayList<>();
+        Map<String, Object> chunk = new HashMap<>();
+        List<Employee> employeesInChunk = new ArrayList<>();
+
+        for (Employee employee : employeesView) {
+            Map<String, Object> changes = employee.collectChanges();
+            if (changes.isEmpty()) continue;
+            if (!chunk.isEmpty() && chunk.size() + changes.size() > MAX_PATHS_PER_UPDATE) {
+                chunks.add(chunk);
+                chunkEmployees.add(employeesInChunk);
+                chunk = new HashMap<>();
+                employeesInChunk = new ArrayList<>();
+            }
+            chunk.putAll(changes);
+            employeesInChunk.add(employee);
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+            chunkEmployees.add(employeesInChunk);
+        }
+
+        CompletableFuture<?>[] writes = new CompletableFuture<?>[chunks.size()];
+        for (int i = 0; i < chunks.size(); i++) {
+            List<Employee> written = chunkEmployees.get(i);
+            writes[i] = repository.updateEmployees(chunks.get(i)).handle((ignored, error) -> {
+                if (error != null) {
+                    Log.w("EmployeeManager", "Failed to publish employee changes.", error);
+                    for (Employee employee : written) {
+                        employee.markAllDirty();
+                    }
+                }
+                return error == null;
+            });
         }
+        Log.d("EmployeeManager", "Publishing " + chunks.size() + " update(s) for all employees.");
+
+        return CompletableFuture.allOf(writes).thenApply(ignored -> {
+            for (CompletableFuture<?> write : writes) {
+                if (!Boolean.TRUE.equals(write.join())) return false;
+            }
+            return true;
+        });
     }
 }
@@ -0,0 +1,203 @@
+package com.example.shifty.model;
+
+import com.example.shifty.model.SchedulingAlgorithm.SchedulingProblem;
+
+import java.util.List;
+
+/**
+ * Immutable, versioned view of everything the solver reads: the employees, their availability
+ * masks, and the system needs.
+ * <p>
+ * Employees publish their availability copy-on-write ({@link Employee#getAvailabilityMasks()})
+ * and {@link ScheduleRepository} publishes system needs the same way, so a snapshot only copies
+ * references and small primitive arrays. {@link #capture()} re-reads until neither the roster
+ * version nor the system needs version changed during the read, so the result is consistent.
+ * A snapshot never changes after creation, so any number of solves or analyses can share it
+ * across threads without locking.
+ * </p>
+ *
+ * <p>
+ * The solver itself lives in the plain-Java {@code scheduling-core} module and knows nothing
+ * about {@link Employee}; {@link #getProblem()} is the snapshot in the solver's terms, with each
+ * employee's index matching {@link #getEmployee(int)} and its ID being the employee's UID.
+ * </p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * {@code
+ * RosterSnapshot snapshot = RosterSnapshot.capture();
+ * Schedule schedule = new ModelSolver(snapshot.getProblem()).Solve();
+ * }
+ * </pre>
+ *
+ * @author Eitan Navon
+ * @see EmployeeManager#getRosterVersion()
+ * @see ScheduleRepository#getSystemNeedsVersion()
+ */
+public final class RosterSnapshot {
+
+    /** Number of days in the scheduled week. */
+    public static final int DAYS_IN_WEEK = SchedulingProblem.DAYS_IN_WEEK;
+
+    /** Number of hour slots per day. */
+    public static final int HOURS_PER_DAY = SchedulingProblem.HOURS_PER_DAY;
+
+    /** Maximum attempts to read an unchanged roster before settling for the last read. */
+    private static final int MAX_CAPTURE_ATTEMPTS = 5;
+
+    private final long rosterVersion;
+    private final long systemNeedsVersion;
+    private final Employee[] employees;
+
+    /** Availability and system needs in the solver's terms, indexed like {@link #employees}. */
+    private final SchedulingProblem problem;
+
+    private RosterSnapshot(long rosterVersion, long systemNeedsVersion, List<Employee> employees, int[] systemNeeds) {
+        this.rosterVersion = rosterVersion;
+        this.systemNeedsVersion = systemNeedsVersion;
+        this.employees = employees.toArray(new Employee[0]);
+        SchedulingProblem.Builder builder = SchedulingProblem.builder().setSystemNeeds(systemNeeds);
+        for (Employee employee : this.employees) {
+            builder.addEmployee(employee.getUid(), employee.getName(), employee.getAvailabilityMasks());
+        }
+        this.problem = builder.build();
+    }
+
+    /**
+     * Captures the current team's roster from {@link EmployeeManager} and system needs from
+     * {@link ScheduleRepository}.
+     *
+     * @return a consistent snapshot
+     * @see CurrentUserManager#getTeamId()
+     */
+    public static RosterSnapshot capture() {
+        return capture(CurrentUserManager.getInstance().getTeamId());
+    }
+
+    /**
+     * Captures a team's roster and system needs, so the solve only considers that team.
+     *
+     * @param teamId the team ID
+     * @return a consistent snapshot
+     */
+    public static RosterSnapshot capture(String teamId) {
+        EmployeeManager employeeManager = EmployeeManager.getInstance(teamId);
+        ScheduleRepository scheduleRepository = ScheduleRepository.getInstance(teamId);
+        RosterSnapshot snapshot = null;
+        for (int attempt = 0; attempt < MAX_CAPTURE_ATTEMPTS; attempt++) {
+            long rosterVersion = employeeManager.getRosterVersion();
+            long needsVersion = scheduleRepository.getSystemNeedsVersion();
+            snapshot = new RosterSnapshot(rosterVersion, needsVersion,
+                    employeeManager.getEmployees(), scheduleRepository.copySystemNeedsCells());
+            if (rosterVersion == employeeManager.getRosterVersion()
+                    && needsVersion == scheduleRepository.getSystemNeedsVersion()) {
+                break;
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Builds an unversioned snapshot from explicit inputs, e.g. for tests or offline runs.
+     *
+     * @param employees   the employees to schedule
+     * @param systemNeeds the system needs, indexed {@code [day][hour]}
+     * @return the snapshot
+     */
+    public static RosterSnapshot of(List<Employee> employees, int[][] systemNeeds) {
+        int[] cells = new int[DAYS_IN_WEEK * HOURS_PER_DAY];
+        for (int day = 0; day < DAYS_IN_WEEK; day++) {
+            System.arraycopy(systemNeeds[day], 0, cells, day * HOURS_PER_DAY, HOURS_PER_DAY);
+        }
+        return new RosterSnapshot(-1, -1, employees, cells);
+    }
+
+    /**
+     * Returns the snapshot as input for the solver.
+     *
+     * @return the scheduling problem
+     */
+    public SchedulingProblem getProblem() {
+        return problem;
+    }
+
+    /**
+     * Returns the roster version this snapshot was captured at, or -1 if unversioned.
+     *
+     * @return the roster version
+     */
+    public long getRosterVersion() {
+        return rosterVersion;
+    }
+
+    /**
+     * Returns the system needs version this snapshot was captured at, or -1 if unversioned.
+     *
+     * @return the system needs version
+     */
+    public long getSystemNeedsVersion() {
+        return systemNeedsVersion;
+    }
+
+    /**
+     * Returns the number of employees in the snapshot.
+     *
+     * @return the employee count
+     */
+    public int getEmployeeCount() {
+        return employees.length;
+    }
+
+    /**
+     * Returns the employee at the given index.
+     *
+     * @param index the employee index
+     * @return the employee
+     */
+    public Employee getEmployee(int index) {
+        return employees[index];
+    }
+
+    /**
+     * Returns whether an employee was available at a given day and hour when captured.
+     *
+     * @param employee the employee index
+     * @param day      the day of the week (0=Sunday, 6=Saturday)
+     * @param hour     the hour index (0-21)
+     * @return {@code true} if available
+     */
+    public boolean isAvailable(int employee, int day, int hour) {
+        return problem.isAvailable(employee, day, hour);
+    }
+
+    /**
+     * Returns an employee's availability mask for a day.
+     *
+     * @param employee the employee index
+     * @param day      the day of the week (0=Sunday, 6=Saturday)
+     * @return the mask; bit {@code h} is set when available at hour {@code h}
+     */
+    public int getAvailabilityMask(int employee, int day) {
+        return problem.getAvailabilityMask(employee, day);
+    }
+
+    /**
+     * Returns the number of employees needed at a given day and hour.
+     *
+     * @param day  the day of the week (0=Sunday, 6=Saturday)
+     * @param hour the hour index (0-21)
+     * @return the number of employees needed
+     */
+    public int getSystemNeed(int day, int hour) {
+        return problem.getSystemNeed(day, hour);
+    }
+
+    /**
+     * Returns the system needs as a new {@code [day][hour]} array.
+     *
+     * @return a copy of the system needs
+     */
+    public int[][] getSystemNeeds() {
+        return problem.getSystemNeeds();
+    }
+}
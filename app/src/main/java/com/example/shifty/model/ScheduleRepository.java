@@ -1,16 +1,33 @@
 package com.example.shifty.model;
 
 import com.example.shifty.model.SchedulingAlgorithm.Schedule;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
+import com.example.shifty.model.repository.Registration;
+import com.example.shifty.model.repository.Repositories;
+import com.example.shifty.model.repository.SystemNeedsRepository;
+import com.example.shifty.model.repository.ValueListener;
+import android.util.Log;
 
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 /**
- * Repository class responsible for fetching and saving scheduling data, such as system needs, to and from Firebase.
+ * Repository class responsible for fetching and saving scheduling data, such as system needs, to and from
+ * the database through a {@link SystemNeedsRepository}.
  * <p>
- * Implements the Singleton pattern to provide a single access point for schedule-related database operations.
+ * System needs are partitioned by team like the roster: there is one repository per team,
+ * returned by {@link #getInstance(String)}, each caching only its own team's needs and
+ * publishing schedules to that team's {@link EmployeeManager}. {@link #getInstance()} returns
+ * the current user's team's.
+ * </p>
+ *
+ * <p>
+ * System needs are kept in memory: a single {@link ValueListener} on the system needs node
+ * parses each snapshot once into a flat array indexed {@code day * 22 + hour}, and every read is
+ * served from that array. A version counter is incremented whenever the cached values change,
+ * so callers can tell whether a copy they hold is stale.
  * </p>
  *
  * <p>Example usage:</p>
@@ -25,114 +42,359 @@ import java.util.concurrent.CompletableFuture;
  * </pre>
  *
  * @author Eitan Navon
- * @see FirebaseDatabase
- * @see DatabaseReference
+ * @see SystemNeedsRepository
  * @see CompletableFuture
  * @see Schedule
  */
 public class ScheduleRepository {
 
-    private static ScheduleRepository instance;
-    private static final String SERVER_URL = "https://shifty-1c786-default-rtdb.europe-west1.firebasedatabase.app";
-    private static final String SYSTEM_NEED_PATH = "systemNeeds";
+    private static final String TAG = "ScheduleRepository";
+    /** The repository of each team loaded so far, keyed by team ID. */
+    private static final Map<String, ScheduleRepository> instances = new HashMap<>();
     private static final int HOUR_PER_DAY = 22;
     private static final int DAYS_IN_WEEK = 7;
+    private static final String SYSTEM_NEEDS_JOURNAL = "systemNeeds";
+    private static final String JOURNAL_EXTENSION = ".journal";
+
+    /** Directory for the pending-edits journal; {@code null} until {@link #setJournalDirectory(File)} is called. */
+    private static File journalDirectory;
+
+    /** Team whose system needs this repository holds. */
+    private final String teamId;
+
+    /** Repository the system needs are read from and written to. */
+    private final SystemNeedsRepository repository;
+
+    /** Listener on the system needs node. */
+    private final Registration registration;
+
+    /** Write-behind queue through which individual system need edits are persisted. */
+    private final SystemNeedsWriteQueue systemNeedsQueue;
+
+    /**
+     * Cached system needs, indexed {@code day * HOUR_PER_DAY + hour}. Replaced as a whole
+     * (never mutated after publication), so readers need no locking.
+     */
+    private volatile int[] systemNeedsCells = new int[DAYS_IN_WEEK * HOUR_PER_DAY];
+
+    /** Incremented each time {@link #systemNeedsCells} is replaced. */
+    private volatile long systemNeedsVersion;
+
+    /** Completes once the first system needs snapshot has been received. */
+    private final CompletableFuture<Void> systemNeedsLoaded = new CompletableFuture<>();
+
+    /**
+     * Creates a repository of the default team over the given {@link SystemNeedsRepository},
+     * e.g. for load tests. See {@link #ScheduleRepository(SystemNeedsRepository, String)}.
+     *
+     * @param repository the system needs repository
+     */
+    public ScheduleRepository(SystemNeedsRepository repository) {
+        this(repository, Repositories.DEFAULT_TEAM_ID);
+    }
+
+    /**
+     * Creates a repository of a team over the given {@link SystemNeedsRepository} and attaches
+     * the single system needs listener that keeps the cache current. The app uses
+     * {@link #getInstance(String)}.
+     *
+     * @param repository the team's system needs repository
+     * @param teamId     the team ID, which also names the team's pending-edits journal
+     */
+    public ScheduleRepository(SystemNeedsRepository repository, String teamId) {
+        this.teamId = teamId;
+        this.repository = repository;
+        systemNeedsQueue = new SystemNeedsWriteQueue(repository, journalFile(teamId));
+        registration = repository.listenSystemNeeds(new ValueListener<Map<String, Object>>() {
+            @Override
+            public void onValue(Map<String, Object> value) {
+                publishSystemNeeds(parseSystemNeeds(value));
+                systemNeedsLoaded.complete(null);
+            }
+
+            @Override
+            public void onError(Exception error) {
+                Log.e(TAG, "System needs listener cancelled: " + error.getMessage());
+                systemNeedsLoaded.complete(null); // Serve whatever is cached rather than block forever
+            }
+        });
+    }
 
     /**
-     * Private constructor to prevent direct instantiation. Use {@link #getInstance()}.
+     * Sets the directory in which pending system need edits are journaled.
+     * Must be called before the first {@link #getInstance()} (typically from
+     * {@link com.example.shifty.ShiftyApplication#onCreate()}) so edits survive process death.
+     *
+     * @param directory the app's private files directory
      */
-    public ScheduleRepository() {
-        // Private constructor to prevent instantiation
+    public static void setJournalDirectory(File directory) {
+        journalDirectory = directory;
     }
 
     /**
-     * Returns the singleton instance of {@code ScheduleRepository}.
+     * Returns the journal file for a team's pending system need edits. The default team keeps
+     * the journal name used before teams existed, so edits journaled by an older version are
+     * still flushed.
      *
-     * @return the single instance of {@code ScheduleRepository}
+     * @param teamId the team ID
+     * @return the journal file, or {@code null} if no journal directory was set
+     */
+    private static File journalFile(String teamId) {
+        if (journalDirectory == null) return null;
+        String name = Repositories.DEFAULT_TEAM_ID.equals(teamId)
+                ? SYSTEM_NEEDS_JOURNAL : SYSTEM_NEEDS_JOURNAL + "-" + teamId;
+        return new File(journalDirectory, name + JOURNAL_EXTENSION);
+    }
+
+    /**
+     * Returns the {@code ScheduleRepository} of the current user's team.
+     *
+     * @return the repository of the current team
+     * @see CurrentUserManager#getTeamId()
      */
     public static ScheduleRepository getInstance() {
-        if (instance == null) {
-            instance = new ScheduleRepository();
+        return getInstance(CurrentUserManager.getInstance().getTeamId());
+    }
+
+    /**
+     * Returns the {@code ScheduleRepository} of a team, creating it on first use.
+     *
+     * @param teamId the team ID
+     * @return the repository of that team
+     */
+    public static synchronized ScheduleRepository getInstance(String teamId) {
+        ScheduleRepository repository = instances.get(teamId);
+        if (repository == null) {
+            repository = new ScheduleRepository(Repositories.getSystemNeedsRepository(teamId), teamId);
+            instances.put(teamId, repository);
         }
-        return instance;
+        return repository;
     }
 
     /**
-     * Fetches the system needs (number of employees required) for each hour and day from Firebase.
+     * Closes and forgets the repository of a team, e.g. when the user switches to another team.
+     * Pending edits are still flushed.
+     *
+     * @param teamId the team ID
+     */
+    public static synchronized void release(String teamId) {
+        ScheduleRepository repository = instances.remove(teamId);
+        if (repository != null) repository.close();
+    }
+
+    /**
+     * Flushes pending edits, stops the write queue's thread and detaches the system needs
+     * listener; the cache stops updating.
+     */
+    public void close() {
+        systemNeedsQueue.close();
+        registration.remove();
+    }
+
+    /**
+     * Returns the team whose system needs this repository holds.
+     *
+     * @return the team ID
+     */
+    public String getTeamId() {
+        return teamId;
+    }
+
+    /**
+     * Returns the system needs (number of employees required) for each hour and day.
      * <p>
      * The data is represented as a two-dimensional array where {@code systemNeeds[day][hour]} indicates
-     * the number of employees required for that hour on the given day.
+     * the number of employees required for that hour on the given day. Values come from the in-memory
+     * cache, so only the very first call after start-up waits for the network; the returned array is
+     * a fresh copy the caller may modify.
      * </p>
      *
      * @return a {@link CompletableFuture} that resolves to a 2D int array representing system needs.
-     *         If the data does not exist in Firebase, all values will be set to zero.
-     * @throws RuntimeException if there is a Firebase/database connectivity error.
+     *         If the data does not exist in the database, all values will be set to zero.
      * @see CompletableFuture
-     * @see DatabaseReference#get()
+     * @see #getSystemNeedsVersion()
      * @link Schedule
      */
     public CompletableFuture<int[][]> fetchSystemNeeds() {
-        CompletableFuture<int[][]> data = new CompletableFuture<>();
+        return systemNeedsLoaded.thenApply(ignored -> {
+            int[] cells = systemNeedsCells;
+            int[][] systemNeeds = new int[DAYS_IN_WEEK][HOUR_PER_DAY];
+            for (int day = 0; day < DAYS_IN_WEEK; day++) {
+                System.arraycopy(cells, day * HOUR_PER_DAY, systemNeeds[day], 0, HOUR_PER_DAY);
+            }
+            return systemNeeds;
+        });
+    }
 
-        DatabaseReference databaseRef = FirebaseDatabase.getInstance(SERVER_URL).getReference(SYSTEM_NEED_PATH);
+    /**
+     * Returns the cached number of employees needed at a given day and hour.
+     *
+     * @param day  the day of the week (0=Sunday, 6=Saturday)
+     * @param hour the hour index (0-21)
+     * @return the number of employees needed, or 0 if not loaded yet
+     */
+    public int getSystemNeed(int day, int hour) {
+        return systemNeedsCells[day * HOUR_PER_DAY + hour];
+    }
 
-        databaseRef.get().addOnCompleteListener(task -> {
-            int[][] systemNeeds = new int[DAYS_IN_WEEK][HOUR_PER_DAY];
-            if (!task.getResult().exists()) {
-                for (int day = 0; day < DAYS_IN_WEEK; day++) {
-                    for (int hour = 0; hour < HOUR_PER_DAY; hour++) {
-                        systemNeeds[day][hour] = 0;
-                    }
-                }
-            } else if (task.isSuccessful()) {
-                DataSnapshot snapshot = task.getResult();
-                for (int day = 0; day < DAYS_IN_WEEK; day++) {
-                    DataSnapshot daySnapshot = snapshot.child(String.valueOf(day));
-                    for (int hour = 0; hour < HOUR_PER_DAY; hour++) {
-                        Integer value = daySnapshot.child(String.valueOf(hour)).getValue(Integer.class);
-                        systemNeeds[day][hour] = (value != null) ? value : 0; // Default to 0 if null
+    /**
+     * Returns a copy of the cached system needs as a flat array indexed {@code day * 22 + hour}.
+     *
+     * @return a new array holding the current values
+     */
+    public int[] copySystemNeedsCells() {
+        return systemNeedsCells.clone();
+    }
+
+    /**
+     * Returns the version of the cached system needs. The version increases whenever the cache
+     * changes, whether from a local edit or from another admin's update.
+     *
+     * @return the current version
+     */
+    public long getSystemNeedsVersion() {
+        return systemNeedsVersion;
+    }
+
+    /**
+     * Parses the system needs node into a flat array in a single pass over its children.
+     * Missing cells default to 0, and edits still waiting in the write queue take precedence.
+     *
+     * @param node the system needs node as {@code day -> hour -> value} maps, or {@code null}
+     * @return the parsed cells, indexed {@code day * HOUR_PER_DAY + hour}
+     */
+    private int[] parseSystemNeeds(Map<String, Object> node) {
+        int[] cells = new int[DAYS_IN_WEEK * HOUR_PER_DAY];
+        if (node != null) {
+            for (Map.Entry<String, Object> dayEntry : node.entrySet()) {
+                int day = parseIndex(dayEntry.getKey(), DAYS_IN_WEEK);
+                if (day < 0 || !(dayEntry.getValue() instanceof Map)) continue;
+                for (Map.Entry<?, ?> hourEntry : ((Map<?, ?>) dayEntry.getValue()).entrySet()) {
+                    int hour = parseIndex(String.valueOf(hourEntry.getKey()), HOUR_PER_DAY);
+                    Object value = hourEntry.getValue();
+                    if (hour >= 0 && value instanceof Number) {
+                        cells[day * HOUR_PER_DAY + hour] = ((Number) value).intValue();
                     }
                 }
             }
-            data.complete(systemNeeds);
-        });
+        }
+        systemNeedsQueue.applyPending(cells, HOUR_PER_DAY);
+        return cells;
+    }
 
-        return data;
+    /**
+     * Parses a child key as an index below {@code limit}.
+     *
+     * @param key   the child key
+     * @param limit the exclusive upper bound
+     * @return the index, or -1 if the key is not a valid index
+     */
+    private static int parseIndex(String key, int limit) {
+        try {
+            int index = Integer.parseInt(key);
+            return (index >= 0 && index < limit) ? index : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
     }
 
     /**
-     * Saves the system needs (number of employees required per hour and day) to Firebase.
+     * Publishes a new cache array and bumps the version if its contents differ from the current one.
+     *
+     * @param cells the new cells; must not be modified afterwards
+     */
+    private synchronized void publishSystemNeeds(int[] cells) {
+        if (Arrays.equals(cells, systemNeedsCells)) return;
+        systemNeedsCells = cells;
+        systemNeedsVersion++;
+    }
+
+    /**
+     * Saves the system needs (number of employees required per hour and day) to the database.
      * <p>
-     * Each cell in the array is saved at the path {@code /systemNeeds/{day}/{hour}}.
+     * Each cell in the array is saved at the path {@code /systemNeeds/{day}/{hour}}, all in one
+     * {@link SystemNeedsRepository#updateSystemNeeds(Map)} call. For interactive edits prefer
+     * {@link #queueSystemNeed(int, int, int)}, which only writes changed cells.
      * </p>
      *
      * @param systemNeeds a 2D int array where {@code systemNeeds[day][hour]} represents the number
      *                    of employees needed for the specified day and hour.
      * @throws NullPointerException if {@code systemNeeds} is {@code null}.
-     * @see DatabaseReference#setValue(Object)
+     * @see SystemNeedsRepository#updateSystemNeeds(Map)
      * @link Schedule
      */
     public void saveSystemNeedsOnDayAndHour(int[][] systemNeeds) {
-        DatabaseReference databaseRef = FirebaseDatabase.getInstance(SERVER_URL).getReference(SYSTEM_NEED_PATH);
+        Map<String, Object> cells = new HashMap<>();
         for (int day = 0; day < DAYS_IN_WEEK; day++) {
             for (int hour = 0; hour < HOUR_PER_DAY; hour++) {
-                databaseRef.child(String.valueOf(day)).child(String.valueOf(hour)).setValue(systemNeeds[day][hour]);
+                cells.put(day + "/" + hour, systemNeeds[day][hour]);
             }
         }
+        repository.updateSystemNeeds(cells);
     }
 
     /**
-     * Saves the provided schedule to the database.
+     * Queues a change to a single system need cell.
      * <p>
-     * This method is a placeholder and should be implemented based on the structure of {@link Schedule}.
+     * Changes are coalesced per cell and flushed together shortly after the last edit,
+     * see {@link SystemNeedsWriteQueue}.
+     * </p>
+     *
+     * @param day   the day of the week (0=Sunday, 6=Saturday)
+     * @param hour  the hour index (0-21)
+     * @param value the number of employees needed
+     */
+    public synchronized void queueSystemNeed(int day, int hour, int value) {
+        systemNeedsQueue.enqueue(day, hour, value);
+        int[] cells = systemNeedsCells.clone();
+        cells[day * HOUR_PER_DAY + hour] = value;
+        publishSystemNeeds(cells);
+    }
+
+    /**
+     * Flushes queued system need changes without waiting for the debounce window,
+     * e.g. when the editing screen is closed.
+     */
+    public void flushSystemNeeds() {
+        systemNeedsQueue.flushNow();
+    }
+
+    /**
+     * Saves the provided schedule to the database by publishing it as shifts of this team's employees.
+     * <p>
+     * For each scheduled hour, a shift is added to the corresponding employee (looked up by UID;
+     * employees removed since the solve are skipped). All employees' shift changes are then written
+     * in a single atomic multi-location update (split into chunks only for very large rosters).
+     * May be called from any thread, e.g. the solver's; each {@link Employee} guards its own shifts.
      * </p>
      *
      * @param s the schedule to save.
-     * @throws UnsupportedOperationException if not implemented.
-     * @see Schedule
-     * @link DatabaseReference
+     * @return a {@link CompletableFuture} completing with {@code true} once the schedule is published
+     * @see EmployeeManager#saveAllEmployees()
+     */
+    public CompletableFuture<Boolean> saveSchedule(Schedule s) {
+        return saveSchedule(s, EmployeeManager.getInstance(teamId));
+    }
+
+    /**
+     * Saves the provided schedule as shifts of the employees held by the given manager,
+     * see {@link #saveSchedule(Schedule)}.
+     *
+     * @param s               the schedule to save.
+     * @param employeeManager the manager holding the scheduled employees
+     * @return a {@link CompletableFuture} completing with {@code true} once the schedule is published
      */
-    public void saveSchedule(Schedule s) {
-        // To be implemented: Save the provided schedule to the database
+    public CompletableFuture<Boolean> saveSchedule(Schedule s, EmployeeManager employeeManager) {
+        for (int day = 0; day < DAYS_IN_WEEK; day++) {
+            for (int hour = 0; hour < HOUR_PER_DAY; hour++) {
+                for (String uid : s.getEmployees(day, hour)) {
+                    Employee employee = employeeManager.getEmployee(uid);
+                    if (employee != null) {
+                        employee.addShift(day, hour, hour + 1);
+                    }
+                }
+            }
+        }
+        return employeeManager.saveAllEmployees(); // Save all employees to the database
     }
 }
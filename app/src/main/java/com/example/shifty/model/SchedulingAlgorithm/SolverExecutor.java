@@ -0,0 +1,193 @@
+package com.example.shifty.model.SchedulingAlgorithm;
+
+import android.os.Process;
+import android.util.Log;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated executor for constraint solving.
+ * <p>
+ * Solves run one at a time on a single background-priority thread, so they never occupy
+ * {@link java.util.concurrent.ForkJoinPool#commonPool()}, which the app's Firebase
+ * continuations rely on. The queue is bounded by {@link #MAX_QUEUED}; further requests are
+ * rejected with a {@link RejectedExecutionException}.
+ * </p>
+ *
+ * <p>
+ * Each request carries a key (e.g. the week being scheduled). Submitting a new request with
+ * the same key supersedes the previous one: its future is cancelled, and it is removed from
+ * the queue or, if already running, interrupted (see {@link ModelSolver#Solve()}).
+ * </p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * {@code
+ * SolverExecutor.getInstance()
+ *         .submit("week", () -> new ModelSolver(problem).Solve())
+ *         .thenAccept(schedule -> ...);
+ * }
+ * </pre>
+ *
+ * @author Eitan Navon
+ * @see ModelSolver
+ */
+public class SolverExecutor {
+
+    private static final String TAG = "SolverExecutor";
+
+    /** Maximum number of solves waiting behind the running one. */
+    static final int MAX_QUEUED = 4;
+
+    private static SolverExecutor instance;
+
+    /** Single worker thread with a bounded queue. */
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(MAX_QUEUED),
+            runnable -> {
+                Thread thread = new Thread(() -> {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    runnable.run();
+                }, TAG);
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /** The latest job per key. */
+    private final ConcurrentHashMap<String, Job<?>> jobs = new ConcurrentHashMap<>();
+
+    /** Metrics. */
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong supersededCount = new AtomicLong();
+    private final AtomicLong totalRunTimeMs = new AtomicLong();
+    private volatile long lastRunTimeMs;
+
+    /**
+     * A submitted solve: the caller's future and the executor's handle to the task.
+     */
+    private static class Job<T> {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        volatile Future<?> task;
+    }
+
+    private SolverExecutor() {
+    }
+
+    /**
+     * Returns the singleton instance of {@code SolverExecutor}.
+     *
+     * @return the single instance
+     */
+    public static synchronized SolverExecutor getInstance() {
+        if (instance == null) {
+            instance = new SolverExecutor();
+        }
+        return instance;
+    }
+
+    /**
+     * Submits a solve, superseding any queued or running solve with the same key.
+     *
+     * @param key   identifies what is being solved; requests with equal keys supersede each other
+     * @param solve the work to run
+     * @param <T>   the result type
+     * @return a future completing with the result; cancelled if superseded, or completed
+     *         exceptionally with {@link RejectedExecutionException} if the queue is full
+     */
+    public <T> CompletableFuture<T> submit(String key, Supplier<T> solve) {
+        Job<T> job = new Job<>();
+        Job<?> previous = jobs.put(key, job);
+        if (previous != null && previous.result.cancel(false)) {
+            supersededCount.incrementAndGet();
+            Future<?> previousTask = previous.task;
+            if (previousTask != null) {
+                previousTask.cancel(true);
+                executor.purge();
+            }
+        }
+
+        try {
+            job.task = executor.submit(() -> run(key, job, solve));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(key, job);
+            job.result.completeExceptionally(e);
+        }
+        return job.result;
+    }
+
+    /**
+     * Runs a job on the worker thread and records its run time.
+     */
+    private <T> void run(String key, Job<T> job, Supplier<T> solve) {
+        if (job.result.isDone()) return; // Superseded before it started
+        long start = System.nanoTime();
+        try {
+            job.result.complete(solve.get());
+        } catch (Throwable t) {
+            job.result.completeExceptionally(t);
+        } finally {
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            lastRunTimeMs = elapsedMs;
+            totalRunTimeMs.addAndGet(elapsedMs);
+            completedCount.incrementAndGet();
+            jobs.remove(key, job);
+            Thread.interrupted(); // Clear an interrupt from superseding so it does not leak into the next job
+            Log.d(TAG, "Solve '" + key + "' finished in " + elapsedMs + " ms, queue depth " + getQueueDepth());
+        }
+    }
+
+    /**
+     * Returns the number of solves waiting to run.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Returns the number of solves that have run to completion (successfully or not).
+     *
+     * @return the completed solve count
+     */
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    /**
+     * Returns the number of solves cancelled because a newer request with the same key arrived.
+     *
+     * @return the superseded solve count
+     */
+    public long getSupersededCount() {
+        return supersededCount.get();
+    }
+
+    /**
+     * Returns the run time of the most recent solve.
+     *
+     * @return the run time in milliseconds, or 0 if nothing has run yet
+     */
+    public long getLastRunTimeMs() {
+        return lastRunTimeMs;
+    }
+
+    /**
+     * Returns the average run time of completed solves.
+     *
+     * @return the average run time in milliseconds, or 0 if nothing has run yet
+     */
+    public long getAverageRunTimeMs() {
+        long count = completedCount.get();
+        return count == 0 ? 0 : totalRunTimeMs.get() / count;
+    }
+}
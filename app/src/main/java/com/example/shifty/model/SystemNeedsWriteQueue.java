@@ -0,0 +1,256 @@
+package com.example.shifty.model;
+
+import android.util.Log;
+
+import com.example.shifty.model.repository.SystemNeedsRepository;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind queue for system-needs edits.
+ * <p>
+ * Edits are coalesced per {@code [day][hour]} cell: editing the same cell again before the
+ * queue flushes simply replaces the pending value. The queue flushes {@link #DEBOUNCE_MS}
+ * after the last edit, sending every pending cell in one
+ * {@link SystemNeedsRepository#updateSystemNeeds(Map)} call, so network writes scale with editing
+ * sessions rather than with individual dialog confirmations.
+ * </p>
+ *
+ * <p>
+ * Pending edits are journaled to a small local file (one {@code day hour value} line per cell)
+ * and reloaded on construction, so edits made just before the process is killed are still
+ * written on the next start. The journal is rewritten on the queue's own thread, once for any
+ * number of edits queued while a rewrite is pending, so {@link #enqueue(int, int, int)} never
+ * touches the disk on the caller's (main) thread.
+ * </p>
+ *
+ * <p>
+ * {@link #close()} flushes and then stops the queue's thread; a repository that is released
+ * must close its queue.
+ * </p>
+ *
+ * @author Eitan Navon
+ * @see ScheduleRepository
+ */
+public class SystemNeedsWriteQueue {
+
+    private static final String TAG = "SystemNeedsWriteQueue";
+
+    /** Delay after the last edit before pending cells are flushed. */
+    static final long DEBOUNCE_MS = 2000;
+
+    /** Delay before retrying a failed flush. */
+    private static final long RETRY_MS = 10000;
+
+    /** Repository of the node under which cells are stored as {@code day/hour}. */
+    private final SystemNeedsRepository repository;
+
+    /** Journal file for pending edits, or {@code null} to keep them in memory only. */
+    private final File journal;
+
+    /** Pending edits: cell key {@code "day/hour"} to value. */
+    private final Map<String, Integer> pending = new HashMap<>();
+
+    /** Timer used for the debounce and for retries. */
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, TAG);
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** The scheduled flush, if any. */
+    private ScheduledFuture<?> scheduledFlush;
+
+    /** Whether a journal rewrite is queued on the scheduler and has not started yet. */
+    private boolean journalWriteQueued;
+
+    /** Serializes journal rewrites; taken before the queue's own lock, never while holding it. */
+    private final Object journalLock = new Object();
+
+    /**
+     * Creates a queue writing to the given repository and journaling to the given file.
+     * Edits left in the journal by a previous process are loaded and flushed.
+     *
+     * @param repository the system needs repository
+     * @param journal    the journal file, or {@code null} to disable journaling
+     */
+    public SystemNeedsWriteQueue(SystemNeedsRepository repository, File journal) {
+        this.repository = repository;
+        this.journal = journal;
+        readJournal();
+        if (!pending.isEmpty()) {
+            schedule(0);
+        }
+    }
+
+    /**
+     * Queues a new value for one cell, replacing any pending value for it, and restarts
+     * the debounce timer. The journal is updated asynchronously.
+     *
+     * @param day   the day of the week (0=Sunday, 6=Saturday)
+     * @param hour  the hour index (0-21)
+     * @param value the number of employees needed
+     */
+    public void enqueue(int day, int hour, int value) {
+        synchronized (this) {
+            pending.put(day + "/" + hour, value);
+            schedule(DEBOUNCE_MS);
+        }
+        requestJournalWrite();
+    }
+
+    /**
+     * Overlays pending (not yet flushed) values onto a flat system needs array, so reads
+     * reflect the latest local edits.
+     *
+     * @param cells       the array to update in place, indexed {@code day * hoursPerDay + hour}
+     * @param hoursPerDay the number of hour cells per day
+     */
+    public synchronized void applyPending(int[] cells, int hoursPerDay) {
+        for (Map.Entry<String, Integer> entry : pending.entrySet()) {
+            String[] cell = entry.getKey().split("/");
+            cells[Integer.parseInt(cell[0]) * hoursPerDay + Integer.parseInt(cell[1])] = entry.getValue();
+        }
+    }
+
+    /**
+     * Flushes pending edits immediately instead of waiting for the debounce window.
+     */
+    public synchronized void flushNow() {
+        schedule(0);
+    }
+
+    /**
+     * Flushes pending edits and stops the queue's thread once the flush has been sent. Edits
+     * whose write fails after that stay in the journal and are sent by the next queue on it.
+     */
+    public synchronized void close() {
+        flushNow();
+        scheduler.shutdown(); // Already scheduled tasks, such as the flush, still run
+    }
+
+    /**
+     * (Re)schedules the flush after the given delay, cancelling a previously scheduled one.
+     * Does nothing once the queue is closed.
+     *
+     * @param delayMs the delay in milliseconds
+     */
+    private synchronized void schedule(long delayMs) {
+        if (scheduler.isShutdown()) return;
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+        }
+        scheduledFlush = scheduler.schedule(this::flush, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sends all pending cells in one update. Cells whose value did not change while the
+     * write was in flight are removed from the queue on success; on failure a retry is scheduled.
+     */
+    private void flush() {
+        final Map<String, Object> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) return;
+            batch = new HashMap<>(pending);
+        }
+        Log.d(TAG, "Flushing " + batch.size() + " system need cell(s).");
+        repository.updateSystemNeeds(batch).whenComplete((ignored, error) -> {
+            synchronized (SystemNeedsWriteQueue.this) {
+                if (error == null) {
+                    for (Map.Entry<String, Object> entry : batch.entrySet()) {
+                        pending.remove(entry.getKey(), entry.getValue());
+                    }
+                } else {
+                    Log.w(TAG, "Failed to flush system needs.", error);
+                    schedule(RETRY_MS);
+                }
+            }
+            if (error == null) requestJournalWrite();
+        });
+    }
+
+    /**
+     * Queues a rewrite of the journal on the scheduler unless one is already queued, which will
+     * then pick up the latest edits. Once the queue is closed, the journal is rewritten in place.
+     */
+    private void requestJournalWrite() {
+        if (journal == null) return;
+        synchronized (this) {
+            if (journalWriteQueued) return;
+            if (!scheduler.isShutdown()) {
+                journalWriteQueued = true;
+                scheduler.execute(this::writeJournal);
+                return;
+            }
+        }
+        writeJournal();
+    }
+
+    /**
+     * Rewrites the journal with the current pending edits (or deletes it when empty).
+     * Written to a temporary file first so a crash never leaves a truncated journal.
+     */
+    private void writeJournal() {
+        synchronized (journalLock) {
+            writeJournalLocked();
+        }
+    }
+
+    /**
+     * Body of {@link #writeJournal()}, run while holding {@link #journalLock}.
+     */
+    private void writeJournalLocked() {
+        final Map<String, Integer> edits;
+        synchronized (this) {
+            journalWriteQueued = false;
+            edits = new HashMap<>(pending);
+        }
+        if (edits.isEmpty()) {
+            if (journal.exists() && !journal.delete()) {
+                Log.w(TAG, "Failed to delete system needs journal.");
+            }
+            return;
+        }
+        File temp = new File(journal.getPath() + ".tmp");
+        try (Writer writer = new FileWriter(temp)) {
+            for (Map.Entry<String, Integer> entry : edits.entrySet()) {
+                writer.write(entry.getKey().replace('/', ' ') + " " + entry.getValue() + "\n");
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to write system needs journal.", e);
+            return;
+        }
+        if (!temp.renameTo(journal)) {
+            Log.w(TAG, "Failed to replace system needs journal.");
+        }
+    }
+
+    /**
+     * Loads pending edits left in the journal by a previous process.
+     */
+    private void readJournal() {
+        if (journal == null || !journal.exists()) return;
+        try (BufferedReader reader = new BufferedReader(new FileReader(journal))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.trim().split(" ");
+                if (parts.length != 3) continue;
+                pending.put(parts[0] + "/" + parts[1], Integer.parseInt(parts[2]));
+            }
+            Log.d(TAG, "Recovered " + pending.size() + " pending system need cell(s).");
+        } catch (IOException | NumberFormatException e) {
+            Log.w(TAG, "Failed to read system needs journal.", e);
+        }
+    }
+}
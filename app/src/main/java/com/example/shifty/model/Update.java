@@ -2,21 +2,17 @@ package com.example.shifty.model;
 
 import android.util.Log;
 
-import androidx.lifecycle.MutableLiveData;
-
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
+import com.example.shifty.model.repository.Repositories;
+import com.example.shifty.model.repository.UpdateRepository;
 
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Future;
 
 /**
  * Represents an update or announcement within the system. Supports
- * loading and saving from/to Firebase Realtime Database and allows
+ * loading and saving through the installed {@link UpdateRepository} and allows
  * prioritization of critical updates.
  *
  * <p>
@@ -24,16 +20,10 @@ import java.util.concurrent.Future;
  * </p>
  *
  * @author Eitan Navon
- * @see FirebaseDatabase
+ * @see UpdateRepository
  */
 public class Update implements Comparable<Update> {
 
-    /** Firebase Realtime Database URL. */
-    private static final String SERVER_URL = "https://shifty-1c786-default-rtdb.europe-west1.firebasedatabase.app";
-
-    /** Name of the updates collection/table in Firebase. */
-    private static final String COLLECTION_NAME = "updates";
-
     /** Unique identifier for the update. */
     String id;
 
@@ -67,7 +57,7 @@ public class Update implements Comparable<Update> {
     /**
      * Default constructor.
      * <p>
-     * Required for Firebase deserialization via {@link DataSnapshot#getValue(Class)}.
+     * Required for Firebase deserialization.
      * </p>
      */
     public Update() {
@@ -84,76 +74,103 @@ public class Update implements Comparable<Update> {
     }
 
     /**
-     * Loads the update details from Firebase using its ID.
+     * Builds an update directly from its stored fields under the updates collection.
+     * Used by {@link UpdateManager} to hydrate every update from a single read of the
+     * parent node instead of issuing one request per update.
+     *
+     * @param id     the update ID
+     * @param fields the stored fields of the update
+     * @return the populated {@link Update}, or {@code null} if there are no fields
+     */
+    public static Update fromMap(String id, Map<String, Object> fields) {
+        if (fields == null) return null;
+        Update update = new Update(id);
+        update.applyFields(fields);
+        return update;
+    }
+
+    /**
+     * Overwrites this update's fields with the given stored values.
+     *
+     * @param fields the stored fields of this update
+     */
+    void applyFields(Map<String, Object> fields) {
+        Object storedName = fields.get("name");
+        name = storedName instanceof String ? (String) storedName : null;
+        Object storedDescription = fields.get("description");
+        description = storedDescription instanceof String ? (String) storedDescription : null;
+        Object dateLong = fields.get("date");
+
+        if (dateLong instanceof Number) {
+            date = new Date(((Number) dateLong).longValue());
+        } else {
+            date = null;
+        }
+
+        isCritical = Boolean.TRUE.equals(fields.get("isCritical"));
+    }
+
+    /**
+     * Returns the stored representation of this update.
+     *
+     * @return the fields to write, keyed by name
+     * @throws NullPointerException if {@link #date} is {@code null}
+     */
+    Map<String, Object> toMap() {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("name", name);
+        fields.put("description", description);
+        fields.put("date", date.getTime());
+        fields.put("isCritical", isCritical);
+        return fields;
+    }
+
+    /**
+     * Loads the update details from the database using its ID.
      * Asynchronous operation; returns a {@link CompletableFuture} that
      * completes with {@code true} if the update exists and was loaded successfully,
      * or {@code false} if no such update exists.
+     * <p>
+     * This is a one-shot read; live changes are delivered through {@link UpdateManager}.
+     * </p>
      *
      * @return a {@link CompletableFuture} with the load result
      * @throws NullPointerException if {@link #id} is {@code null}
-     * @see DatabaseReference#addValueEventListener(ValueEventListener)
+     * @see UpdateRepository#fetchUpdate(String)
      */
     public CompletableFuture<Boolean> loadUpdate() {
-        FirebaseDatabase fb = FirebaseDatabase.getInstance(SERVER_URL);
-        DatabaseReference updateRef = fb.getReference(COLLECTION_NAME).child(String.valueOf(id));
-
         CompletableFuture<Boolean> future = new CompletableFuture<>();
-
-        updateRef.addValueEventListener(new ValueEventListener() {
-            @Override
-            public void onDataChange(DataSnapshot dataSnapshot) {
-                if (dataSnapshot.exists()) {
-                    id = dataSnapshot.getKey();
-                    name = dataSnapshot.child("name").getValue(String.class);
-                    description = dataSnapshot.child("description").getValue(String.class);
-                    Long dateLong = dataSnapshot.child("date").getValue(Long.class);
-
-                    if (dateLong != null) {
-                        date = new Date(dateLong);
-                    } else {
-                        date = null;
-                    }
-
-                    Boolean critical = dataSnapshot.child("isCritical").getValue(Boolean.class);
-                    isCritical = critical != null && critical;
-                    future.complete(true);
-                    Log.d("Update", "Update data loaded successfully.");
-                } else {
-                    future.complete(false);
-                    Log.d("Update", "No data found for this update.");
-                }
-            }
-
-            @Override
-            public void onCancelled(DatabaseError error) {
-                Log.w("Update", "Failed to load update data.", error.toException());
-                future.completeExceptionally(error.toException());
+        Repositories.getUpdateRepository().fetchUpdate(String.valueOf(id)).whenComplete((fields, error) -> {
+            if (error != null) {
+                Log.w("Update", "Failed to load update data.", error);
+                future.completeExceptionally(error);
+            } else if (fields != null) {
+                applyFields(fields);
+                future.complete(true);
+                Log.d("Update", "Update data loaded successfully.");
+            } else {
+                future.complete(false);
+                Log.d("Update", "No data found for this update.");
             }
         });
         return future;
     }
 
     /**
-     * Saves the update details to Firebase under its ID.
+     * Saves the update details to the database under its ID.
      * Overwrites the current values.
      *
-     * @return a {@link CompletableFuture} that completes when the save is done
+     * @return a {@link CompletableFuture} that completes with {@code true} when the save is done,
+     *         or {@code false} if it failed
      * @throws NullPointerException if {@link #id}, {@link #name}, {@link #date}, or {@link #description} is {@code null}
-     * @see DatabaseReference#setValue(Object)
+     * @see UpdateRepository#saveUpdate(String, Map)
      */
     public CompletableFuture<Boolean> saveUpdate() {
-        FirebaseDatabase fb = FirebaseDatabase.getInstance(SERVER_URL);
-        DatabaseReference updateRef = fb.getReference(COLLECTION_NAME).child(String.valueOf(id));
-
-        CompletableFuture<Boolean> future = new CompletableFuture<>();
-
-        updateRef.child("name").setValue(name);
-        updateRef.child("description").setValue(description);
-        updateRef.child("date").setValue(date.getTime());
-        updateRef.child("isCritical").setValue(isCritical).addOnCompleteListener((result) -> {
-            future.complete(true);
-        });
-        return future;
+        return Repositories.getUpdateRepository().saveUpdate(String.valueOf(id), toMap())
+                .handle((ignored, error) -> {
+                    if (error != null) Log.w("Update", "Failed to save update data.", error);
+                    return error == null;
+                });
     }
 
     // -------------------------
@@ -3,25 +3,25 @@ package com.example.shifty.model;
 import android.util.Log;
 import androidx.lifecycle.MutableLiveData;
 
-import com.google.firebase.database.ChildEventListener;
-import com.google.firebase.database.DataSnapshot;
-import com.google.firebase.database.DatabaseError;
-import com.google.firebase.database.DatabaseReference;
-import com.google.firebase.database.FirebaseDatabase;
-import com.google.firebase.database.ValueEventListener;
+import com.example.shifty.model.repository.ChildListener;
+import com.example.shifty.model.repository.Repositories;
+import com.example.shifty.model.repository.UpdateRepository;
 import java.util.UUID;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 /**
  * Manages {@link Update} objects in the system.
  * <p>
- * Handles fetching, monitoring, adding, removing, and saving of updates stored in Firebase.
+ * Handles fetching, monitoring, adding, removing, and saving of updates stored in the database,
+ * through the installed {@link UpdateRepository}.
  * Implements the Singleton pattern.
  * </p>
  *
- * <p>Supports live data observation for UI updates, sorted insertion, and asynchronous operations with {@link CompletableFuture}.</p>
+ * <p>Supports live data observation for UI updates, sorted insertion, and asynchronous operations with {@link CompletableFuture}.
+ * Updates are held in a sorted {@link UpdateStore} and handed out as immutable snapshots.</p>
  *
  * <p>Example usage:</p>
  * <pre>
@@ -33,16 +33,15 @@ import java.util.concurrent.CompletableFuture;
  *
  * @author Eitan Navon
  * @see Update
- * @see ListUtil
- * @see FirebaseDatabase
+ * @see UpdateStore
+ * @see UpdateRepository
  * @see CompletableFuture
  */
 public class UpdateManager {
 
-    private static final String SERVER_URL = "https://shifty-1c786-default-rtdb.europe-west1.firebasedatabase.app";
-    private static final String COLLECTION_NAME = "updates";
     private static UpdateManager instance;
-    private List<Update> updates = new ArrayList<>();
+    private final UpdateRepository repository = Repositories.getUpdateRepository();
+    private final UpdateStore updates = new UpdateStore();
     private boolean initialized = false;
     private MutableLiveData<Boolean> needRefresh = new MutableLiveData<>();
 
@@ -57,105 +56,112 @@ public class UpdateManager {
     }
 
     /**
-     * Private constructor. Initializes updates and sets up live monitoring.
+     * Private constructor. Hydrates the updates and then sets up live monitoring.
      */
     private UpdateManager() {
         initializeUpdate();
-        monitorUIDs();
     }
 
     /**
-     * Initializes updates by fetching all update IDs from the database
-     * and adding them to the local list.
+     * Initializes updates by reading the whole updates collection once and building
+     * every {@link Update} from the parent snapshot. Live monitoring is attached only
+     * after hydration so the initial child events are merged into the loaded list.
      * Uses asynchronous operations and handles errors.
      */
     private void initializeUpdate() {
-        CompletableFuture<List<String>> future = getAllUpdatesIDs();
-        future.thenAccept(ids -> {
-            for (String id : ids) {
-                addUpdate(id);
-                initialized = true;
+        CompletableFuture<List<Update>> future = getAllUpdates();
+        future.thenAccept(loaded -> {
+            for (Update update : loaded) {
+                updates.add(update);
             }
+            initialized = true;
+            needRefresh.postValue(true);
+            monitorUIDs();
         }).exceptionally(e -> {
-            System.err.println("Error fetching UIDs: " + e.getMessage());
+            System.err.println("Error fetching updates: " + e.getMessage());
             return null;
         });
     }
 
     /**
-     * Fetches all update IDs from the Firebase database asynchronously.
+     * Fetches all updates from the database asynchronously with a single read
+     * of the updates collection.
      *
-     * @return a {@link CompletableFuture} that resolves to a list of update IDs
-     * @throws RuntimeException if there is a database connectivity error
-     * @see DatabaseReference#addListenerForSingleValueEvent(ValueEventListener)
+     * @return a {@link CompletableFuture} that resolves to the list of loaded updates
+     * @see UpdateRepository#fetchUpdates()
+     * @see Update#fromMap(String, Map)
      */
-    private CompletableFuture<List<String>> getAllUpdatesIDs() {
-        FirebaseDatabase database = FirebaseDatabase.getInstance(SERVER_URL);
-        DatabaseReference employeesRef = database.getReference(COLLECTION_NAME);
-        CompletableFuture<List<String>> toReturn = new CompletableFuture<>();
-        employeesRef.addListenerForSingleValueEvent(new ValueEventListener() {
-            @Override
-            public void onDataChange(DataSnapshot dataSnapshot) {
-                List<String> uids = new ArrayList<>();
-                for (DataSnapshot childSnapshot : dataSnapshot.getChildren()) {
-                    String uid = childSnapshot.getKey();
-                    if (uid != null) {
-                        uids.add(uid);
-                    }
+    private CompletableFuture<List<Update>> getAllUpdates() {
+        return repository.fetchUpdates().thenApply(stored -> {
+            List<Update> loaded = new ArrayList<>();
+            for (Map.Entry<String, Map<String, Object>> entry : stored.entrySet()) {
+                Update update = Update.fromMap(entry.getKey(), entry.getValue());
+                if (update != null && update.getId() != null) {
+                    loaded.add(update);
                 }
-                toReturn.complete(uids);
-            }
-
-            @Override
-            public void onCancelled(DatabaseError databaseError) {
-                System.err.println("Error fetching UIDs: " + databaseError.getMessage());
             }
+            return loaded;
         });
-        return toReturn;
     }
 
     /**
-     * Starts listening to updates in the updates collection (additions/removals).
+     * Starts listening to the updates collection (additions, edits and removals) with a
+     * single child listener. Children are built from the delivered values, so no
+     * per-update reads or listeners are created.
      * Notifies observers when the update list changes.
      */
     private void monitorUIDs() {
-        FirebaseDatabase database = FirebaseDatabase.getInstance();
-        DatabaseReference employeesRef = database.getReference(COLLECTION_NAME);
-
-        employeesRef.addChildEventListener(new ChildEventListener() {
+        repository.listenUpdates(new ChildListener() {
             @Override
-            public void onChildAdded(DataSnapshot dataSnapshot, String previousChildName) {
-                String id = dataSnapshot.getKey();
-                addUpdate(id);
-                needRefresh.postValue(true); // Notify observers
+            public void onChildAdded(String key, Map<String, Object> value) {
+                applyUpdate(key, value);
             }
 
             @Override
-            public void onChildChanged(DataSnapshot dataSnapshot, String previousChildName) {}
+            public void onChildChanged(String key, Map<String, Object> value) {
+                applyUpdate(key, value);
+            }
 
             @Override
-            public void onChildRemoved(DataSnapshot dataSnapshot) {
-                removeUpdate(dataSnapshot.getKey());
+            public void onChildRemoved(String key) {
+                removeUpdate(key);
                 needRefresh.postValue(true);
             }
 
             @Override
-            public void onChildMoved(DataSnapshot dataSnapshot, String previousChildName) {}
-
-            @Override
-            public void onCancelled(DatabaseError databaseError) {
-                System.err.println("Error monitoring UIDs: " + databaseError.getMessage());
+            public void onError(Exception error) {
+                System.err.println("Error monitoring UIDs: " + error.getMessage());
             }
         });
     }
 
     /**
-     * Returns a reference to the list of updates.
+     * Merges a child of the updates collection into the local store. An existing update with
+     * the same ID is replaced in its slot and re-positioned (its criticality or date may have
+     * changed); otherwise a new update is inserted in sorted order.
+     * <p>
+     * A fresh {@link Update} is built rather than mutating the held one, so lists previously
+     * returned by {@link #getUpdates()} stay immutable and can be diffed against new ones.
+     * </p>
+     *
+     * @param id     the update ID
+     * @param fields the stored fields of the update
+     */
+    private void applyUpdate(String id, Map<String, Object> fields) {
+        if (id == null || fields == null) return;
+
+        updates.add(Update.fromMap(id, fields));
+        needRefresh.postValue(true);
+    }
+
+    /**
+     * Returns a sorted, unmodifiable snapshot of the updates.
      *
      * @return a list of {@link Update} objects
+     * @see UpdateStore#snapshot()
      */
     public List<Update> getUpdates() {
-        return updates;
+        return updates.snapshot();
     }
 
     /**
@@ -165,12 +171,7 @@ public class UpdateManager {
      * @return the {@link Update} with the given ID, or {@code null} if not found
      */
     public Update getUpdate(String uid) {
-        for(Update update : updates) {
-            if(update.getId().equals(uid)) {
-                return update;
-            }
-        }
-        return null;
+        return updates.get(uid);
     }
 
     /**
@@ -196,7 +197,7 @@ public class UpdateManager {
      * Calls {@link Update#saveUpdate()} on each update.
      */
     public void saveAllUpdates() {
-        for (Update update : updates) {
+        for (Update update : updates.snapshot()) {
             update.saveUpdate();
         }
     }
@@ -207,22 +208,24 @@ public class UpdateManager {
      * @param id the unique ID of the update to remove
      */
     public void removeUpdate(String id) {
-        updates.removeIf(update -> update.getId().equals(id));
+        updates.remove(id);
     }
 
     /**
      * Adds an update by ID, loading its content asynchronously from the database.
      * If loading is successful, the update is inserted in sorted order.
+     * Does nothing if an update with this ID is already held.
      *
      * @param id the unique ID of the update to add
      * @throws NullPointerException if id is {@code null}
      */
     public void addUpdate(String id) {
+        if (getUpdate(id) != null) return;
         Update update = new Update(id);
         CompletableFuture<Boolean> future = update.loadUpdate();
         future.thenAccept((result) -> {
             if(Boolean.TRUE.equals(result)){
-                ListUtil.insertSorted(updates, update);
+                updates.add(update);
                 needRefresh.postValue(true);
             }
         });
@@ -238,7 +241,7 @@ public class UpdateManager {
      */
     public CompletableFuture<Boolean> addNewUpdate(Update update) {
         update.setId(createUniqueId());
-        ListUtil.insertSorted(updates, update);
+        updates.add(update);
         needRefresh.postValue(true);
         return update.saveUpdate();
     }
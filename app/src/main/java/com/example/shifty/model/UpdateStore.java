@@ -0,0 +1,123 @@
+package com.example.shifty.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Sorted in-memory store for {@link Update} objects.
+ * <p>
+ * Updates are kept in a {@link TreeMap} ordered critical-first, then by date, then by ID (the
+ * same ordering as {@link Update#compareTo(Update)}, made total by the ID). A hash index from ID
+ * to sort key makes lookups by ID O(1), while insertion and removal are O(log n).
+ * </p>
+ *
+ * <p>
+ * List UIs diff the {@link #snapshot()}s they are given rather than tracking positions here.
+ * The store is not thread-safe; it is expected to be used from the main thread, where
+ * Firebase delivers its callbacks.
+ * </p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * {@code
+ * UpdateStore store = new UpdateStore();
+ * store.add(update);
+ * List<Update> sorted = store.snapshot();
+ * store.remove(update.getId());
+ * }
+ * </pre>
+ *
+ * @author Eitan Navon
+ * @see Update
+ * @see UpdateManager
+ */
+public class UpdateStore {
+
+    /**
+     * Sort key of a stored update. It is captured when the update is added, so an
+     * {@link Update} may be edited in place and then added again to re-sort it.
+     */
+    private static final class Key implements Comparable<Key> {
+        final boolean isCritical;
+        final long date;
+        final String id;
+
+        Key(Update update) {
+            this.isCritical = update.isCritical();
+            this.date = update.getDate() == null ? Long.MAX_VALUE : update.getDate().getTime();
+            this.id = update.getId();
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            if (isCritical != other.isCritical) return isCritical ? -1 : 1;
+            int byDate = Long.compare(date, other.date);
+            if (byDate != 0) return byDate;
+            return id.compareTo(other.id);
+        }
+    }
+
+    /** Updates in sorted order. */
+    private final TreeMap<Key, Update> sorted = new TreeMap<>();
+
+    /** ID to sort key index. */
+    private final HashMap<String, Key> index = new HashMap<>();
+
+    /**
+     * Inserts an update in sorted order. If an update with the same ID is already
+     * stored, it is replaced and re-sorted instead.
+     *
+     * @param update the update to insert; its ID must not be {@code null}
+     * @throws NullPointerException if {@code update} or its ID is {@code null}
+     */
+    public void add(Update update) {
+        if (update.getId() == null) throw new NullPointerException("Update id is null");
+        Key key = new Key(update);
+        Key previous = index.put(key.id, key);
+        if (previous != null) sorted.remove(previous);
+        sorted.put(key, update);
+    }
+
+    /**
+     * Removes the update with the given ID.
+     *
+     * @param id the ID of the update to remove
+     * @return the removed update, or {@code null} if it was not stored
+     */
+    public Update remove(String id) {
+        Key key = index.remove(id);
+        return key == null ? null : sorted.remove(key);
+    }
+
+    /**
+     * Returns the update with the given ID.
+     *
+     * @param id the update ID
+     * @return the stored update, or {@code null} if not found
+     */
+    public Update get(String id) {
+        Key key = index.get(id);
+        return key == null ? null : sorted.get(key);
+    }
+
+    /**
+     * Returns the number of stored updates.
+     *
+     * @return the size of the store
+     */
+    public int size() {
+        return sorted.size();
+    }
+
+    /**
+     * Returns an unmodifiable copy of the stored updates in sorted order.
+     *
+     * @return a snapshot list of the updates
+     */
+    public List<Update> snapshot() {
+        return Collections.unmodifiableList(new ArrayList<>(sorted.values()));
+    }
+}
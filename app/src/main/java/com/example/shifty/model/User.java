@@ -2,9 +2,11 @@ package com.example.shifty.model;
 
 import androidx.lifecycle.MutableLiveData;
 
+import com.example.shifty.model.repository.Repositories;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
@@ -57,6 +59,9 @@ public class User {
     /** The user's role (admin, employee, etc.). */
     Role role;
 
+    /** The team (site or branch) the user belongs to, or {@code null} for the default team. */
+    String teamId;
+
     /**
      * Default constructor. Initializes Firebase authentication and attempts to load the current user.
      *
@@ -112,6 +117,7 @@ public class User {
             this.username = (String) data.get("username");
             this.password = (String) data.get("password");
             this.role = Role.valueOf((String) data.get("role"));
+            this.teamId = (String) data.get("teamId");
             thisUser.complete(this);
         });
 
@@ -155,6 +161,25 @@ public class User {
         return this.role;
     }
 
+    /**
+     * Gets the team the user belongs to. Employees and system needs are partitioned by team,
+     * so this decides which roster the user's device loads and schedules.
+     *
+     * @return the user's team ID, or {@link Repositories#DEFAULT_TEAM_ID} if none is assigned
+     */
+    public String getTeamId() {
+        return teamId != null ? teamId : Repositories.DEFAULT_TEAM_ID;
+    }
+
+    /**
+     * Sets the team the user belongs to. Takes effect for the data the app loads on the next sign-in.
+     *
+     * @param teamId the team ID, or {@code null} for the default team
+     */
+    public void setTeamId(String teamId) {
+        this.teamId = teamId;
+    }
+
     /**
      * Gets the user's email address.
      *
@@ -188,12 +213,14 @@ public class User {
      * @return a {@link Map} representing this user's fields
      */
     private Map<String, Object> toMap() {
-        return Map.of(
+        Map<String, Object> map = new HashMap<>(Map.of(
                 "email", email,
                 "username", username,
                 "password", password,
                 "role", role.toString(),
                 "uid", uid
-        );
+        ));
+        if (teamId != null) map.put("teamId", teamId);
+        return map;
     }
 }
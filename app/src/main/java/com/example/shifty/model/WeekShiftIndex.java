@@ -0,0 +1,129 @@
+package com.example.shifty.model;
+
+import com.example.shifty.model.SchedulingAlgorithm.TimeUtil;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Precomputed shift summary for a single week (Sunday to Saturday).
+ * <p>
+ * Built once when a calendar week is displayed, so that binding each calendar cell
+ * is a constant-time array lookup instead of a scan over shift history or over every
+ * employee. For each day of the week it holds the number of employees on shift and
+ * the total number of assigned hours.
+ * </p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * {@code
+ * WeekShiftIndex index = WeekShiftIndex.forEmployee(employee, selectedDate);
+ * boolean busy = index.hasShift(date);
+ * }
+ * </pre>
+ *
+ * @author Eitan Navon
+ * @see Employee#getShiftHours(LocalDate)
+ */
+public class WeekShiftIndex {
+
+    /** Number of days in the indexed week. */
+    private static final int DAYS_IN_WEEK = 7;
+
+    /** Epoch day of the Sunday that starts the indexed week. */
+    private final long weekStart;
+
+    /** Number of employees with a shift on each day of the week. */
+    private final int[] employeesOnShift = new int[DAYS_IN_WEEK];
+
+    /** Total assigned hours on each day of the week. */
+    private final int[] hours = new int[DAYS_IN_WEEK];
+
+    /**
+     * Builds the index for the week containing {@code dateInWeek} from the given employees.
+     *
+     * @param employees  the employees whose shifts are summarized
+     * @param dateInWeek any date in the week to index
+     */
+    private WeekShiftIndex(Collection<Employee> employees, LocalDate dateInWeek) {
+        LocalDate sunday = TimeUtil.sundayForDate(dateInWeek);
+        weekStart = sunday.toEpochDay();
+        for (Employee employee : employees) {
+            if (employee == null) continue;
+            for (int day = 0; day < DAYS_IN_WEEK; day++) {
+                int dayHours = employee.getShiftHours(sunday.plusDays(day));
+                if (dayHours > 0) {
+                    employeesOnShift[day]++;
+                    hours[day] += dayHours;
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds the index for a single employee.
+     *
+     * @param employee   the employee, may be {@code null} (yields an empty index)
+     * @param dateInWeek any date in the week to index
+     * @return the week index
+     */
+    public static WeekShiftIndex forEmployee(Employee employee, LocalDate dateInWeek) {
+        return new WeekShiftIndex(Collections.singletonList(employee), dateInWeek);
+    }
+
+    /**
+     * Builds the index across a set of employees.
+     *
+     * @param employees  the employees to summarize
+     * @param dateInWeek any date in the week to index
+     * @return the week index
+     */
+    public static WeekShiftIndex forEmployees(Collection<Employee> employees, LocalDate dateInWeek) {
+        return new WeekShiftIndex(employees, dateInWeek);
+    }
+
+    /**
+     * Returns whether anyone in the index has a shift on the given date.
+     *
+     * @param date the date to check
+     * @return {@code true} if at least one shift falls on this date; {@code false} otherwise,
+     *         including for dates outside the indexed week
+     */
+    public boolean hasShift(LocalDate date) {
+        return getEmployeesOnShift(date) > 0;
+    }
+
+    /**
+     * Returns the number of employees on shift on the given date.
+     *
+     * @param date the date to check
+     * @return the employee count, or 0 for dates outside the indexed week
+     */
+    public int getEmployeesOnShift(LocalDate date) {
+        int day = dayOffset(date);
+        return day < 0 ? 0 : employeesOnShift[day];
+    }
+
+    /**
+     * Returns the total assigned hours on the given date.
+     *
+     * @param date the date to check
+     * @return the total hours, or 0 for dates outside the indexed week
+     */
+    public int getHours(LocalDate date) {
+        int day = dayOffset(date);
+        return day < 0 ? 0 : hours[day];
+    }
+
+    /**
+     * Converts a date to its offset in the indexed week.
+     *
+     * @param date the date
+     * @return the offset (0 = Sunday), or -1 if the date is outside the week
+     */
+    private int dayOffset(LocalDate date) {
+        long offset = date.toEpochDay() - weekStart;
+        return (offset < 0 || offset >= DAYS_IN_WEEK) ? -1 : (int) offset;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.shifty.model.repository;
+
+import java.util.Map;
+
+/**
+ * Receives additions, changes and removals of the direct children of a node. On attach,
+ * {@link #onChildAdded(String, Map)} is called once for every existing child.
+ * <p>
+ * Child values are plain Java trees, see {@link ValueListener}.
+ * </p>
+ *
+ * @author Eitan Navon
+ * @see Registration
+ */
+public interface ChildListener {
+
+    /**
+     * Called when a child is added, or for each existing child when the listener is attached.
+     *
+     * @param key   the child key
+     * @param value the child value
+     */
+    void onChildAdded(String key, Map<String, Object> value);
+
+    /**
+     * Called when a child's value changes.
+     *
+     * @param key   the child key
+     * @param value the new child value
+     */
+    void onChildChanged(String key, Map<String, Object> value);
+
+    /**
+     * Called when a child is removed.
+     *
+     * @param key the child key
+     */
+    void onChildRemoved(String key);
+
+    /**
+     * Called once if the listener is cancelled by the backend. No further callbacks follow.
+     *
+     * @param error the cause
+     */
+    void onError(Exception error);
+}
@@ -0,0 +1,61 @@
+package com.example.shifty.model.repository;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Data access for document collections (Firestore in the app), as used by
+ * {@link com.example.shifty.model.Database}.
+ *
+ * @author Eitan Navon
+ * @see com.example.shifty.model.Database
+ */
+public interface DocumentRepository {
+
+    /**
+     * Reads a document.
+     *
+     * @param collection the collection name
+     * @param document   the document ID
+     * @return a {@link CompletableFuture} completing with the document's fields, or {@code null}
+     *         if the document does not exist
+     */
+    CompletableFuture<Map<String, Object>> getDocument(String collection, String document);
+
+    /**
+     * Writes a document, replacing all of its fields.
+     *
+     * @param collection the collection name
+     * @param document   the document ID
+     * @param data       the fields to store
+     * @return a {@link CompletableFuture} completing once the write is committed
+     */
+    CompletableFuture<Void> setDocument(String collection, String document, Map<String, Object> data);
+
+    /**
+     * Counts the documents in a collection.
+     *
+     * @param collection the collection name
+     * @return a {@link CompletableFuture} completing with the number of documents
+     */
+    CompletableFuture<Integer> countDocuments(String collection);
+
+    /**
+     * Deletes a document if it exists.
+     *
+     * @param collection the collection name
+     * @param document   the document ID
+     * @return a {@link CompletableFuture} completing with {@code true} if the document existed
+     */
+    CompletableFuture<Boolean> deleteDocument(String collection, String document);
+
+    /**
+     * Deletes one field of a document if the document exists.
+     *
+     * @param collection the collection name
+     * @param document   the document ID
+     * @param field      the field to delete
+     * @return a {@link CompletableFuture} completing with {@code true} if the document existed
+     */
+    CompletableFuture<Boolean> deleteField(String collection, String document, String field);
+}
@@ -0,0 +1,51 @@
+package com.example.shifty.model.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Data access for one team's {@code employees} node: one child per employee UID holding the
+ * employee's {@code name}, {@code constraints} and {@code shifts}.
+ *
+ * @author Eitan Navon
+ * @see com.example.shifty.model.Employee
+ * @see com.example.shifty.model.EmployeeManager
+ * @see TeamRepositories
+ */
+public interface EmployeeRepository {
+
+    /**
+     * Reads the UIDs of all employees once.
+     *
+     * @return a {@link CompletableFuture} completing with the UIDs
+     */
+    CompletableFuture<List<String>> fetchEmployeeIds();
+
+    /**
+     * Listens to one employee's node.
+     *
+     * @param uid      the employee's UID
+     * @param listener receives the employee's node, or {@code null} while it does not exist
+     * @return the registration, used to detach the listener
+     */
+    Registration listenEmployee(String uid, ValueListener<Map<String, Object>> listener);
+
+    /**
+     * Listens to employees being added to and removed from the employees node.
+     *
+     * @param listener receives one child per employee
+     * @return the registration, used to detach the listener
+     */
+    Registration listenEmployees(ChildListener listener);
+
+    /**
+     * Writes several paths relative to the employees node (e.g. {@code "<uid>/shifts/<id>"})
+     * as one atomic multi-location update. A {@code null} value deletes the path.
+     *
+     * @param changes the paths and their new values
+     * @return a {@link CompletableFuture} completing once the update is committed, or
+     *         exceptionally if it was rejected
+     */
+    CompletableFuture<Void> updateEmployees(Map<String, Object> changes);
+}
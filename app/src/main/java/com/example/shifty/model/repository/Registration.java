@@ -0,0 +1,17 @@
+package com.example.shifty.model.repository;
+
+/**
+ * Handle to a listener attached to a repository. Removing it stops further callbacks;
+ * removing it more than once has no effect.
+ *
+ * @author Eitan Navon
+ * @see ValueListener
+ * @see ChildListener
+ */
+public interface Registration {
+
+    /**
+     * Detaches the listener.
+     */
+    void remove();
+}
@@ -0,0 +1,124 @@
+package com.example.shifty.model.repository;
+
+/**
+ * Holds the repositories the model classes use for data access.
+ * <p>
+ * The app installs the Firebase-backed repositories on start-up (see
+ * {@link com.example.shifty.model.repository.firebase.FirebaseRepositories#install()}); load tests
+ * and benchmarks install in-memory ones instead (see {@code InMemoryRepositories.install} in the
+ * benchmarks module). Repositories must be installed before the first singleton that uses them
+ * is created.
+ * </p>
+ *
+ * <p>
+ * Employees and system needs are partitioned by team and looked up per team ID. The
+ * {@link #DEFAULT_TEAM_ID default team} is stored at the original top-level nodes, so data
+ * written before partitioning, and users without a team, keep working unchanged; every other
+ * team is stored under {@code teams/<teamId>/}.
+ * </p>
+ *
+ * @author Eitan Navon
+ */
+public final class Repositories {
+
+    /** Team of users without one; its data lives at the top-level nodes. */
+    public static final String DEFAULT_TEAM_ID = "default";
+
+    /** Node under which the data of every team but the default one is stored. */
+    private static final String TEAMS_NODE = "teams";
+
+    private static volatile TeamRepositories teamRepositories;
+    private static volatile UpdateRepository updateRepository;
+    private static volatile DocumentRepository documentRepository;
+
+    private Repositories() {
+    }
+
+    /**
+     * Installs the repositories used from now on.
+     *
+     * @param teams     creates the employees and system needs repositories of each team
+     * @param updates   the updates repository
+     * @param documents the document repository
+     */
+    public static void install(TeamRepositories teams, UpdateRepository updates, DocumentRepository documents) {
+        teamRepositories = teams;
+        updateRepository = updates;
+        documentRepository = documents;
+    }
+
+    /**
+     * Returns the employees repository of a team.
+     *
+     * @param teamId the team ID
+     * @return the repository
+     * @throws IllegalStateException    if no repositories were installed
+     * @throws IllegalArgumentException if the team ID is not a valid node key
+     */
+    public static EmployeeRepository getEmployeeRepository(String teamId) {
+        return require(teamRepositories).getEmployeeRepository(teamId);
+    }
+
+    /**
+     * Returns the system needs repository of a team.
+     *
+     * @param teamId the team ID
+     * @return the repository
+     * @throws IllegalStateException    if no repositories were installed
+     * @throws IllegalArgumentException if the team ID is not a valid node key
+     */
+    public static SystemNeedsRepository getSystemNeedsRepository(String teamId) {
+        return require(teamRepositories).getSystemNeedsRepository(teamId);
+    }
+
+    /**
+     * Returns the installed updates repository.
+     *
+     * @return the repository
+     * @throws IllegalStateException if no repositories were installed
+     */
+    public static UpdateRepository getUpdateRepository() {
+        return require(updateRepository);
+    }
+
+    /**
+     * Returns the installed document repository.
+     *
+     * @return the repository
+     * @throws IllegalStateException if no repositories were installed
+     */
+    public static DocumentRepository getDocumentRepository() {
+        return require(documentRepository);
+    }
+
+    /**
+     * Returns the path of a team's node, e.g. {@code teams/north/employees} for node
+     * {@code employees} of team {@code north}, or just {@code employees} for the default team.
+     * Used by the repository implementations so every backend lays teams out the same way.
+     *
+     * @param teamId the team ID
+     * @param node   the node name
+     * @return the node's path
+     * @throws IllegalArgumentException if the team ID is empty or contains a character that is
+     *                                  not allowed in a Realtime Database key
+     */
+    public static String teamPath(String teamId, String node) {
+        if (DEFAULT_TEAM_ID.equals(teamId)) return node;
+        if (teamId == null || teamId.isEmpty()) {
+            throw new IllegalArgumentException("Team ID must not be empty");
+        }
+        for (int i = 0; i < teamId.length(); i++) {
+            if (".#$[]/".indexOf(teamId.charAt(i)) >= 0) {
+                throw new IllegalArgumentException("Invalid team ID: " + teamId);
+            }
+        }
+        return TEAMS_NODE + "/" + teamId + "/" + node;
+    }
+
+    private static <T> T require(T repository) {
+        if (repository == null) {
+            throw new IllegalStateException("No repositories installed; call FirebaseRepositories.install() first");
+        }
+        return repository;
+    }
+}
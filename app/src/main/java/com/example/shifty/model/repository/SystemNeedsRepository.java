@@ -0,0 +1,34 @@
+package com.example.shifty.model.repository;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Data access for one team's {@code systemNeeds} node, which stores the number of employees needed
+ * per cell at {@code <day>/<hour>}.
+ *
+ * @author Eitan Navon
+ * @see com.example.shifty.model.ScheduleRepository
+ * @see com.example.shifty.model.SystemNeedsWriteQueue
+ * @see TeamRepositories
+ */
+public interface SystemNeedsRepository {
+
+    /**
+     * Listens to the system needs node.
+     *
+     * @param listener receives the whole node as {@code day -> hour -> value} maps, or
+     *                 {@code null} while no needs were saved
+     * @return the registration, used to detach the listener
+     */
+    Registration listenSystemNeeds(ValueListener<Map<String, Object>> listener);
+
+    /**
+     * Writes several cells as one atomic update.
+     *
+     * @param cells the new values keyed {@code "day/hour"}
+     * @return a {@link CompletableFuture} completing once the update is committed, or
+     *         exceptionally if it was rejected
+     */
+    CompletableFuture<Void> updateSystemNeeds(Map<String, Object> cells);
+}
@@ -0,0 +1,33 @@
+package com.example.shifty.model.repository;
+
+/**
+ * Creates the repositories for one team's partition of the data.
+ * <p>
+ * Rosters and system needs are partitioned by team (a site or branch). Each team's employees
+ * and system needs live under their own node (see {@link Repositories#teamPath(String, String)}),
+ * so a device only downloads, and a solve only considers, the employees of one team.
+ * </p>
+ *
+ * @author Eitan Navon
+ * @see Repositories
+ */
+public interface TeamRepositories {
+
+    /**
+     * Returns the employees repository of a team.
+     *
+     * @param teamId the team ID
+     * @return the repository of that team's employees
+     * @throws IllegalArgumentException if the team ID is not a valid node key
+     */
+    EmployeeRepository getEmployeeRepository(String teamId);
+
+    /**
+     * Returns the system needs repository of a team.
+     *
+     * @param teamId the team ID
+     * @return the repository of that team's system needs
+     * @throws IllegalArgumentException if the team ID is not a valid node key
+     */
+    SystemNeedsRepository getSystemNeedsRepository(String teamId);
+}
@@ -0,0 +1,49 @@
+package com.example.shifty.model.repository;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Data access for the {@code updates} node: one child per update ID holding its
+ * {@code name}, {@code description}, {@code date} and {@code isCritical} fields.
+ *
+ * @author Eitan Navon
+ * @see com.example.shifty.model.Update
+ * @see com.example.shifty.model.UpdateManager
+ */
+public interface UpdateRepository {
+
+    /**
+     * Reads every update once.
+     *
+     * @return a {@link CompletableFuture} completing with each update's fields, keyed by ID
+     */
+    CompletableFuture<Map<String, Map<String, Object>>> fetchUpdates();
+
+    /**
+     * Reads one update once.
+     *
+     * @param id the update ID
+     * @return a {@link CompletableFuture} completing with the update's fields, or {@code null}
+     *         if there is no such update
+     */
+    CompletableFuture<Map<String, Object>> fetchUpdate(String id);
+
+    /**
+     * Listens to updates being added, edited and removed.
+     *
+     * @param listener receives one child per update
+     * @return the registration, used to detach the listener
+     */
+    Registration listenUpdates(ChildListener listener);
+
+    /**
+     * Writes the given fields of one update, leaving its other fields unchanged.
+     *
+     * @param id     the update ID
+     * @param fields the fields to write
+     * @return a {@link CompletableFuture} completing once the write is committed, or
+     *         exceptionally if it was rejected
+     */
+    CompletableFuture<Void> saveUpdate(String id, Map<String, Object> fields);
+}
@@ -0,0 +1,31 @@
+package com.example.shifty.model.repository;
+
+/**
+ * Receives the whole value of a node every time it changes, starting with its current value.
+ * <p>
+ * Values are plain Java trees: nested {@code Map<String, Object>} for nodes with children, and
+ * {@link String}, {@link Long}, {@link Double} or {@link Boolean} for leaves, so repository users
+ * never depend on a particular backend's snapshot types.
+ * </p>
+ *
+ * @param <T> the value type
+ * @author Eitan Navon
+ * @see Registration
+ */
+public interface ValueListener<T> {
+
+    /**
+     * Called with the current value of the node.
+     *
+     * @param value the value, or {@code null} if the node does not exist
+     */
+    void onValue(T value);
+
+    /**
+     * Called once if the listener is cancelled by the backend, e.g. for lack of permission.
+     * No further callbacks follow.
+     *
+     * @param error the cause
+     */
+    void onError(Exception error);
+}
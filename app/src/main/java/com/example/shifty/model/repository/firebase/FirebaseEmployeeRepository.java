@@ -0,0 +1,62 @@
+package com.example.shifty.model.repository.firebase;
+
+import com.example.shifty.model.repository.ChildListener;
+import com.example.shifty.model.repository.EmployeeRepository;
+import com.example.shifty.model.repository.Registration;
+import com.example.shifty.model.repository.ValueListener;
+import com.google.firebase.database.DataSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link EmployeeRepository} backed by one team's {@code employees} node of the Realtime Database.
+ *
+ * @author Eitan Navon
+ * @see FirebaseRepositories
+ */
+class FirebaseEmployeeRepository implements EmployeeRepository {
+
+    /** Name of the employees collection in Firebase, relative to the team's node. */
+    static final String COLLECTION_NAME = "employees";
+
+    /** Path of the team's employees node. */
+    private final String path;
+
+    /**
+     * Creates a repository over the given employees node.
+     *
+     * @param path the path of the team's employees node
+     */
+    FirebaseEmployeeRepository(String path) {
+        this.path = path;
+    }
+
+    @Override
+    public CompletableFuture<List<String>> fetchEmployeeIds() {
+        return FirebaseRepositories.readOnce(FirebaseRepositories.reference(path)).thenApply(snapshot -> {
+            List<String> uids = new ArrayList<>();
+            for (DataSnapshot child : snapshot.getChildren()) {
+                if (child.getKey() != null) uids.add(child.getKey());
+            }
+            return uids;
+        });
+    }
+
+    @Override
+    public Registration listenEmployee(String uid, ValueListener<Map<String, Object>> listener) {
+        return FirebaseRepositories.listenValue(FirebaseRepositories.reference(path).child(uid), listener);
+    }
+
+    @Override
+    public Registration listenEmployees(ChildListener listener) {
+        return FirebaseRepositories.listenChildren(FirebaseRepositories.reference(path), listener);
+    }
+
+    @Override
+    public CompletableFuture<Void> updateEmployees(Map<String, Object> changes) {
+        return FirebaseRepositories.toFuture(FirebaseRepositories.reference(path).updateChildren(changes));
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.shifty.model.repository.firebase;
+
+import com.example.shifty.model.repository.ChildListener;
+import com.example.shifty.model.repository.EmployeeRepository;
+import com.example.shifty.model.repository.Registration;
+import com.example.shifty.model.repository.Repositories;
+import com.example.shifty.model.repository.SystemNeedsRepository;
+import com.example.shifty.model.repository.TeamRepositories;
+import com.example.shifty.model.repository.ValueListener;
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.database.ChildEventListener;
+import com.google.firebase.database.DataSnapshot;
+import com.google.firebase.database.DatabaseError;
+import com.google.firebase.database.DatabaseReference;
+import com.google.firebase.database.FirebaseDatabase;
+import com.google.firebase.database.ValueEventListener;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Installs the Firebase-backed repositories and holds the helpers they share: converting
+ * {@link DataSnapshot}s to plain Java trees, adapting listeners and turning {@link Task}s into
+ * {@link CompletableFuture}s.
+ * <p>
+ * Snapshots are converted child by child rather than with {@link DataSnapshot#getValue()}, which
+ * turns nodes with numeric keys (such as {@code systemNeeds/<day>/<hour>} or a constraints list)
+ * into lists; trees built here always keep the keys.
+ * </p>
+ *
+ * @author Eitan Navon
+ * @see Repositories
+ */
+public final class FirebaseRepositories {
+
+    /** Firebase Realtime Database URL. */
+    static final String SERVER_URL = "https://shifty-1c786-default-rtdb.europe-west1.firebasedatabase.app";
+
+    private FirebaseRepositories() {
+    }
+
+    /**
+     * Installs the Firebase repositories in {@link Repositories}. Called from
+     * {@link com.example.shifty.ShiftyApplication#onCreate()}.
+     */
+    public static void install() {
+        Repositories.install(new TeamRepositories() {
+            @Override
+            public EmployeeRepository getEmployeeRepository(String teamId) {
+                return new FirebaseEmployeeRepository(
+                        Repositories.teamPath(teamId, FirebaseEmployeeRepository.COLLECTION_NAME));
+            }
+
+            @Override
+            public SystemNeedsRepository getSystemNeedsRepository(String teamId) {
+                return new FirebaseSystemNeedsRepository(
+                        Repositories.teamPath(teamId, FirebaseSystemNeedsRepository.SYSTEM_NEED_PATH));
+            }
+        }, new FirebaseUpdateRepository(), new FirestoreDocumentRepository());
+    }
+
+    /**
+     * Returns a reference to a node of the app's Realtime Database.
+     *
+     * @param path the node path
+     * @return the reference
+     */
+    static DatabaseReference reference(String path) {
+        return FirebaseDatabase.getInstance(SERVER_URL).getReference(path);
+    }
+
+    /**
+     * Converts a snapshot into a plain Java tree.
+     *
+     * @param snapshot the snapshot
+     * @return a {@code Map<String, Object>} for a node with children, otherwise the leaf value
+     */
+    static Object toTree(DataSnapshot snapshot) {
+        if (!snapshot.hasChildren()) return snapshot.getValue();
+        Map<String, Object> children = new LinkedHashMap<>();
+        for (DataSnapshot child : snapshot.getChildren()) {
+            children.put(child.getKey(), toTree(child));
+        }
+        return children;
+    }
+
+    /**
+     * Converts a snapshot of a node into a map of its children.
+     *
+     * @param snapshot the snapshot
+     * @return the children, empty for a leaf, or {@code null} if the node does not exist
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> toMap(DataSnapshot snapshot) {
+        if (!snapshot.exists()) return null;
+        Object tree = toTree(snapshot);
+        return tree instanceof Map ? (Map<String, Object>) tree : Collections.emptyMap();
+    }
+
+    /**
+     * Completes a future with the outcome of a task.
+     *
+     * @param task the task
+     * @param <T>  the result type
+     * @return a future completing with the task's result or exception
+     */
+    static <T> CompletableFuture<T> toFuture(Task<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        task.addOnCompleteListener(result -> {
+            if (result.isSuccessful()) {
+                future.complete(result.getResult());
+            } else {
+                future.completeExceptionally(result.getException());
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Attaches a value listener to a node.
+     *
+     * @param ref      the node
+     * @param listener receives the node as a map, see {@link #toMap(DataSnapshot)}
+     * @return the registration
+     */
+    static Registration listenValue(DatabaseReference ref, ValueListener<Map<String, Object>> listener) {
+        ValueEventListener firebaseListener = ref.addValueEventListener(new ValueEventListener() {
+            @Override
+            public void onDataChange(DataSnapshot snapshot) {
+                listener.onValue(toMap(snapshot));
+            }
+
+            @Override
+            public void onCancelled(DatabaseError error) {
+                listener.onError(error.toException());
+            }
+        });
+        return () -> ref.removeEventListener(firebaseListener);
+    }
+
+    /**
+     * Attaches a child listener to a node.
+     *
+     * @param ref      the node
+     * @param listener receives the node's children as maps
+     * @return the registration
+     */
+    static Registration listenChildren(DatabaseReference ref, ChildListener listener) {
+        ChildEventListener firebaseListener = ref.addChildEventListener(new ChildEventListener() {
+            @Override
+            public void onChildAdded(DataSnapshot snapshot, String previousChildName) {
+                listener.onChildAdded(snapshot.getKey(), toMap(snapshot));
+            }
+
+            @Override
+            public void onChildChanged(DataSnapshot snapshot, String previousChildName) {
+                listener.onChildChanged(snapshot.getKey(), toMap(snapshot));
+            }
+
+            @Override
+            public void onChildRemoved(DataSnapshot snapshot) {
+                listener.onChildRemoved(snapshot.getKey());
+            }
+
+            @Override
+            public void onChildMoved(DataSnapshot snapshot, String previousChildName) {
+                // Child order is not used
+            }
+
+            @Override
+            public void onCancelled(DatabaseError error) {
+                listener.onError(error.toException());
+            }
+        });
+        return () -> ref.removeEventListener(firebaseListener);
+    }
+
+    /**
+     * Reads a node once.
+     *
+     * @param ref the node
+     * @return a future completing with the node's snapshot
+     */
+    static CompletableFuture<DataSnapshot> readOnce(DatabaseReference ref) {
+        CompletableFuture<DataSnapshot> future = new CompletableFuture<>();
+        ref.addListenerForSingleValueEvent(new ValueEventListener() {
+            @Override
+            public void onDataChange(DataSnapshot snapshot) {
+                future.complete(snapshot);
+            }
+
+            @Override
+            public void onCancelled(DatabaseError error) {
+                future.completeExceptionally(error.toException());
+            }
+        });
+        return future;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.shifty.model.repository.firebase;
+
+import com.example.shifty.model.repository.Registration;
+import com.example.shifty.model.repository.SystemNeedsRepository;
+import com.example.shifty.model.repository.ValueListener;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link SystemNeedsRepository} backed by one team's {@code systemNeeds} node of the Realtime Database.
+ *
+ * @author Eitan Navon
+ * @see FirebaseRepositories
+ */
+class FirebaseSystemNeedsRepository implements SystemNeedsRepository {
+
+    /** Name of the system needs node, relative to the team's node. */
+    static final String SYSTEM_NEED_PATH = "systemNeeds";
+
+    /** Path of the team's system needs node. */
+    private final String path;
+
+    /**
+     * Creates a repository over the given system needs node.
+     *
+     * @param path the path of the team's system needs node
+     */
+    FirebaseSystemNeedsRepository(String path) {
+        this.path = path;
+    }
+
+    @Override
+    public Registration listenSystemNeeds(ValueListener<Map<String, Object>> listener) {
+        return FirebaseRepositories.listenValue(FirebaseRepositories.reference(path), listener);
+    }
+
+    @Override
+    public CompletableFuture<Void> updateSystemNeeds(Map<String, Object> cells) {
+        return FirebaseRepositories.toFuture(FirebaseRepositories.reference(path).updateChildren(cells));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.shifty.model.repository.firebase;
+
+import com.example.shifty.model.repository.ChildListener;
+import com.example.shifty.model.repository.Registration;
+import com.example.shifty.model.repository.UpdateRepository;
+import com.google.firebase.database.DataSnapshot;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link UpdateRepository} backed by the {@code updates} node of the Realtime Database.
+ *
+ * @author Eitan Navon
+ * @see FirebaseRepositories
+ */
+class FirebaseUpdateRepository implements UpdateRepository {
+
+    /** Name of the updates collection in Firebase. */
+    private static final String COLLECTION_NAME = "updates";
+
+    @Override
+    public CompletableFuture<Map<String, Map<String, Object>>> fetchUpdates() {
+        return FirebaseRepositories.readOnce(FirebaseRepositories.reference(COLLECTION_NAME)).thenApply(snapshot -> {
+            Map<String, Map<String, Object>> updates = new LinkedHashMap<>();
+            for (DataSnapshot child : snapshot.getChildren()) {
+                Map<String, Object> fields = FirebaseRepositories.toMap(child);
+                if (child.getKey() != null && fields != null) updates.put(child.getKey(), fields);
+            }
+            return updates;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> fetchUpdate(String id) {
+        return FirebaseRepositories.readOnce(FirebaseRepositories.reference(COLLECTION_NAME).child(id))
+                .thenApply(FirebaseRepositories::toMap);
+    }
+
+    @Override
+    public Registration listenUpdates(ChildListener listener) {
+        return FirebaseRepositories.listenChildren(FirebaseRepositories.reference(COLLECTION_NAME), listener);
+    }
+
+    @Override
+    public CompletableFuture<Void> saveUpdate(String id, Map<String, Object> fields) {
+        return FirebaseRepositories.toFuture(FirebaseRepositories.reference(COLLECTION_NAME).child(id).updateChildren(fields));
+    }
+}
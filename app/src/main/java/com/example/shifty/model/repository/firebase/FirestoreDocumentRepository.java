@@ -0,0 +1,58 @@
+package com.example.shifty.model.repository.firebase;
+
+import com.example.shifty.model.repository.DocumentRepository;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link DocumentRepository} backed by Cloud Firestore.
+ *
+ * @author Eitan Navon
+ * @see FirebaseRepositories
+ */
+class FirestoreDocumentRepository implements DocumentRepository {
+
+    private DocumentReference document(String collection, String document) {
+        return FirebaseFirestore.getInstance().collection(collection).document(document);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> getDocument(String collection, String document) {
+        return FirebaseRepositories.toFuture(document(collection, document).get())
+                .thenApply(snapshot -> snapshot.exists() ? snapshot.getData() : null);
+    }
+
+    @Override
+    public CompletableFuture<Void> setDocument(String collection, String document, Map<String, Object> data) {
+        return FirebaseRepositories.toFuture(document(collection, document).set(data));
+    }
+
+    @Override
+    public CompletableFuture<Integer> countDocuments(String collection) {
+        return FirebaseRepositories.toFuture(FirebaseFirestore.getInstance().collection(collection).get())
+                .thenApply(result -> result.size());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteDocument(String collection, String document) {
+        DocumentReference doc = document(collection, document);
+        return FirebaseRepositories.toFuture(doc.get()).thenCompose((DocumentSnapshot snapshot) -> {
+            if (!snapshot.exists()) return CompletableFuture.completedFuture(false);
+            return FirebaseRepositories.toFuture(doc.delete()).thenApply(ignored -> true);
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteField(String collection, String document, String field) {
+        DocumentReference doc = document(collection, document);
+        return FirebaseRepositories.toFuture(doc.get()).thenCompose((DocumentSnapshot snapshot) -> {
+            if (!snapshot.exists()) return CompletableFuture.completedFuture(false);
+            return FirebaseRepositories.toFuture(doc.update(field, FieldValue.delete())).thenApply(ignored -> true);
+        });
+    }
+}
@@ -11,6 +11,7 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.shifty.R;
 import com.example.shifty.model.CurrentUserManager;
 import com.example.shifty.model.Employee;
+import com.example.shifty.model.WeekShiftIndex;
 import com.example.shifty.ui.fragment.EmpFragment.ShiftsFragment;
 
 import java.time.LocalDate;
@@ -28,10 +29,16 @@ import java.util.ArrayList;
  * <b>Color logic:</b>
  * <ul>
  *     <li>Orange (#FCA311): currently selected date</li>
- *     <li>Green (#008000): if the current employee has a shift on the selected date</li>
+ *     <li>Green (#008000): if the current employee has a shift on that date</li>
  *     <li>Dark Blue (#14213D): default</li>
  * </ul>
  *
+ * <p>
+ * Shift lookups go through a {@link WeekShiftIndex} of the displayed week, so binding a cell
+ * does constant work regardless of the employee's shift history. The index is rebuilt by
+ * {@link #refresh()} when the employee's data is reloaded.
+ * </p>
+ *
  * @author Eitan Navon
  * @see CalendarViewHolder
  * @see OnItemListener
@@ -40,14 +47,28 @@ import java.util.ArrayList;
  */
 public class CalendarAdapter extends RecyclerView.Adapter<CalendarViewHolder> {
 
+    /** Background for the currently selected date. */
+    private static final int COLOR_SELECTED = Color.parseColor("#FCA311");
+    /** Background for a date on which the employee has a shift. */
+    private static final int COLOR_SHIFT = Color.parseColor("#008000");
+    /** Default background. */
+    private static final int COLOR_DEFAULT = Color.parseColor("#14213D");
+
     /** List of {@link LocalDate} objects representing the days in the calendar view. */
     private final ArrayList<LocalDate> days;
 
     /** Listener for handling calendar cell click events. */
     private final OnItemListener onItemListener;
 
+    /** Any date in the displayed week. */
+    private final LocalDate weekDate;
+
+    /** The current employee's shifts for the displayed week. */
+    private WeekShiftIndex shiftIndex;
+
     /**
-     * Constructs a new CalendarAdapter with the given days and listener.
+     * Constructs a new CalendarAdapter with the given days and listener, and indexes the
+     * current employee's shifts for the displayed week.
      *
      * @param days           a list of {@link LocalDate} objects representing the days to display
      * @param onItemListener the listener for cell click events
@@ -55,6 +76,24 @@ public class CalendarAdapter extends RecyclerView.Adapter<CalendarViewHolder> {
     public CalendarAdapter(ArrayList<LocalDate> days, OnItemListener onItemListener) {
         this.days = days;
         this.onItemListener = onItemListener;
+        this.weekDate = days.isEmpty() || days.get(0) == null ? ShiftsFragment.selectedDate : days.get(0);
+        rebuildIndex();
+    }
+
+    /**
+     * Re-indexes the current employee's shifts for the displayed week and re-binds every cell,
+     * e.g. once the employee's shifts have loaded.
+     */
+    public void refresh() {
+        rebuildIndex();
+        notifyDataSetChanged();
+    }
+
+    /**
+     * Builds {@link #shiftIndex} from the current employee's shifts.
+     */
+    private void rebuildIndex() {
+        shiftIndex = WeekShiftIndex.forEmployee(CurrentUserManager.getInstance().getCurrentEmployee(), weekDate);
     }
 
     /**
@@ -82,7 +121,7 @@ public class CalendarAdapter extends RecyclerView.Adapter<CalendarViewHolder> {
      * @param position the position in the data set
      * @throws NullPointerException if days or other referenced objects are unexpectedly null
      * @see ShiftsFragment#selectedDate
-     * @see Employee#haveShift(LocalDate)
+     * @see WeekShiftIndex#hasShift(LocalDate)
      */
     @Override
     public void onBindViewHolder(@NonNull CalendarViewHolder holder, int position) {
@@ -90,16 +129,15 @@ public class CalendarAdapter extends RecyclerView.Adapter<CalendarViewHolder> {
         if (date == null) {
             holder.dayOfMonth.setText("");
         } else {
-            Employee currentEmployee = CurrentUserManager.getInstance().getCurrentEmployee();
             String dateMonth = Integer.toString(date.getDayOfMonth());
             holder.dayOfMonth.setText(dateMonth);
 
             if (date.equals(ShiftsFragment.selectedDate)) {
-                holder.parentView.setBackgroundColor(Color.parseColor("#FCA311")); // Selected
-            } else if (currentEmployee.haveShift(ShiftsFragment.selectedDate)) {
-                holder.parentView.setBackgroundColor(Color.parseColor("#008000")); // Shift on selected day
+                holder.parentView.setBackgroundColor(COLOR_SELECTED); // Selected
+            } else if (shiftIndex.hasShift(date)) {
+                holder.parentView.setBackgroundColor(COLOR_SHIFT); // Shift on this day
             } else {
-                holder.parentView.setBackgroundColor(Color.parseColor("#14213D")); // Default
+                holder.parentView.setBackgroundColor(COLOR_DEFAULT); // Default
             }
         }
     }
@@ -11,6 +11,8 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.shifty.R;
 import com.example.shifty.model.CurrentUserManager;
 import com.example.shifty.model.Employee;
+import com.example.shifty.model.EmployeeManager;
+import com.example.shifty.model.WeekShiftIndex;
 import com.example.shifty.ui.fragment.AdminFragment.ScheduleFragment;
 import com.example.shifty.ui.fragment.EmpFragment.ShiftsFragment;
 
@@ -21,7 +23,11 @@ import java.util.ArrayList;
  * RecyclerView.Adapter for displaying calendar days for admins.
  * <p>
  * This adapter is responsible for binding {@link LocalDate} objects to calendar cell views,
- * handling click events, and highlighting the selected date.
+ * handling click events, and highlighting the selected date. Days on which any employee
+ * has a shift are highlighted using a {@link WeekShiftIndex} of the displayed week, so binding a
+ * cell does not scan the roster. The index is rebuilt by {@link #refresh()}, which the fragment
+ * calls when {@link EmployeeManager#getNeedRefresh()} reports a roster change and after a
+ * schedule was published.
  * </p>
  *
  * <p>Example usage:</p>
@@ -40,10 +46,21 @@ import java.util.ArrayList;
  */
 public class CalendarAdminAdapter extends RecyclerView.Adapter<CalendarViewHolder> {
 
+    /** Background for the currently selected date. */
+    private static final int COLOR_SELECTED = Color.parseColor("#FCA311");
+    /** Background for a date on which at least one employee has a shift. */
+    private static final int COLOR_SHIFT = Color.parseColor("#008000");
+    /** Default background. */
+    private static final int COLOR_DEFAULT = Color.parseColor("#14213D");
+
     /** List of dates to be displayed in the calendar. */
     private final ArrayList<LocalDate> days;
     /** Listener for item click events. */
     private final OnItemListener onItemListener;
+    /** Any date in the displayed week. */
+    private final LocalDate weekDate;
+    /** Shifts of all employees for the displayed week. */
+    private WeekShiftIndex shiftIndex;
 
     /**
      * Constructs a new CalendarAdminAdapter.
@@ -55,6 +72,23 @@ public class CalendarAdminAdapter extends RecyclerView.Adapter<CalendarViewHolde
     public CalendarAdminAdapter(ArrayList<LocalDate> days, OnItemListener onItemListener) {
         this.days = days;
         this.onItemListener = onItemListener;
+        this.weekDate = days.isEmpty() || days.get(0) == null ? ScheduleFragment.selectedDate : days.get(0);
+        rebuildIndex();
+    }
+
+    /**
+     * Rebuilds the shift index from the current roster and re-binds every cell.
+     */
+    public void refresh() {
+        rebuildIndex();
+        notifyDataSetChanged();
+    }
+
+    /**
+     * Builds {@link #shiftIndex} from the current roster.
+     */
+    private void rebuildIndex() {
+        shiftIndex = WeekShiftIndex.forEmployees(EmployeeManager.getInstance().getEmployees(), weekDate);
     }
 
     /**
@@ -80,7 +114,8 @@ public class CalendarAdminAdapter extends RecyclerView.Adapter<CalendarViewHolde
     /**
      * Binds the {@link LocalDate} at the given position to the calendar cell view.
      * If the date is null, the cell is empty. If the date matches the selected date in
-     * {@link ScheduleFragment}, the cell is highlighted.
+     * {@link ScheduleFragment}, the cell is highlighted; otherwise it is coloured by whether
+     * any employee has a shift that day.
      *
      * @param holder   the {@link CalendarViewHolder} to update
      * @param position the position of the item within the adapter's data set
@@ -94,8 +129,13 @@ public class CalendarAdminAdapter extends RecyclerView.Adapter<CalendarViewHolde
         } else {
             String dateMonth = Integer.toString(date.getDayOfMonth());
             holder.dayOfMonth.setText(dateMonth);
-            if(date.equals(ScheduleFragment.selectedDate))
-                holder.parentView.setBackgroundColor(Color.parseColor("#FCA311"));
+            if (date.equals(ScheduleFragment.selectedDate)) {
+                holder.parentView.setBackgroundColor(COLOR_SELECTED);
+            } else if (shiftIndex.hasShift(date)) {
+                holder.parentView.setBackgroundColor(COLOR_SHIFT);
+            } else {
+                holder.parentView.setBackgroundColor(COLOR_DEFAULT);
+            }
         }
     }
 
@@ -5,6 +5,8 @@ import android.view.View;
 import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.shifty.R;
@@ -15,7 +17,7 @@ import com.example.shifty.model.SchedulingAlgorithm.TimeUtil;
 import com.example.shifty.ui.calendar.CalendarViewHolder;
 
 import java.time.LocalDate;
-import java.util.List;
+import java.util.ArrayList;
 
 /**
  * Adapter class for displaying a list of {@link Constraint} objects for the current employee
@@ -29,6 +31,12 @@ import java.util.List;
  * </p>
  *
  * <p>
+ * The adapter renders immutable snapshots of the constraint list submitted through
+ * {@link #refresh()}; {@link ListAdapter} diffs consecutive snapshots off the main thread
+ * so only changed rows are rebound.
+ * </p>
+ *
+ * <p>
  * Related resources:
  * <ul>
  *     <li>{@link ConstraintViewHolder}</li>
@@ -40,12 +48,26 @@ import java.util.List;
  *
  * @author Eitan Navon
  */
-public class ConstraintAdapter extends RecyclerView.Adapter<ConstraintViewHolder> {
+public class ConstraintAdapter extends ListAdapter<Constraint, ConstraintViewHolder> {
 
     /**
-     * List of constraints for the current employee.
+     * Diff callback identifying a constraint by its day, hours and date.
+     * All displayed fields are part of the identity, so equal items have equal contents.
      */
-    private final List<Constraint> constraints;
+    private static final DiffUtil.ItemCallback<Constraint> DIFF_CALLBACK = new DiffUtil.ItemCallback<Constraint>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Constraint oldItem, @NonNull Constraint newItem) {
+            return oldItem.getDay() == newItem.getDay()
+                    && oldItem.getStartHour() == newItem.getStartHour()
+                    && oldItem.getEndHour() == newItem.getEndHour()
+                    && oldItem.getDate() == newItem.getDate();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Constraint oldItem, @NonNull Constraint newItem) {
+            return true;
+        }
+    };
 
     /**
      * Reference to the current employee, obtained from {@link CurrentUserManager}.
@@ -53,13 +75,21 @@ public class ConstraintAdapter extends RecyclerView.Adapter<ConstraintViewHolder
     Employee currEmp = CurrentUserManager.getInstance().getCurrentEmployee();
 
     /**
-     * Constructs a new {@code ConstraintAdapter}, retrieving the list of constraints
-     * from the current employee.
+     * Constructs a new {@code ConstraintAdapter} and submits the current employee's constraints.
      *
      * @throws NullPointerException if there is no current employee or their constraints are null
      */
     public ConstraintAdapter() {
-        constraints = currEmp.getConstraints();
+        super(DIFF_CALLBACK);
+        refresh();
+    }
+
+    /**
+     * Submits a snapshot of the current employee's constraints to be diffed against
+     * the displayed list.
+     */
+    public void refresh() {
+        submitList(new ArrayList<>(currEmp.getConstraints()));
     }
 
     /**
@@ -91,7 +121,7 @@ public class ConstraintAdapter extends RecyclerView.Adapter<ConstraintViewHolder
      */
     @Override
     public void onBindViewHolder(@NonNull ConstraintViewHolder holder, int position) {
-        Constraint constraint = constraints.get(position);
+        Constraint constraint = getItem(position);
 
         // Format: "Monday 9 - 13"
         String constraintText = TimeUtil.getDayOfWeek(constraint.getDay()) + " " +
@@ -99,17 +129,11 @@ public class ConstraintAdapter extends RecyclerView.Adapter<ConstraintViewHolder
         holder.constraintText.setText(constraintText); // Bind data to the view
 
         holder.deleteButton.setOnClickListener(v -> {
-            currEmp.deleteConstraint(position);
+            // Resolve the index at click time; the snapshot may be older than the employee's list
+            int index = currEmp.getConstraints().indexOf(constraint);
+            if (index >= 0) {
+                currEmp.deleteConstraint(index);
+            }
         });
     }
-
-    /**
-     * Returns the total number of items in the data set held by the adapter.
-     *
-     * @return The number of constraints to display
-     */
-    @Override
-    public int getItemCount() {
-        return constraints.size();
-    }
 }
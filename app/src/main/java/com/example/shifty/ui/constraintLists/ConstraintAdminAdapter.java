@@ -1,11 +1,12 @@
 package com.example.shifty.ui.constraintLists;
 
-import android.util.Pair;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.shifty.R;
@@ -17,6 +18,7 @@ import com.example.shifty.ui.fragment.AdminFragment.ScheduleFragment;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Adapter for displaying constraints for all employees (admin view) in a {@link RecyclerView}.
@@ -24,7 +26,13 @@ import java.util.List;
  * Admins can also delete constraints from this view.
  * <p>
  * This adapter relies on {@link EmployeeManager} to retrieve and manage employee data.
- * Each constraint is paired with the employee's UID for reference.
+ * Each constraint is paired with the employee's UID and the name shown for it.
+ * </p>
+ *
+ * <p>
+ * Rows are rendered from immutable snapshots built by {@link #loadConstraint()};
+ * {@link ListAdapter} diffs consecutive snapshots off the main thread, keyed by
+ * employee UID plus the constraint's day, hours and date, and rebound when the name changes.
  * </p>
  *
  * <p>
@@ -41,12 +49,45 @@ import java.util.List;
  *
  * @author Eitan Navon
  */
-public class ConstraintAdminAdapter extends RecyclerView.Adapter<ConstraintViewHolder> {
+public class ConstraintAdminAdapter extends ListAdapter<ConstraintAdminAdapter.Row, ConstraintViewHolder> {
 
     /**
-     * List of pairs, where each pair consists of an employee UID and their constraint.
+     * One row of the list: a constraint, its employee's UID, and the employee's name when the
+     * snapshot was built, so a rename shows up as changed contents.
      */
-    private final List<Pair<String, Constraint>> constraints;
+    static final class Row {
+        final String uid;
+        final String name;
+        final Constraint constraint;
+
+        Row(String uid, String name, Constraint constraint) {
+            this.uid = uid;
+            this.name = name;
+            this.constraint = constraint;
+        }
+    }
+
+    /**
+     * Diff callback identifying a row by employee UID and constraint slot.
+     * The employee name is the only displayed field outside the identity.
+     */
+    private static final DiffUtil.ItemCallback<Row> DIFF_CALLBACK = new DiffUtil.ItemCallback<Row>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Row oldItem, @NonNull Row newItem) {
+            Constraint oldConstraint = oldItem.constraint;
+            Constraint newConstraint = newItem.constraint;
+            return oldItem.uid.equals(newItem.uid)
+                    && oldConstraint.getDay() == newConstraint.getDay()
+                    && oldConstraint.getStartHour() == newConstraint.getStartHour()
+                    && oldConstraint.getEndHour() == newConstraint.getEndHour()
+                    && oldConstraint.getDate() == newConstraint.getDate();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Row oldItem, @NonNull Row newItem) {
+            return Objects.equals(oldItem.name, newItem.name);
+        }
+    };
 
     /**
      * Reference to the {@link EmployeeManager} singleton for accessing employees.
@@ -54,14 +95,13 @@ public class ConstraintAdminAdapter extends RecyclerView.Adapter<ConstraintViewH
     private final EmployeeManager employeeManager = EmployeeManager.getInstance();
 
     /**
-     * Constructs a new {@code ConstraintAdminAdapter}. Loads all constraints
-     * for the currently selected day in {@link ScheduleFragment}.
+     * Constructs a new, empty {@code ConstraintAdminAdapter}. Call {@link #loadConstraint()}
+     * to submit the constraints for the currently selected day in {@link ScheduleFragment}.
      *
      * @throws NullPointerException if {@link EmployeeManager#getInstance()} returns null.
      */
     public ConstraintAdminAdapter() {
-        constraints = new ArrayList<>();
-        loadConstraint();
+        super(DIFF_CALLBACK);
     }
 
     /**
@@ -93,9 +133,9 @@ public class ConstraintAdminAdapter extends RecyclerView.Adapter<ConstraintViewH
      */
     @Override
     public void onBindViewHolder(@NonNull ConstraintViewHolder holder, int position) {
-        Pair<String, Constraint> constraintPair = constraints.get(position);
+        Row row = getItem(position);
 
-        Employee emp = employeeManager.getEmployee(constraintPair.first);
+        Employee emp = employeeManager.getEmployee(row.uid);
         if (emp == null) {
             // Defensive: should not happen unless data is corrupted
             holder.nameTextView.setText("Unknown");
@@ -103,47 +143,41 @@ public class ConstraintAdminAdapter extends RecyclerView.Adapter<ConstraintViewH
             return;
         }
 
-        String empName = emp.getName();
-        Constraint constraint = constraintPair.second;
+        Constraint constraint = row.constraint;
 
         String constraintText = TimeUtil.getDayOfWeek(constraint.getDay()) + " " +
                 constraint.getStartHour() + " - " + constraint.getEndHour();
         holder.constraintText.setText(constraintText); // Bind data to the view
 
-        holder.nameTextView.setText(empName);
+        holder.nameTextView.setText(row.name);
 
         holder.deleteButton.setOnClickListener(v -> {
-            emp.deleteConstraint(position); // May throw IndexOutOfBoundsException if invalid
+            // Resolve the index in the employee's own list, not the admin list position
+            int index = emp.getConstraints().indexOf(constraint);
+            if (index >= 0) {
+                emp.deleteConstraint(index);
+            }
         });
     }
 
-    /**
-     * Returns the total number of items in the adapter.
-     *
-     * @return The size of the constraint list.
-     */
-    @Override
-    public int getItemCount() {
-        return constraints.size();
-    }
-
     /**
      * Loads constraints for all employees that match the currently selected day
-     * from {@link ScheduleFragment#selectedDate}.
+     * from {@link ScheduleFragment#selectedDate} and submits them as a new snapshot.
      * Only constraints whose day matches the selected date are added.
      */
     public void loadConstraint() {
         List<Employee> employees = employeeManager.getEmployees();
+        List<Row> constraints = new ArrayList<>();
         if (employeeManager.isInitialized()) {
             for (Employee employee : employees) {
                 for (Constraint constraint : employee.getConstraints()) {
-                    Pair<String, Constraint> constraintPair = new Pair<>(employee.getUid(), constraint);
                     if (constraint.getDay() == ScheduleFragment.selectedDate.getDayOfWeek().getValue()) {
-                        constraints.add(constraintPair);
+                        constraints.add(new Row(employee.getUid(), employee.getName(), constraint));
                     }
                 }
             }
         }
+        submitList(constraints);
     }
 
 }
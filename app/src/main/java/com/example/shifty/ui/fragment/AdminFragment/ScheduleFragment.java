@@ -16,6 +16,7 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.shifty.R;
+import com.example.shifty.model.EmployeeManager;
 import com.example.shifty.model.SchedulingAlgorithm.TimeUtil;
 import com.example.shifty.ui.calendar.CalendarAdminAdapter;
 import com.example.shifty.ui.calendar.OnItemListener;
@@ -60,6 +61,10 @@ public class ScheduleFragment extends Fragment implements OnItemListener {
     private RecyclerView recyclerViewCalendar;
     /** RecyclerView for the admin constraint list. */
     private RecyclerView recyclerViewConstraints;
+    /** Adapter for the admin constraint list, created once and refreshed with new snapshots. */
+    private ConstraintAdminAdapter constraintAdapter;
+    /** Adapter for the displayed calendar week, replaced whenever the week view is rebuilt. */
+    private CalendarAdminAdapter calendarAdapter;
 
     /** Displays the current month and year. */
     private TextView monthYearText;
@@ -111,12 +116,14 @@ public class ScheduleFragment extends Fragment implements OnItemListener {
                 errorTextView.setText("Loading...");
             } else {
                 errorTextView.setText("");
+                if (calendarAdapter != null) calendarAdapter.refresh(); // Show the published shifts
             }
         });
     }
 
     /**
-     * Inflates the fragment layout and initializes its widgets.
+     * Inflates the fragment layout, initializes its widgets and redraws the calendar whenever
+     * the team's roster changes.
      *
      * @param inflater the LayoutInflater used to inflate views
      * @param container the parent view group
@@ -130,6 +137,8 @@ public class ScheduleFragment extends Fragment implements OnItemListener {
         initWidget(view);
         setWeekView();
         setConstraintView();
+        EmployeeManager.getInstance().getNeedRefresh()
+                .observe(getViewLifecycleOwner(), refresh -> calendarAdapter.refresh());
         addSystemNeedResultListener();
         scheduleFragmentViewModel.loadSystemNeeds();
         return view;
@@ -143,6 +152,7 @@ public class ScheduleFragment extends Fragment implements OnItemListener {
     private void initWidget(View view) {
         recyclerViewCalendar = view.findViewById(R.id.calenderRecycler);
         recyclerViewConstraints = view.findViewById(R.id.constraintRecycler);
+        constraintAdapter = null; // A new view needs a new adapter
         monthYearText = view.findViewById(R.id.monthYearTV);
         previousWeek = view.findViewById(R.id.previousWeek);
         nextWeek = view.findViewById(R.id.nextWeek);
@@ -170,7 +180,7 @@ public class ScheduleFragment extends Fragment implements OnItemListener {
     private void setWeekView() {
         monthYearText.setText(TimeUtil.monthYearFromDate(selectedDate));
         ArrayList<LocalDate> daysInWeek = TimeUtil.daysInWeek(selectedDate);
-        CalendarAdminAdapter calendarAdapter = new CalendarAdminAdapter(daysInWeek, this);
+        calendarAdapter = new CalendarAdminAdapter(daysInWeek, this);
         RecyclerView.LayoutManager layoutManager = new GridLayoutManager(getContext(), 7);
         recyclerViewCalendar.setLayoutManager(layoutManager);
         recyclerViewCalendar.setAdapter(calendarAdapter);
@@ -230,13 +240,17 @@ public class ScheduleFragment extends Fragment implements OnItemListener {
     }
 
     /**
-     * Sets up the constraints RecyclerView with the admin constraint adapter.
+     * Sets up the constraints RecyclerView with the admin constraint adapter on first use,
+     * then submits the constraints for the currently selected day.
      */
     private void setConstraintView() {
-        ConstraintAdminAdapter constraintAdapter = new ConstraintAdminAdapter();
-        RecyclerView.LayoutManager layoutManager = new LinearLayoutManager(getContext());
-        recyclerViewConstraints.setLayoutManager(layoutManager);
-        recyclerViewConstraints.setAdapter(constraintAdapter);
+        if (constraintAdapter == null) {
+            constraintAdapter = new ConstraintAdminAdapter();
+            RecyclerView.LayoutManager layoutManager = new LinearLayoutManager(getContext());
+            recyclerViewConstraints.setLayoutManager(layoutManager);
+            recyclerViewConstraints.setAdapter(constraintAdapter);
+        }
+        constraintAdapter.loadConstraint();
     }
 
     /**
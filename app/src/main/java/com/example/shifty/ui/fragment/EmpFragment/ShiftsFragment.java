@@ -15,6 +15,7 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.shifty.R;
+import com.example.shifty.model.CurrentUserManager;
 import com.example.shifty.model.SchedulingAlgorithm.TimeUtil;
 import com.example.shifty.ui.calendar.CalendarAdapter;
 import com.example.shifty.ui.calendar.OnItemListener;
@@ -54,6 +55,10 @@ public class ShiftsFragment extends Fragment implements OnItemListener, Constrai
     private RecyclerView recyclerViewCalendar;
     /** RecyclerView for the constraints display. */
     private RecyclerView recyclerViewConstraints;
+    /** Adapter for the displayed calendar week, replaced whenever the week view is rebuilt. */
+    private CalendarAdapter calendarAdapter;
+    /** Adapter for the constraints display. */
+    private ConstraintAdapter constraintAdapter;
     /** TextView for displaying the month and year. */
     private TextView monthYearText;
     /** The currently selected date in the calendar. */
@@ -127,7 +132,7 @@ public class ShiftsFragment extends Fragment implements OnItemListener, Constrai
 
     /**
      * Inflates the fragment's view, initializes UI widgets, and sets up
-     * the week and constraint views.
+     * the week and constraint views, which are refreshed whenever the employee's data is reloaded.
      *
      * @param inflater The LayoutInflater object that can be used to inflate any views in the fragment.
      * @param container If non-null, this is the parent view that the fragment's UI should be attached to.
@@ -141,6 +146,11 @@ public class ShiftsFragment extends Fragment implements OnItemListener, Constrai
         initWidget(view);
         setWeekView();
         setConstraintView();
+        CurrentUserManager.getInstance().getCurrentEmployee().getRefresh()
+                .observe(getViewLifecycleOwner(), refresh -> {
+                    calendarAdapter.refresh();
+                    constraintAdapter.refresh();
+                });
         return view;
     }
 
@@ -169,7 +179,7 @@ public class ShiftsFragment extends Fragment implements OnItemListener, Constrai
     private void setWeekView() {
         monthYearText.setText(TimeUtil.monthYearFromDate(selectedDate));
         ArrayList<LocalDate> daysInWeek = TimeUtil.daysInWeek(selectedDate);
-        CalendarAdapter calendarAdapter = new CalendarAdapter(daysInWeek, this);
+        calendarAdapter = new CalendarAdapter(daysInWeek, this);
         RecyclerView.LayoutManager layoutManager = new GridLayoutManager(getContext(), 7);
         recyclerViewCalendar.setLayoutManager(layoutManager);
         recyclerViewCalendar.setAdapter(calendarAdapter);
@@ -179,7 +189,7 @@ public class ShiftsFragment extends Fragment implements OnItemListener, Constrai
      * Sets up the constraints RecyclerView with a {@link ConstraintAdapter}.
      */
     private void setConstraintView() {
-        ConstraintAdapter constraintAdapter = new ConstraintAdapter();
+        constraintAdapter = new ConstraintAdapter();
         RecyclerView.LayoutManager layoutManager = new LinearLayoutManager(getContext());
         recyclerViewConstraints.setLayoutManager(layoutManager);
         recyclerViewConstraints.setAdapter(constraintAdapter);
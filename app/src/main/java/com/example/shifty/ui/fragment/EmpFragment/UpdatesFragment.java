@@ -65,8 +65,8 @@ public class UpdatesFragment extends Fragment {
     /** ViewModel for managing update data. */
     UpdatesViewModel updateViewModel;
 
-    /** LiveData for notifying when the update list needs to be refreshed. */
-    MutableLiveData<Boolean> needRefresh;
+    /** Adapter rendering snapshots of the update list. */
+    UpdateAdapter updateAdapter;
 
     /**
      * Constructs a new UpdatesFragment for the given role.
@@ -96,13 +96,6 @@ public class UpdatesFragment extends Fragment {
         addUpdateResultListener();
         initWidget(view);
 
-        needRefresh.observe(getViewLifecycleOwner(), needRefresh -> {
-            if (needRefresh) {
-                // Refresh the updates list
-                recyclerView.setAdapter(new UpdateAdapter());
-            }
-        });
-
         return view;
     }
 
@@ -118,13 +111,18 @@ public class UpdatesFragment extends Fragment {
         errorMessage = view.findViewById(R.id.errorMsgId);
         errorMsgData.observe(getViewLifecycleOwner(), errorMessage::setText);
 
-        // LiveData to refresh the updates list when data changes
-        needRefresh = UpdateManager.getInstance().getNeedRefresh();
-
         // Initialize RecyclerView and its adapter
         recyclerView = view.findViewById(R.id.updatesRecyclerView);
         recyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
-        recyclerView.setAdapter(new UpdateAdapter());
+        updateAdapter = new UpdateAdapter();
+        recyclerView.setAdapter(updateAdapter);
+
+        // Submit a fresh snapshot whenever the updates change; the adapter diffs it
+        // against the previous one off the main thread
+        UpdateManager updateManager = UpdateManager.getInstance();
+        updateAdapter.submitList(updateManager.getUpdates());
+        updateManager.getNeedRefresh().observe(getViewLifecycleOwner(),
+                refresh -> updateAdapter.submitList(updateManager.getUpdates()));
 
         // Initialize the add-update button
         addUpdateButton = view.findViewById(R.id.addUpdateButton);
@@ -5,6 +5,8 @@ import android.view.View;
 import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.shifty.R;
@@ -12,13 +14,16 @@ import com.example.shifty.model.SchedulingAlgorithm.TimeUtil;
 import com.example.shifty.model.Update;
 import com.example.shifty.model.UpdateManager;
 
-import java.util.List;
+import java.util.Objects;
 
 /**
  * Adapter for displaying a list of {@link Update} objects in a {@link RecyclerView}.
  * Each item shows the update's title, date, time, description, and a critical indicator if relevant.
  * <p>
- * The adapter retrieves updates from the singleton {@link UpdateManager}.
+ * The adapter renders immutable snapshots obtained from {@link UpdateManager#getUpdates()}
+ * and submitted with {@link #submitList(java.util.List)}. Differences between consecutive
+ * snapshots are computed off the main thread by {@link ListAdapter}'s AsyncListDiffer,
+ * keyed by the update ID, so only changed rows are rebound.
  * </p>
  *
  * <b>Related:</b>
@@ -31,23 +36,35 @@ import java.util.List;
  *
  * @author Eitan Navon
  */
-public class UpdateAdapter extends RecyclerView.Adapter<UpdateViewHolder> {
+public class UpdateAdapter extends ListAdapter<Update, UpdateViewHolder> {
 
     /** Tag for logging and debugging. */
     private final String TAG = "UpdateAdapter";
-    /** List of updates to display. */
-    private List<Update> updates;
-    /** Singleton manager for retrieving updates. */
-    private final UpdateManager updateManager = UpdateManager.getInstance();
 
     /**
-     * Constructs a new {@code UpdateAdapter} and initializes the updates list
-     * from the {@link UpdateManager}.
-     *
-     * @throws NullPointerException if {@link UpdateManager#getInstance()} or its data is null.
+     * Diff callback identifying updates by ID and comparing the displayed fields.
+     */
+    private static final DiffUtil.ItemCallback<Update> DIFF_CALLBACK = new DiffUtil.ItemCallback<Update>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Update oldItem, @NonNull Update newItem) {
+            return Objects.equals(oldItem.getId(), newItem.getId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Update oldItem, @NonNull Update newItem) {
+            return oldItem.isCritical() == newItem.isCritical()
+                    && Objects.equals(oldItem.getName(), newItem.getName())
+                    && Objects.equals(oldItem.getDescription(), newItem.getDescription())
+                    && Objects.equals(oldItem.getDate(), newItem.getDate());
+        }
+    };
+
+    /**
+     * Constructs a new, empty {@code UpdateAdapter}. Data is provided through
+     * {@link #submitList(java.util.List)}.
      */
     public UpdateAdapter() {
-        updates = updateManager.getUpdates();
+        super(DIFF_CALLBACK);
     }
 
     /**
@@ -72,14 +89,14 @@ public class UpdateAdapter extends RecyclerView.Adapter<UpdateViewHolder> {
      * Handles long-click events on the item view.
      *
      * @param holder The {@link UpdateViewHolder} to bind data to.
-     * @param position The position of the item within the updates list.
+     * @param position The position of the item within the current snapshot.
      * @throws IndexOutOfBoundsException if the position is out of range.
      * @see Update
      */
     @Override
     public void onBindViewHolder(@NonNull UpdateViewHolder holder, int position) {
 
-        Update update = updates.get(position);
+        Update update = getItem(position);
 
         holder.updateTitle.setText(update.getName());
         holder.updateDate.setText(TimeUtil.formatDate(update.getDate()));
@@ -97,14 +114,4 @@ public class UpdateAdapter extends RecyclerView.Adapter<UpdateViewHolder> {
         });
 
     }
-
-    /**
-     * Returns the number of update items managed by the adapter.
-     *
-     * @return The count of updates.
-     */
-    @Override
-    public int getItemCount() {
-        return updateManager.getUpdatesCount();
-    }
 }
@@ -4,11 +4,14 @@ import androidx.annotation.NonNull;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 
-import com.example.shifty.model.EmployeeManager;
+import com.example.shifty.model.CurrentUserManager;
+import com.example.shifty.model.RosterSnapshot;
 import com.example.shifty.model.ScheduleRepository;
 import com.example.shifty.model.SchedulingAlgorithm.ModelSolver;
 import com.example.shifty.model.SchedulingAlgorithm.Schedule;
+import com.example.shifty.model.SchedulingAlgorithm.SolverExecutor;
 
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -25,8 +28,23 @@ import java.util.concurrent.CompletableFuture;
  */
 public class ScheduleFragmentViewModel extends ViewModel {
 
-    /** Repository for managing schedule and system needs persistence. */
-    ScheduleRepository sr = ScheduleRepository.getInstance();
+    /**
+     * Prefix of the key under which schedule solves are submitted; a new solve supersedes a
+     * pending one of the same team.
+     */
+    private static final String SOLVE_KEY = "schedule/";
+
+    /**
+     * Time allowed to find which needs conflict when a week has no schedule, so the admin is
+     * told what to change instead of re-solving by trial and error.
+     */
+    private static final long EXPLAIN_TIME_LIMIT_MS = 10_000;
+
+    /** Team whose schedule is edited, fixed when the screen is created. */
+    final String teamId = CurrentUserManager.getInstance().getTeamId();
+
+    /** Repository for managing the team's schedule and system needs persistence. */
+    ScheduleRepository sr = ScheduleRepository.getInstance(teamId);
 
     /** LiveData holding the latest error or status message. */
     MutableLiveData<String> errorMsg = new MutableLiveData<>();
@@ -34,6 +52,9 @@ public class ScheduleFragmentViewModel extends ViewModel {
     /** 2D array representing system needs: [day][hour] = employees needed. */
     int[][] systemNeeds;
 
+    /** Repository cache version {@link #systemNeeds} was loaded from. */
+    long systemNeedsVersion = -1;
+
     /** LiveData indicating whether a long-running task is in progress. */
     MutableLiveData<Boolean> isLoading = new MutableLiveData<>(false);
 
@@ -75,7 +96,7 @@ public class ScheduleFragmentViewModel extends ViewModel {
 
     /**
      * Updates the {@link #systemNeeds} array for the given day, setting all 22 hours to the specified value,
-     * and persists the result using {@link ScheduleRepository#saveSystemNeedsOnDayAndHour(int[][])}.
+     * and queues the changed cells with {@link ScheduleRepository#queueSystemNeed(int, int, int)}.
      * Does nothing if a loading operation is in progress.
      *
      * @param day        the day of the week (0=Sunday, 6=Saturday)
@@ -85,12 +106,24 @@ public class ScheduleFragmentViewModel extends ViewModel {
     private void updateSystemNeeds(int day, int empPerHour) {
         if (isLoading.getValue() == null || !isLoading.getValue()) {
             for (int hour = 0; hour < 22; hour++) {
-                systemNeeds[day][hour] = empPerHour;
+                if (systemNeeds[day][hour] != empPerHour) {
+                    systemNeeds[day][hour] = empPerHour;
+                    sr.queueSystemNeed(day, hour, empPerHour);
+                }
             }
-            sr.saveSystemNeedsOnDayAndHour(systemNeeds);
+            systemNeedsVersion = sr.getSystemNeedsVersion();
         }
     }
 
+    /**
+     * Flushes pending system need edits when the schedule screen goes away.
+     */
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        sr.flushSystemNeeds();
+    }
+
     /**
      * Checks the validity of input for day and employees per hour.
      *
@@ -108,14 +141,18 @@ public class ScheduleFragmentViewModel extends ViewModel {
     }
 
     /**
-     * Loads the current system needs from the repository asynchronously.
+     * Loads the current system needs from the repository's cache asynchronously.
      * Updates the {@link #systemNeeds} field and sets {@link #isLoading} appropriately.
+     * Does nothing if the cache has not changed since the last load.
      */
     public void loadSystemNeeds() {
+        long version = sr.getSystemNeedsVersion();
+        if (systemNeeds != null && version == systemNeedsVersion) return;
         CompletableFuture<int[][]> data = sr.fetchSystemNeeds();
         isLoading.postValue(true);
         data.thenAccept(result -> {
             this.systemNeeds = result;
+            this.systemNeedsVersion = sr.getSystemNeedsVersion();
             isLoading.postValue(false);
         });
     }
@@ -130,23 +167,35 @@ public class ScheduleFragmentViewModel extends ViewModel {
     }
 
     /**
-     * Creates a new schedule using the current employee list and system needs.
-     * The process is run asynchronously and the resulting schedule is saved via {@link ScheduleRepository#saveSchedule(Schedule)}.
-     * Posts status or error messages to {@link #errorMsg}, and updates {@link #isLoading}.
+     * Creates a new schedule from a {@link RosterSnapshot} of the team's current employees and system needs,
+     * captured before the solve is queued so later database updates do not affect it.
+     * The solve runs on the {@link SolverExecutor} (tapping again supersedes a pending solve) and
+     * the resulting schedule is published via {@link ScheduleRepository#saveSchedule(Schedule)}.
+     * If the week has no schedule, the error message lists the conflicting needs
+     * (see {@link ModelSolver#setExplainTimeLimitMs(long)}).
+     * Posts status or error messages to {@link #errorMsg}, and updates {@link #isLoading}
+     * once the publish has completed.
      */
     public void createSchedule() {
         isLoading.postValue(true); // Indicate loading
-        CompletableFuture.runAsync(() -> {
-            ModelSolver model = new ModelSolver(EmployeeManager.getInstance().getEmployees(), systemNeeds);
-            try {
-                Schedule schedule = model.Solve();
-                sr.saveSchedule(schedule); // Save the schedule
+        RosterSnapshot snapshot = RosterSnapshot.capture(teamId);
+        SolverExecutor.getInstance().submit(SOLVE_KEY + teamId, () -> {
+            ModelSolver solver = new ModelSolver(snapshot.getProblem());
+            solver.setExplainTimeLimitMs(EXPLAIN_TIME_LIMIT_MS);
+            return solver.Solve();
+        }).thenCompose(sr::saveSchedule).whenComplete((published, e) -> {
+            Throwable cause = (e != null && e.getCause() != null) ? e.getCause() : e;
+            if (cause instanceof CancellationException) {
+                return; // Superseded by a newer solve, which reports its own result
+            }
+            if (cause != null) {
+                errorMsg.postValue("Error: " + cause.getMessage());
+            } else if (Boolean.TRUE.equals(published)) {
                 errorMsg.postValue("Schedule created successfully!");
-            } catch (RuntimeException e) {
-                errorMsg.postValue("Error: " + e.getMessage());
-            } finally {
-                isLoading.postValue(false); // Indicate loading complete
+            } else {
+                errorMsg.postValue("Error: Failed to publish the schedule");
             }
+            isLoading.postValue(false); // Indicate loading complete
         });
     }
 }
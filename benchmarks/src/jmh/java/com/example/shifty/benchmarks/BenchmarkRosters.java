@@ -0,0 +1,223 @@
+package com.example.shifty.benchmarks;
+
+import com.example.shifty.model.Employee;
+import com.example.shifty.model.SchedulingAlgorithm.Constraint;
+import com.example.shifty.model.SchedulingAlgorithm.SchedulingProblem;
+import com.example.shifty.model.SchedulingAlgorithm.Shift;
+import com.example.shifty.model.SchedulingAlgorithm.ShiftTimeline;
+import com.example.shifty.model.SchedulingAlgorithm.TimeUtil;
+import com.example.shifty.model.repository.Repositories;
+import com.example.shifty.model.repository.memory.InMemoryDatabase;
+import com.example.shifty.model.repository.memory.InMemoryRepositories;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Seeded roster and system-needs fixtures shared by the benchmarks.
+ */
+final class BenchmarkRosters {
+
+    static final int DAYS_IN_WEEK = 7;
+    static final int HOURS_PER_DAY = 22;
+
+    /** Longest unavailability window generated for a constraint, in hours. */
+    private static final int MAX_CONSTRAINT_HOURS = 6;
+
+    private BenchmarkRosters() {
+    }
+
+    /**
+     * Creates employees with random unavailability windows.
+     *
+     * @param employees              the number of employees
+     * @param constraintsPerEmployee the number of unavailability windows per employee
+     * @param seed                   the random seed
+     * @return the employees
+     */
+    static List<Employee> employees(int employees, int constraintsPerEmployee, long seed) {
+        Random random = new Random(seed);
+        List<Employee> roster = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            Employee employee = new Employee("uid" + i, "Employee " + i);
+            for (int c = 0; c < constraintsPerEmployee; c++) {
+                int[] window = unavailabilityWindow(random);
+                employee.addConstraint(window[0], window[1], window[2]);
+            }
+            roster.add(employee);
+        }
+        return roster;
+    }
+
+    /**
+     * Creates a solver problem with the same employees as {@link #employees(int, int, long)}
+     * and {@link #systemNeeds(int)}, without going through the app's {@link Employee}.
+     *
+     * @param employees              the number of employees
+     * @param constraintsPerEmployee the number of unavailability windows per employee
+     * @param seed                   the random seed
+     * @return the problem
+     */
+    static SchedulingProblem problem(int employees, int constraintsPerEmployee, long seed) {
+        return problem(employees, constraintsPerEmployee, 0, seed);
+    }
+
+    /**
+     * Creates the same problem as {@link #problem(int, int, long)} with skill needs added, so
+     * solve times with and without skills compare like for like. Employee {@code i} has skill
+     * {@code i % skills} and, one time in four, the next skill too. Skill 0 (a shift manager)
+     * is needed once at every hour; each other skill is needed at a {@code 1 / (2 * skills)}
+     * share of the head-count.
+     *
+     * @param employees              the number of employees
+     * @param constraintsPerEmployee the number of unavailability windows per employee
+     * @param skills                 the number of skills, 0 for head-counts only
+     * @param seed                   the random seed
+     * @return the problem
+     */
+    static SchedulingProblem problem(int employees, int constraintsPerEmployee, int skills, long seed) {
+        return problemBuilder(employees, constraintsPerEmployee, skills, seed).build();
+    }
+
+    /**
+     * Returns the builder behind {@link #problem(int, int, int, long)}, so a benchmark can add
+     * workload rules to the same roster before building.
+     *
+     * @param employees              the number of employees
+     * @param constraintsPerEmployee the number of unavailability windows per employee
+     * @param skills                 the number of skills, 0 for head-counts only
+     * @param seed                   the random seed
+     * @return the filled builder
+     */
+    static SchedulingProblem.Builder problemBuilder(int employees, int constraintsPerEmployee, int skills, long seed) {
+        Random random = new Random(seed);
+        Random skillRandom = new Random(seed + 1); // Keeps the availability identical to the skill-less problem
+        int[][] needs = systemNeeds(employees);
+        SchedulingProblem.Builder builder = SchedulingProblem.builder().setSystemNeeds(needs);
+        for (int skill = 0; skill < skills; skill++) {
+            builder.addSkill("skill" + skill);
+            int need = skill == 0 ? 1 : needs[0][0] / (2 * skills);
+            for (int day = 0; day < DAYS_IN_WEEK; day++) {
+                for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+                    builder.setSkillNeed(skill, day, hour, need);
+                }
+            }
+        }
+        for (int i = 0; i < employees; i++) {
+            int employee = builder.addEmployee("uid" + i, "Employee " + i);
+            for (int c = 0; c < constraintsPerEmployee; c++) {
+                int[] window = unavailabilityWindow(random);
+                builder.setUnavailable(employee, window[0], window[1], window[2]);
+            }
+            if (skills > 0) {
+                builder.addEmployeeSkill(employee, i % skills);
+                if (skillRandom.nextInt(4) == 0) builder.addEmployeeSkill(employee, (i + 1) % skills);
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * Stores employees as the app does under {@code employees/<uid>}: a name, random unavailability
+     * windows and an eight-hour shift on five days of each past week, keyed by shift ID.
+     *
+     * @param db                     the database to fill
+     * @param employees              the number of employees, with UIDs {@code uid0, uid1, ...}
+     * @param constraintsPerEmployee the number of unavailability windows per employee
+     * @param weeksOfShifts          the number of past weeks with shifts
+     * @param seed                   the random seed
+     */
+    static void preload(InMemoryDatabase db, int employees, int constraintsPerEmployee, int weeksOfShifts, long seed) {
+        preload(db, employees, 1, constraintsPerEmployee, weeksOfShifts, seed);
+    }
+
+    /**
+     * Returns the ID of a team of a company split into several teams by {@link #preload(InMemoryDatabase,
+     * int, int, int, int, long) preload}: the default team if there is only one.
+     *
+     * @param team  the team's index
+     * @param teams the number of teams
+     * @return the team ID
+     */
+    static String teamId(int team, int teams) {
+        return teams == 1 ? Repositories.DEFAULT_TEAM_ID : "team" + team;
+    }
+
+    /**
+     * Stores a company's employees like {@link #preload(InMemoryDatabase, int, int, int, long)},
+     * split round-robin into teams: employee {@code uid<i>} belongs to team {@code i % teams},
+     * whose ID is {@link #teamId(int, int)}.
+     *
+     * @param db                     the database to fill
+     * @param employees              the number of employees in the company, with UIDs {@code uid0, uid1, ...}
+     * @param teams                  the number of teams
+     * @param constraintsPerEmployee the number of unavailability windows per employee
+     * @param weeksOfShifts          the number of past weeks with shifts
+     * @param seed                   the random seed
+     */
+    static void preload(InMemoryDatabase db, int employees, int teams, int constraintsPerEmployee,
+                        int weeksOfShifts, long seed) {
+        Random random = new Random(seed);
+        LocalDate sunday = TimeUtil.sundayForDate(LocalDate.now());
+        List<Map<String, Object>> rosters = new ArrayList<>();
+        for (int team = 0; team < teams; team++) {
+            rosters.add(new HashMap<>());
+        }
+        for (int i = 0; i < employees; i++) {
+            List<Map<String, Object>> constraints = new ArrayList<>();
+            for (int c = 0; c < constraintsPerEmployee; c++) {
+                int[] window = unavailabilityWindow(random);
+                constraints.add(new Constraint(window[0], window[1], window[2], sunday.toEpochDay()).toMap());
+            }
+            Map<String, Object> shifts = new HashMap<>();
+            for (int week = 1; week <= weeksOfShifts; week++) {
+                for (int day = 0; day < 5; day++) {
+                    int start = random.nextInt(HOURS_PER_DAY - 8);
+                    Shift shift = new Shift(day, start, start + 8, sunday.minusWeeks(week).plusDays(day).toEpochDay());
+                    shifts.put(ShiftTimeline.idOf(shift), shift.toMap());
+                }
+            }
+            Map<String, Object> employee = new HashMap<>();
+            employee.put("name", "Employee " + i);
+            employee.put("constraints", constraints);
+            employee.put("shifts", shifts);
+            rosters.get(i % teams).put("uid" + i, employee);
+        }
+        for (int team = 0; team < teams; team++) {
+            db.preload(Repositories.teamPath(teamId(team, teams), InMemoryRepositories.EMPLOYEES), rosters.get(team));
+        }
+    }
+
+    /**
+     * Draws a random unavailability window of at most {@link #MAX_CONSTRAINT_HOURS} hours. Every
+     * fixture draws its windows here, in the order start, end, day, so rosters built with the
+     * same seed have the same windows.
+     *
+     * @param random the fixture's random source
+     * @return the window as {@code {day, startHour, endHour}}
+     */
+    private static int[] unavailabilityWindow(Random random) {
+        int start = random.nextInt(HOURS_PER_DAY);
+        int end = Math.min(HOURS_PER_DAY - 1, start + random.nextInt(MAX_CONSTRAINT_HOURS));
+        return new int[]{random.nextInt(DAYS_IN_WEEK), start, end};
+    }
+
+    /**
+     * Creates flat system needs requiring a tenth of the roster (at least one employee) every hour.
+     *
+     * @param employees the roster size
+     * @return the system needs, indexed {@code [day][hour]}
+     */
+    static int[][] systemNeeds(int employees) {
+        int[][] needs = new int[DAYS_IN_WEEK][HOURS_PER_DAY];
+        for (int[] day : needs) {
+            Arrays.fill(day, Math.max(1, employees / 10));
+        }
+        return needs;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.shifty.benchmarks;
+
+import com.example.shifty.model.SchedulingAlgorithm.InfeasibleScheduleException;
+import com.example.shifty.model.SchedulingAlgorithm.ModelSolver;
+import com.example.shifty.model.SchedulingAlgorithm.SchedulingProblem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of explaining a week without a schedule, against the failed solve an admin would
+ * otherwise repeat after every guess.
+ * <p>
+ * The rosters are those of {@link ModelSolverBenchmark} with one conflict added:
+ * {@link Conflict#ROOT} needs one more employee than are available on Friday 18..21, which the
+ * root checks report; {@link Conflict#LATE} needs everyone available on Monday 21 and one
+ * employee on Monday 0, which no shift of at most 8 hours covers, so the explainer has to
+ * narrow the week's needs down to those two.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx6g"})
+public class ConflictExplanationBenchmark {
+
+    /** Time limit for an explanation. */
+    static final long EXPLAIN_TIME_LIMIT_MS = 10_000;
+
+    /**
+     * Conflict added to the roster.
+     */
+    public enum Conflict {
+        /** An hour needing more employees than are available. */
+        ROOT,
+        /** A late hour needing everyone, and an early hour on the same day. */
+        LATE
+    }
+
+    @Param({"50", "200"})
+    public int employees;
+
+    @Param({"2"})
+    public int constraintsPerEmployee;
+
+    @Param({"ROOT", "LATE"})
+    public Conflict conflict;
+
+    @Param({"HOURLY", "SHIFTS"})
+    public ModelSolver.Encoding encoding;
+
+    private SchedulingProblem problem;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SchedulingProblem roster = BenchmarkRosters.problem(employees, constraintsPerEmployee, 42);
+        SchedulingProblem.Builder builder = BenchmarkRosters.problemBuilder(employees, constraintsPerEmployee, 0, 42);
+        if (conflict == Conflict.ROOT) {
+            for (int hour = 18; hour < BenchmarkRosters.HOURS_PER_DAY; hour++) {
+                builder.setSystemNeed(5, hour, available(roster, 5, hour) + 1);
+            }
+        } else {
+            builder.setSystemNeed(1, 21, available(roster, 1, 21));
+            builder.setSystemNeed(1, 0, 1);
+        }
+        problem = builder.build();
+    }
+
+    /**
+     * Counts the employees available at an hour.
+     *
+     * @param roster the problem
+     * @param day    the day of the week
+     * @param hour   the hour index
+     * @return the available employees
+     */
+    private static int available(SchedulingProblem roster, int day, int hour) {
+        int available = 0;
+        for (int i = 0; i < roster.getEmployeeCount(); i++) {
+            if ((roster.getAvailabilityMask(i, day) & (1 << hour)) != 0) available++;
+        }
+        return available;
+    }
+
+    @Benchmark
+    public String fail() {
+        try {
+            new ModelSolver(problem, encoding).Solve();
+            return null;
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public List<String> explain() {
+        ModelSolver solver = new ModelSolver(problem, encoding);
+        solver.setExplainTimeLimitMs(EXPLAIN_TIME_LIMIT_MS);
+        try {
+            solver.Solve();
+            return Collections.emptyList();
+        } catch (InfeasibleScheduleException e) {
+            return e.getConflicts();
+        } catch (RuntimeException e) {
+            return Collections.emptyList(); // Not explained in time
+        }
+    }
+}
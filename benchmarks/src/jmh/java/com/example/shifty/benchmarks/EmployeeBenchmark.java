@@ -0,0 +1,72 @@
+package com.example.shifty.benchmarks;
+
+import com.example.shifty.model.Employee;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-employee availability and shift operations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EmployeeBenchmark {
+
+    private Employee employee;
+    private LocalDate today;
+
+    @Setup
+    public void setUp() {
+        employee = BenchmarkRosters.employees(1, 2, 42).get(0);
+        for (int day = 0; day < BenchmarkRosters.DAYS_IN_WEEK; day++) {
+            employee.addShift(day, 4, 12);
+        }
+        today = LocalDate.now();
+    }
+
+    /** Availability of every cell of the week. */
+    @Benchmark
+    public void isAvailableWeek(Blackhole blackhole) {
+        for (int day = 0; day < BenchmarkRosters.DAYS_IN_WEEK; day++) {
+            for (int hour = 0; hour < BenchmarkRosters.HOURS_PER_DAY; hour++) {
+                blackhole.consume(employee.isAvailable(day, hour));
+            }
+        }
+    }
+
+    /** Hour-by-hour shift insertion for a full week, as {@code ScheduleRepository.saveSchedule()} does. */
+    @Benchmark
+    public Employee addShiftWeek() {
+        Employee fresh = new Employee("uid", "Employee");
+        for (int day = 0; day < BenchmarkRosters.DAYS_IN_WEEK; day++) {
+            for (int hour = 0; hour < BenchmarkRosters.HOURS_PER_DAY; hour++) {
+                fresh.addShift(day, hour, hour + 1);
+            }
+        }
+        return fresh;
+    }
+
+    /** Shift lookups for the next four weeks. */
+    @Benchmark
+    public void haveShiftMonth(Blackhole blackhole) {
+        for (int day = 0; day < 28; day++) {
+            blackhole.consume(employee.haveShift(today.plusDays(day)));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.shifty.benchmarks;
+
+import com.example.shifty.benchmarks.generator.GeneratedRoster;
+import com.example.shifty.benchmarks.generator.RosterGenerator;
+import com.example.shifty.model.SchedulingAlgorithm.ModelSolver;
+import com.example.shifty.model.SchedulingAlgorithm.Schedule;
+import com.example.shifty.model.SchedulingAlgorithm.SchedulingProblem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solving realistic rosters from {@link RosterGenerator}, to find the roster size at which solve
+ * time becomes unacceptable. Each solve gives up after {@code timeLimitMs}, so sizes past that point
+ * show up as the limit (with a {@code null} result) instead of stalling the run. Pass
+ * {@code -p rosterFile=<path>} to solve a saved roster instead (the {@code employees} parameter
+ * is then ignored).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx6g"})
+public class GeneratedRosterBenchmark {
+
+    @Param({"50", "200", "500", "1000"})
+    public int employees;
+
+    @Param({"42"})
+    public long seed;
+
+    @Param({""})
+    public String rosterFile;
+
+    @Param({"60000"})
+    public long timeLimitMs;
+
+    private SchedulingProblem problem;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        GeneratedRoster roster;
+        if (rosterFile.isEmpty()) {
+            roster = new RosterGenerator(seed).setEmployees(employees).generate();
+        } else {
+            try (Reader in = new FileReader(rosterFile)) {
+                roster = GeneratedRoster.read(in);
+            }
+        }
+        problem = roster.toProblem();
+    }
+
+    @Benchmark
+    public Schedule solve() {
+        try {
+            ModelSolver solver = new ModelSolver(problem);
+            solver.setTimeLimitMs(timeLimitMs);
+            return solver.Solve();
+        } catch (RuntimeException e) {
+            return null; // Infeasible roster or time limit reached
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.shifty.benchmarks;
+
+import com.example.shifty.model.SchedulingAlgorithm.ModelSolver;
+import com.example.shifty.model.SchedulingAlgorithm.Schedule;
+import com.example.shifty.model.SchedulingAlgorithm.SchedulingProblem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Model construction and solving across roster sizes and constraint densities, with head-count
+ * needs only or with skill needs on top (see {@link BenchmarkRosters#problem(int, int, int, long)}),
+ * in the hourly and the shift encoding.
+ * <p>
+ * {@link #solve()} reports infeasible rosters as a {@code null} result rather than failing,
+ * so the time to prove infeasibility is measured too.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx6g"})
+public class ModelSolverBenchmark {
+
+    @Param({"10", "50", "200", "1000"})
+    public int employees;
+
+    /** Unavailability windows per employee (the app allows at most 2 per week). */
+    @Param({"0", "2", "6"})
+    public int constraintsPerEmployee;
+
+    /** Number of skills; 0 for head-counts only. */
+    @Param({"0", "3"})
+    public int skills;
+
+    /** Search heuristic; slower ones (e.g. INPUT_ORDER) may not finish on large rosters. */
+    @Param({"COVERAGE"})
+    public ModelSolver.SearchHeuristic heuristic;
+
+    /** Model encoding; SHIFTS also keeps every shift between 4 and 8 hours. */
+    @Param({"HOURLY", "SHIFTS"})
+    public ModelSolver.Encoding encoding;
+
+    private SchedulingProblem problem;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        problem = BenchmarkRosters.problem(employees, constraintsPerEmployee, skills, 42);
+    }
+
+    @Benchmark
+    public ModelSolver build() {
+        return new ModelSolver(problem, encoding);
+    }
+
+    @Benchmark
+    public Schedule solve() {
+        ModelSolver solver = new ModelSolver(problem, encoding);
+        solver.setSearchHeuristic(heuristic);
+        try {
+            return solver.Solve();
+        } catch (RuntimeException e) {
+            return null; // Infeasible roster
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.shifty.benchmarks;
+
+import com.example.shifty.model.EmployeeManager;
+import com.example.shifty.model.ScheduleRepository;
+import com.example.shifty.model.SchedulingAlgorithm.Schedule;
+import com.example.shifty.model.repository.EmployeeRepository;
+import com.example.shifty.model.repository.memory.InMemoryDatabase;
+import com.example.shifty.model.repository.memory.InMemoryRepositories;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Start-up hydration and schedule publishing for large rosters, offline, against an
+ * {@link InMemoryDatabase} with simulated network latency and failures.
+ * <ul>
+ *     <li>{@link #hydrate()}: a fresh {@code EmployeeManager} reads the employee UIDs, attaches one
+ *     listener per employee and parses every employee's name, constraints and four weeks of shifts.</li>
+ *     <li>{@link #publish()}: a week's schedule for the whole roster is added as shifts and written in
+ *     chunked multi-location updates; the call completes once the changed employees are re-delivered
+ *     to their listeners. Failed chunks leave their employees fully dirty, so later publishes
+ *     rewrite them, as in the app.</li>
+ * </ul>
+ * Simulated failures apply to reads and writes after the trial's roster is loaded; a hydration
+ * whose UID read fails loads no employees.
+ * <p>
+ * {@code employees} is the size of the company. With {@code teams > 1} it is split evenly into
+ * team partitions and both benchmarks work on one team only, so their cost should follow the
+ * team's size rather than the company's.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RepositoryLoadBenchmark {
+
+    /** How long to wait for the in-memory database to settle. */
+    private static final long IDLE_TIMEOUT_MS = 120000;
+
+    @Param({"1000", "5000"})
+    public int employees;
+
+    @Param({"0", "50"})
+    public long latencyMs;
+
+    @Param({"0", "0.05"})
+    public double failureRate;
+
+    @Param({"1", "10"})
+    public int teams;
+
+    private InMemoryDatabase db;
+    private EmployeeRepository teamEmployees;
+    private EmployeeManager publisher;
+    private ScheduleRepository scheduleRepository;
+    private Schedule schedule;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        db = new InMemoryDatabase(42);
+        BenchmarkRosters.preload(db, employees, teams, 2, 4, 42);
+        InMemoryRepositories repositories = new InMemoryRepositories(db);
+        String teamId = BenchmarkRosters.teamId(0, teams);
+        teamEmployees = repositories.getEmployeeRepository(teamId);
+        db.setLatency(latencyMs / 2, latencyMs);
+
+        publisher = new EmployeeManager(teamEmployees);
+        scheduleRepository = new ScheduleRepository(repositories.getSystemNeedsRepository(teamId), teamId);
+        awaitIdle();
+        db.setFailureRate(failureRate);
+
+        schedule = new Schedule();
+        for (int i = 0; i < employees; i += teams) { // The first team's employees
+            for (int day = 0; day < BenchmarkRosters.DAYS_IN_WEEK; day++) {
+                // Three one-hour shifts per day, nine hours apart
+                for (int hour = i % 9; hour < BenchmarkRosters.HOURS_PER_DAY; hour += 9) {
+                    schedule.addEmployeeHour("uid" + i, day, hour);
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        publisher.close();
+        db.shutdown();
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        if (!db.awaitIdle(IDLE_TIMEOUT_MS)) throw new IllegalStateException("In-memory database did not settle");
+    }
+
+    @Benchmark
+    public int hydrate() throws InterruptedException {
+        EmployeeManager manager = new EmployeeManager(teamEmployees);
+        manager.whenInitialized().exceptionally(e -> null).join();
+        awaitIdle();
+        int loaded = manager.getEmployees().size();
+        manager.close();
+        return loaded;
+    }
+
+    @Benchmark
+    public Boolean publish() {
+        return scheduleRepository.saveSchedule(schedule, publisher).join();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.shifty.benchmarks;
+
+import com.example.shifty.model.EmployeeManager;
+import com.example.shifty.model.ScheduleRepository;
+import com.example.shifty.model.SchedulingAlgorithm.Schedule;
+import com.example.shifty.model.repository.memory.InMemoryDatabase;
+import com.example.shifty.model.repository.memory.InMemoryRepositories;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishing a solved schedule as employee shifts: looking up each scheduled employee, adding the
+ * shifts, collecting the changes and writing them. The roster is loaded by {@code EmployeeManager}
+ * from an {@link InMemoryDatabase} without simulated latency, so a call measures the app-side work
+ * plus applying the update and re-delivering the changed employees to their listeners.
+ * Re-publishing the same week merges into the existing shifts, so every call does the same work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScheduleBenchmark {
+
+    @Param({"10", "50", "200", "1000"})
+    public int employees;
+
+    private Schedule schedule;
+
+    /** Loads the roster once per fork; each parameter value runs in its own JVM. */
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        List<String> uids = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            uids.add("uid" + i);
+        }
+        InMemoryDatabase db = new InMemoryDatabase(42);
+        BenchmarkRosters.preload(db, employees, 2, 0, 42);
+        InMemoryRepositories.install(db);
+        EmployeeManager.getInstance();
+        if (!db.awaitIdle(60000)) throw new IllegalStateException("Roster did not load");
+
+        schedule = new Schedule();
+        for (int i = 0; i < employees; i++) {
+            for (int day = 0; day < BenchmarkRosters.DAYS_IN_WEEK; day++) {
+                // Three one-hour shifts per day, nine hours apart
+                for (int hour = i % 9; hour < BenchmarkRosters.HOURS_PER_DAY; hour += 9) {
+                    schedule.addEmployeeHour(uids.get(i), day, hour);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Boolean saveSchedule() {
+        return ScheduleRepository.getInstance().saveSchedule(schedule).join();
+    }
+}
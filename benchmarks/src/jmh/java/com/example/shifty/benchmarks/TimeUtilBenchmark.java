@@ -0,0 +1,75 @@
+package com.example.shifty.benchmarks;
+
+import com.example.shifty.model.SchedulingAlgorithm.TimeUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Date and hour helpers used when building calendars and converting schedules.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TimeUtilBenchmark {
+
+    private LocalDate date;
+    private Date timestamp;
+
+    @Setup
+    public void setUp() {
+        date = LocalDate.of(2025, 3, 12);
+        timestamp = new Date();
+    }
+
+    @Benchmark
+    public int[] addHour() {
+        return TimeUtil.addHour(20, 3, 5);
+    }
+
+    @Benchmark
+    public LocalDate sundayForDate() {
+        return TimeUtil.sundayForDate(date);
+    }
+
+    @Benchmark
+    public ArrayList<LocalDate> daysInWeek() {
+        return TimeUtil.daysInWeek(date);
+    }
+
+    @Benchmark
+    public LocalDate nextWeekDay() {
+        return TimeUtil.nextWeekDay(3);
+    }
+
+    @Benchmark
+    public String getDayOfWeek() {
+        return TimeUtil.getDayOfWeek(3);
+    }
+
+    @Benchmark
+    public String monthYearFromDate() {
+        return TimeUtil.monthYearFromDate(date);
+    }
+
+    @Benchmark
+    public String formatDate() {
+        return TimeUtil.formatDate(timestamp);
+    }
+}
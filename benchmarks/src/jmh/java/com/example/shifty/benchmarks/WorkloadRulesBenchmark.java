@@ -0,0 +1,97 @@
+package com.example.shifty.benchmarks;
+
+import com.example.shifty.model.SchedulingAlgorithm.ModelSolver;
+import com.example.shifty.model.SchedulingAlgorithm.Schedule;
+import com.example.shifty.model.SchedulingAlgorithm.SchedulingProblem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the workload rules (weekly hour bounds, minimum rest, balanced hours) on the rosters of
+ * {@link ModelSolverBenchmark}, mainly to check that they do not blow up model construction.
+ * <p>
+ * The fixture needs about 15 hours per employee a week; {@link Rules#LIMITS} bounds everyone to
+ * 8..24 hours with 11 hours of rest. {@link Rules#BALANCED} searches for a smaller spread until
+ * {@link #BALANCED_TIME_LIMIT_MS}, so its {@link #solve()} time is mostly that limit.
+ * Infeasible rosters return {@code null}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx6g"})
+public class WorkloadRulesBenchmark {
+
+    /** Time limit for a balanced solve. */
+    static final long BALANCED_TIME_LIMIT_MS = 5000;
+
+    /**
+     * Workload rules added to the roster.
+     */
+    public enum Rules {
+        /** No rest rule and no weekly bounds, the baseline. */
+        NONE,
+        /** The default rest only. */
+        DEFAULT,
+        /** Weekly bounds of 8..24 hours and 11 hours of rest. */
+        LIMITS,
+        /** {@link #LIMITS} with balanced hours. */
+        BALANCED
+    }
+
+    @Param({"50", "200", "1000"})
+    public int employees;
+
+    @Param({"2"})
+    public int constraintsPerEmployee;
+
+    @Param({"NONE", "DEFAULT", "LIMITS", "BALANCED"})
+    public Rules rules;
+
+    private SchedulingProblem problem;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SchedulingProblem.Builder builder = BenchmarkRosters.problemBuilder(employees, constraintsPerEmployee, 0, 42);
+        if (rules == Rules.NONE) builder.setMinRestHours(0);
+        if (rules == Rules.LIMITS || rules == Rules.BALANCED) {
+            builder.setMinRestHours(11);
+            for (int i = 0; i < employees; i++) {
+                builder.setWeeklyHours(i, 8, 24);
+            }
+        }
+        builder.setBalanceHours(rules == Rules.BALANCED);
+        problem = builder.build();
+    }
+
+    @Benchmark
+    public ModelSolver build() {
+        return new ModelSolver(problem);
+    }
+
+    @Benchmark
+    public Schedule solve() {
+        ModelSolver solver = new ModelSolver(problem);
+        if (rules == Rules.BALANCED) solver.setTimeLimitMs(BALANCED_TIME_LIMIT_MS);
+        try {
+            return solver.Solve();
+        } catch (RuntimeException e) {
+            return null; // Infeasible roster
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.shifty.benchmarks.generator;
+
+import com.example.shifty.model.SchedulingAlgorithm.SchedulingProblem;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A synthetic roster and its weekly system needs, as produced by {@link RosterGenerator}.
+ * <p>
+ * Rosters are stored in a line-based text format so they can be diffed and checked in:
+ * </p>
+ * <pre>
+ * shifty-roster 1
+ * seed 42
+ * needs 0 1 1 2 ...            (day, then 22 hourly needs)
+ * employee uid7 part 5:0-21 6:0-21   (uid, full|part, then day:start-end unavailability)
+ * </pre>
+ * Lines starting with {@code #} and blank lines are ignored.
+ */
+public final class GeneratedRoster {
+
+    static final String HEADER = "shifty-roster 1";
+
+    /**
+     * One generated employee.
+     */
+    public static final class EmployeeSpec {
+        final String uid;
+        final boolean partTime;
+        /** Unavailability windows as {@code {day, startHour, endHour}} (end inclusive). */
+        final List<int[]> constraints;
+
+        EmployeeSpec(String uid, boolean partTime, List<int[]> constraints) {
+            this.uid = uid;
+            this.partTime = partTime;
+            this.constraints = constraints;
+        }
+
+        public String getUid() {
+            return uid;
+        }
+
+        public boolean isPartTime() {
+            return partTime;
+        }
+
+        public List<int[]> getConstraints() {
+            return Collections.unmodifiableList(constraints);
+        }
+    }
+
+    private final long seed;
+    private final List<EmployeeSpec> employees;
+    private final int[][] systemNeeds;
+
+    GeneratedRoster(long seed, List<EmployeeSpec> employees, int[][] systemNeeds) {
+        this.seed = seed;
+        this.employees = employees;
+        this.systemNeeds = systemNeeds;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public List<EmployeeSpec> getEmployees() {
+        return Collections.unmodifiableList(employees);
+    }
+
+    /**
+     * Returns the system needs, indexed {@code [day][hour]}.
+     *
+     * @return a copy of the system needs
+     */
+    public int[][] getSystemNeeds() {
+        int[][] copy = new int[systemNeeds.length][];
+        for (int day = 0; day < systemNeeds.length; day++) {
+            copy[day] = systemNeeds[day].clone();
+        }
+        return copy;
+    }
+
+    /**
+     * Creates a solver input from the roster. Employees get their UID as name.
+     *
+     * @return the problem
+     */
+    public SchedulingProblem toProblem() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder().setSystemNeeds(systemNeeds);
+        for (EmployeeSpec spec : employees) {
+            int employee = builder.addEmployee(spec.uid, spec.uid);
+            for (int[] constraint : spec.constraints) {
+                builder.setUnavailable(employee, constraint[0], constraint[1], constraint[2]);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Writes the roster in the text format described above.
+     *
+     * @param out the destination
+     * @throws IOException if writing fails
+     */
+    public void write(Writer out) throws IOException {
+        out.write(HEADER + "\n");
+        out.write("seed " + seed + "\n");
+        for (int day = 0; day < systemNeeds.length; day++) {
+            StringBuilder line = new StringBuilder("needs ").append(day);
+            for (int need : systemNeeds[day]) {
+                line.append(' ').append(need);
+            }
+            out.write(line.append('\n').toString());
+        }
+        for (EmployeeSpec spec : employees) {
+            StringBuilder line = new StringBuilder("employee ").append(spec.uid)
+                    .append(spec.partTime ? " part" : " full");
+            for (int[] c : spec.constraints) {
+                line.append(' ').append(c[0]).append(':').append(c[1]).append('-').append(c[2]);
+            }
+            out.write(line.append('\n').toString());
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads a roster written by {@link #write(Writer)}.
+     *
+     * @param in the source
+     * @return the roster
+     * @throws IOException if reading fails or the content is malformed
+     */
+    public static GeneratedRoster read(Reader in) throws IOException {
+        BufferedReader reader = new BufferedReader(in);
+        String header = reader.readLine();
+        if (!HEADER.equals(header)) {
+            throw new IOException("Not a roster file: " + header);
+        }
+        long seed = 0;
+        int[][] needs = new int[RosterGenerator.DAYS_IN_WEEK][RosterGenerator.HOURS_PER_DAY];
+        List<EmployeeSpec> employees = new ArrayList<>();
+        String line;
+        int lineNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            String[] parts = line.split("\\s+");
+            try {
+                switch (parts[0]) {
+                    case "seed":
+                        seed = Long.parseLong(parts[1]);
+                        break;
+                    case "needs":
+                        int day = Integer.parseInt(parts[1]);
+                        for (int hour = 0; hour < RosterGenerator.HOURS_PER_DAY; hour++) {
+                            needs[day][hour] = Integer.parseInt(parts[hour + 2]);
+                        }
+                        break;
+                    case "employee":
+                        List<int[]> constraints = new ArrayList<>();
+                        for (int i = 3; i < parts.length; i++) {
+                            String[] dayAndRange = parts[i].split(":");
+                            String[] range = dayAndRange[1].split("-");
+                            constraints.add(new int[]{Integer.parseInt(dayAndRange[0]),
+                                    Integer.parseInt(range[0]), Integer.parseInt(range[1])});
+                        }
+                        employees.add(new EmployeeSpec(parts[1], "part".equals(parts[2]), constraints));
+                        break;
+                    default:
+                        throw new IOException("Unknown record '" + parts[0] + "'");
+                }
+            } catch (RuntimeException e) {
+                throw new IOException("Malformed line " + lineNumber + ": " + line, e);
+            }
+        }
+        return new GeneratedRoster(seed, employees, needs);
+    }
+}
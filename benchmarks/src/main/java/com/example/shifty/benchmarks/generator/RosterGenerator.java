@@ -0,0 +1,185 @@
+package com.example.shifty.benchmarks.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeded generator of realistic synthetic rosters and system needs for scale testing.
+ * <p>
+ * Employees follow the app's rules: at most {@link #MAX_CONSTRAINTS} unavailability windows
+ * each (as enforced by {@code ShiftsViewModel.checkEmployeeConstraints}). Unavailability falls
+ * more often on the weekend (Friday and Saturday), and part-timers block out whole days while
+ * full-timers block out a few hours. System needs follow a daily curve over the 22 hourly slots
+ * (04:00 to 02:00): a thin night crew, a lunch peak, a larger evening peak, and busier weekends.
+ * The same seed and settings always produce the same roster.
+ * </p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * {@code
+ * GeneratedRoster roster = new RosterGenerator(42).setEmployees(500).generate();
+ * Schedule schedule = new ModelSolver(roster.toSnapshot()).Solve();
+ * }
+ * </pre>
+ */
+public class RosterGenerator {
+
+    static final int DAYS_IN_WEEK = 7;
+    static final int HOURS_PER_DAY = 22;
+
+    /** The app's cap on constraints per employee. */
+    static final int MAX_CONSTRAINTS = 2;
+
+    /** First clock hour of slot 0. */
+    private static final int FIRST_CLOCK_HOUR = 4;
+
+    /** Relative weight of each day when placing unavailability (Sunday first). */
+    private static final double[] UNAVAILABILITY_DAY_WEIGHTS = {1.0, 0.8, 0.8, 0.8, 1.0, 2.0, 2.5};
+
+    /** Demand multiplier per day (Sunday first). */
+    private static final double[] DEMAND_DAY_FACTORS = {1.0, 0.9, 0.9, 0.9, 1.1, 1.3, 1.2};
+
+    private final long seed;
+    private int employees = 50;
+    private double partTimeRatio = 0.3;
+    private double peakCoverage = 0.12;
+    private double nightCoverage = 0.03;
+
+    /**
+     * Creates a generator with default settings.
+     *
+     * @param seed the random seed
+     */
+    public RosterGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Sets the roster size (default 50).
+     *
+     * @param employees the number of employees
+     * @return this generator
+     */
+    public RosterGenerator setEmployees(int employees) {
+        this.employees = employees;
+        return this;
+    }
+
+    /**
+     * Sets the share of part-time employees (default 0.3).
+     *
+     * @param partTimeRatio a value between 0 and 1
+     * @return this generator
+     */
+    public RosterGenerator setPartTimeRatio(double partTimeRatio) {
+        this.partTimeRatio = partTimeRatio;
+        return this;
+    }
+
+    /**
+     * Sets the share of the roster needed at the busiest hour (default 0.12).
+     *
+     * @param peakCoverage a value between 0 and 1
+     * @return this generator
+     */
+    public RosterGenerator setPeakCoverage(double peakCoverage) {
+        this.peakCoverage = peakCoverage;
+        return this;
+    }
+
+    /**
+     * Sets the share of the roster needed during the night (default 0.03).
+     *
+     * @param nightCoverage a value between 0 and 1
+     * @return this generator
+     */
+    public RosterGenerator setNightCoverage(double nightCoverage) {
+        this.nightCoverage = nightCoverage;
+        return this;
+    }
+
+    /**
+     * Generates the roster.
+     *
+     * @return the roster and its system needs
+     */
+    public GeneratedRoster generate() {
+        Random random = new Random(seed);
+        List<GeneratedRoster.EmployeeSpec> specs = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            boolean partTime = random.nextDouble() < partTimeRatio;
+            specs.add(new GeneratedRoster.EmployeeSpec("emp" + i, partTime, constraints(random, partTime)));
+        }
+        return new GeneratedRoster(seed, specs, systemNeeds());
+    }
+
+    /**
+     * Draws an employee's unavailability windows: whole days for part-timers, a few hours
+     * (often evenings) for full-timers, never more than {@link #MAX_CONSTRAINTS}.
+     */
+    private List<int[]> constraints(Random random, boolean partTime) {
+        List<int[]> constraints = new ArrayList<>();
+        int count = partTime ? MAX_CONSTRAINTS : random.nextInt(MAX_CONSTRAINTS + 1);
+        boolean[] usedDays = new boolean[DAYS_IN_WEEK];
+        for (int c = 0; c < count; c++) {
+            int day = weightedDay(random, usedDays);
+            usedDays[day] = true;
+            if (partTime) {
+                constraints.add(new int[]{day, 0, HOURS_PER_DAY - 1});
+            } else {
+                int length = 3 + random.nextInt(6);
+                int start = random.nextDouble() < 0.6
+                        ? HOURS_PER_DAY - length // Evening unavailability is the most common
+                        : random.nextInt(HOURS_PER_DAY - length + 1);
+                constraints.add(new int[]{day, start, start + length - 1});
+            }
+        }
+        return constraints;
+    }
+
+    /**
+     * Picks a day not yet used, weighted towards the weekend.
+     */
+    private static int weightedDay(Random random, boolean[] usedDays) {
+        double total = 0;
+        for (int day = 0; day < DAYS_IN_WEEK; day++) {
+            if (!usedDays[day]) total += UNAVAILABILITY_DAY_WEIGHTS[day];
+        }
+        double pick = random.nextDouble() * total;
+        for (int day = 0; day < DAYS_IN_WEEK; day++) {
+            if (usedDays[day]) continue;
+            pick -= UNAVAILABILITY_DAY_WEIGHTS[day];
+            if (pick < 0) return day;
+        }
+        for (int day = DAYS_IN_WEEK - 1; day >= 0; day--) {
+            if (!usedDays[day]) return day;
+        }
+        return 0;
+    }
+
+    /**
+     * Builds the weekly demand curve.
+     */
+    private int[][] systemNeeds() {
+        int[][] needs = new int[DAYS_IN_WEEK][HOURS_PER_DAY];
+        for (int day = 0; day < DAYS_IN_WEEK; day++) {
+            for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+                double share = nightCoverage + (peakCoverage - nightCoverage) * dailyCurve(hour);
+                needs[day][hour] = Math.max(1, (int) Math.round(employees * share * DEMAND_DAY_FACTORS[day]));
+            }
+        }
+        return needs;
+    }
+
+    /**
+     * Relative demand at a slot, between 0 (night) and 1 (evening peak).
+     */
+    private static double dailyCurve(int hour) {
+        int clock = (FIRST_CLOCK_HOUR + hour) % 24;
+        if (clock < 7) return 0;                               // Night crew only
+        double lunch = 0.7 * Math.exp(-Math.pow(clock - 12.5, 2) / 2.0);
+        double evening = Math.exp(-Math.pow(clock - 19.0, 2) / 3.0);
+        return Math.min(1.0, 0.25 + Math.max(lunch, evening));
+    }
+}
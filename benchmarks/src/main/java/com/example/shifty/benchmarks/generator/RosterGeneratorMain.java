@@ -0,0 +1,29 @@
+package com.example.shifty.benchmarks.generator;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * Command-line entry point: {@code RosterGeneratorMain <employees> <seed> [output file]}.
+ * Writes the generated roster to the file, or to standard output when no file is given.
+ */
+public final class RosterGeneratorMain {
+
+    private RosterGeneratorMain() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: RosterGeneratorMain <employees> <seed> [output file]");
+            System.exit(2);
+        }
+        GeneratedRoster roster = new RosterGenerator(Long.parseLong(args[1]))
+                .setEmployees(Integer.parseInt(args[0]))
+                .generate();
+        try (Writer out = args.length > 2 ? new FileWriter(args[2]) : new OutputStreamWriter(System.out)) {
+            roster.write(out);
+        }
+    }
+}
@@ -0,0 +1,803 @@
+package com.example.shifty.model.repository.memory;
+
+import com.example.shifty.model.repository.ChildListener;
+import com.example.shifty.model.repository.Registration;
+import com.example.shifty.model.repository.ValueListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory stand-in for the Realtime Database, used to run the model classes offline, e.g. to
+ * load-test start-up hydration and schedule publishing with thousands of employees.
+ * <p>
+ * Data is a tree of nodes addressed by slash-separated paths, with the Realtime Database's
+ * semantics where the model depends on them: multi-location updates are atomic, writing
+ * {@code null} deletes a node, empty nodes disappear, lists are stored as maps keyed by index,
+ * whole numbers read back as {@link Long}, and children are ordered with integer keys first.
+ * </p>
+ *
+ * <p>
+ * Stored nodes are never modified once written: an update copies only the nodes on the paths it
+ * writes and shares the rest, so values handed to listeners and readers are stable snapshots that
+ * cost nothing to take, and unchanged subtrees compare equal by identity. Callers must not modify
+ * the maps they receive.
+ * </p>
+ *
+ * <p>
+ * Like the real client, everything is asynchronous. Reads, writes and listener attachment are
+ * applied in order on a scheduler thread after a simulated network latency (see
+ * {@link #setLatency(long, long)}), and listener callbacks and future completions are delivered
+ * in order on a single event thread, which plays the role of the main thread. Writes and reads can
+ * be made to fail at random ({@link #setFailureRate(double)}) or deterministically
+ * ({@link #failNextOperations(int)}), and listeners can be cancelled
+ * ({@link #cancelListeners(String, Exception)}). A failed write changes nothing.
+ * </p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * {@code
+ * InMemoryDatabase db = new InMemoryDatabase(42);
+ * db.setLatency(20, 80);
+ * db.preload("teams/north/employees/uid1/name", "Dana");
+ * InMemoryRepositories.install(db);
+ * EmployeeManager manager = EmployeeManager.getInstance("north");
+ * db.awaitIdle(10000);
+ * }
+ * </pre>
+ *
+ * @author Eitan Navon
+ * @see InMemoryRepositories
+ */
+public class InMemoryDatabase {
+
+    /**
+     * Thrown (as the cause of a failed future, or passed to a cancelled listener) for a
+     * simulated failure.
+     */
+    public static class SimulatedFailureException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Creates the exception.
+         *
+         * @param message the failure description
+         */
+        public SimulatedFailureException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Realtime Database key order: keys that are 32-bit integers first, numerically, then the
+     * other keys lexicographically.
+     */
+    static final Comparator<String> KEY_ORDER = (a, b) -> {
+        Integer x = parseIntKey(a);
+        Integer y = parseIntKey(b);
+        if (x != null && y != null) return Integer.compare(x, y);
+        if (x != null) return -1;
+        if (y != null) return 1;
+        return a.compareTo(b);
+    };
+
+    /**
+     * Root of the tree; nodes are {@link TreeMap}s ordered by {@link #KEY_ORDER}. Replaced, never
+     * modified, by each update. Guarded by this.
+     */
+    private TreeMap<String, Object> root = new TreeMap<>(KEY_ORDER);
+
+    /** Attached listeners by normalized path, for prefix lookups. Guarded by this. */
+    private final TreeMap<String, List<Listener>> listeners = new TreeMap<>();
+
+    /** Source of simulated latency and failures. Guarded by this. */
+    private final Random random;
+
+    private long minLatencyMs;
+    private long maxLatencyMs;
+    private double failureRate;
+    private int forcedFailures;
+
+    /** Time at which the last scheduled operation runs, so operations never overtake each other. */
+    private long lastDueNanos;
+
+    /** Operations and event deliveries not yet finished. Guarded by this. */
+    private int pending;
+
+    private final AtomicLong readCount = new AtomicLong();
+    private final AtomicLong writeCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private final AtomicLong eventCount = new AtomicLong();
+
+    /** Applies operations once their latency has elapsed. */
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "InMemoryDatabase-network");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Delivers listener callbacks and completes futures, in order. */
+    private final ExecutorService events = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "InMemoryDatabase-events");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Creates an empty database with no latency and no failures.
+     */
+    public InMemoryDatabase() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty database with no latency and no failures.
+     *
+     * @param seed the seed for simulated latency and failures, so runs are repeatable
+     */
+    public InMemoryDatabase(long seed) {
+        this.random = new Random(seed);
+    }
+
+    // ==================== Simulation settings ====================
+
+    /**
+     * Sets the simulated latency of each read, write and listener attachment, drawn uniformly
+     * from {@code [minMs, maxMs]}. Operations still complete in the order they were issued.
+     *
+     * @param minMs the minimum latency in milliseconds
+     * @param maxMs the maximum latency in milliseconds
+     */
+    public synchronized void setLatency(long minMs, long maxMs) {
+        if (minMs < 0 || maxMs < minMs) throw new IllegalArgumentException("Invalid latency range");
+        this.minLatencyMs = minMs;
+        this.maxLatencyMs = maxMs;
+    }
+
+    /**
+     * Sets the probability that a read or write fails.
+     *
+     * @param rate the probability, between 0 and 1
+     */
+    public synchronized void setFailureRate(double rate) {
+        if (rate < 0 || rate > 1) throw new IllegalArgumentException("Failure rate must be between 0 and 1");
+        this.failureRate = rate;
+    }
+
+    /**
+     * Makes the next reads or writes fail, regardless of the failure rate.
+     *
+     * @param count the number of operations to fail
+     */
+    public synchronized void failNextOperations(int count) {
+        this.forcedFailures = count;
+    }
+
+    /**
+     * Cancels the listeners attached at or below a path, as the backend does when access is
+     * revoked. Each receives {@link ValueListener#onError(Exception)} or
+     * {@link ChildListener#onError(Exception)} and no further callbacks.
+     *
+     * @param path  the path
+     * @param error the error passed to the listeners
+     */
+    public void cancelListeners(String path, Exception error) {
+        List<Listener> cancelled = new ArrayList<>();
+        synchronized (this) {
+            String normalized = normalize(path);
+            for (List<Listener> attached : descendants(normalized).values()) cancelled.addAll(attached);
+            List<Listener> exact = listeners.get(normalized);
+            if (exact != null) cancelled.addAll(exact);
+            for (Listener listener : cancelled) detach(listener);
+        }
+        for (Listener listener : cancelled) {
+            deliver(() -> listener.error(error));
+        }
+    }
+
+    // ==================== Operations ====================
+
+    /**
+     * Writes a value immediately, without latency or failures. Listeners are notified as for
+     * any other write. Intended for setting up test data.
+     *
+     * @param path  the node path
+     * @param value the value; {@code null} deletes the node
+     */
+    public void preload(String path, Object value) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        changes.put(normalize(path), toTree(value));
+        apply(changes);
+    }
+
+    /**
+     * Reads a node once.
+     *
+     * @param path the node path
+     * @return a future completing with the node's children (empty for a leaf), or {@code null}
+     *         if the node does not exist
+     */
+    public CompletableFuture<Map<String, Object>> read(String path) {
+        String normalized = normalize(path);
+        CompletableFuture<Map<String, Object>> future = new CompletableFuture<>();
+        schedule(() -> {
+            readCount.incrementAndGet();
+            if (shouldFail()) {
+                fail(future, "Simulated read failure at /" + normalized);
+                return;
+            }
+            Map<String, Object> value;
+            synchronized (this) {
+                value = asMap(get(normalized));
+            }
+            deliver(() -> future.complete(value));
+        });
+        return future;
+    }
+
+    /**
+     * Writes several paths relative to a node as one atomic update. A {@code null} value
+     * deletes the path.
+     *
+     * @param path    the node path
+     * @param changes the relative paths and their new values
+     * @return a future completing once the update is applied, or exceptionally if it failed
+     */
+    public CompletableFuture<Void> update(String path, Map<String, Object> changes) {
+        String base = normalize(path);
+        Map<String, Object> absolute = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> change : changes.entrySet()) {
+            absolute.put(join(base, normalize(change.getKey())), toTree(change.getValue()));
+        }
+        return write(absolute, base);
+    }
+
+    /**
+     * Replaces the value of a node.
+     *
+     * @param path  the node path
+     * @param value the new value; {@code null} deletes the node
+     * @return a future completing once the write is applied, or exceptionally if it failed
+     */
+    public CompletableFuture<Void> set(String path, Object value) {
+        Map<String, Object> absolute = new LinkedHashMap<>();
+        absolute.put(normalize(path), toTree(value));
+        return write(absolute, normalize(path));
+    }
+
+    /**
+     * Attaches a value listener, which first receives the node's current value.
+     *
+     * @param path     the node path
+     * @param listener receives the node's children (empty for a leaf), or {@code null} while the
+     *                 node does not exist
+     * @return the registration
+     */
+    public Registration listenValue(String path, ValueListener<Map<String, Object>> listener) {
+        return attach(new ValueEntry(normalize(path), listener));
+    }
+
+    /**
+     * Attaches a child listener, which first receives {@code onChildAdded} for every child.
+     *
+     * @param path     the node path
+     * @param listener receives the node's children
+     * @return the registration
+     */
+    public Registration listenChildren(String path, ChildListener listener) {
+        return attach(new ChildEntry(normalize(path), listener));
+    }
+
+    /**
+     * Returns a node's current value, immediately.
+     *
+     * @param path the node path
+     * @return the value as a plain Java tree, which must not be modified, or {@code null} if the
+     *         node does not exist
+     */
+    public synchronized Object getValue(String path) {
+        return get(normalize(path));
+    }
+
+    /**
+     * Waits until every issued operation has been applied and every resulting callback has run,
+     * including operations issued by those callbacks.
+     *
+     * @param timeoutMs how long to wait
+     * @return {@code true} if the database became idle in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public synchronized boolean awaitIdle(long timeoutMs) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (pending > 0) {
+            long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMs <= 0) return false;
+            wait(remainingMs);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of reads performed, including listener attachments.
+     *
+     * @return the read count
+     */
+    public long getReadCount() {
+        return readCount.get();
+    }
+
+    /**
+     * Returns the number of writes performed, failed ones included.
+     *
+     * @return the write count
+     */
+    public long getWriteCount() {
+        return writeCount.get();
+    }
+
+    /**
+     * Returns the number of simulated read and write failures.
+     *
+     * @return the failure count
+     */
+    public long getFailureCount() {
+        return failureCount.get();
+    }
+
+    /**
+     * Returns the number of listener callbacks delivered.
+     *
+     * @return the event count
+     */
+    public long getEventCount() {
+        return eventCount.get();
+    }
+
+    /**
+     * Stops the scheduler and event threads. Pending operations are dropped.
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+        events.shutdownNow();
+    }
+
+    // ==================== Scheduling ====================
+
+    /**
+     * Runs an operation on the scheduler thread after a simulated latency, after every
+     * previously scheduled operation.
+     */
+    private void schedule(Runnable operation) {
+        long delayNanos;
+        synchronized (this) {
+            long latencyMs = minLatencyMs + (maxLatencyMs > minLatencyMs
+                    ? (long) (random.nextDouble() * (maxLatencyMs - minLatencyMs + 1)) : 0);
+            long now = System.nanoTime();
+            lastDueNanos = Math.max(now + TimeUnit.MILLISECONDS.toNanos(latencyMs), lastDueNanos);
+            delayNanos = lastDueNanos - now;
+            pending++;
+        }
+        scheduler.schedule(() -> {
+            try {
+                operation.run();
+            } finally {
+                finishOne();
+            }
+        }, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Runs a callback on the event thread.
+     */
+    private void deliver(Runnable callback) {
+        synchronized (this) {
+            pending++;
+        }
+        events.execute(() -> {
+            try {
+                callback.run();
+            } finally {
+                finishOne();
+            }
+        });
+    }
+
+    private synchronized void finishOne() {
+        if (--pending == 0) notifyAll();
+    }
+
+    private synchronized boolean shouldFail() {
+        if (forcedFailures > 0) {
+            forcedFailures--;
+            return true;
+        }
+        return failureRate > 0 && random.nextDouble() < failureRate;
+    }
+
+    private void fail(CompletableFuture<?> future, String message) {
+        failureCount.incrementAndGet();
+        SimulatedFailureException error = new SimulatedFailureException(message);
+        deliver(() -> future.completeExceptionally(error));
+    }
+
+    private CompletableFuture<Void> write(Map<String, Object> absolute, String description) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        schedule(() -> {
+            writeCount.incrementAndGet();
+            if (shouldFail()) {
+                fail(future, "Simulated write failure at /" + description);
+                return;
+            }
+            apply(absolute);
+            deliver(() -> future.complete(null));
+        });
+        return future;
+    }
+
+    // ==================== Listeners ====================
+
+    private Registration attach(Listener listener) {
+        schedule(() -> {
+            readCount.incrementAndGet();
+            synchronized (this) {
+                if (listener.removed) return;
+                listeners.computeIfAbsent(listener.path, key -> new ArrayList<>()).add(listener);
+                Object current = get(listener.path);
+                deliver(() -> listener.initial(current));
+            }
+        });
+        return () -> {
+            synchronized (this) {
+                detach(listener);
+            }
+        };
+    }
+
+    /** Must be called holding the lock. */
+    private void detach(Listener listener) {
+        listener.removed = true;
+        List<Listener> attached = listeners.get(listener.path);
+        if (attached != null && attached.remove(listener) && attached.isEmpty()) {
+            listeners.remove(listener.path);
+        }
+    }
+
+    /** Returns the listeners strictly below a path. Must be called holding the lock. */
+    private Map<String, List<Listener>> descendants(String path) {
+        if (path.isEmpty()) {
+            Map<String, List<Listener>> all = new TreeMap<>(listeners);
+            all.remove("");
+            return all;
+        }
+        // '0' follows '/', so this range holds exactly the paths starting with "path/"
+        return listeners.subMap(path + "/", path + "0");
+    }
+
+    /**
+     * Applies absolute-path changes atomically and queues the resulting listener callbacks.
+     */
+    private void apply(Map<String, Object> changes) {
+        synchronized (this) {
+            // Listeners at, above or below a written path, and the child keys each may see change
+            Map<Listener, Set<String>> affected = new LinkedHashMap<>();
+            for (String path : changes.keySet()) {
+                String[] segments = path.isEmpty() ? new String[0] : path.split("/");
+                String prefix = "";
+                for (int depth = 0; depth <= segments.length; depth++) {
+                    List<Listener> attached = listeners.get(prefix);
+                    if (attached != null) {
+                        String childKey = depth < segments.length ? segments[depth] : null;
+                        for (Listener listener : attached) {
+                            Set<String> keys = affected.computeIfAbsent(listener, l -> new LinkedHashSet<>());
+                            keys.add(childKey); // null means every child
+                        }
+                    }
+                    if (depth < segments.length) prefix = join(prefix, segments[depth]);
+                }
+                for (List<Listener> attached : descendants(path).values()) {
+                    for (Listener listener : attached) {
+                        affected.computeIfAbsent(listener, l -> new LinkedHashSet<>()).add(null);
+                    }
+                }
+            }
+
+            Map<Listener, Object> before = new LinkedHashMap<>();
+            for (Map.Entry<Listener, Set<String>> entry : affected.entrySet()) {
+                before.put(entry.getKey(), entry.getKey().capture(entry.getValue()));
+            }
+            Set<Object> copied = Collections.newSetFromMap(new IdentityHashMap<>());
+            root = copyNode(root, copied);
+            for (Map.Entry<String, Object> change : changes.entrySet()) {
+                put(change.getKey(), change.getValue(), copied);
+            }
+            for (Map.Entry<Listener, Set<String>> entry : affected.entrySet()) {
+                Listener listener = entry.getKey();
+                Object after = listener.capture(entry.getValue());
+                Object old = before.get(listener);
+                if (!Objects.equals(old, after)) {
+                    deliver(() -> listener.changed(old, after));
+                }
+            }
+        }
+    }
+
+    /** A listener attached at a path. */
+    private abstract class Listener {
+        final String path;
+        volatile boolean removed;
+
+        Listener(String path) {
+            this.path = path;
+        }
+
+        /** Captures the part of the tree this listener observes; called holding the lock. */
+        abstract Object capture(Set<String> childKeys);
+
+        /** Delivers the value at attach time, on the event thread. */
+        abstract void initial(Object value);
+
+        /** Delivers a change between two captures, on the event thread. */
+        abstract void changed(Object before, Object after);
+
+        /** Delivers a cancellation, on the event thread. */
+        abstract void error(Exception error);
+    }
+
+    private class ValueEntry extends Listener {
+        private final ValueListener<Map<String, Object>> listener;
+
+        ValueEntry(String path, ValueListener<Map<String, Object>> listener) {
+            super(path);
+            this.listener = listener;
+        }
+
+        @Override
+        Object capture(Set<String> childKeys) {
+            return get(path);
+        }
+
+        @Override
+        void initial(Object value) {
+            if (removed) return;
+            eventCount.incrementAndGet();
+            listener.onValue(asMap(value));
+        }
+
+        @Override
+        void changed(Object before, Object after) {
+            initial(after);
+        }
+
+        @Override
+        void error(Exception error) {
+            eventCount.incrementAndGet();
+            listener.onError(error);
+        }
+    }
+
+    private class ChildEntry extends Listener {
+        private final ChildListener listener;
+
+        ChildEntry(String path, ChildListener listener) {
+            super(path);
+            this.listener = listener;
+        }
+
+        @Override
+        Object capture(Set<String> childKeys) {
+            Object node = get(path);
+            Map<String, Object> children = new LinkedHashMap<>();
+            if (!(node instanceof Map)) return children;
+            Map<?, ?> map = (Map<?, ?>) node;
+            if (childKeys.contains(null)) {
+                for (Map.Entry<?, ?> child : map.entrySet()) {
+                    children.put((String) child.getKey(), child.getValue());
+                }
+            } else {
+                for (String key : childKeys) {
+                    if (map.containsKey(key)) children.put(key, map.get(key));
+                }
+            }
+            return children;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void initial(Object value) {
+            if (!(value instanceof Map)) return;
+            for (Map.Entry<String, Object> child : ((Map<String, Object>) value).entrySet()) {
+                if (removed) return;
+                eventCount.incrementAndGet();
+                listener.onChildAdded(child.getKey(), asMap(child.getValue()));
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void changed(Object before, Object after) {
+            Map<String, Object> old = (Map<String, Object>) before;
+            Map<String, Object> now = (Map<String, Object>) after;
+            for (String key : old.keySet()) {
+                if (removed) return;
+                if (!now.containsKey(key)) {
+                    eventCount.incrementAndGet();
+                    listener.onChildRemoved(key);
+                }
+            }
+            for (Map.Entry<String, Object> child : now.entrySet()) {
+                if (removed) return;
+                Object previous = old.get(child.getKey());
+                if (previous == null) {
+                    eventCount.incrementAndGet();
+                    listener.onChildAdded(child.getKey(), asMap(child.getValue()));
+                } else if (!previous.equals(child.getValue())) {
+                    eventCount.incrementAndGet();
+                    listener.onChildChanged(child.getKey(), asMap(child.getValue()));
+                }
+            }
+        }
+
+        @Override
+        void error(Exception error) {
+            eventCount.incrementAndGet();
+            listener.onError(error);
+        }
+    }
+
+    // ==================== Tree ====================
+
+    /** Returns the node at a normalized path, or {@code null}. Must be called holding the lock. */
+    private Object get(String path) {
+        if (path.isEmpty()) return root.isEmpty() ? null : root;
+        Object node = root;
+        for (String segment : path.split("/")) {
+            if (!(node instanceof Map)) return null;
+            node = ((Map<?, ?>) node).get(segment);
+        }
+        return node;
+    }
+
+    /**
+     * Stores a converted value at a normalized path of the new root, creating parents and pruning
+     * nodes left empty. Nodes on the path are copied on first use within the update (the copies
+     * are tracked in {@code copied}), so the previous tree is left intact. Must be called holding
+     * the lock.
+     */
+    @SuppressWarnings("unchecked")
+    private void put(String path, Object value, Set<Object> copied) {
+        if (path.isEmpty()) {
+            root = value instanceof TreeMap ? copyNode((TreeMap<String, Object>) value, copied) : new TreeMap<>(KEY_ORDER);
+            copied.add(root);
+            return;
+        }
+        String[] segments = path.split("/");
+        List<TreeMap<String, Object>> parents = new ArrayList<>(segments.length);
+        TreeMap<String, Object> node = root;
+        for (int i = 0; i < segments.length - 1; i++) {
+            parents.add(node);
+            Object child = node.get(segments[i]);
+            if (!(child instanceof TreeMap)) {
+                if (value == null) return; // Deleting below a missing node changes nothing
+                child = copyNode(null, copied);
+            } else {
+                child = copyNode((TreeMap<String, Object>) child, copied);
+            }
+            node.put(segments[i], child);
+            node = (TreeMap<String, Object>) child;
+        }
+        String key = segments[segments.length - 1];
+        if (value == null) {
+            node.remove(key);
+            for (int i = parents.size() - 1; i >= 0 && node.isEmpty(); i--) {
+                parents.get(i).remove(segments[i]);
+                node = parents.get(i);
+            }
+        } else {
+            node.put(key, value);
+        }
+    }
+
+    /**
+     * Returns a modifiable copy of a node for the current update, or the node itself if it was
+     * already copied by this update.
+     *
+     * @param node   the node, or {@code null} for a new empty node
+     * @param copied the nodes copied by this update
+     */
+    private static TreeMap<String, Object> copyNode(TreeMap<String, Object> node, Set<Object> copied) {
+        if (node != null && copied.contains(node)) return node;
+        TreeMap<String, Object> copy = node == null ? new TreeMap<>(KEY_ORDER) : new TreeMap<>(node);
+        copied.add(copy);
+        return copy;
+    }
+
+    /**
+     * Converts a written value to the stored form: maps and lists become ordered maps, whole
+     * numbers become {@link Long}s, and empty maps become {@code null}.
+     *
+     * @throws IllegalArgumentException for unsupported value types
+     */
+    static Object toTree(Object value) {
+        if (value == null || value instanceof String || value instanceof Boolean) return value;
+        if (value instanceof Map || value instanceof List) {
+            TreeMap<String, Object> node = new TreeMap<>(KEY_ORDER);
+            if (value instanceof Map) {
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    Object child = toTree(entry.getValue());
+                    if (child != null) node.put(String.valueOf(entry.getKey()), child);
+                }
+            } else {
+                List<?> list = (List<?>) value;
+                for (int i = 0; i < list.size(); i++) {
+                    Object child = toTree(list.get(i));
+                    if (child != null) node.put(String.valueOf(i), child);
+                }
+            }
+            return node.isEmpty() ? null : node;
+        }
+        if (value instanceof Number) {
+            double number = ((Number) value).doubleValue();
+            if (value instanceof Double || value instanceof Float) {
+                return number == Math.rint(number) && Math.abs(number) < 0x1p53 ? (Object) (long) number : (Object) number;
+            }
+            return ((Number) value).longValue();
+        }
+        throw new IllegalArgumentException("Unsupported value type " + value.getClass().getName());
+    }
+
+    /** Returns a node value as a map of children, empty for a leaf. */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object value) {
+        if (value == null) return null;
+        return value instanceof Map ? (Map<String, Object>) value : Collections.emptyMap();
+    }
+
+    /** Strips leading, trailing and repeated slashes. */
+    static String normalize(String path) {
+        StringBuilder normalized = new StringBuilder();
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) continue;
+            if (normalized.length() > 0) normalized.append('/');
+            normalized.append(segment);
+        }
+        return normalized.toString();
+    }
+
+    private static String join(String base, String path) {
+        if (base.isEmpty()) return path;
+        if (path.isEmpty()) return base;
+        return base + "/" + path;
+    }
+
+    /** Returns the key as an integer if it is the canonical form of a 32-bit integer, else {@code null}. */
+    private static Integer parseIntKey(String key) {
+        int length = key.length();
+        if (length == 0 || length > 11) return null;
+        int start = key.charAt(0) == '-' ? 1 : 0;
+        if (start == length || (key.charAt(start) == '0' && (length > start + 1 || start == 1))) return null;
+        long value = 0;
+        for (int i = start; i < length; i++) {
+            char c = key.charAt(i);
+            if (c < '0' || c > '9') return null; // Checked by hand: this runs on every key comparison
+            value = value * 10 + (c - '0');
+        }
+        value = start == 1 ? -value : value;
+        return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE ? (int) value : null;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.shifty.model.repository.memory;
+
+import com.example.shifty.model.repository.ChildListener;
+import com.example.shifty.model.repository.EmployeeRepository;
+import com.example.shifty.model.repository.Registration;
+import com.example.shifty.model.repository.ValueListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link EmployeeRepository} backed by one team's employees node of an {@link InMemoryDatabase}.
+ *
+ * @author Eitan Navon
+ * @see InMemoryRepositories
+ */
+class InMemoryEmployeeRepository implements EmployeeRepository {
+
+    private final InMemoryDatabase db;
+
+    /** Path of the team's employees node. */
+    private final String path;
+
+    /**
+     * Creates a repository over the given employees node.
+     *
+     * @param db   the database
+     * @param path the path of the team's employees node
+     */
+    InMemoryEmployeeRepository(InMemoryDatabase db, String path) {
+        this.db = db;
+        this.path = path;
+    }
+
+    @Override
+    public CompletableFuture<List<String>> fetchEmployeeIds() {
+        return db.read(path).thenApply(employees ->
+                employees == null ? new ArrayList<>() : new ArrayList<>(employees.keySet()));
+    }
+
+    @Override
+    public Registration listenEmployee(String uid, ValueListener<Map<String, Object>> listener) {
+        return db.listenValue(path + "/" + uid, listener);
+    }
+
+    @Override
+    public Registration listenEmployees(ChildListener listener) {
+        return db.listenChildren(path, listener);
+    }
+
+    @Override
+    public CompletableFuture<Void> updateEmployees(Map<String, Object> changes) {
+        return db.update(path, changes);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.shifty.model.repository.memory;
+
+import com.example.shifty.model.repository.ChildListener;
+import com.example.shifty.model.repository.DocumentRepository;
+import com.example.shifty.model.repository.EmployeeRepository;
+import com.example.shifty.model.repository.Registration;
+import com.example.shifty.model.repository.Repositories;
+import com.example.shifty.model.repository.SystemNeedsRepository;
+import com.example.shifty.model.repository.TeamRepositories;
+import com.example.shifty.model.repository.UpdateRepository;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Repositories backed by an {@link InMemoryDatabase}, laid out like the app's Firebase data:
+ * {@code employees}, {@code updates} and {@code systemNeeds} at the root, other teams' employees
+ * and system needs under {@code teams/<teamId>/}, and document collections under
+ * {@link #DOCUMENTS_ROOT}.
+ *
+ * @author Eitan Navon
+ * @see InMemoryDatabase
+ * @see Repositories
+ */
+public final class InMemoryRepositories implements TeamRepositories, UpdateRepository, DocumentRepository {
+
+    /** Name of a team's employees node; the default team's is at the root. */
+    public static final String EMPLOYEES = "employees";
+
+    /** Path of the updates node. */
+    public static final String UPDATES = "updates";
+
+    /** Name of a team's system needs node; the default team's is at the root. */
+    public static final String SYSTEM_NEEDS = "systemNeeds";
+
+    /** Node under which document collections are stored, apart from the Realtime Database paths. */
+    public static final String DOCUMENTS_ROOT = "documents";
+
+    private final InMemoryDatabase db;
+
+    /**
+     * Creates repositories over the given database.
+     *
+     * @param db the database
+     */
+    public InMemoryRepositories(InMemoryDatabase db) {
+        this.db = db;
+    }
+
+    /**
+     * Installs repositories over the given database in {@link Repositories}.
+     *
+     * @param db the database
+     * @return the installed repositories
+     */
+    public static InMemoryRepositories install(InMemoryDatabase db) {
+        InMemoryRepositories repositories = new InMemoryRepositories(db);
+        Repositories.install(repositories, repositories, repositories);
+        return repositories;
+    }
+
+    // ==================== Teams ====================
+
+    @Override
+    public EmployeeRepository getEmployeeRepository(String teamId) {
+        return new InMemoryEmployeeRepository(db, Repositories.teamPath(teamId, EMPLOYEES));
+    }
+
+    @Override
+    public SystemNeedsRepository getSystemNeedsRepository(String teamId) {
+        return new InMemorySystemNeedsRepository(db, Repositories.teamPath(teamId, SYSTEM_NEEDS));
+    }
+
+    // ==================== Updates ====================
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<Map<String, Map<String, Object>>> fetchUpdates() {
+        return db.read(UPDATES).thenApply(updates -> {
+            Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+            if (updates == null) return result;
+            for (Map.Entry<String, Object> update : updates.entrySet()) {
+                if (update.getValue() instanceof Map) {
+                    result.put(update.getKey(), (Map<String, Object>) update.getValue());
+                }
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> fetchUpdate(String id) {
+        return db.read(UPDATES + "/" + id);
+    }
+
+    @Override
+    public Registration listenUpdates(ChildListener listener) {
+        return db.listenChildren(UPDATES, listener);
+    }
+
+    @Override
+    public CompletableFuture<Void> saveUpdate(String id, Map<String, Object> fields) {
+        return db.update(UPDATES + "/" + id, fields);
+    }
+
+    // ==================== Documents ====================
+
+    private static String documentPath(String collection, String document) {
+        return DOCUMENTS_ROOT + "/" + collection + "/" + document;
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> getDocument(String collection, String document) {
+        return db.read(documentPath(collection, document));
+    }
+
+    @Override
+    public CompletableFuture<Void> setDocument(String collection, String document, Map<String, Object> data) {
+        return db.set(documentPath(collection, document), data);
+    }
+
+    @Override
+    public CompletableFuture<Integer> countDocuments(String collection) {
+        return db.read(DOCUMENTS_ROOT + "/" + collection).thenApply(documents ->
+                (documents == null ? Collections.emptyMap() : documents).size());
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteDocument(String collection, String document) {
+        String path = documentPath(collection, document);
+        return db.read(path).thenCompose(existing -> existing == null
+                ? CompletableFuture.completedFuture(false)
+                : db.set(path, null).thenApply(ignored -> true));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> deleteField(String collection, String document, String field) {
+        String path = documentPath(collection, document);
+        return db.read(path).thenCompose(existing -> existing == null
+                ? CompletableFuture.completedFuture(false)
+                : db.set(path + "/" + field, null).thenApply(ignored -> true));
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.shifty.model.repository.memory;
+
+import com.example.shifty.model.repository.Registration;
+import com.example.shifty.model.repository.SystemNeedsRepository;
+import com.example.shifty.model.repository.ValueListener;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link SystemNeedsRepository} backed by one team's system needs node of an {@link InMemoryDatabase}.
+ *
+ * @author Eitan Navon
+ * @see InMemoryRepositories
+ */
+class InMemorySystemNeedsRepository implements SystemNeedsRepository {
+
+    private final InMemoryDatabase db;
+
+    /** Path of the team's system needs node. */
+    private final String path;
+
+    /**
+     * Creates a repository over the given system needs node.
+     *
+     * @param db   the database
+     * @param path the path of the team's system needs node
+     */
+    InMemorySystemNeedsRepository(InMemoryDatabase db, String path) {
+        this.db = db;
+        this.path = path;
+    }
+
+    @Override
+    public Registration listenSystemNeeds(ValueListener<Map<String, Object>> listener) {
+        return db.listenValue(path, listener);
+    }
+
+    @Override
+    public CompletableFuture<Void> updateSystemNeeds(Map<String, Object> cells) {
+        return db.update(path, cells);
+    }
+}
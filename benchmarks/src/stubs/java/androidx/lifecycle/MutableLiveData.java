@@ -0,0 +1,30 @@
+package androidx.lifecycle;
+
+/**
+ * JVM stand-in for AndroidX {@code MutableLiveData}: holds the latest value, without observers.
+ *
+ * @param <T> the value type
+ */
+public class MutableLiveData<T> {
+
+    private volatile T value;
+
+    public MutableLiveData() {
+    }
+
+    public MutableLiveData(T value) {
+        this.value = value;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    public void setValue(T value) {
+        this.value = value;
+    }
+
+    public void postValue(T value) {
+        this.value = value;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.shifty.model;
+
+/**
+ * Benchmark replacement for the app's {@code CurrentUserManager}, whose {@link User} depends on
+ * Firebase Auth and Firestore. Only what the roster classes call is provided; there is never a
+ * signed-in user, so the default team is always current.
+ */
+public class CurrentUserManager {
+
+    private static final CurrentUserManager INSTANCE = new CurrentUserManager();
+
+    private CurrentUserManager() {
+    }
+
+    public static CurrentUserManager getInstance() {
+        return INSTANCE;
+    }
+
+    public User getUser() {
+        return new User();
+    }
+
+    /** Returns {@code Repositories.DEFAULT_TEAM_ID}, which the stubs cannot reference. */
+    public String getTeamId() {
+        return "default";
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.shifty.model;
+
+/**
+ * Benchmark replacement for the app's {@code User}, which depends on Firebase Auth and Firestore.
+ */
+public class User {
+
+    public String getUsername() {
+        return "benchmark";
+    }
+}
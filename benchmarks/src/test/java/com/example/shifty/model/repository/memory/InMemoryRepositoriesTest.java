@@ -0,0 +1,179 @@
+package com.example.shifty.model.repository.memory;
+
+import com.example.shifty.model.repository.EmployeeRepository;
+import com.example.shifty.model.repository.Registration;
+import com.example.shifty.model.repository.SystemNeedsRepository;
+import com.example.shifty.model.repository.ValueListener;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks the repository contract on the in-memory backend: loading, saving, deleting, and
+ * simulated failures that leave the data unchanged.
+ */
+public class InMemoryRepositoriesTest {
+
+    private static final long TIMEOUT_S = 5;
+
+    private InMemoryDatabase db;
+    private InMemoryRepositories repositories;
+
+    @Before
+    public void setUp() {
+        db = new InMemoryDatabase(42);
+        repositories = new InMemoryRepositories(db);
+    }
+
+    @After
+    public void tearDown() {
+        db.shutdown();
+    }
+
+    @Test
+    public void employees_saveLoadAndDelete() throws Exception {
+        EmployeeRepository employees = repositories.getEmployeeRepository("default");
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("uid1/name", "Dana");
+        changes.put("uid2/name", "Lee");
+        await(employees.updateEmployees(changes));
+
+        assertEquals(Arrays.asList("uid1", "uid2"), await(employees.fetchEmployeeIds()));
+        assertEquals("Dana", db.getValue(InMemoryRepositories.EMPLOYEES + "/uid1/name"));
+
+        await(employees.updateEmployees(Collections.singletonMap("uid1", null)));
+
+        assertEquals(Collections.singletonList("uid2"), await(employees.fetchEmployeeIds()));
+        assertNull(db.getValue(InMemoryRepositories.EMPLOYEES + "/uid1"));
+    }
+
+    @Test
+    public void employees_areKeptPerTeam() throws Exception {
+        await(repositories.getEmployeeRepository("north").updateEmployees(Collections.singletonMap("uid1/name", "Dana")));
+
+        assertEquals(Collections.singletonList("uid1"),
+                await(repositories.getEmployeeRepository("north").fetchEmployeeIds()));
+        assertTrue(await(repositories.getEmployeeRepository("default").fetchEmployeeIds()).isEmpty());
+    }
+
+    @Test
+    public void listenEmployee_receivesCurrentValueThenChanges() throws Exception {
+        EmployeeRepository employees = repositories.getEmployeeRepository("default");
+        await(employees.updateEmployees(Collections.singletonMap("uid1/name", "Dana")));
+        Values values = new Values();
+        Registration registration = employees.listenEmployee("uid1", values);
+
+        assertEquals("Dana", values.next().get("name"));
+        await(employees.updateEmployees(Collections.singletonMap("uid1/name", "Dana Levi")));
+        assertEquals("Dana Levi", values.next().get("name"));
+
+        registration.remove();
+        await(employees.updateEmployees(Collections.singletonMap("uid1/name", "Dana")));
+        assertTrue(db.awaitIdle(TimeUnit.SECONDS.toMillis(TIMEOUT_S)));
+        assertTrue(values.values.isEmpty());
+    }
+
+    @Test
+    public void systemNeeds_saveAndLoadCells() throws Exception {
+        SystemNeedsRepository systemNeeds = repositories.getSystemNeedsRepository("default");
+        Map<String, Object> cells = new HashMap<>();
+        cells.put("2/5", 3);
+        cells.put("2/6", 4);
+        await(systemNeeds.updateSystemNeeds(cells));
+        Values values = new Values();
+        systemNeeds.listenSystemNeeds(values);
+
+        Map<?, ?> tuesday = (Map<?, ?>) values.next().get("2");
+        assertEquals(3L, tuesday.get("5"));
+        assertEquals(4L, tuesday.get("6"));
+    }
+
+    @Test
+    public void failedWrite_changesNothingAndNextWriteSucceeds() throws Exception {
+        EmployeeRepository employees = repositories.getEmployeeRepository("default");
+        await(employees.updateEmployees(Collections.singletonMap("uid1/name", "Dana")));
+        db.failNextOperations(1);
+
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("uid1/name", "Lee");
+        changes.put("uid2/name", "Noa");
+        try {
+            await(employees.updateEmployees(changes));
+            fail("The write should have failed");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof InMemoryDatabase.SimulatedFailureException);
+        }
+        assertEquals("Dana", db.getValue(InMemoryRepositories.EMPLOYEES + "/uid1/name"));
+        assertNull(db.getValue(InMemoryRepositories.EMPLOYEES + "/uid2"));
+
+        await(employees.updateEmployees(changes));
+        assertEquals("Lee", db.getValue(InMemoryRepositories.EMPLOYEES + "/uid1/name"));
+        assertEquals(Arrays.asList("uid1", "uid2"), await(employees.fetchEmployeeIds()));
+        assertEquals(1, db.getFailureCount());
+    }
+
+    @Test
+    public void failedRead_completesExceptionally() throws Exception {
+        EmployeeRepository employees = repositories.getEmployeeRepository("default");
+        db.failNextOperations(1);
+
+        try {
+            await(employees.fetchEmployeeIds());
+            fail("The read should have failed");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof InMemoryDatabase.SimulatedFailureException);
+        }
+        assertTrue(await(employees.fetchEmployeeIds()).isEmpty());
+    }
+
+    @Test
+    public void documents_setGetAndDelete() throws Exception {
+        await(repositories.setDocument("users", "uid1", Collections.singletonMap("role", "admin")));
+
+        assertEquals("admin", await(repositories.getDocument("users", "uid1")).get("role"));
+        assertEquals(1, (int) await(repositories.countDocuments("users")));
+        assertTrue(await(repositories.deleteDocument("users", "uid1")));
+        assertFalse(await(repositories.deleteDocument("users", "uid1")));
+        assertNull(await(repositories.getDocument("users", "uid1")));
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        return future.get(TIMEOUT_S, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Collects the values a listener receives.
+     */
+    private static final class Values implements ValueListener<Map<String, Object>> {
+        final LinkedBlockingQueue<Map<String, Object>> values = new LinkedBlockingQueue<>();
+
+        @Override
+        public void onValue(Map<String, Object> value) {
+            values.add(value);
+        }
+
+        @Override
+        public void onError(Exception error) {
+            throw new AssertionError("Listener failed", error);
+        }
+
+        Map<String, Object> next() throws InterruptedException {
+            Map<String, Object> value = values.poll(TIMEOUT_S, TimeUnit.SECONDS);
+            assertNotNull("No value received", value);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.shifty.model.SchedulingAlgorithm;
+
+import org.chocosolver.solver.Cause;
+import org.chocosolver.solver.Solver;
+import org.chocosolver.solver.constraints.Constraint;
+import org.chocosolver.solver.exception.ContradictionException;
+import org.chocosolver.solver.variables.BoolVar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Finds a minimal set of needs that cannot be met together, for {@link ModelSolver} weeks
+ * without a schedule.
+ * <p>
+ * It builds one explaining model of the problem in which every head-count and skill need counts
+ * its scheduled employees into a variable and is reified on that count, while availability and
+ * the workload rules stay posted, and each day's counts are capped by the hours its employees
+ * can work. QuickXplain then narrows the needs down to a minimal conflicting set with a number
+ * of checks logarithmic in the number of needs per need of the set. Needs are ordered by skill,
+ * day and hour, so the set favours needs early in the week and tends to be one stretch of hours.
+ * </p>
+ *
+ * <p>
+ * A check first only propagates: the model's root fixpoint is computed once, and each subset of
+ * needs is tried by setting its Booleans in a world that is popped afterwards, so only the
+ * consequences of those needs are propagated. This settles conflicts such as an hour needing
+ * everyone, which rules out the hours around it, in milliseconds. Only if propagation cannot
+ * refute all the needs together do checks search, with the solver's own heuristic aimed at the
+ * checked needs only.
+ * </p>
+ *
+ * <p>
+ * The checks share one time limit, and a searching check may use at most a tenth of it. Building the
+ * explaining model comes on top, and takes about as long as building the solver's model.
+ * A check that runs out of time counts as satisfiable: the needs returned still cannot be met
+ * together, only minimality is lost.
+ * </p>
+ *
+ * @author Eitan Navon
+ * @see InfeasibleScheduleException
+ */
+class ConflictExplainer {
+
+    private static final Logger LOG = Logger.getLogger(ConflictExplainer.class.getName());
+
+    /** Share of the time limit a single searching check may use. */
+    private static final int CHECKS_PER_LIMIT = 10;
+
+    private final long timeLimitMs;
+    private final long deadline; // System.nanoTime() by which the explanation must end
+    private final ModelSolver explaining;
+    private final int[] systemNeeds; // The problem's needs; the explaining model's arrays hold the checked ones
+    private final int[] skillNeeds;
+    private long checkDeadline; // System.nanoTime() by which the current check must end
+    private boolean searching; // Whether checks search, or only propagate from the root fixpoint
+    private int checks;
+    private boolean minimal = true;
+
+    /**
+     * Builds the explaining model of a problem.
+     *
+     * @param problem the problem without a schedule
+     * @param sparse whether the solver's model is sparse
+     * @param encoding the solver's encoding
+     * @param heuristic the solver's heuristic, used to search subsets of needs
+     * @param timeLimitMs the time allowed for the checks, after this build
+     */
+    ConflictExplainer(SchedulingProblem problem, boolean sparse, ModelSolver.Encoding encoding,
+                      ModelSolver.SearchHeuristic heuristic, long timeLimitMs) {
+        this.timeLimitMs = timeLimitMs;
+        explaining = new ModelSolver(problem, sparse, encoding, true);
+        deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeLimitMs);
+        systemNeeds = explaining.systemNeeds.clone();
+        skillNeeds = explaining.skillNeeds.clone();
+        explaining.setSearchHeuristic(heuristic);
+        explaining.setSearchStrategy();
+    }
+
+    /**
+     * Returns a minimal set of needs that cannot be met together.
+     *
+     * @param proven whether the solver proved that all needs together cannot be met
+     * @return the keys of the needs (see {@link ModelSolver#needKey(int, int, int)}), empty if
+     *         no conflict could be proven in time
+     */
+    List<Integer> explain(boolean proven) {
+        List<Integer> all = new ArrayList<>(explaining.requirementCount);
+        for (int r = 0; r < explaining.requirementCount; r++) {
+            all.add(r);
+        }
+        Solver solver = explaining.model.getSolver();
+        List<Integer> found = null;
+        try {
+            // The root fixpoint without needs holds for every subset, so checks only propagate from it
+            solver.propagate();
+            if (!isConsistent(all)) found = quickXplain(new ArrayList<>(), false, all);
+        } catch (ContradictionException e) {
+            solver.getEngine().flush();
+            all.clear(); // The workload rules conflict without any need, nothing to narrow down
+        }
+        if (found == null && !all.isEmpty()) {
+            // Root propagation cannot tell, so checks have to search
+            searching = true;
+            if (proven || !isConsistent(all)) found = quickXplain(new ArrayList<>(), false, all);
+        }
+        List<Integer> conflict = new ArrayList<>();
+        if (found != null) {
+            for (int r : found) {
+                conflict.add(explaining.requirementKey[r]);
+            }
+        }
+        LOG.fine("Explained " + explaining.requirementCount + " needs with " + checks
+                + (searching ? " searching" : " propagating") + " checks: " + conflict.size()
+                + (minimal ? " needs conflict." : " needs conflict, not proven minimal."));
+        return conflict;
+    }
+
+    /**
+     * QuickXplain: returns a minimal subset of {@code candidates} that cannot be met together
+     * with {@code background}, given that all of them together cannot.
+     *
+     * @param background the requirements kept
+     * @param added whether the caller just added requirements to the background, so it may
+     *              already conflict on its own
+     * @param candidates the requirements to choose from
+     * @return the minimal conflicting subset of the candidates
+     */
+    private List<Integer> quickXplain(List<Integer> background, boolean added, List<Integer> candidates) {
+        if (added && !isConsistent(background)) return new ArrayList<>();
+        if (candidates.size() == 1) return new ArrayList<>(candidates);
+        List<Integer> first = candidates.subList(0, candidates.size() / 2);
+        List<Integer> second = candidates.subList(candidates.size() / 2, candidates.size());
+
+        List<Integer> withFirst = new ArrayList<>(background);
+        withFirst.addAll(first);
+        List<Integer> fromSecond = quickXplain(withFirst, !first.isEmpty(), second);
+
+        List<Integer> withSecond = new ArrayList<>(background);
+        withSecond.addAll(fromSecond);
+        List<Integer> fromFirst = quickXplain(withSecond, !fromSecond.isEmpty(), first);
+
+        fromFirst.addAll(fromSecond);
+        return fromFirst;
+    }
+
+    /**
+     * Returns whether the requirements can be met together, counting a check that runs out of
+     * time as met.
+     *
+     * @param requirements the indices of the requirements
+     * @return {@code false} only if they were proven impossible together
+     */
+    private boolean isConsistent(List<Integer> requirements) {
+        long now = System.nanoTime();
+        if (now >= deadline || Thread.currentThread().isInterrupted()) {
+            minimal = false;
+            return true;
+        }
+        checks++;
+        return searching ? searches(requirements, now) : propagates(requirements);
+    }
+
+    /**
+     * Returns whether the requirements pass propagation from the root fixpoint, within a world
+     * that is popped afterwards.
+     *
+     * @param requirements the indices of the requirements
+     * @return {@code false} if propagation proves them impossible together
+     */
+    private boolean propagates(List<Integer> requirements) {
+        Solver solver = explaining.model.getSolver();
+        solver.getEnvironment().worldPush();
+        try {
+            for (int r : requirements) {
+                explaining.requirementActive[r].setToTrue(Cause.Null);
+            }
+            solver.propagate();
+            return true;
+        } catch (ContradictionException e) {
+            solver.getEngine().flush();
+            return false;
+        } finally {
+            solver.getEnvironment().worldPop();
+        }
+    }
+
+    /**
+     * Returns whether a schedule meets the requirements, searching for at most a tenth of the
+     * time limit.
+     *
+     * @param requirements the indices of the requirements
+     * @param now the current {@link System#nanoTime()}
+     * @return {@code false} only if the search proves them impossible together
+     */
+    private boolean searches(List<Integer> requirements, long now) {
+        long checkLimitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, timeLimitMs / CHECKS_PER_LIMIT));
+        checkDeadline = Math.min(deadline, now + checkLimitNanos);
+        // The heuristic reads the explaining model's need arrays, so it only aims at the checked needs
+        Arrays.fill(explaining.systemNeeds, 0);
+        Arrays.fill(explaining.skillNeeds, 0);
+        BoolVar[] active = new BoolVar[requirements.size()];
+        int slots = systemNeeds.length;
+        for (int i = 0; i < active.length; i++) {
+            int r = requirements.get(i);
+            active[i] = explaining.requirementActive[r];
+            int key = explaining.requirementKey[r];
+            if (key < slots) {
+                explaining.systemNeeds[key] = systemNeeds[key];
+            } else {
+                explaining.skillNeeds[key - slots] = skillNeeds[key - slots];
+            }
+        }
+        Constraint kept = explaining.model.sum(active, "=", active.length);
+        kept.post();
+        Solver solver = explaining.model.getSolver();
+        // Solver.reset() removes stop criteria, so each check adds its own
+        solver.addStopCriterion(() -> System.nanoTime() > checkDeadline || Thread.currentThread().isInterrupted());
+        try {
+            boolean found = solver.solve();
+            if (!found && solver.isStopCriterionMet()) {
+                minimal = false;
+                return true;
+            }
+            return found;
+        } finally {
+            solver.reset();
+            explaining.model.unpost(kept);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.shifty.model.SchedulingAlgorithm;
+
+import org.chocosolver.solver.search.strategy.selectors.values.IntValueSelector;
+import org.chocosolver.solver.search.strategy.selectors.variables.VariableSelector;
+import org.chocosolver.solver.variables.IntVar;
+
+import java.util.Arrays;
+
+/**
+ * Scheduling-specific branching heuristic for {@link ModelSolver}.
+ * <p>
+ * Each decision variable says whether one employee works one day/hour slot. At every decision
+ * the heuristic recomputes, for each slot, its <em>slack</em>: the employees that could still be
+ * assigned minus the employees still needed. It then branches on the slot with the lowest slack
+ * (the scarcest one, which is where a wrong choice would surface last with input order), picking
+ * within it the employee with the fewest assigned hours so far. The value is 1 while the slot
+ * still needs employees and 0 once it is covered, so work is spread evenly and negative slack is
+ * detected immediately.
+ * </p>
+ *
+ * <p>
+ * With skill needs, a slot's slack is the lowest of its head-count slack and the slack of each
+ * skill it still needs, and within the slot the employee covering the most still-missing skills
+ * is preferred before the least-loaded one, so scarce skilled employees go where they are needed.
+ * </p>
+ *
+ * <p>
+ * Each decision costs a linear pass over the decision variables (times the skills of each
+ * assigned employee), which is far cheaper than the backtracking it avoids on tight weeks.
+ * </p>
+ *
+ * @author Eitan Navon
+ * @see ModelSolver.SearchHeuristic#COVERAGE
+ */
+class CoverageSearch implements VariableSelector<IntVar>, IntValueSelector {
+
+    /** Position of each decision variable, indexed by {@link IntVar#getId()}; -1 if not a decision variable. */
+    private final int[] positionById;
+
+    /** Slot (day * hours + hour) of each decision variable, by position. */
+    private final int[] slotOf;
+
+    /** Employee index of each decision variable, by position. */
+    private final int[] employeeOf;
+
+    /** Employees needed per slot. */
+    private final int[] need;
+
+    /** Skill mask of each employee; bit {@code s} = has skill {@code s}. */
+    private final int[] skillMaskOf;
+
+    /** Employees with a skill needed, indexed {@code skill * slots + slot}. */
+    private final int[] skillNeed;
+
+    /** Number of skills. */
+    private final int skills;
+
+    // Scratch state recomputed at every decision
+    private final int[] candidates;
+    private final int[] assigned;
+    private final int[] load;
+    private final int[] skillCandidates;
+    private final int[] skillAssigned;
+
+    /**
+     * Creates the heuristic for a set of decision variables.
+     *
+     * @param vars        the decision variables
+     * @param slotOf      the slot of each variable
+     * @param employeeOf  the employee of each variable
+     * @param need        the employees needed per slot
+     * @param skillMaskOf the skill mask of each employee
+     * @param skillNeed   the employees with each skill needed per slot, indexed {@code skill * slots + slot}
+     * @param skills      the number of skills, 0 for head-counts only
+     */
+    CoverageSearch(IntVar[] vars, int[] slotOf, int[] employeeOf, int[] need,
+                   int[] skillMaskOf, int[] skillNeed, int skills) {
+        int maxId = 0;
+        for (IntVar var : vars) {
+            maxId = Math.max(maxId, var.getId());
+        }
+        positionById = new int[maxId + 1];
+        Arrays.fill(positionById, -1);
+        for (int i = 0; i < vars.length; i++) {
+            positionById[vars[i].getId()] = i;
+        }
+        this.slotOf = slotOf;
+        this.employeeOf = employeeOf;
+        this.need = need;
+        this.skillMaskOf = skillMaskOf;
+        this.skillNeed = skillNeed;
+        this.skills = skills;
+        candidates = new int[need.length];
+        assigned = new int[need.length];
+        load = new int[skillMaskOf.length];
+        skillCandidates = new int[skillNeed.length];
+        skillAssigned = new int[skillNeed.length];
+    }
+
+    /**
+     * Returns the least-loaded free employee variable in the slot with the lowest slack.
+     *
+     * @param variables the decision variables
+     * @return the variable to branch on, or {@code null} if all are instantiated
+     */
+    @Override
+    public IntVar getVariable(IntVar[] variables) {
+        count(variables);
+
+        int bestSlot = -1;
+        int bestSlack = Integer.MAX_VALUE;
+        for (int slot = 0; slot < need.length; slot++) {
+            if (candidates[slot] == 0) continue;
+            int slack = candidates[slot] - (need[slot] - assigned[slot]);
+            for (int skill = 0; skill < skills; skill++) {
+                int index = skill * need.length + slot;
+                int missing = skillNeed[index] - skillAssigned[index];
+                if (missing > 0) slack = Math.min(slack, skillCandidates[index] - missing);
+            }
+            if (slack < bestSlack || (slack == bestSlack && candidates[slot] < candidates[bestSlot])) {
+                bestSlack = slack;
+                bestSlot = slot;
+            }
+        }
+        if (bestSlot < 0) return null;
+
+        int missingSkills = 0;
+        for (int skill = 0; skill < skills; skill++) {
+            int index = skill * need.length + bestSlot;
+            if (skillAssigned[index] < skillNeed[index]) missingSkills |= 1 << skill;
+        }
+
+        IntVar best = null;
+        int bestCovered = -1;
+        int bestLoad = Integer.MAX_VALUE;
+        for (IntVar var : variables) {
+            if (var.isInstantiated()) continue;
+            int position = positionOf(var);
+            if (position < 0 || slotOf[position] != bestSlot) continue;
+            int employee = employeeOf[position];
+            int covered = Integer.bitCount(skillMaskOf[employee] & missingSkills);
+            int employeeLoad = load[employee];
+            if (covered > bestCovered || (covered == bestCovered && employeeLoad < bestLoad)) {
+                bestCovered = covered;
+                bestLoad = employeeLoad;
+                best = var;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Assigns the employee to the slot (1) while the slot still needs employees, otherwise 0.
+     * Uses the counts computed by the preceding {@link #getVariable(IntVar[])} call.
+     *
+     * @param var the variable selected for branching
+     * @return the value to try first
+     */
+    @Override
+    public int selectValue(IntVar var) {
+        int position = positionOf(var);
+        if (position < 0) return var.getUB();
+        int slot = slotOf[position];
+        return (assigned[slot] < need[slot] && var.contains(1)) ? 1 : var.getLB();
+    }
+
+    /**
+     * Recomputes free candidates and assigned employees per slot and per skill and slot,
+     * and assigned hours per employee.
+     *
+     * @param variables the decision variables
+     */
+    private void count(IntVar[] variables) {
+        Arrays.fill(candidates, 0);
+        Arrays.fill(assigned, 0);
+        Arrays.fill(load, 0);
+        if (skills > 0) {
+            Arrays.fill(skillCandidates, 0);
+            Arrays.fill(skillAssigned, 0);
+        }
+        for (IntVar var : variables) {
+            int position = positionOf(var);
+            if (position < 0) continue;
+            int slot = slotOf[position];
+            int employee = employeeOf[position];
+            int[] skillCounts;
+            if (!var.isInstantiated()) {
+                candidates[slot]++;
+                skillCounts = skillCandidates;
+            } else if (var.getValue() == 1) {
+                assigned[slot]++;
+                load[employee]++;
+                skillCounts = skillAssigned;
+            } else {
+                continue;
+            }
+            for (int mask = skillMaskOf[employee]; mask != 0; mask &= mask - 1) {
+                skillCounts[Integer.numberOfTrailingZeros(mask) * need.length + slot]++;
+            }
+        }
+    }
+
+    private int positionOf(IntVar var) {
+        int id = var.getId();
+        return id < positionById.length ? positionById[id] : -1;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.shifty.model.SchedulingAlgorithm;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Thrown by {@link ModelSolver#Solve()} when a week has no schedule and the solver found out why.
+ * <p>
+ * The conflicts are requirements that cannot all be met together, described for an
+ * administrator, e.g. {@code "Friday 18-22 needs 5, only 3 available"}. The set is usually
+ * minimal, so relaxing any one of them (or adding availability there) removes this conflict,
+ * though the week may have others.
+ * The message lists them after {@code "No solution found: "}, so callers that only show the
+ * message need no changes.
+ * </p>
+ *
+ * @author Eitan Navon
+ * @see ModelSolver#setExplainTimeLimitMs(long)
+ */
+public class InfeasibleScheduleException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> conflicts;
+
+    /**
+     * Constructs the exception for a set of conflicting requirements.
+     *
+     * @param conflicts the descriptions of the conflicting requirements
+     */
+    public InfeasibleScheduleException(List<String> conflicts) {
+        super("No solution found: " + String.join("; ", conflicts));
+        this.conflicts = Collections.unmodifiableList(conflicts);
+    }
+
+    /**
+     * Returns the conflicting requirements, one description per merged range of hours.
+     *
+     * @return the descriptions
+     */
+    public List<String> getConflicts() {
+        return conflicts;
+    }
+}
@@ -0,0 +1,1163 @@
+package com.example.shifty.model.SchedulingAlgorithm;
+
+import org.chocosolver.solver.Model;
+import org.chocosolver.solver.search.limits.FailCounter;
+import org.chocosolver.solver.search.strategy.Search;
+import org.chocosolver.solver.search.strategy.selectors.values.IntDomainMax;
+import org.chocosolver.solver.search.strategy.selectors.variables.InputOrder;
+import org.chocosolver.solver.variables.BoolVar;
+import org.chocosolver.solver.variables.IntVar;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * ModelSolver is responsible for building and solving the employee scheduling problem
+ * using constraint programming (Choco Solver). It encodes employee availability,
+ * system needs, and work hour constraints, and produces a feasible schedule if possible.
+ *
+ * The class initializes the constraint model, applies all relevant constraints,
+ * and attempts to solve the scheduling problem, returning a Schedule object on success.
+ *
+ * All per-cell data is stored in flat arrays indexed by
+ * {@code (employee * MAX_DAYS + day) * MAX_HOURS + hour} (see {@link #cell(int, int, int)}):
+ * availability as packed bits in a {@code long[]}, and the schedule variables allocated once
+ * in that order, which is also the order handed to the search strategy.
+ *
+ * In sparse mode (the default) no decision variable is created for a cell where the employee is
+ * unavailable: the cell holds the model's constant-zero variable, it is left out of sums, and
+ * constraints it would trivially satisfy are not posted. The model therefore shrinks in
+ * proportion to how constrained the roster is. Variable names are only generated when
+ * {@link #DEBUG_VARIABLE_NAMES} is set.
+ *
+ * Skill needs (see {@link SchedulingProblem}) are encoded without duplicating the model: the
+ * employees having each skill are listed once, and every skill/hour with a need gets one extra
+ * sum over that skill's subset of the same schedule variables. Typical setups with a few skills
+ * therefore add a few sums per hour rather than multiplying the variables.
+ *
+ * Two encodings of an employee's day are available (see {@link Encoding}). The hourly encoding
+ * constrains the hour variables directly and may assign short fragments. The shift encoding gives
+ * each employee-day one optional shift, a start and a length variable with the length either 0
+ * or within the problem's shift length bounds, and channels it to the hour variables, so every
+ * shift is one block of sensible length and the search branches on two variables per day instead
+ * of one per hour. The hour variables, and every constraint posted on them, are the same in both.
+ *
+ * Workload rules use one aggregated integer variable per employee rather than pairwise reified
+ * constraints: weekly hour bounds and the balancing objective share one weekly-hours sum per
+ * employee, and the minimum rest between days is a single linear constraint per pair of
+ * consecutive days over each day's first and last scheduled hour, each the maximum of scaled
+ * views of that day's schedule variables. These are only created for employees and days where
+ * the rule can actually bind.
+ *
+ * Before any sum is posted, each hour is checked for enough available employees overall and per
+ * skill, and each day for enough hours the employees can work; a need that can never be covered
+ * posts a false constraint, so such weeks fail at the root instead of after a search. These
+ * failed checks are kept as the week's conflicts.
+ *
+ * When {@link #Solve()} finds no schedule, it can explain why (see
+ * {@link #setExplainTimeLimitMs(long)}): the conflicts found at the root if there are any,
+ * otherwise a minimal set of needs that cannot be met together, found by {@link ConflictExplainer}
+ * on a second model in which each need is reified instead of posted.
+ *
+ * The solver only reads a {@link SchedulingProblem} and only depends on the JDK and Choco, so it
+ * runs unchanged on a device or on a server. Progress is logged through
+ * {@code java.util.logging} at {@code FINE} level.
+ *
+ * @author Eitan Navon
+ */
+public class ModelSolver {
+
+    private static final Logger LOG = Logger.getLogger(ModelSolver.class.getName());
+
+    /** Whether schedule variables get descriptive names ({@code schedule_i_j_k}); for debugging only. */
+    static final boolean DEBUG_VARIABLE_NAMES = false;
+
+    Model model;
+
+    // Constants for scheduling
+    final int MAX_DAYS = 7;
+    final int MAX_HOURS = 22;
+    final int SHIFT_LENGTH; // Maximum shift length in hours
+    final int HOURS_BETWEEN_DAYS = 24; // Real hours between an hour slot and the same slot of the next day
+
+    /**
+     * Branching heuristics available to {@link #Solve()}.
+     */
+    public enum SearchHeuristic {
+        /** Lowest-slack slot first, least-loaded employee first ({@link CoverageSearch}). */
+        COVERAGE,
+        /** Domain over weighted degree, with Luby restarts. */
+        DOM_WDEG,
+        /** Activity-based search, which restarts on its own. */
+        ACTIVITY,
+        /** Variables in input order, largest value first (the original strategy). */
+        INPUT_ORDER
+    }
+
+    /**
+     * How an employee's working hours on one day are modelled.
+     */
+    public enum Encoding {
+        /** One variable per hour, with pairwise rules for consecutive hours (the original model). */
+        HOURLY,
+        /** One optional shift per employee-day with start and length variables, channelled to the hours. */
+        SHIFTS
+    }
+
+    /** Fail count scaling the Luby restart sequence for {@link SearchHeuristic#DOM_WDEG}. */
+    private static final int RESTART_SCALE = 500;
+
+    /** Maximum number of restarts for {@link SearchHeuristic#DOM_WDEG}. */
+    private static final int MAX_RESTARTS = 1000;
+
+    SchedulingProblem problem; // Immutable solver input
+    SearchHeuristic searchHeuristic = SearchHeuristic.COVERAGE;
+    boolean sparse; // Whether unavailable cells are constant zero instead of constrained variables
+    Encoding encoding;
+
+    int EmployeeCount;
+    int SkillCount;
+    long[] availability; // Packed availability bits, one per cell (see cell())
+    int[] systemNeeds; // Number of employees needed, indexed day * MAX_HOURS + hour
+    int[] skillNeeds; // Employees with a skill needed, indexed (skill * MAX_DAYS + day) * MAX_HOURS + hour
+    int[][] skillMembers; // Indices of the employees having each skill
+    BoolVar[] schedule; // Choco Solver variables for scheduling, one per cell (see cell())
+    IntVar[] shiftStart; // Start hour per employee-day (employee * MAX_DAYS + day), null if no shift fits (SHIFTS only)
+    IntVar[] shiftLength; // Shift length per employee-day, 0 on a day off, null if no shift fits (SHIFTS only)
+    IntVar[] weeklyHours; // Hours worked in the week per employee, null where no rule needs it
+    IntVar hoursSpread; // Most minus least weekly hours, minimised when balancing; null otherwise
+
+    long buildTimeMs; // Time spent building the model
+    int bestSpread = -1; // Spread of the schedule returned by Solve() when balancing
+    long explainTimeLimitMs; // Time allowed to explain a week without a schedule, 0 for no explanation
+
+    // Needs are identified by a key: the slot (day * MAX_HOURS + hour) for a head-count need,
+    // and (skill + 1) * MAX_DAYS * MAX_HOURS + slot for a skill need, so keys sort by skill, day and hour
+    boolean explaining; // Whether needs are reified into requirementActive instead of posted
+    int[] requirementKey; // Key of each reified need (explaining only)
+    BoolVar[] requirementActive; // Whether each reified need holds (explaining only)
+    int requirementCount;
+    List<Integer> rootNeedConflicts = new ArrayList<>(); // Keys of needs failing the root checks
+    List<String> rootConflicts = new ArrayList<>(); // Other failed root checks, described
+
+    /**
+     * Constructs a sparse ModelSolver for a scheduling problem. The problem is immutable, so
+     * concurrent changes to wherever it was built from cannot affect the build or the solve.
+     *
+     * @param problem the employees, availability and system needs to schedule
+     */
+    public ModelSolver(SchedulingProblem problem) {
+        this(problem, true);
+    }
+
+    /**
+     * Constructs a ModelSolver for a scheduling problem.
+     *
+     * @param problem the employees, availability and system needs to schedule
+     * @param sparse {@code true} to omit variables for unavailable cells, {@code false} to create
+     *               a variable for every cell and constrain unavailable ones to zero
+     */
+    public ModelSolver(SchedulingProblem problem, boolean sparse) {
+        this(problem, sparse, Encoding.HOURLY);
+    }
+
+    /**
+     * Constructs a sparse ModelSolver for a scheduling problem with the given encoding.
+     *
+     * @param problem the employees, availability and system needs to schedule
+     * @param encoding how an employee's day is modelled
+     */
+    public ModelSolver(SchedulingProblem problem, Encoding encoding) {
+        this(problem, true, encoding);
+    }
+
+    /**
+     * Constructs a ModelSolver for a scheduling problem.
+     *
+     * @param problem the employees, availability and system needs to schedule
+     * @param sparse {@code true} to omit variables for unavailable cells, {@code false} to create
+     *               a variable for every cell and constrain unavailable ones to zero
+     * @param encoding how an employee's day is modelled
+     */
+    public ModelSolver(SchedulingProblem problem, boolean sparse, Encoding encoding) {
+        this(problem, sparse, encoding, false);
+    }
+
+    /**
+     * Constructs a ModelSolver for a scheduling problem, optionally as the explaining model of
+     * {@link ConflictExplainer}: every need is reified into a Boolean that the explainer fixes
+     * to choose which needs must hold, and hours are not balanced.
+     *
+     * @param problem the employees, availability and system needs to schedule
+     * @param sparse {@code true} to omit variables for unavailable cells
+     * @param encoding how an employee's day is modelled
+     * @param explaining {@code true} to reify the needs instead of posting them
+     */
+    ModelSolver(SchedulingProblem problem, boolean sparse, Encoding encoding, boolean explaining) {
+        LOG.fine("Initializing ModelSolver...");
+        long start = System.nanoTime();
+        model = new Model("Scheduling Algorithm");
+        this.problem = problem;
+        this.sparse = sparse;
+        this.encoding = encoding;
+        this.explaining = explaining;
+        SHIFT_LENGTH = problem.getMaxShiftHours();
+
+        EmployeeCount = problem.getEmployeeCount();
+        LOG.fine("Employee count: " + EmployeeCount);
+
+        // Initialize arrays
+        int cells = EmployeeCount * MAX_DAYS * MAX_HOURS;
+        availability = new long[(cells + Long.SIZE - 1) / Long.SIZE];
+        systemNeeds = new int[MAX_DAYS * MAX_HOURS];
+        for (int j = 0; j < MAX_DAYS; j++) {
+            for (int k = 0; k < MAX_HOURS; k++) {
+                systemNeeds[j * MAX_HOURS + k] = problem.getSystemNeed(j, k);
+            }
+        }
+        schedule = new BoolVar[cells];
+        initializeSkills();
+        if (explaining) {
+            requirementKey = new int[(SkillCount + 1) * MAX_DAYS * MAX_HOURS];
+            requirementActive = new BoolVar[requirementKey.length];
+        }
+
+        // Initialize model variables and constraints
+        initializeAvailability();
+        initializeSchedule();
+        initializeConstraints();
+        buildTimeMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        LOG.fine("ModelSolver initialized successfully in " + buildTimeMs + " ms.");
+    }
+
+    /**
+     * Returns the flat index of a cell in {@link #availability} and {@link #schedule}.
+     *
+     * @param employee the employee index
+     * @param day the day of the week
+     * @param hour the hour index
+     * @return the flat cell index
+     */
+    int cell(int employee, int day, int hour) {
+        return (employee * MAX_DAYS + day) * MAX_HOURS + hour;
+    }
+
+    /**
+     * Returns whether the employee of a cell is available at that cell's time.
+     *
+     * @param cell the flat cell index
+     * @return {@code true} if available
+     */
+    boolean isAvailable(int cell) {
+        return (availability[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    /**
+     * Returns whether a cell is the constant zero rather than a decision variable,
+     * i.e. the model is sparse and the employee is unavailable.
+     *
+     * @param cell the flat cell index
+     * @return {@code true} if the cell can never be scheduled and has no variable
+     */
+    boolean isFixedZero(int cell) {
+        return sparse && !isAvailable(cell);
+    }
+
+    /**
+     * Returns the time spent building the model (variables and constraints).
+     *
+     * @return the build time in milliseconds
+     */
+    public long getBuildTimeMs() {
+        return buildTimeMs;
+    }
+
+    /**
+     * Copies the skill needs from the problem and lists the employees having each skill.
+     */
+    private void initializeSkills() {
+        SkillCount = problem.getSkillCount();
+        skillNeeds = new int[SkillCount * MAX_DAYS * MAX_HOURS];
+        skillMembers = new int[SkillCount][];
+        int[] members = new int[EmployeeCount];
+        for (int s = 0; s < SkillCount; s++) {
+            for (int j = 0; j < MAX_DAYS; j++) {
+                for (int k = 0; k < MAX_HOURS; k++) {
+                    skillNeeds[(s * MAX_DAYS + j) * MAX_HOURS + k] = problem.getSkillNeed(s, j, k);
+                }
+            }
+            int count = 0;
+            for (int i = 0; i < EmployeeCount; i++) {
+                if (problem.hasSkill(i, s)) members[count++] = i;
+            }
+            skillMembers[s] = Arrays.copyOf(members, count);
+        }
+    }
+
+    /**
+     * Initializes all constraints for the scheduling model.
+     */
+    private void initializeConstraints() {
+        LOG.fine("Initializing constraints...");
+        initializeConstraintAvailability();
+        initializeConstraintsSystemNeeds();
+        initializeConstraintsSkillNeeds();
+        if (encoding == Encoding.SHIFTS) {
+            initializeShifts();
+        } else {
+            initializeConstraintWorkHours();
+        }
+        initializeConstraintRest();
+        initializeConstraintWeeklyHours();
+        LOG.fine("Constraints initialized.");
+    }
+
+    /**
+     * Applies constraints to ensure employees are only scheduled when available.
+     */
+    private void initializeConstraintAvailability() {
+        if (sparse) return; // Unavailable cells are already constant zero
+        LOG.fine("Applying availability constraints...");
+        for (int c = 0; c < schedule.length; c++) {
+            if (!isAvailable(c)) {
+                // If not available, cannot be scheduled
+                model.arithm(schedule[c], "=", 0).post();
+            }
+        }
+        LOG.fine("Availability constraints applied.");
+    }
+
+    /**
+     * Applies constraints to ensure system needs (number of employees per hour) are met.
+     * <p>
+     * Each day's total need is also checked against the hours the employees can work that day,
+     * at most one shift each. When explaining, that capacity is posted as a redundant sum over
+     * the day's scheduled counts, so a subset of needs exceeding it fails in propagation.
+     * </p>
+     */
+    private void initializeConstraintsSystemNeeds() {
+        LOG.fine("Applying system needs constraints...");
+        IntVar[] dayScheduled = new IntVar[MAX_HOURS];
+        for (int j = 0; j < MAX_DAYS; j++) {
+            int capacity = 0;
+            for (int i = 0; i < EmployeeCount; i++) {
+                int daily = 0;
+                for (int k = 0; k < MAX_HOURS; k++) {
+                    if (isAvailable(cell(i, j, k))) daily++;
+                }
+                capacity += Math.min(daily, SHIFT_LENGTH);
+            }
+            int dayNeed = 0;
+            int dayCount = 0;
+            for (int k = 0; k < MAX_HOURS; k++) {
+                BoolVar[] employeesScheduled = new BoolVar[EmployeeCount];
+                int count = 0;
+                int available = 0;
+                for (int i = 0; i < EmployeeCount; i++) {
+                    int c = cell(i, j, k);
+                    if (!isFixedZero(c)) {
+                        employeesScheduled[count++] = schedule[c];
+                    }
+                    if (isAvailable(c)) available++;
+                }
+                int need = systemNeeds[j * MAX_HOURS + k];
+                if (available < need) {
+                    // Too few employees can work this hour: fail at the root instead of searching
+                    LOG.fine("Day " + j + " hour " + k + " needs " + need + ", only " + available + " available.");
+                    rootNeedConflicts.add(j * MAX_HOURS + k);
+                    model.falseConstraint().post();
+                    continue;
+                }
+                dayNeed += need;
+                if (count == 0) continue; // Nobody can work this hour, and nobody is needed
+                // The sum of scheduled employees must match the system need
+                IntVar scheduled = postNeed(Arrays.copyOf(employeesScheduled, count), "=", need, j * MAX_HOURS + k);
+                if (scheduled != null) dayScheduled[dayCount++] = scheduled;
+            }
+            if (dayNeed > capacity) {
+                LOG.fine("Day " + j + " needs " + dayNeed + " hours, employees can work " + capacity + ".");
+                rootConflicts.add(TimeUtil.getDayOfWeek(j) + " needs " + dayNeed + " hours, employees can work "
+                        + capacity);
+                model.falseConstraint().post();
+            } else if (dayCount > 0) {
+                model.sum(Arrays.copyOf(dayScheduled, dayCount), "<=", capacity).post();
+            }
+        }
+        LOG.fine("System needs constraints applied.");
+    }
+
+    /**
+     * Applies constraints to ensure that at every hour at least the needed number of scheduled
+     * employees have each skill. Each constraint sums only the variables of that skill's members.
+     */
+    private void initializeConstraintsSkillNeeds() {
+        if (SkillCount == 0) return;
+        LOG.fine("Applying skill needs constraints...");
+        BoolVar[] skilledScheduled = new BoolVar[EmployeeCount];
+        for (int s = 0; s < SkillCount; s++) {
+            for (int j = 0; j < MAX_DAYS; j++) {
+                for (int k = 0; k < MAX_HOURS; k++) {
+                    int need = skillNeeds[(s * MAX_DAYS + j) * MAX_HOURS + k];
+                    if (need == 0) continue;
+                    int count = 0;
+                    int available = 0;
+                    for (int i : skillMembers[s]) {
+                        int c = cell(i, j, k);
+                        if (!isFixedZero(c)) {
+                            skilledScheduled[count++] = schedule[c];
+                        }
+                        if (isAvailable(c)) available++;
+                    }
+                    if (available < need) {
+                        LOG.fine("Day " + j + " hour " + k + " needs " + need + " " + problem.getSkillName(s)
+                                + ", only " + available + " available.");
+                        rootNeedConflicts.add(needKey(s, j, k));
+                        model.falseConstraint().post();
+                        continue;
+                    }
+                    postNeed(Arrays.copyOf(skilledScheduled, count), ">=", need, needKey(s, j, k));
+                }
+            }
+        }
+        LOG.fine("Skill needs constraints applied.");
+    }
+
+    /**
+     * Posts a need on the number of scheduled employees, or when explaining, counts them in a
+     * variable and reifies the need on that count as the next requirement.
+     *
+     * @param scheduled the schedule variables that count towards the need
+     * @param op the need's operator
+     * @param need the number of employees needed
+     * @param key the need's key
+     * @return the count of scheduled employees when explaining, otherwise {@code null}
+     */
+    private IntVar postNeed(BoolVar[] scheduled, String op, int need, int key) {
+        if (!explaining) {
+            model.sum(scheduled, op, need).post();
+            return null;
+        }
+        IntVar count = model.intVar(0, scheduled.length);
+        model.sum(scheduled, "=", count).post();
+        requirementKey[requirementCount] = key;
+        requirementActive[requirementCount++] = model.arithm(count, op, need).reify();
+        return count;
+    }
+
+    /**
+     * Returns the key of a skill need.
+     *
+     * @param skill the skill index
+     * @param day the day of the week
+     * @param hour the hour index
+     * @return the key, after all head-count keys
+     */
+    int needKey(int skill, int day, int hour) {
+        return ((skill + 1) * MAX_DAYS + day) * MAX_HOURS + hour;
+    }
+
+    /**
+     * Applies constraints to limit work hours and ensure valid shift patterns.
+     * <p>
+     * An employee's worked hours on one day span at most {@code SHIFT_LENGTH} hours: any two
+     * hours {@code SHIFT_LENGTH} or more apart cannot both be worked. Two worked hours with one
+     * hour between them force that hour too, and the day's total is capped at
+     * {@code SHIFT_LENGTH}.
+     * </p>
+     */
+    private void initializeConstraintWorkHours() {
+        LOG.fine("Applying work hours constraints...");
+        for (int i = 0; i < EmployeeCount; i++) {
+            for (int j = 0; j < MAX_DAYS; j++) {
+                int dayStart = cell(i, j, 0);
+                BoolVar[] dailyHours = new BoolVar[MAX_HOURS];
+                int dailyCount = 0;
+                for (int k = 0; k < MAX_HOURS; k++) {
+                    if (!isFixedZero(dayStart + k)) {
+                        dailyHours[dailyCount++] = schedule[dayStart + k];
+                    }
+
+                    // Keep the day's hours within one shift: no two worked hours SHIFT_LENGTH or more apart
+                    if (k >= SHIFT_LENGTH && !isFixedZero(dayStart + k)) {
+                        for (int h = 0; h <= k - SHIFT_LENGTH; h++) {
+                            if (isFixedZero(dayStart + h)) continue;
+                            model.arithm(schedule[dayStart + h], "+", schedule[dayStart + k], "<=", 1).post();
+                        }
+                    }
+
+                    // Enforce that if two hours are scheduled with a gap, the hour in between must also be scheduled
+                    if (k < MAX_HOURS - 2 && !isFixedZero(dayStart + k) && !isFixedZero(dayStart + k + 2)) {
+                        if (isFixedZero(dayStart + k + 1)) {
+                            // The hour in between can never be scheduled, so both ends cannot be
+                            model.arithm(schedule[dayStart + k], "+", schedule[dayStart + k + 2], "<=", 1).post();
+                        } else {
+                            model.ifThen(
+                                    model.and(
+                                            model.arithm(schedule[dayStart + k], "=", 1),
+                                            model.arithm(schedule[dayStart + k + 2], "=", 1)
+                                    ),
+                                    model.arithm(schedule[dayStart + k + 1], "=", 1)
+                            );
+                        }
+                    }
+                }
+                // Limit total hours per day (trivially met if fewer hours are available)
+                if (dailyCount > SHIFT_LENGTH) {
+                    model.sum(Arrays.copyOf(dailyHours, dailyCount), "<=", SHIFT_LENGTH).post();
+                }
+            }
+        }
+        LOG.fine("Work hours constraints applied.");
+    }
+
+    /**
+     * Creates one optional shift per employee-day for {@link Encoding#SHIFTS} and channels it to
+     * the hour variables.
+     * <p>
+     * The start ranges over the day's available hours and the length is 0 (a day off) or within
+     * the problem's shift length bounds, capped by the longest run of available hours. With
+     * {@code end = start + length}, hour {@code k} is worked exactly when
+     * {@code start <= k && k < end}: two reified bound checks and one clause per hour, so an
+     * unavailable hour inside the day keeps shifts from spanning it. A day off fixes the start to
+     * the first available hour, so days off are not enumerated once per start. Days where no shift
+     * fits get no shift variables and their hours are fixed to zero.
+     * </p>
+     */
+    private void initializeShifts() {
+        LOG.fine("Initializing shift variables...");
+        int minLength = problem.getMinShiftHours();
+        shiftStart = new IntVar[EmployeeCount * MAX_DAYS];
+        shiftLength = new IntVar[EmployeeCount * MAX_DAYS];
+        int shifts = 0;
+        for (int i = 0; i < EmployeeCount; i++) {
+            for (int j = 0; j < MAX_DAYS; j++) {
+                int dayStart = cell(i, j, 0);
+                int first = firstAvailableHour(i, j);
+                int last = lastAvailableHour(i, j);
+                int longest = longestAvailableRun(i, j);
+                if (longest < minLength) {
+                    // No shift fits this day
+                    for (int k = Math.max(first, 0); k <= last; k++) {
+                        if (!isFixedZero(dayStart + k)) model.arithm(schedule[dayStart + k], "=", 0).post();
+                    }
+                    continue;
+                }
+                int maxLength = Math.min(SHIFT_LENGTH, longest);
+                int[] lengths = new int[maxLength - minLength + 2];
+                for (int l = minLength; l <= maxLength; l++) {
+                    lengths[l - minLength + 1] = l;
+                }
+                IntVar start = model.intVar(first, last - minLength + 1);
+                IntVar length = model.intVar(lengths);
+                IntVar end = model.intVar(first, last + 1);
+                model.sum(new IntVar[]{start, length}, "=", end).post();
+
+                BoolVar off = model.boolVar();
+                BoolVar atFirst = model.boolVar();
+                model.reifyXeqC(length, 0, off);
+                model.reifyXeqC(start, first, atFirst);
+                model.addClausesBoolLe(off, atFirst);
+
+                for (int k = first; k <= last; k++) {
+                    BoolVar started = model.boolVar();
+                    BoolVar notEnded = model.boolVar();
+                    model.reifyXltC(start, k + 1, started);
+                    model.reifyXgtC(end, k, notEnded);
+                    model.addClausesBoolAndEqVar(started, notEnded, schedule[dayStart + k]);
+                }
+                shiftStart[i * MAX_DAYS + j] = start;
+                shiftLength[i * MAX_DAYS + j] = length;
+                shifts++;
+            }
+        }
+        LOG.fine("Shift variables initialized: " + shifts + " of " + shiftStart.length + " employee-days.");
+    }
+
+    /**
+     * Returns the longest run of consecutive hours an employee is available on a day.
+     *
+     * @param employee the employee index
+     * @param day the day of the week
+     * @return the run length in hours, 0 if never available that day
+     */
+    private int longestAvailableRun(int employee, int day) {
+        int dayStart = cell(employee, day, 0);
+        int longest = 0;
+        int run = 0;
+        for (int k = 0; k < MAX_HOURS; k++) {
+            run = isAvailable(dayStart + k) ? run + 1 : 0;
+            longest = Math.max(longest, run);
+        }
+        return longest;
+    }
+
+    /**
+     * Applies the minimum rest between an employee's shifts on consecutive days, wrapping from
+     * the last day of the week to the first.
+     * <p>
+     * For each employee-day two variables are kept: {@code last}, the last scheduled hour plus
+     * one, and {@code first}, {@code MAX_HOURS} minus the first scheduled hour; both are 0 on a
+     * day off. Each is the maximum of the day's schedule variables scaled by a constant (views,
+     * so no extra decision variables), and the rest rule becomes one linear constraint per pair of
+     * days, {@code last(previous) + first(day) <= HOURS_BETWEEN_DAYS + MAX_HOURS - rest}.
+     * Pairs whose available hours can never be too close are skipped.
+     * </p>
+     */
+    private void initializeConstraintRest() {
+        int rest = problem.getMinRestHours();
+        if (rest == 0) return;
+        LOG.fine("Applying rest constraints...");
+        int bound = HOURS_BETWEEN_DAYS + MAX_HOURS - rest;
+        int posted = 0;
+        for (int i = 0; i < EmployeeCount; i++) {
+            IntVar[] last = new IntVar[MAX_DAYS];
+            IntVar[] first = new IntVar[MAX_DAYS];
+            for (int j = 0; j < MAX_DAYS; j++) {
+                int previous = (j - 1 + MAX_DAYS) % MAX_DAYS;
+                int lastHour = lastAvailableHour(i, previous);
+                int firstHour = firstAvailableHour(i, j);
+                if (lastHour < 0 || firstHour < 0) continue; // A day off on either side
+                if (lastHour + 1 + MAX_HOURS - firstHour <= bound) continue; // Never too close
+                if (last[previous] == null) last[previous] = boundaryHour(i, previous, true);
+                if (first[j] == null) first[j] = boundaryHour(i, j, false);
+                model.arithm(last[previous], "+", first[j], "<=", bound).post();
+                posted++;
+            }
+        }
+        LOG.fine("Rest constraints applied: " + posted + " day pairs.");
+    }
+
+    /**
+     * Creates the variable holding an employee's last scheduled hour plus one, or
+     * {@code MAX_HOURS} minus the first scheduled hour, on one day (0 on a day off).
+     *
+     * @param employee the employee index
+     * @param day the day of the week
+     * @param last {@code true} for the last hour, {@code false} for the first
+     * @return the new variable, channelled to the day's schedule variables
+     */
+    private IntVar boundaryHour(int employee, int day, boolean last) {
+        int dayStart = cell(employee, day, 0);
+        IntVar[] scaled = new IntVar[MAX_HOURS];
+        int count = 0;
+        for (int k = 0; k < MAX_HOURS; k++) {
+            if (isFixedZero(dayStart + k)) continue;
+            scaled[count++] = model.mul(schedule[dayStart + k], last ? k + 1 : MAX_HOURS - k);
+        }
+        IntVar boundary = model.intVar(0, MAX_HOURS);
+        model.max(boundary, Arrays.copyOf(scaled, count)).post();
+        return boundary;
+    }
+
+    /**
+     * Returns the first hour an employee is available on a day.
+     *
+     * @param employee the employee index
+     * @param day the day of the week
+     * @return the hour, or -1 if never available that day
+     */
+    private int firstAvailableHour(int employee, int day) {
+        int dayStart = cell(employee, day, 0);
+        for (int k = 0; k < MAX_HOURS; k++) {
+            if (isAvailable(dayStart + k)) return k;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the last hour an employee is available on a day.
+     *
+     * @param employee the employee index
+     * @param day the day of the week
+     * @return the hour, or -1 if never available that day
+     */
+    private int lastAvailableHour(int employee, int day) {
+        int dayStart = cell(employee, day, 0);
+        for (int k = MAX_HOURS - 1; k >= 0; k--) {
+            if (isAvailable(dayStart + k)) return k;
+        }
+        return -1;
+    }
+
+    /**
+     * Applies the weekly hour bounds and, when balancing, the objective.
+     * <p>
+     * An employee gets one weekly-hours variable, equal to the sum of all their schedule
+     * variables (of their shift lengths with {@link Encoding#SHIFTS}), only if a bound can bind
+     * (a minimum above zero, or a maximum below what the availability and daily limit allow) or
+     * hours are balanced. The balancing objective minimises the maximum minus the minimum of
+     * these variables over the employees who are available at all. Before posting, the bounds
+     * are checked against the week's total need, which the head-count constraints fix exactly,
+     * so impossible bounds fail at the root.
+     * </p>
+     */
+    private void initializeConstraintWeeklyHours() {
+        LOG.fine("Applying weekly hours constraints...");
+        boolean balance = problem.isBalanceHours();
+        int totalNeed = 0;
+        for (int need : systemNeeds) totalNeed += need;
+        weeklyHours = new IntVar[EmployeeCount];
+        IntVar[] balanced = new IntVar[EmployeeCount];
+        int balancedCount = 0;
+        int minTotal = 0;
+        int maxTotal = 0;
+        IntVar[] weekly = new IntVar[MAX_DAYS * MAX_HOURS];
+        for (int i = 0; i < EmployeeCount; i++) {
+            int available = 0;
+            int possible = 0;
+            for (int j = 0; j < MAX_DAYS; j++) {
+                int daily = 0;
+                for (int k = 0; k < MAX_HOURS; k++) {
+                    if (isAvailable(cell(i, j, k))) daily++;
+                }
+                available += daily;
+                possible += Math.min(daily, SHIFT_LENGTH);
+            }
+            int min = problem.getMinWeeklyHours(i);
+            int max = Math.min(problem.getMaxWeeklyHours(i), possible);
+            if (min > max) {
+                LOG.fine(problem.getEmployeeName(i) + " needs " + min + " hours, can only work " + max + ".");
+                rootConflicts.add(problem.getEmployeeName(i) + " needs " + min + " hours a week, can only work " + max);
+                model.falseConstraint().post();
+                return;
+            }
+            minTotal += min;
+            maxTotal += max;
+            boolean balanceThis = balance && available > 0;
+            if (min == 0 && max == possible && !balanceThis) continue;
+            int count = 0;
+            if (encoding == Encoding.SHIFTS) {
+                for (int j = 0; j < MAX_DAYS; j++) {
+                    if (shiftLength[i * MAX_DAYS + j] != null) weekly[count++] = shiftLength[i * MAX_DAYS + j];
+                }
+            } else {
+                for (int c = cell(i, 0, 0), end = cell(i + 1, 0, 0); c < end; c++) {
+                    if (!isFixedZero(c)) weekly[count++] = schedule[c];
+                }
+            }
+            weeklyHours[i] = model.intVar(min, max);
+            if (count == 0) {
+                model.arithm(weeklyHours[i], "=", 0).post();
+            } else {
+                model.sum(Arrays.copyOf(weekly, count), "=", weeklyHours[i]).post();
+            }
+            if (balanceThis) balanced[balancedCount++] = weeklyHours[i];
+        }
+        if (minTotal > totalNeed || maxTotal < totalNeed) {
+            LOG.fine("The week needs " + totalNeed + " hours, weekly bounds allow " + minTotal + " to " + maxTotal + ".");
+            rootConflicts.add("The week needs " + totalNeed + " hours, weekly bounds allow " + minTotal + " to " + maxTotal);
+            model.falseConstraint().post();
+            return;
+        }
+        if (balancedCount > 1 && !explaining) {
+            IntVar most = model.intVar(0, MAX_DAYS * SHIFT_LENGTH);
+            IntVar least = model.intVar(0, MAX_DAYS * SHIFT_LENGTH);
+            IntVar[] hours = Arrays.copyOf(balanced, balancedCount);
+            model.max(most, hours).post();
+            model.min(least, hours).post();
+            hoursSpread = model.intVar(0, MAX_DAYS * SHIFT_LENGTH);
+            model.scalar(new IntVar[]{most, least}, new int[]{1, -1}, "=", hoursSpread).post();
+            model.setObjective(Model.MINIMIZE, hoursSpread);
+        }
+        LOG.fine("Weekly hours constraints applied.");
+    }
+
+    /**
+     * Initializes the schedule variables for the model, allocated once in flat cell order.
+     * In sparse mode unavailable cells share the model's constant-zero variable.
+     */
+    private void initializeSchedule() {
+        LOG.fine("Initializing schedule variables...");
+        BoolVar zero = model.boolVar(false);
+        int variables = 0;
+        for (int i = 0; i < EmployeeCount; i++) {
+            for (int j = 0; j < MAX_DAYS; j++) {
+                for (int k = 0; k < MAX_HOURS; k++) {
+                    int c = cell(i, j, k);
+                    if (isFixedZero(c)) {
+                        schedule[c] = zero;
+                        continue;
+                    }
+                    // Each variable represents if employee i is scheduled on day j at hour k
+                    schedule[c] = DEBUG_VARIABLE_NAMES
+                            ? model.boolVar("schedule_" + i + "_" + j + "_" + k)
+                            : model.boolVar();
+                    variables++;
+                }
+            }
+        }
+        LOG.fine("Schedule variables initialized: " + variables + " of " + schedule.length + " cells.");
+    }
+
+    /**
+     * Initializes the packed availability bits for all employees from the problem's
+     * per-day masks.
+     */
+    private void initializeAvailability() {
+        LOG.fine("Initializing availability...");
+        for (int i = 0; i < EmployeeCount; i++) {
+            for (int j = 0; j < MAX_DAYS; j++) {
+                int mask = problem.getAvailabilityMask(i, j);
+                int dayStart = cell(i, j, 0);
+                for (int k = 0; k < MAX_HOURS; k++) {
+                    if ((mask & (1 << k)) != 0) {
+                        int c = dayStart + k;
+                        availability[c >>> 6] |= 1L << c;
+                    }
+                }
+            }
+        }
+        LOG.fine("Availability initialized.");
+    }
+
+    /**
+     * Attempts to solve the scheduling problem and returns a Schedule if successful.
+     * The search stops early if the calling thread is interrupted, e.g. when
+     * the app's {@code SolverExecutor} supersedes this solve with a newer one.
+     * <p>
+     * When the problem balances hours, the search keeps looking for schedules with a smaller
+     * spread of weekly hours until it proves the best one or hits the time limit (see
+     * {@link #setTimeLimitMs(long)}), and returns the best schedule found.
+     * </p>
+     * <p>
+     * When no schedule is found and explanations are enabled (see
+     * {@link #setExplainTimeLimitMs(long)}), the week's conflicts are looked for before failing,
+     * and reported by an {@link InfeasibleScheduleException}.
+     * </p>
+     *
+     * @return a Schedule object representing the solution
+     * @throws InfeasibleScheduleException if no solution is found and conflicts explain why
+     * @throws RuntimeException if no solution is found or the solve was interrupted
+     */
+    public Schedule Solve() throws RuntimeException {
+        LOG.fine("Starting to solve the model...");
+        setSearchStrategy();
+        model.getSolver().addStopCriterion(() -> Thread.currentThread().isInterrupted());
+
+        Schedule best = null;
+        while (this.model.getSolver().solve()) {
+            best = collectSchedule();
+            if (hoursSpread == null) break;
+            bestSpread = hoursSpread.getValue();
+            LOG.fine("Solution found with an hours spread of " + bestSpread + ".");
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            LOG.fine("Solve interrupted.");
+            throw new RuntimeException("Solve cancelled");
+        } else if (best != null) {
+            LOG.fine("Solution found.");
+            debug();
+            return best;
+        } else {
+            LOG.fine("No solution found.");
+            debug();
+            List<String> conflicts = explainTimeLimitMs > 0
+                    ? explain(!model.getSolver().isStopCriterionMet())
+                    : Collections.emptyList();
+            if (Thread.currentThread().isInterrupted()) throw new RuntimeException("Solve cancelled");
+            if (!conflicts.isEmpty()) throw new InfeasibleScheduleException(conflicts);
+            throw new RuntimeException("No solution found");
+        }
+    }
+
+    /**
+     * Explains why the week has no schedule: the conflicts found by the root checks if any,
+     * otherwise a minimal set of needs that cannot be met together, within
+     * {@link #explainTimeLimitMs}.
+     *
+     * @param proven whether the search proved that there is no schedule, rather than hitting its limit
+     * @return the conflicts, empty if none could be found in time
+     */
+    private List<String> explain(boolean proven) {
+        if (!rootNeedConflicts.isEmpty() || !rootConflicts.isEmpty()) {
+            List<String> conflicts = describeNeeds(rootNeedConflicts);
+            conflicts.addAll(rootConflicts);
+            return conflicts;
+        }
+        ConflictExplainer explainer = new ConflictExplainer(problem, sparse, encoding, searchHeuristic,
+                explainTimeLimitMs);
+        return describeNeeds(explainer.explain(proven));
+    }
+
+    /**
+     * Describes needs for an administrator, merging consecutive hours with the same need. A need
+     * short of employees reads {@code "Friday 18-22 needs 5, only 3 available"}. Otherwise the
+     * wording tells an exact head-count from a skill minimum, e.g.
+     * {@code "Friday 18-22 needs exactly 2 (4 available)"}, {@code "Tuesday 1-2 allows no one
+     * (3 available)"} or {@code "Friday 18-22 needs at least 1 Manager (4 available)"}. A range's
+     * availability is its hour with the fewest employees available.
+     *
+     * @param keys the needs' keys
+     * @return one description per merged range, by skill, day and hour
+     */
+    List<String> describeNeeds(List<Integer> keys) {
+        List<Integer> sorted = new ArrayList<>(keys);
+        Collections.sort(sorted);
+        List<String> descriptions = new ArrayList<>();
+        int slots = MAX_DAYS * MAX_HOURS;
+        for (int from = 0; from < sorted.size(); ) {
+            int key = sorted.get(from);
+            int need = key < slots ? systemNeeds[key] : skillNeeds[key - slots];
+            int available = availableFor(key);
+            int to = from + 1;
+            while (to < sorted.size() && sorted.get(to) == key + (to - from)
+                    && (key + (to - from)) % MAX_HOURS != 0
+                    && (key < slots ? systemNeeds[sorted.get(to)] : skillNeeds[sorted.get(to) - slots]) == need) {
+                available = Math.min(available, availableFor(sorted.get(to)));
+                to++;
+            }
+            int slot = key % slots;
+            int hour = slot % MAX_HOURS;
+            String what = key < slots ? "" : " " + problem.getSkillName(key / slots - 1);
+            String needed;
+            if (available < need) {
+                needed = "needs " + need + what + ", only " + available + " available";
+            } else if (key >= slots) {
+                needed = "needs at least " + need + what + " (" + available + " available)";
+            } else if (need == 0) {
+                needed = "allows no one (" + available + " available)";
+            } else {
+                needed = "needs exactly " + need + " (" + available + " available)";
+            }
+            descriptions.add(TimeUtil.getDayOfWeek(slot / MAX_HOURS) + " " + hour + "-" + (hour + to - from)
+                    + " " + needed);
+            from = to;
+        }
+        return descriptions;
+    }
+
+    /**
+     * Returns how many employees, or employees with the need's skill, are available for a need.
+     *
+     * @param key the need's key
+     * @return the available employees
+     */
+    private int availableFor(int key) {
+        int slots = MAX_DAYS * MAX_HOURS;
+        int slot = key % slots;
+        int available = 0;
+        if (key < slots) {
+            for (int i = 0; i < EmployeeCount; i++) {
+                if (isAvailable(cell(i, slot / MAX_HOURS, slot % MAX_HOURS))) available++;
+            }
+        } else {
+            for (int i : skillMembers[key / slots - 1]) {
+                if (isAvailable(cell(i, slot / MAX_HOURS, slot % MAX_HOURS))) available++;
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Collects the current solution into a Schedule object.
+     *
+     * @return the schedule of the solver's current assignment
+     */
+    private Schedule collectSchedule() {
+        Schedule s = new Schedule();
+        for (int i = 0; i < EmployeeCount; i++) {
+            for (int j = 0; j < MAX_DAYS; j++) {
+                for (int k = 0; k < MAX_HOURS; k++) {
+                    if (schedule[cell(i, j, k)].getValue() == 1) {
+                        s.addEmployeeHour(problem.getEmployeeId(i), j, k);
+                    }
+                }
+            }
+        }
+        return s;
+    }
+
+    /**
+     * Returns the difference between the most and the least weekly hours in the schedule
+     * returned by {@link #Solve()}, when the problem balances hours.
+     *
+     * @return the spread in hours, or -1 if hours are not balanced or nothing was solved
+     */
+    public int getHoursSpread() {
+        return bestSpread;
+    }
+
+    /**
+     * Prints debugging information about the solver's statistics and solutions.
+     * Only active when {@code FINE} logging is enabled, so batch solves stay quiet.
+     */
+    public void debug() {
+        if (!LOG.isLoggable(Level.FINE)) return;
+        LOG.fine("Debugging solver statistics...");
+        LOG.fine(searchHeuristic + ": " + getNodeCount() + " nodes, " + getFailCount() + " fails, "
+                + getSolveTimeMs() + " ms");
+        model.getSolver().showShortStatistics();
+        model.getSolver().showStatistics();
+        model.getSolver().showSolutions();
+    }
+
+    /**
+     * Returns the number of search nodes explored by {@link #Solve()} so far.
+     *
+     * @return the node count
+     */
+    public long getNodeCount() {
+        return model.getSolver().getNodeCount();
+    }
+
+    /**
+     * Returns the number of failures (backtracks) encountered by {@link #Solve()} so far.
+     *
+     * @return the fail count
+     */
+    public long getFailCount() {
+        return model.getSolver().getFailCount();
+    }
+
+    /**
+     * Returns the time spent searching in {@link #Solve()}, excluding model construction
+     * (see {@link #getBuildTimeMs()}).
+     *
+     * @return the search time in milliseconds
+     */
+    public long getSolveTimeMs() {
+        return (long) (model.getSolver().getTimeCount() * 1000);
+    }
+
+    /**
+     * Limits the time {@link #Solve()} may search before giving up with "No solution found",
+     * or, when balancing hours, before returning the best schedule found so far.
+     *
+     * @param timeLimitMs the limit in milliseconds; 0 or less for no limit
+     */
+    public void setTimeLimitMs(long timeLimitMs) {
+        if (timeLimitMs > 0) {
+            model.getSolver().limitTime(timeLimitMs);
+        }
+    }
+
+    /**
+     * Enables explanations of weeks without a schedule, see {@link InfeasibleScheduleException}.
+     * A week that already fails at the root is explained at no cost. Otherwise explaining takes
+     * as long as building the model again, plus at most this limit to check subsets of needs.
+     * When the time runs out, the needs reported still cannot all be met, but the set may not
+     * be minimal.
+     *
+     * @param explainTimeLimitMs the limit in milliseconds; 0 or less for no explanations (the default)
+     */
+    public void setExplainTimeLimitMs(long explainTimeLimitMs) {
+        this.explainTimeLimitMs = Math.max(0, explainTimeLimitMs);
+    }
+
+    /**
+     * Chooses the branching heuristic used by {@link #Solve()}. Defaults to
+     * {@link SearchHeuristic#COVERAGE}.
+     *
+     * @param searchHeuristic the heuristic to use
+     */
+    public void setSearchHeuristic(SearchHeuristic searchHeuristic) {
+        this.searchHeuristic = searchHeuristic;
+    }
+
+    /**
+     * Sets the search strategy for the constraint solver according to {@link #searchHeuristic}.
+     * Only the decision variables (not the constant-zero cells of a sparse model) are branched on.
+     * With {@link Encoding#SHIFTS} every heuristic branches on each employee-day's shift, which
+     * fixes the hours; {@link SearchHeuristic#COVERAGE} then lays shifts along the needs (see
+     * {@link ShiftSearch}).
+     */
+    public void setSearchStrategy() {
+        LOG.fine("Setting search strategy: " + searchHeuristic);
+        int[] cells = new int[schedule.length];
+        int count = 0;
+        for (int c = 0; c < schedule.length; c++) {
+            if (!isFixedZero(c)) cells[count++] = c;
+        }
+        BoolVar[] decisionVars = new BoolVar[count];
+        for (int v = 0; v < count; v++) {
+            decisionVars[v] = schedule[cells[v]];
+        }
+        IntVar[] branchVars = encoding == Encoding.SHIFTS ? shiftVariables() : decisionVars;
+        if (branchVars.length == 0) return; // Nothing to decide
+
+        switch (searchHeuristic) {
+            case COVERAGE:
+                int[] slotOf = new int[count];
+                int[] employeeOf = new int[count];
+                for (int v = 0; v < count; v++) {
+                    slotOf[v] = cells[v] % (MAX_DAYS * MAX_HOURS);
+                    employeeOf[v] = cells[v] / (MAX_DAYS * MAX_HOURS);
+                }
+                int[] skillMaskOf = new int[EmployeeCount];
+                for (int i = 0; i < EmployeeCount; i++) {
+                    skillMaskOf[i] = problem.getSkillMask(i);
+                }
+                if (encoding == Encoding.SHIFTS) {
+                    setShiftSearch(skillMaskOf, branchVars);
+                    break;
+                }
+                CoverageSearch coverage = new CoverageSearch(decisionVars, slotOf, employeeOf, systemNeeds,
+                        skillMaskOf, skillNeeds, SkillCount);
+                model.getSolver().setSearch(Search.intVarSearch(coverage, coverage, decisionVars));
+                break;
+            case DOM_WDEG:
+                model.getSolver().setSearch(Search.domOverWDegSearch(branchVars));
+                model.getSolver().setLubyRestart(RESTART_SCALE, new FailCounter(model, RESTART_SCALE), MAX_RESTARTS);
+                break;
+            case ACTIVITY:
+                model.getSolver().setSearch(Search.activityBasedSearch(branchVars));
+                break;
+            case INPUT_ORDER:
+            default:
+                model.getSolver().setSearch(
+                        Search.intVarSearch(
+                                new InputOrder<>(model), // Variable selection: input order
+                                new IntDomainMax(),      // Value selection: maximum value
+                                branchVars               // Variables in flat cell order
+                        )
+                );
+                break;
+        }
+    }
+
+    /**
+     * Sets {@link ShiftSearch} over the shifts of {@link Encoding#SHIFTS}.
+     *
+     * @param skillMaskOf the skill mask of each employee
+     * @param shiftVars the shift variables, as returned by {@link #shiftVariables()}
+     */
+    private void setShiftSearch(int[] skillMaskOf, IntVar[] shiftVars) {
+        int shifts = shiftVars.length / 2;
+        IntVar[] starts = new IntVar[shifts];
+        IntVar[] lengths = new IntVar[shifts];
+        int[] employeeOf = new int[shifts];
+        int[] dayOf = new int[shifts];
+        int s = 0;
+        for (int d = 0; d < shiftLength.length; d++) {
+            if (shiftLength[d] == null) continue;
+            starts[s] = shiftStart[d];
+            lengths[s] = shiftLength[d];
+            employeeOf[s] = d / MAX_DAYS;
+            dayOf[s] = d % MAX_DAYS;
+            s++;
+        }
+        ShiftSearch search = new ShiftSearch(starts, lengths, employeeOf, dayOf, schedule, MAX_HOURS,
+                problem.getMinShiftHours(), systemNeeds, skillMaskOf, skillNeeds, SkillCount);
+        model.getSolver().setSearch(Search.intVarSearch(search, search, shiftVars));
+    }
+
+    /**
+     * Returns the shift variables to branch on, length before start for each employee-day.
+     *
+     * @return the length and start variables of every employee-day with a shift
+     */
+    private IntVar[] shiftVariables() {
+        IntVar[] vars = new IntVar[2 * shiftLength.length];
+        int count = 0;
+        for (int d = 0; d < shiftLength.length; d++) {
+            if (shiftLength[d] == null) continue;
+            vars[count++] = shiftLength[d];
+            vars[count++] = shiftStart[d];
+        }
+        return Arrays.copyOf(vars, count);
+    }
+}
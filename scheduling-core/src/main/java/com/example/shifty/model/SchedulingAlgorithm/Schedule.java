@@ -1,14 +1,14 @@
 package com.example.shifty.model.SchedulingAlgorithm;
 
-import androidx.annotation.Nullable;
-import com.example.shifty.model.Employee;
-import com.example.shifty.model.EmployeeManager;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Schedule manages the assignment of employees to shifts across a week.
- * It stores which employees are scheduled for each day and hour, and provides
- * methods to add shifts and convert the schedule into employee shift records.
+ * It stores which employees (by ID, see {@link SchedulingProblem#getEmployeeId(int)}) are
+ * scheduled for each day and hour. Turning the schedule into stored shift records is up to
+ * the caller, e.g. the app's {@code ScheduleRepository}.
  *
  * @author Eitan Navon
  */
@@ -16,9 +16,9 @@ public class Schedule {
 
     /**
      * 2D array representing the schedule for each day and hour.
-     * Each cell contains a list of employees scheduled at that time.
+     * Each cell contains the IDs of the employees scheduled at that time.
      */
-    ArrayList<Employee>[][] schedule;
+    ArrayList<String>[][] schedule;
 
     /**
      * Constructs an empty Schedule for 7 days and 22 hours per day.
@@ -27,7 +27,7 @@ public class Schedule {
         schedule = new ArrayList[7][22];
         for (int i = 0; i < 7; i++) {
             for (int j = 0; j < 22; j++) {
-                schedule[i][j] = new ArrayList<Employee>();
+                schedule[i][j] = new ArrayList<String>();
             }
         }
     }
@@ -35,26 +35,37 @@ public class Schedule {
     /**
      * Adds an employee to a shift spanning from startHour to endHour on a given day.
      *
-     * @param e the employee to add
+     * @param employeeId the ID of the employee to add
      * @param day the day of the week (0 = Sunday, 6 = Saturday)
      * @param startHour the starting hour of the shift (inclusive)
      * @param endHour the ending hour of the shift (exclusive)
      */
-    public void addShift(Employee e, int day, int startHour, int endHour) {
+    public void addShift(String employeeId, int day, int startHour, int endHour) {
         for (int i = startHour; i < endHour; i++) {
-            schedule[day][i].add(e);
+            schedule[day][i].add(employeeId);
         }
     }
 
     /**
      * Adds an employee to a specific hour on a given day.
      *
-     * @param e the employee to add
+     * @param employeeId the ID of the employee to add
      * @param day the day of the week (0 = Sunday, 6 = Saturday)
      * @param hour the hour to add the employee to
      */
-    public void addEmployeeHour(Employee e, int day, int hour) {
-        schedule[day][hour].add(e);
+    public void addEmployeeHour(String employeeId, int day, int hour) {
+        schedule[day][hour].add(employeeId);
+    }
+
+    /**
+     * Returns the IDs of the employees scheduled at a given day and hour.
+     *
+     * @param day the day of the week (0 = Sunday, 6 = Saturday)
+     * @param hour the hour index (0-21)
+     * @return an unmodifiable view of the scheduled employee IDs
+     */
+    public List<String> getEmployees(int day, int hour) {
+        return Collections.unmodifiableList(schedule[day][hour]);
     }
 
     /**
@@ -64,22 +75,7 @@ public class Schedule {
      * @return true if equal, false otherwise
      */
     @Override
-    public boolean equals(@Nullable Object obj) {
+    public boolean equals(Object obj) {
         return super.equals(obj);
     }
-
-    /**
-     * Converts the schedule into shift records for each employee and saves all employees.
-     * For each scheduled hour, adds a shift to the corresponding employee.
-     */
-    public void ScheduleToShifts() {
-        for (int i = 0; i < 7; i++) {
-            for (int j = 0; j < 22; j++) {
-                for (Employee e : schedule[i][j]) {
-                    e.addShift(i, j, j + 1);
-                }
-            }
-        }
-        EmployeeManager.getInstance().saveAllEmployees(); // Save all employees to the database
-    }
-}
\ No newline at end of file
+}
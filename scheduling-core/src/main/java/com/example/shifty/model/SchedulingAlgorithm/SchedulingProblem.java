@@ -0,0 +1,592 @@
+package com.example.shifty.model.SchedulingAlgorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable input to {@link ModelSolver}: the employees to schedule, when each of them is
+ * available, and how many employees are needed at every hour of the week.
+ * <p>
+ * Optionally, the problem also names skills (e.g. "shift manager", "cashier", "cook"), the
+ * skills of each employee, and per skill how many of the scheduled employees must have it at
+ * every hour. Skill needs are minimums within the overall head-count: an hour needing three
+ * employees, at least one of them a shift manager, is a system need of 3 and a manager need of 1.
+ * An employee with several skills counts towards each of them.
+ * </p>
+ * <p>
+ * Workload rules: each employee may have a minimum and maximum number of hours per week, every
+ * employee gets at least {@link #getMinRestHours()} hours of rest between the shifts of two
+ * consecutive days, and the solver can be asked to balance hours, minimising the difference
+ * between the most and the least hours worked (see {@link #isBalanceHours()}).
+ * </p>
+ * <p>
+ * A shift lasts at most {@link #getMaxShiftHours()} hours. Solvers that model whole shifts
+ * rather than single hours also keep every shift at least {@link #getMinShiftHours()} long.
+ * </p>
+ * <p>
+ * The problem only holds identifiers and primitive arrays, so it can be built from the app's
+ * live roster, read from a file or received over the network, and shared between threads
+ * without locking. Employees are referred to by index in the solver and by ID in the
+ * resulting {@link Schedule}.
+ * </p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * {@code
+ * SchedulingProblem.Builder builder = SchedulingProblem.builder();
+ * int alice = builder.addEmployee("uid-alice", "Alice");
+ * builder.setUnavailable(alice, 5, 0, 21); // Friday off
+ * int manager = builder.addSkill("manager");
+ * builder.addEmployeeSkill(alice, manager);
+ * builder.setSkillNeeds(manager, managerNeeds); // e.g. 1 at every opening hour
+ * SchedulingProblem problem = builder.setSystemNeeds(needs).build();
+ * Schedule schedule = new ModelSolver(problem).Solve();
+ * }
+ * </pre>
+ *
+ * @author Eitan Navon
+ * @see ModelSolver
+ * @see Schedule
+ */
+public final class SchedulingProblem {
+
+    /** Number of days in the scheduled week. */
+    public static final int DAYS_IN_WEEK = 7;
+
+    /** Number of hour slots per day. */
+    public static final int HOURS_PER_DAY = 22;
+
+    /** Maximum number of skills, one bit each in an employee's skill mask. */
+    public static final int MAX_SKILLS = Integer.SIZE;
+
+    /** Weekly hours of an employee without a cap: every slot of the week. */
+    public static final int UNLIMITED_WEEKLY_HOURS = DAYS_IN_WEEK * HOURS_PER_DAY;
+
+    /**
+     * Default rest between the shifts of consecutive days. Nine hours also forbids every pair
+     * of late and early hours the solver's earlier fixed "no overnight shifts" rule did.
+     */
+    public static final int DEFAULT_MIN_REST_HOURS = 9;
+
+    /** Largest supported rest; a slot and the same slot of the next day are 24 hours apart. */
+    public static final int MAX_REST_HOURS = 24;
+
+    /** Default shortest shift, for solvers that model whole shifts. */
+    public static final int DEFAULT_MIN_SHIFT_HOURS = 4;
+
+    /** Default longest shift, i.e. the most hours worked on one day. */
+    public static final int DEFAULT_MAX_SHIFT_HOURS = 8;
+
+    private final String[] employeeIds;
+    private final String[] employeeNames;
+
+    /** Availability masks indexed {@code employee * DAYS_IN_WEEK + day}; bit {@code h} = available at hour {@code h}. */
+    private final int[] availabilityMasks;
+
+    /** System needs indexed {@code day * HOURS_PER_DAY + hour}. */
+    private final int[] systemNeeds;
+
+    private final String[] skillNames;
+
+    /** Skill masks indexed by employee; bit {@code s} = has skill {@code s}. */
+    private final int[] skillMasks;
+
+    /** Skill needs indexed {@code (skill * DAYS_IN_WEEK + day) * HOURS_PER_DAY + hour}. */
+    private final int[] skillNeeds;
+
+    /** Weekly hour bounds indexed by employee. */
+    private final int[] minWeeklyHours;
+    private final int[] maxWeeklyHours;
+
+    private final int minRestHours;
+    private final boolean balanceHours;
+    private final int minShiftHours;
+    private final int maxShiftHours;
+
+    private SchedulingProblem(Builder builder) {
+        this.employeeIds = builder.employeeIds.toArray(new String[0]);
+        this.employeeNames = builder.employeeNames.toArray(new String[0]);
+        this.availabilityMasks = Arrays.copyOf(builder.availabilityMasks, employeeIds.length * DAYS_IN_WEEK);
+        this.systemNeeds = builder.systemNeeds.clone();
+        this.skillNames = builder.skillNames.toArray(new String[0]);
+        this.skillMasks = Arrays.copyOf(builder.skillMasks, employeeIds.length);
+        this.skillNeeds = Arrays.copyOf(builder.skillNeeds, skillNames.length * DAYS_IN_WEEK * HOURS_PER_DAY);
+        this.minWeeklyHours = Arrays.copyOf(builder.minWeeklyHours, employeeIds.length);
+        this.maxWeeklyHours = Arrays.copyOf(builder.maxWeeklyHours, employeeIds.length);
+        this.minRestHours = builder.minRestHours;
+        this.balanceHours = builder.balanceHours;
+        this.minShiftHours = builder.minShiftHours;
+        this.maxShiftHours = builder.maxShiftHours;
+    }
+
+    /**
+     * Returns a builder for a new problem.
+     *
+     * @return an empty builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns the number of employees in the problem.
+     *
+     * @return the employee count
+     */
+    public int getEmployeeCount() {
+        return employeeIds.length;
+    }
+
+    /**
+     * Returns the ID of the employee at the given index.
+     *
+     * @param employee the employee index
+     * @return the employee ID
+     */
+    public String getEmployeeId(int employee) {
+        return employeeIds[employee];
+    }
+
+    /**
+     * Returns the display name of the employee at the given index.
+     *
+     * @param employee the employee index
+     * @return the employee name
+     */
+    public String getEmployeeName(int employee) {
+        return employeeNames[employee];
+    }
+
+    /**
+     * Returns whether an employee is available at a given day and hour.
+     *
+     * @param employee the employee index
+     * @param day      the day of the week (0=Sunday, 6=Saturday)
+     * @param hour     the hour index (0-21)
+     * @return {@code true} if available
+     */
+    public boolean isAvailable(int employee, int day, int hour) {
+        return (availabilityMasks[employee * DAYS_IN_WEEK + day] & (1 << hour)) != 0;
+    }
+
+    /**
+     * Returns an employee's availability mask for a day.
+     *
+     * @param employee the employee index
+     * @param day      the day of the week (0=Sunday, 6=Saturday)
+     * @return the mask; bit {@code h} is set when available at hour {@code h}
+     */
+    public int getAvailabilityMask(int employee, int day) {
+        return availabilityMasks[employee * DAYS_IN_WEEK + day];
+    }
+
+    /**
+     * Returns the number of employees needed at a given day and hour.
+     *
+     * @param day  the day of the week (0=Sunday, 6=Saturday)
+     * @param hour the hour index (0-21)
+     * @return the number of employees needed
+     */
+    public int getSystemNeed(int day, int hour) {
+        return systemNeeds[day * HOURS_PER_DAY + hour];
+    }
+
+    /**
+     * Returns the system needs as a new {@code [day][hour]} array.
+     *
+     * @return a copy of the system needs
+     */
+    public int[][] getSystemNeeds() {
+        int[][] copy = new int[DAYS_IN_WEEK][];
+        for (int day = 0; day < DAYS_IN_WEEK; day++) {
+            copy[day] = Arrays.copyOfRange(systemNeeds, day * HOURS_PER_DAY, (day + 1) * HOURS_PER_DAY);
+        }
+        return copy;
+    }
+
+    /**
+     * Returns the number of skills in the problem.
+     *
+     * @return the skill count, 0 if only head-counts are needed
+     */
+    public int getSkillCount() {
+        return skillNames.length;
+    }
+
+    /**
+     * Returns the name of the skill at the given index.
+     *
+     * @param skill the skill index
+     * @return the skill name
+     */
+    public String getSkillName(int skill) {
+        return skillNames[skill];
+    }
+
+    /**
+     * Returns an employee's skills.
+     *
+     * @param employee the employee index
+     * @return the mask; bit {@code s} is set when the employee has skill {@code s}
+     */
+    public int getSkillMask(int employee) {
+        return skillMasks[employee];
+    }
+
+    /**
+     * Returns whether an employee has a skill.
+     *
+     * @param employee the employee index
+     * @param skill    the skill index
+     * @return {@code true} if the employee has the skill
+     */
+    public boolean hasSkill(int employee, int skill) {
+        return (skillMasks[employee] & (1 << skill)) != 0;
+    }
+
+    /**
+     * Returns the minimum number of scheduled employees with a skill at a given day and hour.
+     *
+     * @param skill the skill index
+     * @param day   the day of the week (0=Sunday, 6=Saturday)
+     * @param hour  the hour index (0-21)
+     * @return the number of employees with the skill needed
+     */
+    public int getSkillNeed(int skill, int day, int hour) {
+        return skillNeeds[(skill * DAYS_IN_WEEK + day) * HOURS_PER_DAY + hour];
+    }
+
+    /**
+     * Returns the needs of a skill as a new {@code [day][hour]} array.
+     *
+     * @param skill the skill index
+     * @return a copy of the skill's needs
+     */
+    public int[][] getSkillNeeds(int skill) {
+        int[][] copy = new int[DAYS_IN_WEEK][];
+        for (int day = 0; day < DAYS_IN_WEEK; day++) {
+            int from = (skill * DAYS_IN_WEEK + day) * HOURS_PER_DAY;
+            copy[day] = Arrays.copyOfRange(skillNeeds, from, from + HOURS_PER_DAY);
+        }
+        return copy;
+    }
+
+    /**
+     * Returns the least number of hours an employee must work in the week.
+     *
+     * @param employee the employee index
+     * @return the minimum weekly hours, 0 if none
+     */
+    public int getMinWeeklyHours(int employee) {
+        return minWeeklyHours[employee];
+    }
+
+    /**
+     * Returns the most hours an employee may work in the week.
+     *
+     * @param employee the employee index
+     * @return the maximum weekly hours, {@link #UNLIMITED_WEEKLY_HOURS} if uncapped
+     */
+    public int getMaxWeeklyHours(int employee) {
+        return maxWeeklyHours[employee];
+    }
+
+    /**
+     * Returns the minimum rest between an employee's last hour on one day and first hour on the
+     * next. The week wraps around, so Saturday's shift is followed by Sunday's.
+     *
+     * @return the rest in hours, 0 for no rule
+     */
+    public int getMinRestHours() {
+        return minRestHours;
+    }
+
+    /**
+     * Returns whether the solver should minimise the difference between the most and the least
+     * weekly hours of the employees who are available at all, rather than stop at the first schedule.
+     *
+     * @return {@code true} to balance hours
+     */
+    public boolean isBalanceHours() {
+        return balanceHours;
+    }
+
+    /**
+     * Returns the shortest shift. Only solvers that model whole shifts enforce it; an
+     * hour-by-hour model may still produce shorter fragments.
+     *
+     * @return the minimum shift length in hours
+     */
+    public int getMinShiftHours() {
+        return minShiftHours;
+    }
+
+    /**
+     * Returns the longest shift, which is also the most hours an employee works on one day.
+     *
+     * @return the maximum shift length in hours
+     */
+    public int getMaxShiftHours() {
+        return maxShiftHours;
+    }
+
+    /**
+     * Collects employees, availability, skills, needs and workload rules for a {@link SchedulingProblem}.
+     * Employees start out available at every hour, without skills and without weekly bounds; all
+     * needs start out at zero; rest is {@link #DEFAULT_MIN_REST_HOURS}, hours are not balanced, and
+     * shifts last {@link #DEFAULT_MIN_SHIFT_HOURS} to {@link #DEFAULT_MAX_SHIFT_HOURS} hours.
+     */
+    public static final class Builder {
+
+        private final List<String> employeeIds = new ArrayList<>();
+        private final List<String> employeeNames = new ArrayList<>();
+        private int[] availabilityMasks = new int[16 * DAYS_IN_WEEK];
+        private final int[] systemNeeds = new int[DAYS_IN_WEEK * HOURS_PER_DAY];
+        private final List<String> skillNames = new ArrayList<>();
+        private int[] skillMasks = new int[16];
+        private int[] skillNeeds = new int[0];
+        private int[] minWeeklyHours = new int[16];
+        private int[] maxWeeklyHours = new int[16];
+        private int minRestHours = DEFAULT_MIN_REST_HOURS;
+        private boolean balanceHours;
+        private int minShiftHours = DEFAULT_MIN_SHIFT_HOURS;
+        private int maxShiftHours = DEFAULT_MAX_SHIFT_HOURS;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds an employee who is available at every hour of the week.
+         *
+         * @param id   the employee ID, reported back in the {@link Schedule}
+         * @param name the display name, used in logs and reports
+         * @return the index of the new employee
+         */
+        public int addEmployee(String id, String name) {
+            int[] masks = new int[DAYS_IN_WEEK];
+            Arrays.fill(masks, -1);
+            return addEmployee(id, name, masks);
+        }
+
+        /**
+         * Adds an employee with the given availability.
+         *
+         * @param id                the employee ID, reported back in the {@link Schedule}
+         * @param name              the display name, used in logs and reports
+         * @param availabilityMasks one mask per day of the week; bit {@code h} is set when
+         *                          available at hour {@code h}
+         * @return the index of the new employee
+         * @throws IllegalArgumentException if there is not exactly one mask per day
+         */
+        public int addEmployee(String id, String name, int[] availabilityMasks) {
+            if (availabilityMasks.length != DAYS_IN_WEEK) {
+                throw new IllegalArgumentException("Expected " + DAYS_IN_WEEK + " availability masks, got " + availabilityMasks.length);
+            }
+            int employee = employeeIds.size();
+            if ((employee + 1) * DAYS_IN_WEEK > this.availabilityMasks.length) {
+                this.availabilityMasks = Arrays.copyOf(this.availabilityMasks, this.availabilityMasks.length * 2);
+            }
+            System.arraycopy(availabilityMasks, 0, this.availabilityMasks, employee * DAYS_IN_WEEK, DAYS_IN_WEEK);
+            if (employee >= skillMasks.length) {
+                skillMasks = Arrays.copyOf(skillMasks, skillMasks.length * 2);
+                minWeeklyHours = Arrays.copyOf(minWeeklyHours, skillMasks.length);
+                maxWeeklyHours = Arrays.copyOf(maxWeeklyHours, skillMasks.length);
+            }
+            maxWeeklyHours[employee] = UNLIMITED_WEEKLY_HOURS;
+            employeeIds.add(id);
+            employeeNames.add(name);
+            return employee;
+        }
+
+        /**
+         * Marks an employee unavailable for a range of hours on one day, like an app {@link Constraint}.
+         *
+         * @param employee  the employee index returned by {@link #addEmployee(String, String)}
+         * @param day       the day of the week (0=Sunday, 6=Saturday)
+         * @param startHour the first unavailable hour
+         * @param endHour   the last unavailable hour (inclusive)
+         * @return this builder
+         */
+        public Builder setUnavailable(int employee, int day, int startHour, int endHour) {
+            for (int hour = Math.max(0, startHour); hour <= Math.min(Integer.SIZE - 1, endHour); hour++) {
+                availabilityMasks[employee * DAYS_IN_WEEK + day] &= ~(1 << hour);
+            }
+            return this;
+        }
+
+        /**
+         * Sets the number of employees needed at every day and hour.
+         *
+         * @param systemNeeds the system needs, indexed {@code [day][hour]}
+         * @return this builder
+         */
+        public Builder setSystemNeeds(int[][] systemNeeds) {
+            for (int day = 0; day < DAYS_IN_WEEK; day++) {
+                System.arraycopy(systemNeeds[day], 0, this.systemNeeds, day * HOURS_PER_DAY, HOURS_PER_DAY);
+            }
+            return this;
+        }
+
+        /**
+         * Sets the number of employees needed at every day and hour from a flat array.
+         *
+         * @param systemNeeds the system needs, indexed {@code day * HOURS_PER_DAY + hour}
+         * @return this builder
+         */
+        public Builder setSystemNeeds(int[] systemNeeds) {
+            System.arraycopy(systemNeeds, 0, this.systemNeeds, 0, DAYS_IN_WEEK * HOURS_PER_DAY);
+            return this;
+        }
+
+        /**
+         * Sets the number of employees needed at one day and hour.
+         *
+         * @param day  the day of the week (0=Sunday, 6=Saturday)
+         * @param hour the hour index (0-21)
+         * @param need the number of employees needed
+         * @return this builder
+         */
+        public Builder setSystemNeed(int day, int hour, int need) {
+            systemNeeds[day * HOURS_PER_DAY + hour] = need;
+            return this;
+        }
+
+        /**
+         * Adds a skill, or finds it if a skill of that name was already added.
+         *
+         * @param name the skill name, e.g. "manager"
+         * @return the index of the skill
+         * @throws IllegalArgumentException if there would be more than {@link #MAX_SKILLS} skills
+         */
+        public int addSkill(String name) {
+            int skill = skillNames.indexOf(name);
+            if (skill >= 0) return skill;
+            if (skillNames.size() == MAX_SKILLS) {
+                throw new IllegalArgumentException("At most " + MAX_SKILLS + " skills are supported");
+            }
+            skillNames.add(name);
+            skillNeeds = Arrays.copyOf(skillNeeds, skillNames.size() * DAYS_IN_WEEK * HOURS_PER_DAY);
+            return skillNames.size() - 1;
+        }
+
+        /**
+         * Gives an employee a skill.
+         *
+         * @param employee the employee index returned by {@link #addEmployee(String, String)}
+         * @param skill    the skill index returned by {@link #addSkill(String)}
+         * @return this builder
+         */
+        public Builder addEmployeeSkill(int employee, int skill) {
+            checkSkill(skill);
+            skillMasks[employee] |= 1 << skill;
+            return this;
+        }
+
+        /**
+         * Sets the minimum number of employees with a skill at every day and hour.
+         *
+         * @param skill the skill index returned by {@link #addSkill(String)}
+         * @param needs the skill's needs, indexed {@code [day][hour]}
+         * @return this builder
+         */
+        public Builder setSkillNeeds(int skill, int[][] needs) {
+            checkSkill(skill);
+            for (int day = 0; day < DAYS_IN_WEEK; day++) {
+                System.arraycopy(needs[day], 0, skillNeeds, (skill * DAYS_IN_WEEK + day) * HOURS_PER_DAY, HOURS_PER_DAY);
+            }
+            return this;
+        }
+
+        /**
+         * Sets the minimum number of employees with a skill at one day and hour.
+         *
+         * @param skill the skill index returned by {@link #addSkill(String)}
+         * @param day   the day of the week (0=Sunday, 6=Saturday)
+         * @param hour  the hour index (0-21)
+         * @param need  the number of employees with the skill needed
+         * @return this builder
+         */
+        public Builder setSkillNeed(int skill, int day, int hour, int need) {
+            checkSkill(skill);
+            skillNeeds[(skill * DAYS_IN_WEEK + day) * HOURS_PER_DAY + hour] = need;
+            return this;
+        }
+
+        /**
+         * Bounds the hours an employee works in the week.
+         *
+         * @param employee the employee index returned by {@link #addEmployee(String, String)}
+         * @param min      the minimum weekly hours, 0 for none
+         * @param max      the maximum weekly hours, {@link #UNLIMITED_WEEKLY_HOURS} for no cap
+         * @return this builder
+         * @throws IllegalArgumentException if the bounds are negative or {@code min > max}
+         */
+        public Builder setWeeklyHours(int employee, int min, int max) {
+            if (min < 0 || min > max) {
+                throw new IllegalArgumentException("Invalid weekly hours " + min + ".." + max);
+            }
+            minWeeklyHours[employee] = min;
+            maxWeeklyHours[employee] = Math.min(max, UNLIMITED_WEEKLY_HOURS);
+            return this;
+        }
+
+        /**
+         * Sets the minimum rest between the shifts of consecutive days.
+         *
+         * @param hours the rest in hours, 0 for no rule
+         * @return this builder
+         * @throws IllegalArgumentException if the rest is negative or above {@link #MAX_REST_HOURS}
+         */
+        public Builder setMinRestHours(int hours) {
+            if (hours < 0 || hours > MAX_REST_HOURS) {
+                throw new IllegalArgumentException("Rest must be between 0 and " + MAX_REST_HOURS + " hours");
+            }
+            minRestHours = hours;
+            return this;
+        }
+
+        /**
+         * Sets whether the solver should balance weekly hours between employees.
+         *
+         * @param balanceHours {@code true} to minimise the spread of weekly hours
+         * @return this builder
+         */
+        public Builder setBalanceHours(boolean balanceHours) {
+            this.balanceHours = balanceHours;
+            return this;
+        }
+
+        /**
+         * Sets the shortest and longest shift.
+         *
+         * @param min the minimum shift length in hours
+         * @param max the maximum shift length in hours
+         * @return this builder
+         * @throws IllegalArgumentException unless {@code 1 <= min <= max <= HOURS_PER_DAY}
+         */
+        public Builder setShiftHours(int min, int max) {
+            if (min < 1 || min > max || max > HOURS_PER_DAY) {
+                throw new IllegalArgumentException("Invalid shift length " + min + ".." + max);
+            }
+            minShiftHours = min;
+            maxShiftHours = max;
+            return this;
+        }
+
+        private void checkSkill(int skill) {
+            if (skill < 0 || skill >= skillNames.size()) {
+                throw new IllegalArgumentException("Unknown skill index " + skill);
+            }
+        }
+
+        /**
+         * Creates the problem. The builder may be reused afterwards without affecting it.
+         *
+         * @return the immutable problem
+         */
+        public SchedulingProblem build() {
+            return new SchedulingProblem(this);
+        }
+    }
+}
@@ -32,6 +32,14 @@ public class Shift extends TimeStamp {
         super(day, startHour, endHour, date);
     }
 
+    /**
+     * Default constructor for Shift.
+     * Required for Firebase deserialization.
+     */
+    public Shift() {
+        super();
+    }
+
     /**
      * Constructs a new {@code Shift} from a {@code Map} representation, typically loaded from
      * a remote database or used for deserialization.
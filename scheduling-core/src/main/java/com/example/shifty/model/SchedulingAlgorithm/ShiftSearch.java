@@ -0,0 +1,280 @@
+package com.example.shifty.model.SchedulingAlgorithm;
+
+import org.chocosolver.solver.search.strategy.selectors.values.IntValueSelector;
+import org.chocosolver.solver.search.strategy.selectors.variables.VariableSelector;
+import org.chocosolver.solver.variables.BoolVar;
+import org.chocosolver.solver.variables.IntVar;
+
+import java.util.Arrays;
+
+/**
+ * Branching heuristic for {@link ModelSolver.Encoding#SHIFTS}, the shift counterpart of
+ * {@link CoverageSearch}.
+ * <p>
+ * It sweeps the week in slot order. At every decision it recomputes how many employees each slot
+ * already has and finds the earliest slot still short of its need. A shift length is
+ * <em>clean</em> if the employee can work all its hours, they all still need someone, and it
+ * leaves either no gap or a gap of at least the minimum shift length before the need is met, so
+ * the following shift can fill it. The heuristic starts a shift at that slot for an employee who
+ * has a clean length there, preferring the one covering the most still-missing skills, then the
+ * one with the fewest hours so far; the next decision gives the shift its longest clean length.
+ * Shifts are thus laid end to end along the need profile instead of being grown hour by hour,
+ * and most weeks are solved without backtracking.
+ * Once every slot is covered, the remaining shifts are set to days off.
+ * </p>
+ *
+ * <p>
+ * Like {@link CoverageSearch}, each decision costs a linear pass over the hour variables.
+ * </p>
+ *
+ * @author Eitan Navon
+ * @see ModelSolver.SearchHeuristic#COVERAGE
+ */
+class ShiftSearch implements VariableSelector<IntVar>, IntValueSelector {
+
+    /** Start variable of each shift. */
+    private final IntVar[] start;
+
+    /** Length variable of each shift, 0 on a day off. */
+    private final IntVar[] length;
+
+    /** Employee index of each shift. */
+    private final int[] employeeOf;
+
+    /** Day of each shift. */
+    private final int[] dayOf;
+
+    /** Hour variables of every cell, indexed {@code (employee * days + day) * hours + hour}. */
+    private final BoolVar[] schedule;
+
+    /** Hours per day. */
+    private final int hours;
+
+    /** Shortest shift. */
+    private final int minLength;
+
+    /** Employees needed per slot ({@code day * hours + hour}). */
+    private final int[] need;
+
+    /** Skill mask of each employee; bit {@code s} = has skill {@code s}. */
+    private final int[] skillMaskOf;
+
+    /** Employees with a skill needed, indexed {@code skill * slots + slot}. */
+    private final int[] skillNeed;
+
+    /** Number of skills. */
+    private final int skills;
+
+    // Scratch state recomputed at every decision
+    private final int[] assigned;
+    private final int[] load;
+    private final int[] skillAssigned;
+    private IntVar chosen;
+    private int chosenValue;
+
+    /**
+     * Creates the heuristic for a set of shifts.
+     *
+     * @param start       the start variable of each shift
+     * @param length      the length variable of each shift
+     * @param employeeOf  the employee of each shift
+     * @param dayOf       the day of each shift
+     * @param schedule    the hour variables of every cell
+     * @param hours       the hours per day
+     * @param minLength   the shortest shift
+     * @param need        the employees needed per slot
+     * @param skillMaskOf the skill mask of each employee
+     * @param skillNeed   the employees with each skill needed per slot, indexed {@code skill * slots + slot}
+     * @param skills      the number of skills, 0 for head-counts only
+     */
+    ShiftSearch(IntVar[] start, IntVar[] length, int[] employeeOf, int[] dayOf, BoolVar[] schedule,
+                int hours, int minLength, int[] need, int[] skillMaskOf, int[] skillNeed, int skills) {
+        this.start = start;
+        this.length = length;
+        this.employeeOf = employeeOf;
+        this.dayOf = dayOf;
+        this.schedule = schedule;
+        this.hours = hours;
+        this.minLength = minLength;
+        this.need = need;
+        this.skillMaskOf = skillMaskOf;
+        this.skillNeed = skillNeed;
+        this.skills = skills;
+        assigned = new int[need.length];
+        load = new int[skillMaskOf.length];
+        skillAssigned = new int[skillNeed.length];
+    }
+
+    /**
+     * Returns the variable to branch on: the missing half of a partly decided shift, else the
+     * start of a new shift at the earliest slot short of its need, else the length of a shift
+     * still undecided once every slot is covered.
+     *
+     * @param variables the decision variables (the start and length of every shift)
+     * @return the variable to branch on, or {@code null} if all shifts are decided
+     */
+    @Override
+    public IntVar getVariable(IntVar[] variables) {
+        count();
+        chosen = null;
+
+        for (int s = 0; s < start.length; s++) {
+            if (start[s].isInstantiated() && !length[s].isInstantiated()) {
+                return choose(length[s], bestLength(s));
+            }
+            if (!start[s].isInstantiated() && length[s].isInstantiated()) {
+                return choose(start[s], start[s].getLB());
+            }
+        }
+
+        int slot = 0;
+        while (slot < need.length && assigned[slot] >= need[slot]) slot++;
+        if (slot == need.length) {
+            // Every slot is covered: the remaining shifts are days off
+            for (int s = 0; s < start.length; s++) {
+                if (!length[s].isInstantiated()) return choose(length[s], 0);
+            }
+            return null;
+        }
+
+        int day = slot / hours;
+        int hour = slot % hours;
+        int missingSkills = 0;
+        for (int skill = 0; skill < skills; skill++) {
+            int index = skill * need.length + slot;
+            if (skillAssigned[index] < skillNeed[index]) missingSkills |= 1 << skill;
+        }
+        int best = -1;
+        boolean bestClean = false;
+        int bestCovered = -1;
+        int bestLoad = Integer.MAX_VALUE;
+        for (int s = 0; s < start.length; s++) {
+            if (dayOf[s] != day || start[s].isInstantiated() || !start[s].contains(hour)) continue;
+            if (length[s].getUB() == 0 || !hourVar(s, hour).contains(1)) continue;
+            int employee = employeeOf[s];
+            boolean clean = cleanLength(s, hour) > 0;
+            int covered = Integer.bitCount(skillMaskOf[employee] & missingSkills);
+            if ((clean && !bestClean) || (clean == bestClean && (covered > bestCovered
+                    || (covered == bestCovered && load[employee] < bestLoad)))) {
+                bestClean = clean;
+                bestCovered = covered;
+                bestLoad = load[employee];
+                best = s;
+            }
+        }
+        if (best >= 0) return choose(start[best], hour);
+
+        // Nobody can start here: decide anything left, and propagation will reject the week
+        for (int s = 0; s < start.length; s++) {
+            if (!length[s].isInstantiated()) return choose(length[s], length[s].getLB());
+            if (!start[s].isInstantiated()) return choose(start[s], start[s].getLB());
+        }
+        return null;
+    }
+
+    /**
+     * Returns the value chosen by the preceding {@link #getVariable(IntVar[])} call, or the lower
+     * bound if that value was removed meanwhile.
+     *
+     * @param var the variable selected for branching
+     * @return the value to try first
+     */
+    @Override
+    public int selectValue(IntVar var) {
+        return var == chosen && var.contains(chosenValue) ? chosenValue : var.getLB();
+    }
+
+    private IntVar choose(IntVar var, int value) {
+        chosen = var;
+        chosenValue = value;
+        return var;
+    }
+
+    /**
+     * Returns the preferred length of a shift whose start is decided: its longest clean length,
+     * else the longest whose hours can be worked and need someone, else the shortest working one.
+     *
+     * @param s the shift
+     * @return the length to try first
+     */
+    private int bestLength(int s) {
+        int from = start[s].getValue();
+        int clean = cleanLength(s, from);
+        if (clean > 0) return clean;
+        int shortest = -1;
+        IntVar lengths = length[s];
+        for (int l = lengths.getUB(); l > 0; l = lengths.previousValue(l)) {
+            if (fits(s, from, l)) return l;
+            shortest = l;
+        }
+        return shortest > 0 ? shortest : lengths.getLB();
+    }
+
+    /**
+     * Returns the longest clean length of a shift starting at an hour: one the employee can work,
+     * whose hours all still need someone, and that leaves no gap, or one of at least the minimum
+     * shift length, before the need is met.
+     *
+     * @param s    the shift
+     * @param from the start hour
+     * @return the length, or 0 if none is clean
+     */
+    private int cleanLength(int s, int from) {
+        int base = dayOf[s] * hours;
+        IntVar lengths = length[s];
+        int longest = Math.min(lengths.getUB(), hours - from);
+        for (int l = lengths.contains(longest) ? longest : lengths.previousValue(longest); l > 0; l = lengths.previousValue(l)) {
+            if (!fits(s, from, l)) continue;
+            int end = from + l;
+            int roomEnd = end;
+            while (roomEnd < hours && assigned[base + roomEnd] < need[base + roomEnd]) roomEnd++;
+            int gap = roomEnd - end;
+            if (gap == 0 || gap >= minLength) return l;
+        }
+        return 0;
+    }
+
+    /**
+     * Returns whether a shift can cover the given hours: the employee can work each of them, and
+     * each either is already the shift's own (forced) hour or still needs someone.
+     *
+     * @param s    the shift
+     * @param from the start hour
+     * @param l    the length
+     * @return {@code true} if the hours fit
+     */
+    private boolean fits(int s, int from, int l) {
+        int base = dayOf[s] * hours;
+        for (int h = from; h < from + l; h++) {
+            BoolVar hour = hourVar(s, h);
+            if (!hour.contains(1)) return false;
+            if (!hour.isInstantiated() && assigned[base + h] >= need[base + h]) return false;
+        }
+        return true;
+    }
+
+    private BoolVar hourVar(int s, int hour) {
+        return schedule[(employeeOf[s] * (need.length / hours) + dayOf[s]) * hours + hour];
+    }
+
+    /**
+     * Recomputes the employees already working each slot, per skill too, and the hours
+     * assigned to each employee.
+     */
+    private void count() {
+        Arrays.fill(assigned, 0);
+        Arrays.fill(load, 0);
+        if (skills > 0) Arrays.fill(skillAssigned, 0);
+        int slots = need.length;
+        for (int c = 0; c < schedule.length; c++) {
+            if (!schedule[c].isInstantiatedTo(1)) continue;
+            int slot = c % slots;
+            int employee = c / slots;
+            assigned[slot]++;
+            load[employee]++;
+            for (int mask = skillMaskOf[employee]; mask != 0; mask &= mask - 1) {
+                skillAssigned[Integer.numberOfTrailingZeros(mask) * slots + slot]++;
+            }
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.shifty.model.SchedulingAlgorithm;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Date-ordered storage for an employee's {@link Shift}s.
+ * <p>
+ * Shifts are kept in a {@link TreeMap} keyed by epoch day, then start hour, so that:
+ * <ul>
+ *     <li>insertion is O(log n) and merges the new shift with a directly adjacent or
+ *     overlapping shift on the same date;</li>
+ *     <li>date-range queries ({@link #between(LocalDate, LocalDate)}) cost O(log n + k);</li>
+ *     <li>old shifts can be archived in one operation ({@link #archiveBefore(LocalDate)}).</li>
+ * </ul>
+ * A per-date hour total is maintained alongside for O(1) "has a shift on this day" checks.
+ * </p>
+ *
+ * <p>
+ * Each shift has a stable ID ({@link #idOf(Shift)}) derived from its date and start hour.
+ * The timeline records which IDs were written or removed since the last
+ * {@link #takeChanges()}, so callers can persist only the changed shifts.
+ * </p>
+ *
+ * @author Eitan Navon
+ * @see Shift
+ */
+public class ShiftTimeline {
+
+    /** Key stride per day; larger than any hour index so keys sort by date, then start hour. */
+    private static final long HOURS_KEY_STRIDE = 24;
+
+    /** Shifts ordered by {@link #key(long, int)}. */
+    private final TreeMap<Long, Shift> shifts = new TreeMap<>();
+
+    /** Total assigned hours per epoch day. */
+    private final HashMap<Long, Integer> hoursByDay = new HashMap<>();
+
+    /** Shifts written ({@code non-null}) or removed ({@code null}) since the last {@link #takeChanges()}, by ID. */
+    private final HashMap<String, Shift> changes = new HashMap<>();
+
+    /**
+     * Constructs an empty timeline.
+     */
+    public ShiftTimeline() {
+    }
+
+    /**
+     * Constructs a timeline holding the given shifts (merged where adjacent).
+     *
+     * @param initial the shifts to add
+     */
+    public ShiftTimeline(Collection<Shift> initial) {
+        for (Shift shift : initial) {
+            add(shift);
+        }
+    }
+
+    /**
+     * Builds the ordering key of a shift.
+     *
+     * @param epochDay  the shift's date as an epoch day
+     * @param startHour the shift's start hour
+     * @return the ordering key
+     */
+    private static long key(long epochDay, int startHour) {
+        return epochDay * HOURS_KEY_STRIDE + startHour;
+    }
+
+    /**
+     * Returns the stable ID of a shift: its epoch day and start hour, e.g. {@code "20457_4"}.
+     * Shifts in a timeline never share a date and start hour, so the ID is unique within it.
+     *
+     * @param shift the shift
+     * @return the shift's ID
+     */
+    public static String idOf(Shift shift) {
+        return shift.getDate() + "_" + shift.getStartHour();
+    }
+
+    /**
+     * Adds a shift, merging it with the shift that ends where it starts (or overlaps it)
+     * and with the shift that starts where it ends, on the same date.
+     *
+     * @param shift the shift to add
+     * @return the stored shift covering the added hours (possibly an existing, extended one)
+     */
+    public Shift add(Shift shift) {
+        long date = shift.getDate();
+        int start = shift.getStartHour();
+        int end = shift.getEndHour();
+
+        Shift merged = null;
+        Map.Entry<Long, Shift> previous = shifts.floorEntry(key(date, start));
+        if (previous != null && previous.getValue().getDate() == date
+                && previous.getValue().getEndHour() >= start) {
+            merged = previous.getValue();
+            start = merged.getStartHour();
+            end = Math.max(end, merged.getEndHour());
+            removeEntry(previous.getKey());
+        }
+
+        Map.Entry<Long, Shift> next = shifts.ceilingEntry(key(date, start));
+        while (next != null && next.getValue().getDate() == date
+                && next.getValue().getStartHour() <= end) {
+            end = Math.max(end, next.getValue().getEndHour());
+            removeEntry(next.getKey());
+            next = shifts.ceilingEntry(key(date, start));
+        }
+
+        Shift stored = merged != null ? merged : shift;
+        stored.setStartHour(start);
+        stored.setEndHour(end);
+        putEntry(stored);
+        return stored;
+    }
+
+    /**
+     * Returns whether there is a shift on the given date. O(1).
+     *
+     * @param epochDay the date as an epoch day
+     * @return {@code true} if at least one shift falls on that date
+     */
+    public boolean hasShiftOn(long epochDay) {
+        return hoursByDay.containsKey(epochDay);
+    }
+
+    /**
+     * Returns the total assigned hours on the given date. O(1).
+     *
+     * @param epochDay the date as an epoch day
+     * @return the total hours, or 0 if there is no shift
+     */
+    public int hoursOn(long epochDay) {
+        Integer hours = hoursByDay.get(epochDay);
+        return hours == null ? 0 : hours;
+    }
+
+    /**
+     * Returns the shifts between two dates (both inclusive), in date and start-hour order.
+     *
+     * @param from the first date
+     * @param to   the last date
+     * @return the matching shifts
+     */
+    public List<Shift> between(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) return new ArrayList<>();
+        return new ArrayList<>(shifts.subMap(
+                key(from.toEpochDay(), 0), true,
+                key(to.toEpochDay() + 1, 0), false).values());
+    }
+
+    /**
+     * Returns the shifts on a single date.
+     *
+     * @param date the date
+     * @return the shifts on that date in start-hour order
+     */
+    public List<Shift> on(LocalDate date) {
+        return between(date, date);
+    }
+
+    /**
+     * Removes and returns all shifts dated before the given date.
+     *
+     * @param date the first date to keep
+     * @return the removed shifts in date order
+     */
+    public List<Shift> archiveBefore(LocalDate date) {
+        NavigableMap<Long, Shift> old = shifts.headMap(key(date.toEpochDay(), 0), false);
+        List<Shift> archived = new ArrayList<>(old.values());
+        old.clear();
+        for (Shift shift : archived) {
+            hoursByDay.remove(shift.getDate());
+            changes.put(idOf(shift), null);
+        }
+        return archived;
+    }
+
+    /**
+     * Returns all shifts in date and start-hour order.
+     *
+     * @return a new list of the stored shifts
+     */
+    public List<Shift> toList() {
+        return new ArrayList<>(shifts.values());
+    }
+
+    /**
+     * Returns the number of stored shifts.
+     *
+     * @return the shift count
+     */
+    public int size() {
+        return shifts.size();
+    }
+
+    /**
+     * Removes all shifts.
+     */
+    public void clear() {
+        for (Shift shift : shifts.values()) {
+            changes.put(idOf(shift), null);
+        }
+        shifts.clear();
+        hoursByDay.clear();
+    }
+
+    /**
+     * Returns the shifts changed since the previous call and resets the change set.
+     * A {@code null} value means the shift with that ID was removed.
+     *
+     * @return a map from shift ID to the current shift, or {@code null} for removed shifts
+     */
+    public Map<String, Shift> takeChanges() {
+        Map<String, Shift> taken = new HashMap<>(changes);
+        changes.clear();
+        return taken;
+    }
+
+    /**
+     * Returns whether there are changes not yet taken with {@link #takeChanges()}.
+     *
+     * @return {@code true} if any shift was written or removed since the last take
+     */
+    public boolean hasChanges() {
+        return !changes.isEmpty();
+    }
+
+    /**
+     * Marks every stored shift as changed, e.g. when the remote copy must be rewritten.
+     */
+    public void markAllChanged() {
+        for (Shift shift : shifts.values()) {
+            changes.put(idOf(shift), shift);
+        }
+    }
+
+    /**
+     * Forgets recorded changes, e.g. right after the timeline was loaded from the database.
+     */
+    public void clearChanges() {
+        changes.clear();
+    }
+
+    private void putEntry(Shift shift) {
+        changes.put(idOf(shift), shift);
+        shifts.put(key(shift.getDate(), shift.getStartHour()), shift);
+        hoursByDay.put(shift.getDate(), hoursOn(shift.getDate()) + shift.getEndHour() - shift.getStartHour());
+    }
+
+    private void removeEntry(long key) {
+        Shift removed = shifts.remove(key);
+        if (removed == null) return;
+        changes.put(idOf(removed), null);
+        int remaining = hoursOn(removed.getDate()) - (removed.getEndHour() - removed.getStartHour());
+        if (remaining > 0) {
+            hoursByDay.put(removed.getDate(), remaining);
+        } else {
+            hoursByDay.remove(removed.getDate());
+        }
+    }
+}
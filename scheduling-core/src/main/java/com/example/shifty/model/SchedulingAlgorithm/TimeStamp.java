@@ -63,19 +63,19 @@ public class TimeStamp {
 
     /**
      * Constructs a {@code TimeStamp} from a map, typically for use with deserialization (e.g. from Firebase).
+     * Numeric values may be of any {@link Number} type, since databases return whole numbers as {@code Long}.
      *
-     * @param map A map with keys "day", "startHour", "endHour". Values must be castable to int.
-     * @throws ClassCastException   If map values are not integers.
-     * @throws NullPointerException If any key is missing.
+     * @param map A map with keys "day", "startHour", "endHour" and optionally "date".
+     * @throws ClassCastException   If a value is not a number.
+     * @throws NullPointerException If "day", "startHour" or "endHour" is missing.
      */
     public TimeStamp(Map<String, Object> map) {
-        try {
-            this.day = (int) map.get("day");
-            this.startHour = (int) map.get("startHour");
-            this.endHour = (int) map.get("endHour");
-        } catch (Exception e) {
-            e.printStackTrace();
-            //TODO: handle error appropriately
+        this.day = ((Number) map.get("day")).intValue();
+        this.startHour = ((Number) map.get("startHour")).intValue();
+        this.endHour = ((Number) map.get("endHour")).intValue();
+        Object date = map.get("date");
+        if (date != null) {
+            this.date = ((Number) date).longValue();
         }
     }
 
@@ -181,13 +181,14 @@ public class TimeStamp {
     /**
      * Serializes the object to a map (for saving to a database or sending to a remote API).
      *
-     * @return a map with the fields "day", "startHour", and "endHour".
+     * @return a map with the fields "day", "startHour", "endHour", and "date".
      */
     public Map<String, Object> toMap() {
         Map<String, Object> result = new java.util.HashMap<>();
         result.put("day", day);
         result.put("startHour", startHour);
         result.put("endHour", endHour);
+        result.put("date", date);
         return result;
     }
 }
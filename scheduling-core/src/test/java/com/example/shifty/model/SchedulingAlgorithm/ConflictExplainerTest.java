@@ -0,0 +1,136 @@
+package com.example.shifty.model.SchedulingAlgorithm;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the explanations of weeks without a schedule: the root checks of
+ * {@link ModelSolver}, the needs narrowed down by {@link ConflictExplainer}, and how
+ * {@link ModelSolver#describeNeeds(List)} words them.
+ */
+public class ConflictExplainerTest {
+
+    private static final long EXPLAIN_TIME_LIMIT_MS = 10_000;
+
+    @Test
+    public void solve_hourShortOfEmployees_reportsRootConflict() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder();
+        builder.addEmployee("e0", "Employee 0");
+        builder.addEmployee("e1", "Employee 1");
+        builder.setSystemNeed(1, 9, 1);
+        builder.setSystemNeed(5, 18, 3);
+
+        assertEquals(Arrays.asList("Friday 18-19 needs 3, only 2 available"), explain(builder.build()));
+    }
+
+    @Test
+    public void solve_hoursTooFarApart_narrowsDownToThem() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder();
+        builder.addEmployee("e0", "Employee 0");
+        for (int hour = 8; hour < 12; hour++) {
+            builder.setSystemNeed(3, hour, 1);
+        }
+        builder.setSystemNeed(1, 0, 1);
+        builder.setSystemNeed(1, 21, 1);
+
+        assertEquals(Arrays.asList("Monday 0-1 needs exactly 1 (1 available)",
+                "Monday 21-22 needs exactly 1 (1 available)"), explain(builder.build()));
+    }
+
+    @Test
+    public void solve_hourBetweenTwoWorkedHours_reportsItAllowsNoOne() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder();
+        builder.addEmployee("e0", "Employee 0");
+        builder.setSystemNeed(2, 0, 1);
+        builder.setSystemNeed(2, 2, 1);
+
+        assertEquals(Arrays.asList("Tuesday 0-1 needs exactly 1 (1 available)",
+                "Tuesday 1-2 allows no one (1 available)",
+                "Tuesday 2-3 needs exactly 1 (1 available)"), explain(builder.build()));
+    }
+
+    @Test
+    public void solve_withoutExplanations_throwsPlainFailure() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder();
+        builder.addEmployee("e0", "Employee 0");
+        builder.setSystemNeed(5, 18, 2);
+
+        try {
+            new ModelSolver(builder.build()).Solve();
+            fail("Expected no schedule");
+        } catch (InfeasibleScheduleException e) {
+            fail("Explained without a time limit");
+        } catch (RuntimeException e) {
+            assertEquals("No solution found", e.getMessage());
+        }
+    }
+
+    @Test
+    public void describeNeeds_mergesConsecutiveHoursWithTheSameNeed() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder();
+        for (int i = 0; i < 4; i++) {
+            builder.addEmployee("e" + i, "Employee " + i);
+        }
+        builder.setUnavailable(0, 5, 20, 21);
+        for (int hour = 18; hour < 21; hour++) {
+            builder.setSystemNeed(5, hour, 3);
+        }
+        builder.setSystemNeed(5, 21, 2);
+        builder.setSystemNeed(0, 21, 1);
+        builder.setSystemNeed(1, 0, 1);
+        ModelSolver solver = new ModelSolver(builder.build());
+
+        List<String> descriptions = solver.describeNeeds(Arrays.asList(
+                slot(5, 21), slot(5, 19), slot(5, 18), slot(5, 20), slot(1, 0), slot(0, 21)));
+
+        assertEquals(Arrays.asList("Sunday 21-22 needs exactly 1 (4 available)",
+                "Monday 0-1 needs exactly 1 (4 available)",
+                "Friday 18-21 needs exactly 3 (3 available)",
+                "Friday 21-22 needs exactly 2 (3 available)"), descriptions);
+    }
+
+    @Test
+    public void describeNeeds_wordsSkillNeedsAsMinimums() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder();
+        int manager = builder.addSkill("Manager");
+        for (int i = 0; i < 3; i++) {
+            builder.addEmployee("e" + i, "Employee " + i);
+        }
+        builder.addEmployeeSkill(0, manager).addEmployeeSkill(1, manager);
+        builder.setSystemNeed(4, 10, 2).setSystemNeed(4, 11, 2);
+        builder.setSkillNeed(manager, 4, 10, 1).setSkillNeed(manager, 4, 11, 1);
+        ModelSolver solver = new ModelSolver(builder.build());
+
+        List<String> descriptions = solver.describeNeeds(Arrays.asList(
+                solver.needKey(manager, 4, 10), solver.needKey(manager, 4, 11), slot(4, 10)));
+
+        assertEquals(Arrays.asList("Thursday 10-11 needs exactly 2 (3 available)",
+                "Thursday 10-12 needs at least 1 Manager (2 available)"), descriptions);
+    }
+
+    /**
+     * Solves a week expected to have no schedule and returns its explanation.
+     */
+    private static List<String> explain(SchedulingProblem problem) {
+        ModelSolver solver = new ModelSolver(problem);
+        solver.setExplainTimeLimitMs(EXPLAIN_TIME_LIMIT_MS);
+        try {
+            solver.Solve();
+        } catch (InfeasibleScheduleException e) {
+            return e.getConflicts();
+        }
+        fail("Expected no schedule");
+        return null;
+    }
+
+    /**
+     * Returns the key of a head-count need.
+     */
+    private static int slot(int day, int hour) {
+        return day * SchedulingProblem.HOURS_PER_DAY + hour;
+    }
+}
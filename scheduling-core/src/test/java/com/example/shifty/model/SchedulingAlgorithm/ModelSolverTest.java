@@ -0,0 +1,353 @@
+package com.example.shifty.model.SchedulingAlgorithm;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link ModelSolver} on small weeks, checking the returned {@link Schedule}
+ * against the problem's needs.
+ */
+public class ModelSolverTest {
+
+    @Test
+    public void hourly_fullShiftsEveryDay_solves() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder();
+        for (int i = 0; i < 6; i++) {
+            builder.addEmployee("e" + i, "Employee " + i);
+        }
+        for (int day = 0; day < SchedulingProblem.DAYS_IN_WEEK; day++) {
+            for (int hour = 8; hour < 16; hour++) {
+                builder.setSystemNeed(day, hour, 2);
+            }
+        }
+        SchedulingProblem problem = builder.build();
+
+        Schedule schedule = new ModelSolver(problem, ModelSolver.Encoding.HOURLY).Solve();
+
+        assertNeedsMet(problem, schedule);
+    }
+
+    @Test
+    public void hourly_shiftOfMaximumLength_solves() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder()
+                .setShiftHours(4, 10)
+                .setMinRestHours(0);
+        builder.addEmployee("e0", "Employee 0");
+        for (int hour = 6; hour <= 15; hour++) {
+            builder.setSystemNeed(0, hour, 1);
+        }
+        SchedulingProblem problem = builder.build();
+
+        Schedule schedule = new ModelSolver(problem, ModelSolver.Encoding.HOURLY).Solve();
+
+        assertNeedsMet(problem, schedule);
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void hourly_hoursFurtherApartThanOneShift_fails() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder()
+                .setShiftHours(1, 8)
+                .setMinRestHours(0);
+        builder.addEmployee("e0", "Employee 0");
+        builder.setSystemNeed(0, 6, 1);
+        builder.setSystemNeed(0, 14, 1);
+
+        new ModelSolver(builder.build(), ModelSolver.Encoding.HOURLY).Solve();
+    }
+
+    @Test
+    public void solve_meetsHeadCountAroundUnavailability() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder();
+        for (int i = 0; i < 4; i++) {
+            builder.addEmployee("e" + i, "Employee " + i);
+        }
+        builder.setUnavailable(0, 1, 0, 21);
+        builder.setUnavailable(1, 1, 0, 11);
+        for (int day = 0; day < SchedulingProblem.DAYS_IN_WEEK; day++) {
+            for (int hour = 6; hour < 18; hour++) {
+                builder.setSystemNeed(day, hour, hour < 12 ? 1 : 2);
+            }
+        }
+        SchedulingProblem problem = builder.build();
+
+        for (ModelSolver.Encoding encoding : ModelSolver.Encoding.values()) {
+            assertNeedsMet(problem, new ModelSolver(problem, encoding).Solve());
+        }
+    }
+
+    @Test
+    public void solve_meetsSkillNeeds() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder();
+        int manager = builder.addSkill("manager");
+        int cook = builder.addSkill("cook");
+        for (int i = 0; i < 6; i++) {
+            builder.addEmployee("e" + i, "Employee " + i);
+        }
+        builder.addEmployeeSkill(0, manager).addEmployeeSkill(1, manager);
+        builder.addEmployeeSkill(2, cook).addEmployeeSkill(3, cook).addEmployeeSkill(1, cook);
+        for (int day = 0; day < SchedulingProblem.DAYS_IN_WEEK; day++) {
+            for (int hour = 8; hour < 16; hour++) {
+                builder.setSystemNeed(day, hour, 3);
+                builder.setSkillNeed(manager, day, hour, 1);
+                builder.setSkillNeed(cook, day, hour, 2);
+            }
+        }
+        SchedulingProblem problem = builder.build();
+
+        for (ModelSolver.Encoding encoding : ModelSolver.Encoding.values()) {
+            assertNeedsMet(problem, new ModelSolver(problem, encoding).Solve());
+        }
+    }
+
+    @Test
+    public void solve_dense_matchesSparse() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder();
+        for (int i = 0; i < 3; i++) {
+            builder.addEmployee("e" + i, "Employee " + i);
+            builder.setUnavailable(i, i, 0, 21);
+        }
+        for (int day = 0; day < SchedulingProblem.DAYS_IN_WEEK; day++) {
+            for (int hour = 9; hour < 17; hour++) {
+                builder.setSystemNeed(day, hour, 2);
+            }
+        }
+        SchedulingProblem problem = builder.build();
+
+        assertNeedsMet(problem, new ModelSolver(problem, false).Solve());
+        assertNeedsMet(problem, new ModelSolver(problem, true).Solve());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void solve_moreNeededThanAvailable_fails() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder();
+        builder.addEmployee("e0", "Employee 0");
+        builder.setUnavailable(0, 3, 10, 12);
+        builder.setSystemNeed(3, 11, 1);
+
+        new ModelSolver(builder.build()).Solve();
+    }
+
+    @Test
+    public void solve_keepsRestBetweenConsecutiveDays() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder().setMinRestHours(10);
+        builder.addEmployee("e0", "Employee 0");
+        builder.addEmployee("e1", "Employee 1");
+        for (int day = 0; day < SchedulingProblem.DAYS_IN_WEEK; day++) {
+            for (int hour = 0; hour < 4; hour++) {
+                builder.setSystemNeed(day, hour, 1);
+                builder.setSystemNeed(day, SchedulingProblem.HOURS_PER_DAY - 1 - hour, 1);
+            }
+        }
+        SchedulingProblem problem = builder.build();
+
+        for (ModelSolver.Encoding encoding : ModelSolver.Encoding.values()) {
+            Schedule schedule = new ModelSolver(problem, encoding).Solve();
+            assertNeedsMet(problem, schedule);
+            assertRestKept(problem, schedule);
+        }
+    }
+
+    @Test
+    public void solve_restJustKept_solves() {
+        for (int day = 0; day < SchedulingProblem.DAYS_IN_WEEK; day++) {
+            // Last hour 21 ends at 22, so first hour 5 of the next day is 7 hours later
+            assertNotNull(new ModelSolver(lateThenEarly(day, 7)).Solve());
+        }
+    }
+
+    @Test
+    public void solve_restTooShort_fails() {
+        for (int day = 0; day < SchedulingProblem.DAYS_IN_WEEK; day++) {
+            try {
+                new ModelSolver(lateThenEarly(day, 8)).Solve();
+                fail("Expected no schedule after day " + day);
+            } catch (RuntimeException e) {
+                assertEquals("No solution found", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void solve_keepsWeeklyHourBounds() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder();
+        for (int i = 0; i < 3; i++) {
+            builder.addEmployee("e" + i, "Employee " + i);
+        }
+        builder.setWeeklyHours(0, 24, 24).setWeeklyHours(1, 0, 16).setWeeklyHours(2, 20, 40);
+        for (int day = 0; day < SchedulingProblem.DAYS_IN_WEEK; day++) {
+            for (int hour = 8; hour < 16; hour++) {
+                builder.setSystemNeed(day, hour, 1);
+            }
+        }
+        SchedulingProblem problem = builder.build();
+
+        for (ModelSolver.Encoding encoding : ModelSolver.Encoding.values()) {
+            Schedule schedule = new ModelSolver(problem, encoding).Solve();
+            assertNeedsMet(problem, schedule);
+            for (int i = 0; i < problem.getEmployeeCount(); i++) {
+                int hours = weeklyHours(schedule, problem.getEmployeeId(i));
+                assertTrue(problem.getEmployeeName(i) + " works " + hours + " hours",
+                        hours >= problem.getMinWeeklyHours(i) && hours <= problem.getMaxWeeklyHours(i));
+            }
+        }
+    }
+
+    @Test
+    public void solve_minimumHoursAboveWeeklyNeed_failsAtRoot() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder();
+        builder.addEmployee("e0", "Employee 0");
+        builder.addEmployee("e1", "Employee 1");
+        builder.setWeeklyHours(0, 20, 40).setWeeklyHours(1, 20, 40);
+        for (int day = 1; day < 6; day++) {
+            for (int hour = 9; hour < 15; hour++) {
+                builder.setSystemNeed(day, hour, 1);
+            }
+        }
+        ModelSolver solver = new ModelSolver(builder.build());
+        solver.setExplainTimeLimitMs(10_000);
+
+        try {
+            solver.Solve();
+            fail("Expected no schedule");
+        } catch (InfeasibleScheduleException e) {
+            assertEquals(Arrays.asList("The week needs 30 hours, weekly bounds allow 40 to 80"), e.getConflicts());
+        }
+        assertEquals(0, solver.getNodeCount());
+    }
+
+    @Test
+    public void solve_minimumHoursAboveAvailability_failsAtRoot() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder();
+        builder.addEmployee("e0", "Employee 0");
+        for (int day = 1; day < SchedulingProblem.DAYS_IN_WEEK; day++) {
+            builder.setUnavailable(0, day, 0, 21);
+        }
+        builder.setWeeklyHours(0, 10, 20);
+        ModelSolver solver = new ModelSolver(builder.build());
+        solver.setExplainTimeLimitMs(10_000);
+
+        try {
+            solver.Solve();
+            fail("Expected no schedule");
+        } catch (InfeasibleScheduleException e) {
+            assertEquals(Arrays.asList("Employee 0 needs 10 hours a week, can only work 8"), e.getConflicts());
+        }
+    }
+
+    @Test
+    public void solve_balancingHours_evensOutWeeklyHours() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder().setBalanceHours(true);
+        for (int i = 0; i < 4; i++) {
+            builder.addEmployee("e" + i, "Employee " + i);
+        }
+        for (int day = 0; day < SchedulingProblem.DAYS_IN_WEEK; day++) {
+            for (int hour = 8; hour < 16; hour++) {
+                builder.setSystemNeed(day, hour, 2);
+            }
+        }
+        SchedulingProblem problem = builder.build();
+
+        for (ModelSolver.Encoding encoding : ModelSolver.Encoding.values()) {
+            ModelSolver solver = new ModelSolver(problem, encoding);
+            Schedule schedule = solver.Solve();
+            assertNeedsMet(problem, schedule);
+            assertEquals(0, solver.getHoursSpread());
+            for (int i = 0; i < problem.getEmployeeCount(); i++) {
+                assertEquals(28, weeklyHours(schedule, problem.getEmployeeId(i)));
+            }
+        }
+    }
+
+    @Test
+    public void solve_withoutBalancing_reportsNoSpread() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder();
+        builder.addEmployee("e0", "Employee 0");
+        builder.addEmployee("e1", "Employee 1");
+        builder.setSystemNeed(0, 8, 1);
+        ModelSolver solver = new ModelSolver(builder.build());
+
+        solver.Solve();
+
+        assertEquals(-1, solver.getHoursSpread());
+    }
+
+    /**
+     * Builds a week for one employee needed at the last hour of a day and at hour 5 of the next,
+     * wrapping from Saturday to Sunday.
+     */
+    private static SchedulingProblem lateThenEarly(int day, int restHours) {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder().setMinRestHours(restHours);
+        builder.addEmployee("e0", "Employee 0");
+        builder.setSystemNeed(day, SchedulingProblem.HOURS_PER_DAY - 1, 1);
+        builder.setSystemNeed((day + 1) % SchedulingProblem.DAYS_IN_WEEK, 5, 1);
+        return builder.build();
+    }
+
+    /**
+     * Asserts that every employee rests at least the problem's minimum between the last hour of
+     * one day and the first hour of the next, Saturday included.
+     */
+    static void assertRestKept(SchedulingProblem problem, Schedule schedule) {
+        int days = SchedulingProblem.DAYS_IN_WEEK;
+        for (int i = 0; i < problem.getEmployeeCount(); i++) {
+            String id = problem.getEmployeeId(i);
+            for (int day = 0; day < days; day++) {
+                int last = -1;
+                int first = -1;
+                for (int hour = 0; hour < SchedulingProblem.HOURS_PER_DAY; hour++) {
+                    if (schedule.getEmployees(day, hour).contains(id)) last = hour;
+                    int next = (day + 1) % days;
+                    if (first < 0 && schedule.getEmployees(next, hour).contains(id)) first = hour;
+                }
+                if (last < 0 || first < 0) continue;
+                int rest = 24 - (last + 1) + first;
+                assertTrue(problem.getEmployeeName(i) + " rests " + rest + " hours after day " + day,
+                        rest >= problem.getMinRestHours());
+            }
+        }
+    }
+
+    /**
+     * Counts the hours an employee works in the schedule.
+     */
+    static int weeklyHours(Schedule schedule, String employeeId) {
+        int hours = 0;
+        for (int day = 0; day < SchedulingProblem.DAYS_IN_WEEK; day++) {
+            for (int hour = 0; hour < SchedulingProblem.HOURS_PER_DAY; hour++) {
+                if (schedule.getEmployees(day, hour).contains(employeeId)) hours++;
+            }
+        }
+        return hours;
+    }
+
+    /**
+     * Asserts that every hour of the schedule has exactly the needed head-count, and at least
+     * the needed employees of every skill, all of them available.
+     */
+    static void assertNeedsMet(SchedulingProblem problem, Schedule schedule) {
+        for (int day = 0; day < SchedulingProblem.DAYS_IN_WEEK; day++) {
+            for (int hour = 0; hour < SchedulingProblem.HOURS_PER_DAY; hour++) {
+                List<String> scheduled = schedule.getEmployees(day, hour);
+                assertEquals("Head-count on day " + day + " hour " + hour,
+                        problem.getSystemNeed(day, hour), scheduled.size());
+                int[] skilled = new int[problem.getSkillCount()];
+                for (int i = 0; i < problem.getEmployeeCount(); i++) {
+                    if (!scheduled.contains(problem.getEmployeeId(i))) continue;
+                    assertTrue(problem.getEmployeeName(i) + " unavailable on day " + day + " hour " + hour,
+                            problem.isAvailable(i, day, hour));
+                    for (int s = 0; s < skilled.length; s++) {
+                        if (problem.hasSkill(i, s)) skilled[s]++;
+                    }
+                }
+                for (int s = 0; s < skilled.length; s++) {
+                    assertTrue(problem.getSkillName(s) + " on day " + day + " hour " + hour,
+                            skilled[s] >= problem.getSkillNeed(s, day, hour));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.shifty.model.SchedulingAlgorithm;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link SchedulingProblem} and its builder.
+ */
+public class SchedulingProblemTest {
+
+    private static final int ALL_HOURS = (1 << SchedulingProblem.HOURS_PER_DAY) - 1;
+
+    @Test
+    public void builder_growsPastInitialCapacity() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder();
+        int manager = builder.addSkill("manager");
+        for (int i = 0; i < 40; i++) {
+            assertEquals(i, builder.addEmployee("e" + i, "Employee " + i));
+            if (i % 2 == 0) builder.addEmployeeSkill(i, manager);
+            builder.setWeeklyHours(i, i % 5, 20 + i);
+        }
+        builder.setUnavailable(39, 6, 0, 21);
+        SchedulingProblem problem = builder.build();
+
+        assertEquals(40, problem.getEmployeeCount());
+        for (int i = 0; i < 40; i++) {
+            assertEquals("e" + i, problem.getEmployeeId(i));
+            assertEquals("Employee " + i, problem.getEmployeeName(i));
+            assertEquals(i % 2 == 0, problem.hasSkill(i, manager));
+            assertEquals(i % 5, problem.getMinWeeklyHours(i));
+            assertEquals(20 + i, problem.getMaxWeeklyHours(i));
+            for (int day = 0; day < SchedulingProblem.DAYS_IN_WEEK; day++) {
+                boolean off = i == 39 && day == 6;
+                assertEquals(off ? 0 : ALL_HOURS, problem.getAvailabilityMask(i, day) & ALL_HOURS);
+            }
+        }
+    }
+
+    @Test
+    public void builder_defaultsEmployeesToUnboundedHours() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder();
+        for (int i = 0; i < 20; i++) {
+            builder.addEmployee("e" + i, "Employee " + i);
+        }
+        SchedulingProblem problem = builder.build();
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(0, problem.getMinWeeklyHours(i));
+            assertEquals(SchedulingProblem.UNLIMITED_WEEKLY_HOURS, problem.getMaxWeeklyHours(i));
+            assertEquals(0, problem.getSkillMask(i));
+        }
+    }
+
+    @Test
+    public void setUnavailable_clearsInclusiveRangeOnThatDayOnly() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder();
+        int e = builder.addEmployee("e0", "Employee 0");
+        builder.setUnavailable(e, 2, 5, 9);
+        SchedulingProblem problem = builder.build();
+
+        for (int hour = 0; hour < SchedulingProblem.HOURS_PER_DAY; hour++) {
+            assertEquals("Hour " + hour, hour < 5 || hour > 9, problem.isAvailable(e, 2, hour));
+            assertTrue(problem.isAvailable(e, 1, hour));
+            assertTrue(problem.isAvailable(e, 3, hour));
+        }
+    }
+
+    @Test
+    public void setUnavailable_clampsOutOfRangeHours() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder();
+        int e = builder.addEmployee("e0", "Employee 0");
+        builder.setUnavailable(e, 0, -3, 2);
+        builder.setUnavailable(e, 0, 20, 40);
+        SchedulingProblem problem = builder.build();
+
+        for (int hour = 0; hour < SchedulingProblem.HOURS_PER_DAY; hour++) {
+            assertEquals("Hour " + hour, hour > 2 && hour < 20, problem.isAvailable(e, 0, hour));
+        }
+    }
+
+    @Test
+    public void build_isNotAffectedByLaterBuilderChanges() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder();
+        int e = builder.addEmployee("e0", "Employee 0");
+        builder.setSystemNeed(0, 8, 1);
+        SchedulingProblem problem = builder.build();
+
+        builder.setUnavailable(e, 0, 8, 8);
+        builder.setSystemNeed(0, 8, 2);
+        builder.addEmployee("e1", "Employee 1");
+
+        assertEquals(1, problem.getEmployeeCount());
+        assertTrue(problem.isAvailable(e, 0, 8));
+        assertEquals(1, problem.getSystemNeed(0, 8));
+    }
+
+    @Test
+    public void setWeeklyHours_capsMaximumAtUnlimited() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder();
+        int e = builder.addEmployee("e0", "Employee 0");
+        builder.setWeeklyHours(e, 10, 1000);
+
+        assertEquals(SchedulingProblem.UNLIMITED_WEEKLY_HOURS, builder.build().getMaxWeeklyHours(e));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setWeeklyHours_rejectsNegativeMinimum() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder();
+        builder.setWeeklyHours(builder.addEmployee("e0", "Employee 0"), -1, 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setWeeklyHours_rejectsMinimumAboveMaximum() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder();
+        builder.setWeeklyHours(builder.addEmployee("e0", "Employee 0"), 20, 10);
+    }
+
+    @Test
+    public void setShiftHours_acceptsWholeDay() {
+        SchedulingProblem problem = SchedulingProblem.builder()
+                .setShiftHours(1, SchedulingProblem.HOURS_PER_DAY)
+                .build();
+
+        assertEquals(1, problem.getMinShiftHours());
+        assertEquals(SchedulingProblem.HOURS_PER_DAY, problem.getMaxShiftHours());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setShiftHours_rejectsZeroMinimum() {
+        SchedulingProblem.builder().setShiftHours(0, 8);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setShiftHours_rejectsMinimumAboveMaximum() {
+        SchedulingProblem.builder().setShiftHours(9, 8);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setShiftHours_rejectsMaximumAboveDay() {
+        SchedulingProblem.builder().setShiftHours(4, SchedulingProblem.HOURS_PER_DAY + 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addEmployee_rejectsWrongNumberOfMasks() {
+        SchedulingProblem.builder().addEmployee("e0", "Employee 0", new int[SchedulingProblem.DAYS_IN_WEEK - 1]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addEmployeeSkill_rejectsUnknownSkill() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder();
+        builder.addEmployeeSkill(builder.addEmployee("e0", "Employee 0"), 0);
+    }
+
+    @Test
+    public void addSkill_findsExistingSkill() {
+        SchedulingProblem.Builder builder = SchedulingProblem.builder();
+        int manager = builder.addSkill("manager");
+        int cook = builder.addSkill("cook");
+
+        assertEquals(manager, builder.addSkill("manager"));
+        assertNotEquals(manager, cook);
+        assertEquals(2, builder.build().getSkillCount());
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.shifty.model.SchedulingAlgorithm;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link ShiftTimeline}.
+ */
+public class ShiftTimelineTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 10, 19);
+    private static final long DAY = MONDAY.toEpochDay();
+
+    @Test
+    public void add_mergesAdjacentAndOverlappingShiftsOnSameDate() {
+        ShiftTimeline timeline = new ShiftTimeline();
+        timeline.add(shift(DAY, 8, 12));
+        timeline.add(shift(DAY, 12, 14));
+        timeline.add(shift(DAY, 6, 9));
+
+        List<Shift> shifts = timeline.toList();
+        assertEquals(1, shifts.size());
+        assertSpan(shifts.get(0), DAY, 6, 14);
+        assertEquals(8, timeline.hoursOn(DAY));
+    }
+
+    @Test
+    public void add_doesNotMergeAcrossDayBoundary() {
+        ShiftTimeline timeline = new ShiftTimeline();
+        timeline.add(shift(DAY, 14, SchedulingProblem.HOURS_PER_DAY));
+        timeline.add(shift(DAY + 1, 0, 6));
+
+        List<Shift> shifts = timeline.toList();
+        assertEquals(2, shifts.size());
+        assertSpan(shifts.get(0), DAY, 14, SchedulingProblem.HOURS_PER_DAY);
+        assertSpan(shifts.get(1), DAY + 1, 0, 6);
+        assertEquals(8, timeline.hoursOn(DAY));
+        assertEquals(6, timeline.hoursOn(DAY + 1));
+    }
+
+    @Test
+    public void add_bridgingShiftRemovesTheShiftItMerges() {
+        ShiftTimeline timeline = new ShiftTimeline();
+        Shift first = timeline.add(shift(DAY, 8, 10));
+        Shift second = timeline.add(shift(DAY, 12, 14));
+        String secondId = ShiftTimeline.idOf(second);
+        timeline.takeChanges();
+
+        Shift stored = timeline.add(shift(DAY, 10, 12));
+
+        assertSame(first, stored);
+        assertEquals(1, timeline.size());
+        assertSpan(stored, DAY, 8, 14);
+        assertEquals(6, timeline.hoursOn(DAY));
+        Map<String, Shift> changes = timeline.takeChanges();
+        assertEquals(2, changes.size());
+        assertSame(stored, changes.get(ShiftTimeline.idOf(stored)));
+        assertTrue(changes.containsKey(secondId));
+        assertNull(changes.get(secondId));
+    }
+
+    @Test
+    public void hoursOn_tracksAddsAndRemovals() {
+        ShiftTimeline timeline = new ShiftTimeline();
+        assertFalse(timeline.hasShiftOn(DAY));
+        assertEquals(0, timeline.hoursOn(DAY));
+
+        timeline.add(shift(DAY, 6, 8));
+        timeline.add(shift(DAY, 12, 16));
+        timeline.add(shift(DAY + 2, 0, 4));
+        assertEquals(6, timeline.hoursOn(DAY));
+        assertTrue(timeline.hasShiftOn(DAY));
+        assertFalse(timeline.hasShiftOn(DAY + 1));
+
+        // Merged shifts are removed, and the hours they share are not counted twice
+        timeline.add(shift(DAY, 7, 13));
+        assertEquals(1, timeline.on(MONDAY).size());
+        assertEquals(10, timeline.hoursOn(DAY));
+
+        timeline.archiveBefore(MONDAY.plusDays(1));
+        assertFalse(timeline.hasShiftOn(DAY));
+        assertEquals(0, timeline.hoursOn(DAY));
+        assertEquals(4, timeline.hoursOn(DAY + 2));
+    }
+
+    @Test
+    public void archiveBefore_movesOlderShiftsOutInDateOrder() {
+        ShiftTimeline timeline = new ShiftTimeline(Arrays.asList(
+                shift(DAY + 3, 8, 16),
+                shift(DAY, 14, 18),
+                shift(DAY + 1, 8, 12),
+                shift(DAY, 6, 10)));
+        timeline.clearChanges();
+
+        List<Shift> archived = timeline.archiveBefore(MONDAY.plusDays(2));
+
+        assertEquals(3, archived.size());
+        assertSpan(archived.get(0), DAY, 6, 10);
+        assertSpan(archived.get(1), DAY, 14, 18);
+        assertSpan(archived.get(2), DAY + 1, 8, 12);
+        assertEquals(1, timeline.size());
+        assertSpan(timeline.toList().get(0), DAY + 3, 8, 16);
+        assertTrue(timeline.between(MONDAY, MONDAY.plusDays(2)).isEmpty());
+
+        Map<String, Shift> changes = timeline.takeChanges();
+        assertEquals(3, changes.size());
+        for (Shift shift : archived) {
+            String id = ShiftTimeline.idOf(shift);
+            assertTrue(id, changes.containsKey(id));
+            assertNull(id, changes.get(id));
+        }
+    }
+
+    @Test
+    public void between_includesBothEndsInDateAndHourOrder() {
+        ShiftTimeline timeline = new ShiftTimeline();
+        timeline.add(shift(DAY + 2, 4, 8));
+        timeline.add(shift(DAY, 16, 20));
+        timeline.add(shift(DAY, 2, 6));
+        timeline.add(shift(DAY + 3, 0, 2));
+
+        List<Shift> shifts = timeline.between(MONDAY, MONDAY.plusDays(2));
+        assertEquals(3, shifts.size());
+        assertSpan(shifts.get(0), DAY, 2, 6);
+        assertSpan(shifts.get(1), DAY, 16, 20);
+        assertSpan(shifts.get(2), DAY + 2, 4, 8);
+        assertTrue(timeline.between(MONDAY.plusDays(1), MONDAY).isEmpty());
+    }
+
+    @Test
+    public void takeChanges_clearsTheChangeSet() {
+        ShiftTimeline timeline = new ShiftTimeline();
+        Shift a = timeline.add(shift(DAY, 8, 12));
+        Shift b = timeline.add(shift(DAY + 1, 8, 12));
+        assertTrue(timeline.hasChanges());
+
+        Map<String, Shift> changes = timeline.takeChanges();
+        assertEquals(2, changes.size());
+        assertSame(a, changes.get(ShiftTimeline.idOf(a)));
+        assertSame(b, changes.get(ShiftTimeline.idOf(b)));
+        assertFalse(timeline.hasChanges());
+        assertTrue(timeline.takeChanges().isEmpty());
+
+        timeline.markAllChanged();
+        assertEquals(2, timeline.takeChanges().size());
+        assertFalse(timeline.hasChanges());
+
+        timeline.add(shift(DAY + 2, 0, 4));
+        timeline.clearChanges();
+        assertFalse(timeline.hasChanges());
+        assertTrue(timeline.takeChanges().isEmpty());
+    }
+
+    @Test
+    public void clear_recordsEveryShiftAsRemoved() {
+        ShiftTimeline timeline = new ShiftTimeline(Arrays.asList(shift(DAY, 8, 12), shift(DAY + 1, 8, 12)));
+        timeline.clearChanges();
+
+        timeline.clear();
+
+        assertEquals(0, timeline.size());
+        assertFalse(timeline.hasShiftOn(DAY));
+        Map<String, Shift> changes = timeline.takeChanges();
+        assertEquals(2, changes.size());
+        assertTrue(changes.values().stream().allMatch(shift -> shift == null));
+    }
+
+    /**
+     * Creates a shift from {@code startHour} up to {@code endHour} on a date.
+     */
+    private static Shift shift(long epochDay, int startHour, int endHour) {
+        int day = LocalDate.ofEpochDay(epochDay).getDayOfWeek().getValue() % 7;
+        return new Shift(day, startHour, endHour, epochDay);
+    }
+
+    /**
+     * Asserts a shift's date and hours.
+     */
+    private static void assertSpan(Shift shift, long epochDay, int startHour, int endHour) {
+        assertEquals(epochDay, shift.getDate());
+        assertEquals(startHour, shift.getStartHour());
+        assertEquals(endHour, shift.getEndHour());
+    }
+}
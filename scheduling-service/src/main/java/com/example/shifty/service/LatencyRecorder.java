@@ -0,0 +1,69 @@
+package com.example.shifty.service;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the most recent latency samples in a fixed-size ring and reports percentiles over them.
+ * Recording is O(1); a percentile query sorts a copy of the window, which is fine for the
+ * occasional {@code /stats} request and load generator report.
+ *
+ * @author Eitan Navon
+ */
+public class LatencyRecorder {
+
+    private final long[] samples;
+    private int next;
+    private int size;
+    private long count;
+
+    /**
+     * Creates a recorder keeping the given number of most recent samples.
+     *
+     * @param window the number of samples to keep
+     */
+    public LatencyRecorder(int window) {
+        samples = new long[window];
+    }
+
+    /**
+     * Records one sample.
+     *
+     * @param latencyMs the latency in milliseconds
+     */
+    public synchronized void record(long latencyMs) {
+        samples[next] = latencyMs;
+        next = (next + 1) % samples.length;
+        if (size < samples.length) size++;
+        count++;
+    }
+
+    /**
+     * Returns the number of samples recorded since creation, including evicted ones.
+     *
+     * @return the total sample count
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns percentiles over the retained samples, using the nearest-rank method.
+     *
+     * @param percentiles the percentiles to compute, each in {@code (0, 100]}
+     * @return the value for each percentile, or zeros if nothing was recorded
+     */
+    public long[] percentiles(double... percentiles) {
+        long[] sorted;
+        synchronized (this) {
+            sorted = Arrays.copyOf(samples, size);
+        }
+        Arrays.sort(sorted);
+        long[] result = new long[percentiles.length];
+        if (sorted.length == 0) return result;
+        for (int i = 0; i < percentiles.length; i++) {
+            int rank = (int) Math.ceil(percentiles[i] / 100.0 * sorted.length);
+            result[i] = sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+        }
+        return result;
+    }
+}
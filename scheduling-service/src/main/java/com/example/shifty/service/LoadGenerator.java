@@ -0,0 +1,182 @@
+package com.example.shifty.service;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load generator for a running {@link SchedulingServer}.
+ * <p>
+ * Sends {@code --requests} seeded random rosters of {@code --employees} employees, keeping
+ * {@code --concurrency} requests in flight, each posted with {@code ?wait=true} so the measured
+ * latency covers queueing and solving. Rejected requests (queue full) are retried after a short
+ * back-off and counted. At the end it prints throughput in schedules per minute, latency
+ * percentiles as seen by the client, and the server's own {@code /stats}.
+ * </p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * {@code
+ * java -cp ... com.example.shifty.service.LoadGenerator --url http://127.0.0.1:8080 --requests 500 --concurrency 16
+ * }
+ * </pre>
+ *
+ * @author Eitan Navon
+ * @see SchedulingServer
+ */
+public class LoadGenerator {
+
+    /** Back-off before resending a request the server rejected. */
+    private static final long RETRY_DELAY_MS = 100;
+
+    /** Unavailability windows per generated employee (the app allows at most 2 per week). */
+    private static final int CONSTRAINTS_PER_EMPLOYEE = 2;
+
+    /** Longest generated unavailability window, in hours. */
+    private static final int MAX_CONSTRAINT_HOURS = 6;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final String url;
+
+    private LoadGenerator(String url) {
+        this.url = url;
+    }
+
+    /**
+     * Builds a request body: employees with random unavailability windows and a flat need of
+     * a tenth of the roster (at least one) at every hour.
+     *
+     * @param employees the roster size
+     * @param random    the random source
+     * @param label     the label echoed by the service
+     * @return the JSON request
+     */
+    static JsonObject randomRequest(int employees, Random random, String label) {
+        JsonObject request = new JsonObject();
+        request.addProperty("label", label);
+        JsonArray roster = new JsonArray();
+        for (int i = 0; i < employees; i++) {
+            JsonObject employee = new JsonObject();
+            employee.addProperty("id", "uid" + i);
+            JsonArray unavailable = new JsonArray();
+            for (int c = 0; c < CONSTRAINTS_PER_EMPLOYEE; c++) {
+                int start = random.nextInt(22);
+                JsonObject window = new JsonObject();
+                window.addProperty("day", random.nextInt(7));
+                window.addProperty("startHour", start);
+                window.addProperty("endHour", Math.min(21, start + random.nextInt(MAX_CONSTRAINT_HOURS)));
+                unavailable.add(window);
+            }
+            employee.add("unavailable", unavailable);
+            roster.add(employee);
+        }
+        request.add("employees", roster);
+        JsonArray needs = new JsonArray();
+        for (int day = 0; day < 7; day++) {
+            JsonArray hours = new JsonArray();
+            for (int hour = 0; hour < 22; hour++) hours.add(Math.max(1, employees / 10));
+            needs.add(hours);
+        }
+        request.add("systemNeeds", needs);
+        return request;
+    }
+
+    /**
+     * Posts one request, retrying while the queue is full.
+     *
+     * @param body     the JSON request
+     * @param rejected incremented for every rejection
+     * @return the final job status reported by the service
+     */
+    private String post(String body, AtomicInteger rejected) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/schedules?wait=true"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        while (true) {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 503) {
+                rejected.incrementAndGet();
+                Thread.sleep(RETRY_DELAY_MS);
+                continue;
+            }
+            if (response.statusCode() != 200) return "HTTP " + response.statusCode();
+            return JsonParser.parseString(response.body()).getAsJsonObject().get("status").getAsString();
+        }
+    }
+
+    /**
+     * Runs the load test. Options: {@code --url} (http://127.0.0.1:8080), {@code --requests}
+     * (200), {@code --concurrency} (8), {@code --employees} (20), {@code --seed} (42).
+     *
+     * @param args the command-line options
+     * @throws Exception if the service cannot be reached
+     */
+    public static void main(String[] args) throws Exception {
+        String url = "http://127.0.0.1:8080";
+        int requests = 200;
+        int concurrency = 8;
+        int employees = 20;
+        long seed = 42;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--url": url = args[i + 1]; break;
+                case "--requests": requests = Integer.parseInt(args[i + 1]); break;
+                case "--concurrency": concurrency = Integer.parseInt(args[i + 1]); break;
+                case "--employees": employees = Integer.parseInt(args[i + 1]); break;
+                case "--seed": seed = Long.parseLong(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        LoadGenerator generator = new LoadGenerator(url);
+        Random random = new Random(seed);
+        List<String> bodies = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            bodies.add(randomRequest(employees, random, "load-" + i).toString());
+        }
+
+        LatencyRecorder latency = new LatencyRecorder(requests);
+        AtomicInteger solved = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        List<Future<?>> futures = new ArrayList<>(requests);
+        long start = System.nanoTime();
+        for (String body : bodies) {
+            futures.add(pool.submit(() -> {
+                long sent = System.nanoTime();
+                String status = generator.post(body, rejected);
+                latency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sent));
+                ("SOLVED".equals(status) ? solved : failed).incrementAndGet();
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) future.get();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        pool.shutdown();
+
+        long[] p = latency.percentiles(50, 90, 99, 100);
+        System.out.printf("Requests: %d (%d employees each), concurrency %d%n", requests, employees, concurrency);
+        System.out.printf("Solved: %d, failed: %d, rejected (retried): %d%n", solved.get(), failed.get(), rejected.get());
+        System.out.printf("Elapsed: %d ms, throughput: %.1f schedules/minute%n", elapsedMs, requests * 60000.0 / Math.max(1, elapsedMs));
+        System.out.printf("Latency ms: p50 %d, p90 %d, p99 %d, max %d%n", p[0], p[1], p[2], p[3]);
+        HttpResponse<String> stats = generator.client.send(
+                HttpRequest.newBuilder(URI.create(url + "/stats")).build(), HttpResponse.BodyHandlers.ofString());
+        System.out.println("Server stats: " + stats.body());
+    }
+}
@@ -0,0 +1,300 @@
+package com.example.shifty.service;
+
+import com.example.shifty.model.SchedulingAlgorithm.Schedule;
+import com.example.shifty.model.SchedulingAlgorithm.SchedulingProblem;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Logger;
+
+/**
+ * Local HTTP front end for {@link SchedulingService}, built on the JDK's
+ * {@code com.sun.net.httpserver} so it runs anywhere a JVM does.
+ * <ul>
+ *     <li>{@code POST /schedules} with one {@link SolveRequest} or a JSON array of them queues
+ *     the solves and answers {@code 202} with the job(s); add {@code ?wait=true} to answer
+ *     {@code 200} with the finished job(s) instead. A full queue answers {@code 503}.</li>
+ *     <li>{@code GET /schedules/{id}} returns a job: status, solve statistics and, once solved,
+ *     the schedule as {@code [day][hour]} lists of employee IDs.</li>
+ *     <li>{@code GET /stats} returns queue depth, counts, throughput and latency percentiles.</li>
+ * </ul>
+ * The server binds to the loopback interface only.
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * {@code
+ * java -cp ... com.example.shifty.service.SchedulingServer --port 8080 --workers 4 --queue 64
+ * }
+ * </pre>
+ *
+ * @author Eitan Navon
+ * @see SchedulingService
+ * @see LoadGenerator
+ */
+public class SchedulingServer {
+
+    private static final Logger LOG = Logger.getLogger(SchedulingServer.class.getName());
+
+    private static final Gson GSON = new Gson();
+
+    /** Default search time limit per solve. */
+    static final long DEFAULT_TIME_LIMIT_MS = 60000;
+
+    private final SchedulingService service;
+    private final HttpServer server;
+    private final ExecutorService httpExecutor;
+
+    /**
+     * Creates a server for the given service; call {@link #start()} to accept requests.
+     *
+     * @param service the service solving the requests
+     * @param port    the loopback port to listen on; 0 picks a free port
+     * @param threads the number of HTTP handler threads (waiting requests hold one each)
+     * @throws IOException if the port cannot be bound
+     */
+    public SchedulingServer(SchedulingService service, int port, int threads) throws IOException {
+        this.service = service;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        this.httpExecutor = Executors.newFixedThreadPool(threads);
+        server.setExecutor(httpExecutor);
+        server.createContext("/schedules", this::handleSchedules);
+        server.createContext("/stats", this::handleStats);
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+        LOG.info("Scheduling service listening on http://127.0.0.1:" + getPort());
+    }
+
+    /**
+     * Stops accepting requests and lets queued solves finish.
+     *
+     * @param timeoutMs how long to wait for running solves
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void stop(long timeoutMs) throws InterruptedException {
+        server.stop(0);
+        service.shutdown(timeoutMs);
+        httpExecutor.shutdown();
+    }
+
+    /**
+     * Returns the port the server is bound to.
+     *
+     * @return the port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Handles {@code POST /schedules} and {@code GET /schedules/{id}}.
+     */
+    private void handleSchedules(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            if ("POST".equals(method) && ("/schedules".equals(path) || "/schedules/".equals(path))) {
+                handleSubmit(exchange);
+            } else if ("GET".equals(method) && path.startsWith("/schedules/")) {
+                SolveJob job = service.getJob(path.substring("/schedules/".length()));
+                if (job == null) {
+                    sendError(exchange, 404, "Unknown schedule");
+                } else {
+                    send(exchange, 200, toJson(job));
+                }
+            } else {
+                sendError(exchange, 405, "Unsupported request");
+            }
+        } catch (RuntimeException e) {
+            LOG.warning("Request failed: " + e);
+            sendError(exchange, 500, String.valueOf(e.getMessage()));
+        }
+    }
+
+    /**
+     * Queues one request or an array of requests, optionally waiting for the results.
+     */
+    private void handleSubmit(HttpExchange exchange) throws IOException {
+        List<SolveRequest> requests = new ArrayList<>();
+        boolean batch;
+        try (Reader body = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+            JsonElement payload = JsonParser.parseReader(body);
+            batch = payload.isJsonArray();
+            if (batch) {
+                for (JsonElement element : payload.getAsJsonArray()) {
+                    requests.add(GSON.fromJson(element, SolveRequest.class));
+                }
+            } else {
+                requests.add(GSON.fromJson(payload, SolveRequest.class));
+            }
+        } catch (JsonParseException | IllegalStateException e) {
+            sendError(exchange, 400, "Malformed JSON: " + e.getMessage());
+            return;
+        }
+
+        // Validate the whole batch before queueing any of it
+        List<SchedulingProblem> problems = new ArrayList<>(requests.size());
+        try {
+            for (SolveRequest request : requests) {
+                if (request == null) throw new IllegalArgumentException("request must not be null");
+                problems.add(request.toProblem());
+                request.getHeuristic(); // Rejects unknown heuristics and encodings now rather than in the worker
+                request.getEncoding();
+            }
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+            return;
+        }
+
+        List<SolveJob> jobs = new ArrayList<>(requests.size());
+        try {
+            for (int i = 0; i < requests.size(); i++) {
+                jobs.add(service.submit(requests.get(i), problems.get(i)));
+            }
+        } catch (RejectedExecutionException e) {
+            // Report the jobs that did get queued so the caller can poll them and resend the rest
+            JsonObject error = new JsonObject();
+            error.addProperty("error", "Queue full, accepted " + jobs.size() + " of " + requests.size());
+            JsonArray accepted = new JsonArray();
+            for (SolveJob job : jobs) accepted.add(toJson(job));
+            error.add("accepted", accepted);
+            send(exchange, 503, error);
+            return;
+        }
+
+        boolean wait = "wait=true".equals(exchange.getRequestURI().getQuery());
+        if (wait) {
+            CompletableFuture.allOf(jobs.stream().map(SolveJob::whenDone).toArray(CompletableFuture[]::new)).join();
+        }
+        JsonElement response;
+        if (!batch) {
+            response = toJson(jobs.get(0));
+        } else {
+            JsonArray array = new JsonArray();
+            for (SolveJob job : jobs) array.add(toJson(job));
+            response = array;
+        }
+        send(exchange, wait ? 200 : 202, response);
+    }
+
+    /**
+     * Handles {@code GET /stats}.
+     */
+    private void handleStats(HttpExchange exchange) throws IOException {
+        send(exchange, 200, GSON.toJsonTree(service.getStats()));
+    }
+
+    /**
+     * Converts a job to its JSON representation.
+     *
+     * @param job the job
+     * @return the JSON object
+     */
+    static JsonObject toJson(SolveJob job) {
+        JsonObject json = new JsonObject();
+        json.addProperty("id", job.getId());
+        if (job.getLabel() != null) json.addProperty("label", job.getLabel());
+        json.addProperty("status", job.getStatus().name());
+        json.addProperty("employees", job.getEmployeeCount());
+        json.addProperty("queueTimeMs", job.getQueueTimeMs());
+        json.addProperty("buildTimeMs", job.getBuildTimeMs());
+        json.addProperty("solveTimeMs", job.getSolveTimeMs());
+        json.addProperty("totalTimeMs", job.getTotalTimeMs());
+        json.addProperty("nodes", job.getNodes());
+        json.addProperty("fails", job.getFails());
+        if (job.getHoursSpread() >= 0) json.addProperty("hoursSpread", job.getHoursSpread());
+        if (job.getError() != null) json.addProperty("error", job.getError());
+        if (job.getConflicts() != null) {
+            JsonArray conflicts = new JsonArray();
+            for (String conflict : job.getConflicts()) conflicts.add(conflict);
+            json.add("conflicts", conflicts);
+        }
+        Schedule schedule = job.getSchedule();
+        if (schedule != null) {
+            JsonArray days = new JsonArray();
+            for (int day = 0; day < SchedulingProblem.DAYS_IN_WEEK; day++) {
+                JsonArray hours = new JsonArray();
+                for (int hour = 0; hour < SchedulingProblem.HOURS_PER_DAY; hour++) {
+                    JsonArray employees = new JsonArray();
+                    for (String id : schedule.getEmployees(day, hour)) employees.add(id);
+                    hours.add(employees);
+                }
+                days.add(hours);
+            }
+            json.add("schedule", days);
+        }
+        return json;
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        JsonObject error = new JsonObject();
+        error.addProperty("error", message);
+        send(exchange, status, error);
+    }
+
+    private static void send(HttpExchange exchange, int status, JsonElement body) throws IOException {
+        byte[] bytes = GSON.toJson(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Starts the service. Options: {@code --port} (8080), {@code --workers} (available
+     * processors), {@code --queue} (64), {@code --time-limit-ms} (60000).
+     *
+     * @param args the command-line options
+     * @throws IOException if the port cannot be bound
+     */
+    public static void main(String[] args) throws IOException {
+        int port = 8080;
+        int workers = Runtime.getRuntime().availableProcessors();
+        int queue = 64;
+        long timeLimitMs = DEFAULT_TIME_LIMIT_MS;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--port": port = Integer.parseInt(args[i + 1]); break;
+                case "--workers": workers = Integer.parseInt(args[i + 1]); break;
+                case "--queue": queue = Integer.parseInt(args[i + 1]); break;
+                case "--time-limit-ms": timeLimitMs = Long.parseLong(args[i + 1]); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        long shutdownTimeoutMs = timeLimitMs;
+        SchedulingService service = new SchedulingService(workers, queue, timeLimitMs);
+        // Waiting requests hold a handler thread each, so allow one per queued or running solve
+        SchedulingServer server = new SchedulingServer(service, port, workers + queue + 4);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.stop(shutdownTimeoutMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        server.start();
+    }
+}
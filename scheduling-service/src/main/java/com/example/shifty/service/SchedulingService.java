@@ -0,0 +1,208 @@
+package com.example.shifty.service;
+
+import com.example.shifty.model.SchedulingAlgorithm.SchedulingProblem;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Queues schedule requests and solves them concurrently on a bounded worker pool.
+ * <p>
+ * Each worker runs one {@link SolveJob} at a time, so at most {@code workers} models are in
+ * memory at once. Up to {@code queueCapacity} further requests wait in a FIFO queue; beyond that
+ * {@link #submit(SolveRequest)} rejects the request so callers can back off instead of piling up
+ * unbounded work. The last {@code retainedJobs} finished jobs are kept for lookup, evicted in the
+ * order they finished; queued and running jobs always stay reachable.
+ * </p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * {@code
+ * SchedulingService service = new SchedulingService(4, 64, 60000);
+ * SolveJob job = service.submit(request);
+ * job.whenDone().thenAccept(done -> ...);
+ * }
+ * </pre>
+ *
+ * @author Eitan Navon
+ * @see SolveJob
+ * @see SchedulingServer
+ */
+public class SchedulingService {
+
+    /** Number of finished jobs kept for lookup. */
+    static final int DEFAULT_RETAINED_JOBS = 10000;
+
+    /** Number of recent latencies kept for percentiles. */
+    private static final int LATENCY_WINDOW = 10000;
+
+    private final ThreadPoolExecutor executor;
+    private final long maxTimeLimitMs;
+    private final int retainedJobs;
+    private final long startedNanos = System.nanoTime();
+
+    /** Jobs by ID; guarded by itself. */
+    private final Map<String, SolveJob> jobs = new HashMap<>();
+
+    /** IDs of finished jobs still in {@link #jobs}, in the order they finished; guarded by {@link #jobs}. */
+    private final ArrayDeque<String> finished = new ArrayDeque<>();
+
+    /** Metrics. */
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong solvedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final LatencyRecorder totalLatency = new LatencyRecorder(LATENCY_WINDOW);
+    private final LatencyRecorder solveLatency = new LatencyRecorder(LATENCY_WINDOW);
+
+    /**
+     * Creates the service and starts its workers.
+     *
+     * @param workers        the number of concurrent solves
+     * @param queueCapacity  the number of requests that may wait for a worker
+     * @param maxTimeLimitMs the search time limit per solve; requests may only lower it
+     */
+    public SchedulingService(int workers, int queueCapacity, long maxTimeLimitMs) {
+        this(workers, queueCapacity, maxTimeLimitMs, DEFAULT_RETAINED_JOBS);
+    }
+
+    /**
+     * Creates the service and starts its workers.
+     *
+     * @param workers        the number of concurrent solves
+     * @param queueCapacity  the number of requests that may wait for a worker
+     * @param maxTimeLimitMs the search time limit per solve; requests may only lower it
+     * @param retainedJobs   the number of jobs kept for lookup by ID
+     */
+    public SchedulingService(int workers, int queueCapacity, long maxTimeLimitMs, int retainedJobs) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "solver-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.maxTimeLimitMs = maxTimeLimitMs;
+        this.retainedJobs = retainedJobs;
+    }
+
+    /**
+     * Validates and queues a request.
+     *
+     * @param request the request
+     * @return the queued job
+     * @throws IllegalArgumentException   if the request is invalid
+     * @throws RejectedExecutionException if the queue is full or the service is shut down
+     */
+    public SolveJob submit(SolveRequest request) {
+        return submit(request, request.toProblem());
+    }
+
+    /**
+     * Queues a request that was already converted with {@link SolveRequest#toProblem()}.
+     *
+     * @param request the request, for its label and solver options
+     * @param problem the request's problem
+     * @return the queued job
+     * @throws RejectedExecutionException if the queue is full or the service is shut down
+     */
+    public SolveJob submit(SolveRequest request, SchedulingProblem problem) {
+        SolveJob job = new SolveJob(UUID.randomUUID().toString(), request.getLabel(), problem,
+                request.getHeuristic(), request.getEncoding(), request.getTimeLimitMs(maxTimeLimitMs),
+                request.getExplainTimeLimitMs(maxTimeLimitMs));
+        // Registered first, so a job that finishes at once is evicted in turn like any other
+        synchronized (jobs) {
+            jobs.put(job.getId(), job);
+        }
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            synchronized (jobs) {
+                jobs.remove(job.getId());
+            }
+            rejectedCount.incrementAndGet();
+            throw e;
+        }
+        submittedCount.incrementAndGet();
+        return job;
+    }
+
+    /**
+     * Runs a job on a worker thread, records its outcome and evicts the finished jobs beyond
+     * {@code retainedJobs}.
+     */
+    private void run(SolveJob job) {
+        job.run();
+        (job.getStatus() == SolveJob.Status.SOLVED ? solvedCount : failedCount).incrementAndGet();
+        totalLatency.record(job.getTotalTimeMs());
+        solveLatency.record(job.getBuildTimeMs() + job.getSolveTimeMs());
+        synchronized (jobs) {
+            finished.add(job.getId());
+            while (finished.size() > retainedJobs) {
+                jobs.remove(finished.poll());
+            }
+        }
+    }
+
+    /**
+     * Returns a job by ID.
+     *
+     * @param id the job ID
+     * @return the job, or {@code null} if unknown or evicted
+     */
+    public SolveJob getJob(String id) {
+        synchronized (jobs) {
+            return jobs.get(id);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the service metrics.
+     *
+     * @return the statistics, keyed by name, in a stable order
+     */
+    public Map<String, Object> getStats() {
+        long[] total = totalLatency.percentiles(50, 99);
+        long[] solve = solveLatency.percentiles(50, 99);
+        long finished = solvedCount.get() + failedCount.get();
+        double uptimeMinutes = (System.nanoTime() - startedNanos) / 60e9;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("workers", executor.getMaximumPoolSize());
+        stats.put("running", executor.getActiveCount());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("submitted", submittedCount.get());
+        stats.put("rejected", rejectedCount.get());
+        stats.put("solved", solvedCount.get());
+        stats.put("failed", failedCount.get());
+        stats.put("schedulesPerMinute", uptimeMinutes > 0 ? Math.round(finished / uptimeMinutes * 10) / 10.0 : 0);
+        stats.put("latencyP50Ms", total[0]);
+        stats.put("latencyP99Ms", total[1]);
+        stats.put("solveP50Ms", solve[0]);
+        stats.put("solveP99Ms", solve[1]);
+        return stats;
+    }
+
+    /**
+     * Stops accepting requests and waits for queued and running solves to finish.
+     *
+     * @param timeoutMs how long to wait
+     * @return {@code true} if every job finished in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean shutdown(long timeoutMs) throws InterruptedException {
+        executor.shutdown();
+        return executor.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.shifty.service;
+
+import com.example.shifty.model.SchedulingAlgorithm.InfeasibleScheduleException;
+import com.example.shifty.model.SchedulingAlgorithm.ModelSolver;
+import com.example.shifty.model.SchedulingAlgorithm.Schedule;
+import com.example.shifty.model.SchedulingAlgorithm.SchedulingProblem;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One queued schedule request and, once finished, its result and solve statistics.
+ * <p>
+ * Fields are written by the worker that runs the job and read by HTTP handlers; they are
+ * volatile and {@link #getStatus()} is written last, so a reader that sees a final status
+ * also sees the result.
+ * </p>
+ *
+ * @author Eitan Navon
+ * @see SchedulingService
+ */
+public class SolveJob {
+
+    /**
+     * Lifecycle of a job.
+     */
+    public enum Status {
+        /** Waiting for a worker. */
+        QUEUED,
+        /** Being built or solved. */
+        RUNNING,
+        /** A schedule was found. */
+        SOLVED,
+        /** No schedule was found within the time limit, or the request could not be solved. */
+        FAILED
+    }
+
+    private final String id;
+    private final String label;
+    private final SchedulingProblem problem;
+    private final ModelSolver.SearchHeuristic heuristic;
+    private final ModelSolver.Encoding encoding;
+    private final long timeLimitMs;
+    private final long explainTimeLimitMs;
+    private final long submittedNanos = System.nanoTime();
+    private final CompletableFuture<SolveJob> done = new CompletableFuture<>();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile long startedNanos;
+    private volatile long finishedNanos;
+    private volatile long buildTimeMs;
+    private volatile long solveTimeMs;
+    private volatile long nodes;
+    private volatile long fails;
+    private volatile int hoursSpread = -1;
+    private volatile Schedule schedule;
+    private volatile String error;
+    private volatile List<String> conflicts;
+
+    SolveJob(String id, String label, SchedulingProblem problem, ModelSolver.SearchHeuristic heuristic,
+             ModelSolver.Encoding encoding, long timeLimitMs, long explainTimeLimitMs) {
+        this.id = id;
+        this.label = label;
+        this.problem = problem;
+        this.heuristic = heuristic;
+        this.encoding = encoding;
+        this.timeLimitMs = timeLimitMs;
+        this.explainTimeLimitMs = explainTimeLimitMs;
+    }
+
+    /**
+     * Builds and solves the model on the calling worker thread, recording the outcome.
+     */
+    void run() {
+        startedNanos = System.nanoTime();
+        status = Status.RUNNING;
+        ModelSolver solver = null;
+        Status outcome;
+        try {
+            solver = new ModelSolver(problem, encoding);
+            solver.setSearchHeuristic(heuristic);
+            solver.setTimeLimitMs(timeLimitMs);
+            solver.setExplainTimeLimitMs(explainTimeLimitMs);
+            schedule = solver.Solve();
+            outcome = Status.SOLVED;
+        } catch (InfeasibleScheduleException e) {
+            error = e.getMessage();
+            conflicts = e.getConflicts();
+            outcome = Status.FAILED;
+        } catch (RuntimeException e) {
+            error = e.getMessage();
+            outcome = Status.FAILED;
+        } catch (Error e) {
+            // e.g. OutOfMemoryError on a huge roster; still complete so waiting callers are released
+            error = e.toString();
+            outcome = Status.FAILED;
+        }
+        if (solver != null) {
+            buildTimeMs = solver.getBuildTimeMs();
+            solveTimeMs = solver.getSolveTimeMs();
+            nodes = solver.getNodeCount();
+            fails = solver.getFailCount();
+            hoursSpread = solver.getHoursSpread();
+        }
+        finishedNanos = System.nanoTime();
+        status = outcome;
+        done.complete(this);
+    }
+
+    /**
+     * Returns the job ID, used to look the job up.
+     *
+     * @return the ID
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Returns the caller's label, e.g. the store the schedule is for.
+     *
+     * @return the label, or {@code null}
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Returns the job's current status.
+     *
+     * @return the status
+     */
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the number of employees in the request.
+     *
+     * @return the roster size
+     */
+    public int getEmployeeCount() {
+        return problem.getEmployeeCount();
+    }
+
+    /**
+     * Returns a future completing with this job once it is solved or failed.
+     *
+     * @return the completion future
+     */
+    public CompletableFuture<SolveJob> whenDone() {
+        return done;
+    }
+
+    /**
+     * Returns the schedule found, or {@code null} unless {@link Status#SOLVED}.
+     *
+     * @return the schedule
+     */
+    public Schedule getSchedule() {
+        return schedule;
+    }
+
+    /**
+     * Returns why the job failed, or {@code null} unless {@link Status#FAILED}.
+     *
+     * @return the error message
+     */
+    public String getError() {
+        return error;
+    }
+
+    /**
+     * Returns the requirements that cannot all be met, when the job failed on a week without a
+     * schedule and its request asked for an explanation.
+     *
+     * @return the conflicts, or {@code null}
+     */
+    public List<String> getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * Returns the time spent waiting for a worker, up to now if still queued.
+     *
+     * @return the queue time in milliseconds
+     */
+    public long getQueueTimeMs() {
+        long started = startedNanos;
+        return TimeUnit.NANOSECONDS.toMillis((started != 0 ? started : System.nanoTime()) - submittedNanos);
+    }
+
+    /**
+     * Returns the time from submission to completion, up to now if not finished.
+     *
+     * @return the end-to-end latency in milliseconds
+     */
+    public long getTotalTimeMs() {
+        long finished = finishedNanos;
+        return TimeUnit.NANOSECONDS.toMillis((finished != 0 ? finished : System.nanoTime()) - submittedNanos);
+    }
+
+    /**
+     * Returns the time spent building the model.
+     *
+     * @return the build time in milliseconds, 0 until finished
+     */
+    public long getBuildTimeMs() {
+        return buildTimeMs;
+    }
+
+    /**
+     * Returns the time spent searching.
+     *
+     * @return the search time in milliseconds, 0 until finished
+     */
+    public long getSolveTimeMs() {
+        return solveTimeMs;
+    }
+
+    /**
+     * Returns the number of search nodes explored.
+     *
+     * @return the node count, 0 until finished
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns the number of search failures (backtracks).
+     *
+     * @return the fail count, 0 until finished
+     */
+    public long getFails() {
+        return fails;
+    }
+
+    /**
+     * Returns the difference between the most and the least weekly hours in the schedule,
+     * when the request balances hours.
+     *
+     * @return the spread in hours, or -1 if hours are not balanced or nothing was solved
+     */
+    public int getHoursSpread() {
+        return hoursSpread;
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.shifty.service;
+
+import com.example.shifty.model.SchedulingAlgorithm.ModelSolver;
+import com.example.shifty.model.SchedulingAlgorithm.SchedulingProblem;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JSON payload of a schedule request, as posted to {@code /schedules}.
+ * <pre>
+ * {
+ *   "label": "store-12",                       (optional, echoed back)
+ *   "employees": [
+ *     { "id": "uid1", "name": "Dana", "skills": [ "manager" ],
+ *       "minWeeklyHours": 16, "maxWeeklyHours": 40,             (optional)
+ *       "unavailable": [ { "day": 5, "startHour": 0, "endHour": 21 } ] },
+ *     { "id": "uid2", "availability": [ -1, -1, -1, -1, -1, 0, -1 ] }
+ *   ],
+ *   "systemNeeds": [ [ 22 hourly needs ], ... 7 days ],
+ *   "skillNeeds": { "manager": [ [ 22 hourly needs ], ... 7 days ] },   (optional)
+ *   "minRestHours": 11,                        (optional, default 9)
+ *   "balanceHours": true,                      (optional)
+ *   "minShiftHours": 4, "maxShiftHours": 8,    (optional)
+ *   "timeLimitMs": 30000,                      (optional)
+ *   "explainTimeLimitMs": 10000,               (optional, default no explanation)
+ *   "heuristic": "COVERAGE",                   (optional)
+ *   "encoding": "SHIFTS"                       (optional, default HOURLY)
+ * }
+ * </pre>
+ * An employee's availability is given either as seven per-day masks (bit {@code h} set =
+ * available at hour {@code h}) or as unavailability windows like the app's constraints
+ * (end hour inclusive); without either the employee is always available.
+ * Skill needs are minimums within the system needs: of the employees scheduled at an hour, at
+ * least that many must list the skill.
+ * With {@code balanceHours} the solver minimises the spread of weekly hours and runs until it
+ * proves the best schedule or reaches the time limit, returning the best one found.
+ * With the {@code SHIFTS} encoding every employee works at most one shift a day, of between
+ * {@code minShiftHours} and {@code maxShiftHours}; the hourly encoding only caps the daily hours.
+ * With {@code explainTimeLimitMs}, a week without a schedule reports the needs that conflict
+ * (see {@link ModelSolver#setExplainTimeLimitMs(long)}).
+ *
+ * @author Eitan Navon
+ * @see SchedulingProblem
+ */
+public class SolveRequest {
+
+    /**
+     * One employee of the roster.
+     */
+    public static class EmployeeJson {
+        String id;
+        String name;
+        int[] availability;
+        List<Window> unavailable;
+        List<String> skills;
+        Integer minWeeklyHours;
+        Integer maxWeeklyHours;
+    }
+
+    /**
+     * An unavailability window on one day, end hour inclusive.
+     */
+    public static class Window {
+        int day;
+        int startHour;
+        int endHour;
+    }
+
+    String label;
+    List<EmployeeJson> employees;
+    int[][] systemNeeds;
+    Map<String, int[][]> skillNeeds;
+    Integer minRestHours;
+    Boolean balanceHours;
+    Integer minShiftHours;
+    Integer maxShiftHours;
+    Long timeLimitMs;
+    Long explainTimeLimitMs;
+    String heuristic;
+    String encoding;
+
+    /**
+     * Returns the caller's label for this request, e.g. the store it is for.
+     *
+     * @return the label, or {@code null}
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Returns the requested search time limit.
+     *
+     * @param defaultMs the limit to use when the request does not set one
+     * @return the time limit in milliseconds
+     */
+    public long getTimeLimitMs(long defaultMs) {
+        return timeLimitMs != null && timeLimitMs > 0 ? Math.min(timeLimitMs, defaultMs) : defaultMs;
+    }
+
+    /**
+     * Returns the requested time limit for explaining a week without a schedule.
+     *
+     * @param maxMs the most a request may ask for
+     * @return the time limit in milliseconds, 0 if the request wants no explanation
+     */
+    public long getExplainTimeLimitMs(long maxMs) {
+        return explainTimeLimitMs != null && explainTimeLimitMs > 0 ? Math.min(explainTimeLimitMs, maxMs) : 0;
+    }
+
+    /**
+     * Returns the requested search heuristic.
+     *
+     * @return the heuristic, {@link ModelSolver.SearchHeuristic#COVERAGE} if none was given
+     * @throws IllegalArgumentException if the heuristic is unknown
+     */
+    public ModelSolver.SearchHeuristic getHeuristic() {
+        return heuristic == null ? ModelSolver.SearchHeuristic.COVERAGE : ModelSolver.SearchHeuristic.valueOf(heuristic);
+    }
+
+    /**
+     * Returns the requested model encoding.
+     *
+     * @return the encoding, {@link ModelSolver.Encoding#HOURLY} if none was given
+     * @throws IllegalArgumentException if the encoding is unknown
+     */
+    public ModelSolver.Encoding getEncoding() {
+        return encoding == null ? ModelSolver.Encoding.HOURLY : ModelSolver.Encoding.valueOf(encoding);
+    }
+
+    /**
+     * Validates the payload and converts it to solver input.
+     *
+     * @return the scheduling problem
+     * @throws IllegalArgumentException if the payload is incomplete or out of range, or two
+     *                                  employees share an ID
+     */
+    public SchedulingProblem toProblem() {
+        if (employees == null || employees.isEmpty()) {
+            throw new IllegalArgumentException("employees must not be empty");
+        }
+        checkNeeds(systemNeeds, "systemNeeds");
+
+        SchedulingProblem.Builder builder = SchedulingProblem.builder().setSystemNeeds(systemNeeds);
+        if (minRestHours != null) builder.setMinRestHours(minRestHours);
+        if (balanceHours != null) builder.setBalanceHours(balanceHours);
+        if (minShiftHours != null || maxShiftHours != null) {
+            builder.setShiftHours(
+                    minShiftHours != null ? minShiftHours : SchedulingProblem.DEFAULT_MIN_SHIFT_HOURS,
+                    maxShiftHours != null ? maxShiftHours : SchedulingProblem.DEFAULT_MAX_SHIFT_HOURS);
+        }
+        if (skillNeeds != null) {
+            if (skillNeeds.size() > SchedulingProblem.MAX_SKILLS) {
+                throw new IllegalArgumentException("at most " + SchedulingProblem.MAX_SKILLS + " skills are supported");
+            }
+            for (Map.Entry<String, int[][]> skill : skillNeeds.entrySet()) {
+                checkNeeds(skill.getValue(), "skillNeeds." + skill.getKey());
+                builder.setSkillNeeds(builder.addSkill(skill.getKey()), skill.getValue());
+            }
+        }
+        Set<String> ids = new HashSet<>();
+        for (EmployeeJson employee : employees) {
+            if (employee == null || employee.id == null) {
+                throw new IllegalArgumentException("every employee needs an id");
+            }
+            if (!ids.add(employee.id)) {
+                throw new IllegalArgumentException("duplicate employee id " + employee.id);
+            }
+            String name = employee.name != null ? employee.name : employee.id;
+            int index = employee.availability != null
+                    ? builder.addEmployee(employee.id, name, employee.availability)
+                    : builder.addEmployee(employee.id, name);
+            if (employee.minWeeklyHours != null || employee.maxWeeklyHours != null) {
+                builder.setWeeklyHours(index,
+                        employee.minWeeklyHours != null ? employee.minWeeklyHours : 0,
+                        employee.maxWeeklyHours != null ? employee.maxWeeklyHours : SchedulingProblem.UNLIMITED_WEEKLY_HOURS);
+            }
+            if (employee.skills != null) {
+                for (String skill : employee.skills) {
+                    // Skills nobody needs are ignored rather than added to the model
+                    if (skillNeeds != null && skillNeeds.containsKey(skill)) {
+                        builder.addEmployeeSkill(index, builder.addSkill(skill));
+                    }
+                }
+            }
+            if (employee.unavailable == null) continue;
+            for (Window window : employee.unavailable) {
+                if (window == null) {
+                    throw new IllegalArgumentException("unavailable windows must not be null for " + employee.id);
+                }
+                if (window.day < 0 || window.day >= SchedulingProblem.DAYS_IN_WEEK) {
+                    throw new IllegalArgumentException("unavailable day out of range for " + employee.id);
+                }
+                builder.setUnavailable(index, window.day, window.startHour, window.endHour);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Checks that a needs matrix has 22 non-negative hourly needs for each of the 7 days.
+     *
+     * @param needs the needs, indexed {@code [day][hour]}
+     * @param field the field name, for the error message
+     * @throws IllegalArgumentException if the matrix is missing or malformed
+     */
+    private static void checkNeeds(int[][] needs, String field) {
+        if (needs == null || needs.length != SchedulingProblem.DAYS_IN_WEEK) {
+            throw new IllegalArgumentException(field + " must have " + SchedulingProblem.DAYS_IN_WEEK + " days");
+        }
+        for (int[] day : needs) {
+            if (day == null || day.length != SchedulingProblem.HOURS_PER_DAY) {
+                throw new IllegalArgumentException("every " + field + " day must have " + SchedulingProblem.HOURS_PER_DAY + " hours");
+            }
+            for (int need : day) {
+                if (need < 0) throw new IllegalArgumentException(field + " must not be negative");
+            }
+        }
+    }
+}
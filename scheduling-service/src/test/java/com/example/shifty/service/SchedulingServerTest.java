@@ -0,0 +1,147 @@
+package com.example.shifty.service;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link SchedulingServer} over HTTP on a loopback port.
+ */
+public class SchedulingServerTest {
+
+    private SchedulingServer server;
+
+    @After
+    public void tearDown() throws InterruptedException {
+        if (server != null) server.stop(5000);
+    }
+
+    @Test
+    public void post_solvesAndWaits() throws IOException {
+        start(1, 4);
+
+        Response response = post("/schedules?wait=true", request(3));
+
+        assertEquals(200, response.status);
+        assertEquals("SOLVED", response.body.getAsJsonObject().get("status").getAsString());
+    }
+
+    @Test
+    public void post_nullWindow_isBadRequest() throws IOException {
+        start(1, 4);
+
+        Response response = post("/schedules", "{\"employees\": [{\"id\": \"uid1\", \"unavailable\": [null]}],"
+                + " \"systemNeeds\": " + SolveRequestTest.needs(1) + "}");
+
+        assertEquals(400, response.status);
+    }
+
+    @Test
+    public void post_duplicateIdInBatch_queuesNothing() throws IOException {
+        start(1, 4);
+
+        Response response = post("/schedules", "[" + request(2) + ", {\"employees\": [{\"id\": \"uid1\"}, {\"id\": \"uid1\"}],"
+                + " \"systemNeeds\": " + SolveRequestTest.needs(1) + "}]");
+
+        assertEquals(400, response.status);
+        assertEquals(0, get("/stats").body.getAsJsonObject().get("submitted").getAsInt());
+    }
+
+    @Test
+    public void post_batchOverQueue_reportsAcceptedJobs() throws IOException {
+        start(1, 1);
+        StringBuilder batch = new StringBuilder("[");
+        int requests = 8;
+        for (int i = 0; i < requests; i++) {
+            if (i > 0) batch.append(", ");
+            batch.append(request(20));
+        }
+        batch.append("]");
+
+        Response response = post("/schedules", batch.toString());
+
+        assertEquals(503, response.status);
+        JsonObject error = response.body.getAsJsonObject();
+        JsonArray accepted = error.getAsJsonArray("accepted");
+        assertTrue("accepted " + accepted.size(), accepted.size() >= 1 && accepted.size() < requests);
+        assertEquals("Queue full, accepted " + accepted.size() + " of " + requests, error.get("error").getAsString());
+        Set<String> ids = new HashSet<>();
+        for (JsonElement job : accepted) {
+            String id = job.getAsJsonObject().get("id").getAsString();
+            assertTrue(ids.add(id));
+            assertEquals(200, get("/schedules/" + id).status);
+        }
+    }
+
+    private void start(int workers, int queue) throws IOException {
+        server = new SchedulingServer(new SchedulingService(workers, queue, 10000), 0, 4);
+        server.start();
+    }
+
+    /**
+     * Returns a request for a roster of always available employees, two needed at hours 8 to 15
+     * of every day, so it needs at least two employees.
+     */
+    private static String request(int employees) {
+        StringBuilder json = new StringBuilder("{\"employees\": [");
+        for (int i = 0; i < employees; i++) {
+            if (i > 0) json.append(", ");
+            json.append("{\"id\": \"uid").append(i).append("\"}");
+        }
+        return json.append("], \"systemNeeds\": ").append(SolveRequestTest.needs(2)).append("}").toString();
+    }
+
+    private Response post(String path, String body) throws IOException {
+        HttpURLConnection connection = open(path);
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return read(connection);
+    }
+
+    private Response get(String path) throws IOException {
+        return read(open(path));
+    }
+
+    private HttpURLConnection open(String path) throws IOException {
+        return (HttpURLConnection) new URL("http://127.0.0.1:" + server.getPort() + path).openConnection();
+    }
+
+    private static Response read(HttpURLConnection connection) throws IOException {
+        int status = connection.getResponseCode();
+        InputStream stream = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        try (Reader reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+            return new Response(status, JsonParser.parseReader(reader));
+        }
+    }
+
+    /** Status and parsed body of a response. */
+    private static final class Response {
+        final int status;
+        final JsonElement body;
+
+        Response(int status, JsonElement body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.shifty.service;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link SchedulingService}'s job retention.
+ */
+public class SchedulingServiceTest {
+
+    private SchedulingService service;
+
+    @After
+    public void tearDown() throws InterruptedException {
+        if (service != null) service.shutdown(60000);
+    }
+
+    @Test
+    public void getJob_keepsOnlyTheLastFinishedJobs() throws Exception {
+        service = new SchedulingService(1, 8, 10000, 2);
+        List<SolveJob> submitted = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            submitted.add(service.submit(SolveRequestTest.parse(request(1))));
+        }
+        for (SolveJob job : submitted) {
+            job.whenDone().get(30, TimeUnit.SECONDS);
+        }
+
+        awaitEvicted(submitted.subList(0, 3));
+        assertSame(submitted.get(3), service.getJob(submitted.get(3).getId()));
+        assertSame(submitted.get(4), service.getJob(submitted.get(4).getId()));
+    }
+
+    @Test
+    public void getJob_evictsFinishedJobsBehindARunningOne() throws Exception {
+        service = new SchedulingService(2, 8, 10000, 2);
+        SolveJob slow = service.submit(SolveRequestTest.parse(request(150)));
+        List<SolveJob> quick = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            quick.add(service.submit(SolveRequestTest.parse(request(1))));
+        }
+        for (SolveJob job : quick) {
+            job.whenDone().get(30, TimeUnit.SECONDS);
+        }
+
+        // The oldest job is still running, which must not hold back eviction of newer ones
+        awaitEvicted(quick.subList(0, 2));
+        assertFalse("The slow job should still be running", slow.whenDone().isDone());
+        assertSame(slow, service.getJob(slow.getId()));
+        assertSame(quick.get(3), service.getJob(quick.get(3).getId()));
+    }
+
+    /**
+     * Waits until the jobs can no longer be looked up; a job is evicted just after it completes.
+     */
+    private void awaitEvicted(List<SolveJob> jobs) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        for (SolveJob job : jobs) {
+            while (service.getJob(job.getId()) != null) {
+                assertTrue("Job " + job.getId() + " was not evicted", System.nanoTime() < deadline);
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    /**
+     * Builds a request needing one employee from hour 8 to 16 every day, with balanced hours
+     * so larger rosters take a while to solve.
+     */
+    private static String request(int employees) {
+        StringBuilder json = new StringBuilder("{\"employees\": [");
+        for (int i = 0; i < employees; i++) {
+            if (i > 0) json.append(", ");
+            json.append("{\"id\": \"uid").append(i).append("\"}");
+        }
+        return json.append("], \"systemNeeds\": ").append(SolveRequestTest.needs(1))
+                .append(", \"balanceHours\": true}").toString();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.shifty.service;
+
+import com.example.shifty.model.SchedulingAlgorithm.SchedulingProblem;
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the validation and conversion of {@link SolveRequest} payloads.
+ */
+public class SolveRequestTest {
+
+    private static final Gson GSON = new Gson();
+
+    @Test
+    public void toProblem_convertsEmployeesAndWindows() {
+        SchedulingProblem problem = parse("{\"employees\": ["
+                + "{\"id\": \"uid1\", \"name\": \"Dana\", \"unavailable\": [{\"day\": 5, \"startHour\": 2, \"endHour\": 4}]},"
+                + "{\"id\": \"uid2\"}],"
+                + " \"systemNeeds\": " + needs(1) + "}").toProblem();
+
+        assertEquals(2, problem.getEmployeeCount());
+        assertEquals("Dana", problem.getEmployeeName(0));
+        assertEquals("uid2", problem.getEmployeeName(1));
+        for (int hour = 0; hour < SchedulingProblem.HOURS_PER_DAY; hour++) {
+            assertEquals(hour < 2 || hour > 4, problem.isAvailable(0, 5, hour));
+        }
+    }
+
+    @Test
+    public void toProblem_rejectsNullWindow() {
+        SolveRequest request = parse("{\"employees\": [{\"id\": \"uid1\", \"unavailable\": [null]}],"
+                + " \"systemNeeds\": " + needs(1) + "}");
+
+        try {
+            request.toProblem();
+            fail("Expected the null window to be rejected");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("uid1"));
+        }
+    }
+
+    @Test
+    public void toProblem_rejectsDuplicateEmployeeIds() {
+        SolveRequest request = parse("{\"employees\": [{\"id\": \"uid1\"}, {\"id\": \"uid2\"}, {\"id\": \"uid1\"}],"
+                + " \"systemNeeds\": " + needs(1) + "}");
+
+        try {
+            request.toProblem();
+            fail("Expected the duplicate ID to be rejected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("duplicate employee id uid1", e.getMessage());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void toProblem_rejectsMissingId() {
+        parse("{\"employees\": [{\"name\": \"Dana\"}], \"systemNeeds\": " + needs(1) + "}").toProblem();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void toProblem_rejectsShortNeeds() {
+        parse("{\"employees\": [{\"id\": \"uid1\"}], \"systemNeeds\": [[1, 2]]}").toProblem();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void toProblem_rejectsWindowDayOutOfRange() {
+        parse("{\"employees\": [{\"id\": \"uid1\", \"unavailable\": [{\"day\": 7, \"startHour\": 0, \"endHour\": 1}]}],"
+                + " \"systemNeeds\": " + needs(1) + "}").toProblem();
+    }
+
+    static SolveRequest parse(String json) {
+        return GSON.fromJson(json, SolveRequest.class);
+    }
+
+    /**
+     * Returns a week of needs as JSON, the same number of employees at hours 8 to 15 of every day.
+     */
+    static String needs(int need) {
+        int[][] needs = new int[SchedulingProblem.DAYS_IN_WEEK][SchedulingProblem.HOURS_PER_DAY];
+        for (int[] day : needs) {
+            for (int hour = 8; hour < 16; hour++) day[hour] = need;
+        }
+        return GSON.toJson(needs);
+    }
+}